@@ -0,0 +1,44 @@
+package com.epam.esm.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the hits and the misses of a cache.
+ */
+public class CacheStatistics {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Counts the lookup, which was served by the cache.
+     */
+    public void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    /**
+     * Counts the lookup, which was served by the database.
+     */
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the share of the lookups, which were served by the cache.
+     *
+     * @return the hit ratio from 0 to 1, 0 if there were no lookups.
+     */
+    public double getHitRatio() {
+        long hitsNow = hits.get();
+        long lookups = hitsNow + misses.get();
+        return lookups == 0 ? 0 : (double) hitsNow / lookups;
+    }
+}
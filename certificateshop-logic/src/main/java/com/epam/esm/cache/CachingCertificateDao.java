@@ -0,0 +1,358 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.event.CertificateChangedEvent;
+import com.epam.esm.event.HasTagChangedEvent;
+import com.epam.esm.event.TagChangedEvent;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The read-through {@link CertificateDao}, which serves the lookups of the {@link GiftCertificate}s by the id
+ * from the memory and delegates everything else to the {@link CertificateDao} of the active profile.
+ * The concurrent misses of the same id wait for one read from the database.
+ * A certificate is invalidated at once and once more after the transaction is completed, when it or its tags
+ * are changed, the transaction, which changed the certificates, reads them from the database only,
+ * so its not committed changes are never seen by the other requests.
+ * <p>
+ * All the changes of the certificates and the 'has_tag' table go through this class, so it publishes them
+ * as {@link CertificateChangedEvent}s and {@link HasTagChangedEvent}s for the in-memory indexes.
+ */
+@Primary
+@Repository("certificateDAO")
+@ManagedResource(objectName = "com.epam.esm:type=Cache,name=certificates")
+public class CachingCertificateDao implements CertificateDao {
+    public static final int MAX_CACHED_CERTIFICATES = 10000;
+    private static final Object CERTIFICATES_CHANGED_IN_TRANSACTION = new Object();
+
+    private final CertificateDao certificateDao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LruCache<Long, GiftCertificate> certificatesById = new LruCache<>(MAX_CACHED_CERTIFICATES);
+    private final Map<Long, CompletableFuture<Optional<GiftCertificate>>> loadsInProgress = new ConcurrentHashMap<>();
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    @Autowired
+    public CachingCertificateDao(@Qualifier("certificateDAOTarget") CertificateDao certificateDao,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.certificateDao = certificateDao;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public GiftCertificate save(GiftCertificate entity) {
+        GiftCertificate savedCertificate = certificateDao.save(entity);
+        eventPublisher.publishEvent(new CertificateChangedEvent(null, copy(savedCertificate)));
+        return savedCertificate;
+    }
+
+    @Override
+    public List<GiftCertificate> findAllPagination(int pageNumber, int amountEntitiesOnThePage,
+                                                   Map<String, String> parameters) {
+        return certificateDao.findAllPagination(pageNumber, amountEntitiesOnThePage, parameters);
+    }
+
+    @Override
+    public List<GiftCertificate> findAllPagination(int pageNumber, int amountEntitiesOnThePage,
+                                                   Map<String, String> parameters, Collection<Long> candidateIds) {
+        return certificateDao.findAllPagination(pageNumber, amountEntitiesOnThePage, parameters, candidateIds);
+    }
+
+    @Override
+    public List<GiftCertificate> findAll() {
+        return certificateDao.findAll();
+    }
+
+    @Override
+    public void streamAll(Consumer<GiftCertificate> consumer) {
+        certificateDao.streamAll(consumer);
+    }
+
+    /**
+     * Finds the {@link GiftCertificate} by the id in the cache and reads it from the database if it is not cached.
+     * Only one of the concurrent requests of the same not cached id reads it, the others wait for its result.
+     *
+     * @param id is the id of the {@link GiftCertificate}.
+     * @return {@link Optional<GiftCertificate>}.
+     */
+    @Override
+    public Optional<GiftCertificate> findById(long id) {
+        if (isChangedInTransaction()) {
+            return certificateDao.findById(id);
+        }
+        GiftCertificate cachedCertificate = certificatesById.get(id);
+        if (cachedCertificate != null) {
+            statistics.recordHit();
+            return Optional.of(copy(cachedCertificate));
+        }
+        statistics.recordMiss();
+        CompletableFuture<Optional<GiftCertificate>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<GiftCertificate>> loadInProgress = loadsInProgress.putIfAbsent(id, load);
+        if (loadInProgress != null) {
+            return waitFor(loadInProgress).map(this::copy);
+        }
+        try {
+            long version = certificatesById.version();
+            Optional<GiftCertificate> certificate = certificateDao.findById(id);
+            certificate.ifPresent(certificateFromDatabase
+                    -> certificatesById.putIfVersion(id, copy(certificateFromDatabase), version));
+            load.complete(certificate.map(this::copy));
+            return certificate;
+        } catch (RuntimeException exception) {
+            load.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            loadsInProgress.remove(id, load);
+        }
+    }
+
+    /**
+     * Updates the {@link GiftCertificate} and evicts it from the cache. The certificate before the update
+     * is read first, so the indexes can remove its old name and description.
+     *
+     * @param entity is the {@link GiftCertificate} to update.
+     */
+    @Override
+    public void update(GiftCertificate entity) {
+        Optional<GiftCertificate> previous = findById(entity.getId());
+        certificateDao.update(entity);
+        evict(entity.getId());
+        eventPublisher.publishEvent(new CertificateChangedEvent(previous.orElse(null), copy(entity)));
+    }
+
+    /**
+     * Deletes the {@link GiftCertificate} and evicts it from the cache.
+     *
+     * @param id is the id of the {@link GiftCertificate} to delete.
+     */
+    @Override
+    public void delete(long id) {
+        Optional<GiftCertificate> previous = findById(id);
+        certificateDao.delete(id);
+        evict(id);
+        previous.ifPresent(certificate -> eventPublisher.publishEvent(new CertificateChangedEvent(certificate, null)));
+        eventPublisher.publishEvent(new HasTagChangedEvent(
+                HasTagChangedEvent.Change.CERTIFICATE_DELETED, id, Collections.emptyList()));
+    }
+
+    @Override
+    public Optional<GiftCertificate> findByName(String name) {
+        return certificateDao.findByName(name);
+    }
+
+    /**
+     * Finds the {@link GiftCertificate}s by the ids in the cache, the ids, which are not cached,
+     * are read from the database in one query.
+     *
+     * @param ids are the ids of the {@link GiftCertificate}s to find.
+     * @return {@link List<GiftCertificate>}, the ids, which are not in the database, are skipped.
+     */
+    @Override
+    public List<GiftCertificate> findAllByIds(Collection<Long> ids) {
+        if (isChangedInTransaction()) {
+            return certificateDao.findAllByIds(ids);
+        }
+        List<GiftCertificate> certificates = new ArrayList<>();
+        Set<Long> idsToRead = new LinkedHashSet<>();
+        for (Long id : ids) {
+            GiftCertificate cachedCertificate = certificatesById.get(id);
+            if (cachedCertificate != null) {
+                statistics.recordHit();
+                certificates.add(copy(cachedCertificate));
+            } else if (idsToRead.add(id)) {
+                statistics.recordMiss();
+            }
+        }
+        if (!idsToRead.isEmpty()) {
+            long version = certificatesById.version();
+            for (GiftCertificate certificateFromDatabase : certificateDao.findAllByIds(idsToRead)) {
+                certificatesById.putIfVersion(certificateFromDatabase.getId(), copy(certificateFromDatabase), version);
+                certificates.add(certificateFromDatabase);
+            }
+        }
+        return certificates;
+    }
+
+    @Override
+    public List<GiftCertificate> findAllByNames(Collection<String> names) {
+        return certificateDao.findAllByNames(names);
+    }
+
+    @Override
+    public List<GiftCertificate> saveAll(List<GiftCertificate> giftCertificates) {
+        List<GiftCertificate> savedCertificates = certificateDao.saveAll(giftCertificates);
+        savedCertificates.forEach(savedCertificate
+                -> eventPublisher.publishEvent(new CertificateChangedEvent(null, copy(savedCertificate))));
+        return savedCertificates;
+    }
+
+    /**
+     * Saves the relations of the {@link GiftCertificate}s and their tags and evicts the certificates from the cache.
+     *
+     * @param giftCertificates are the saved {@link GiftCertificate}s with their resolved tags.
+     */
+    @Override
+    public void saveAllInHasTagTable(List<GiftCertificate> giftCertificates) {
+        certificateDao.saveAllInHasTagTable(giftCertificates);
+        for (GiftCertificate giftCertificate : giftCertificates) {
+            evict(giftCertificate.getId());
+            List<Long> tagIds = new ArrayList<>();
+            giftCertificate.getTags().forEach(tag -> tagIds.add(tag.getId()));
+            eventPublisher.publishEvent(new HasTagChangedEvent(
+                    HasTagChangedEvent.Change.TAGS_ADDED, giftCertificate.getId(), tagIds));
+        }
+    }
+
+    /**
+     * Saves the relation of the {@link GiftCertificate} and the tag and evicts the certificate from the cache.
+     *
+     * @param certificateId is the id of the {@link GiftCertificate}.
+     * @param tagId         is the id of the tag.
+     */
+    @Override
+    public void saveIdsInHasTagTable(long certificateId, long tagId) {
+        certificateDao.saveIdsInHasTagTable(certificateId, tagId);
+        evict(certificateId);
+        eventPublisher.publishEvent(new HasTagChangedEvent(
+                HasTagChangedEvent.Change.TAGS_ADDED, certificateId, Collections.singletonList(tagId)));
+    }
+
+    /**
+     * Saves the relations of the {@link GiftCertificate} and the tags and evicts the certificate from the cache.
+     *
+     * @param certificateId is the id of the {@link GiftCertificate}.
+     * @param tagIds        are the ids of the tags.
+     */
+    @Override
+    public void saveIdsInHasTagTable(long certificateId, List<Long> tagIds) {
+        certificateDao.saveIdsInHasTagTable(certificateId, tagIds);
+        evict(certificateId);
+        eventPublisher.publishEvent(new HasTagChangedEvent(
+                HasTagChangedEvent.Change.TAGS_ADDED, certificateId, new ArrayList<>(tagIds)));
+    }
+
+    /**
+     * Deletes the relation of the {@link GiftCertificate} and the tag and evicts the certificate from the cache.
+     *
+     * @param certificateId is the id of the {@link GiftCertificate}.
+     * @param tagId         is the id of the tag.
+     */
+    @Override
+    public void deleteIdsFromHasTagTable(long certificateId, Long tagId) {
+        certificateDao.deleteIdsFromHasTagTable(certificateId, tagId);
+        evict(certificateId);
+        eventPublisher.publishEvent(new HasTagChangedEvent(
+                HasTagChangedEvent.Change.TAGS_REMOVED, certificateId, Collections.singletonList(tagId)));
+    }
+
+    /**
+     * Evicts the {@link GiftCertificate}s with the renamed or deleted tag from the cache.
+     *
+     * @param event is the {@link TagChangedEvent}.
+     */
+    @EventListener
+    public void onTagChanged(TagChangedEvent event) {
+        long tagId = event.getTagId();
+        certificatesById.removeIf(certificate -> hasTag(certificate, tagId));
+        runAfterCompletion(() -> certificatesById.removeIf(certificate -> hasTag(certificate, tagId)));
+    }
+
+    @ManagedAttribute(description = "The amount of the lookups served by the cache")
+    public long getHits() {
+        return statistics.getHits();
+    }
+
+    @ManagedAttribute(description = "The amount of the lookups served by the database")
+    public long getMisses() {
+        return statistics.getMisses();
+    }
+
+    @ManagedAttribute(description = "The share of the lookups served by the cache")
+    public double getHitRatio() {
+        return statistics.getHitRatio();
+    }
+
+    @ManagedAttribute(description = "The amount of the cached certificates")
+    public int getSize() {
+        return certificatesById.size();
+    }
+
+    private Optional<GiftCertificate> waitFor(CompletableFuture<Optional<GiftCertificate>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    private boolean hasTag(GiftCertificate certificate, long tagId) {
+        for (CertificateTag certificateTag : certificate.getTags()) {
+            if (certificateTag.getId() == tagId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void evict(long id) {
+        certificatesById.remove(id);
+        runAfterCompletion(() -> certificatesById.remove(id));
+    }
+
+    // the transaction, which changed the certificates, bypasses the cache till it is completed
+    private void runAfterCompletion(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.hasResource(CERTIFICATES_CHANGED_IN_TRANSACTION)) {
+            TransactionSynchronizationManager.bindResource(CERTIFICATES_CHANGED_IN_TRANSACTION, Boolean.TRUE);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CERTIFICATES_CHANGED_IN_TRANSACTION);
+                eviction.run();
+            }
+        });
+    }
+
+    private boolean isChangedInTransaction() {
+        return TransactionSynchronizationManager.hasResource(CERTIFICATES_CHANGED_IN_TRANSACTION);
+    }
+
+    // the cached certificates are not shared with the callers, which can change them
+    private GiftCertificate copy(GiftCertificate certificate) {
+        List<CertificateTag> tags = new ArrayList<>();
+        if (certificate.getTags() != null) {
+            certificate.getTags().forEach(tag -> tags.add(new CertificateTag(tag.getId(), tag.getName())));
+        }
+        return new GiftCertificate(certificate.getId(), certificate.getName(), certificate.getDescription(),
+                certificate.getPrice(), certificate.getDuration(), certificate.getCreateDate(),
+                certificate.getLastUpdateDate(), tags);
+    }
+}
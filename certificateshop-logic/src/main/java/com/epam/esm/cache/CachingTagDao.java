@@ -0,0 +1,313 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.event.TagChangedEvent;
+import com.epam.esm.event.TagCreatedEvent;
+import com.epam.esm.exception.DuplicateException;
+import com.epam.esm.model.impl.CertificateTag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The {@link TagDao}, which serves the lookups of the {@link CertificateTag}s by the id and by the name
+ * from the memory and delegates everything else to the {@link TagDao} of the active profile.
+ * The tags are kept by the id, the names are kept as the links to the ids, so a tag is invalidated
+ * by its id only: a name, which links to an evicted or renamed tag, is a miss. The names are unique
+ * in the database regardless of the case, so they are kept in the lower case and are matched in any case.
+ * The tags are invalidated at once and once more after the transaction is completed, so a tag read
+ * by a concurrent request before the commit does not stay in the cache. The transaction, which changed
+ * the tags, reads them from the database only, so its not committed changes are never cached.
+ * The renamed and deleted tags are announced with the {@link TagChangedEvent}, so the caches of the entities
+ * with the embedded tags can invalidate them, the saved tags are announced with the {@link TagCreatedEvent}.
+ */
+@Primary
+@Repository
+@ManagedResource(objectName = "com.epam.esm:type=Cache,name=tags")
+public class CachingTagDao implements TagDao {
+    public static final int MAX_CACHED_TAGS = 1000;
+    private static final Object TAGS_CHANGED_IN_TRANSACTION = new Object();
+
+    private final TagDao tagDao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LruCache<Long, CertificateTag> tagsById = new LruCache<>(MAX_CACHED_TAGS);
+    private final LruCache<String, Long> idsByName = new LruCache<>(MAX_CACHED_TAGS);
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    @Autowired
+    public CachingTagDao(@Qualifier("tagDAOTarget") TagDao tagDao, ApplicationEventPublisher eventPublisher) {
+        this.tagDao = tagDao;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Saves {@link CertificateTag} in the database. The saved tag is not cached, it is cached by the first lookup
+     * after the commit.
+     *
+     * @param entity is the {@link CertificateTag} to save.
+     * @return the saved {@link CertificateTag} with its generated id.
+     * @throws DuplicateException if there is already the tag with such a name.
+     */
+    @Override
+    public CertificateTag save(CertificateTag entity) throws DuplicateException {
+        CertificateTag savedTag = tagDao.save(entity);
+        evictName(entity.getName());
+        eventPublisher.publishEvent(new TagCreatedEvent(Collections.singletonList(entity.getName())));
+        return savedTag;
+    }
+
+    @Override
+    public List<CertificateTag> findAllPagination(int pageNumber, int amountEntitiesOnThePage) {
+        return tagDao.findAllPagination(pageNumber, amountEntitiesOnThePage);
+    }
+
+    @Override
+    public List<CertificateTag> findPageAfter(long id, int amountEntitiesOnThePage) {
+        return tagDao.findPageAfter(id, amountEntitiesOnThePage);
+    }
+
+    @Override
+    public List<CertificateTag> findPageBefore(long id, int amountEntitiesOnThePage) {
+        return tagDao.findPageBefore(id, amountEntitiesOnThePage);
+    }
+
+    @Override
+    public List<CertificateTag> findAll() {
+        return tagDao.findAll();
+    }
+
+    /**
+     * Finds the {@link CertificateTag} by the id in the cache and reads it from the database if it is not cached.
+     *
+     * @param id is the id of the {@link CertificateTag}.
+     * @return {@link Optional<CertificateTag>}.
+     */
+    @Override
+    public Optional<CertificateTag> findById(long id) {
+        if (isChangedInTransaction()) {
+            return tagDao.findById(id);
+        }
+        CertificateTag cachedTag = tagsById.get(id);
+        if (cachedTag != null) {
+            statistics.recordHit();
+            return Optional.of(copy(cachedTag));
+        }
+        statistics.recordMiss();
+        long version = tagsById.version();
+        Optional<CertificateTag> tag = tagDao.findById(id);
+        tag.ifPresent(tagFromDatabase -> cache(tagFromDatabase, version));
+        return tag;
+    }
+
+    /**
+     * Updates the {@link CertificateTag} and evicts it from the cache.
+     *
+     * @param entity is the {@link CertificateTag} to update.
+     */
+    @Override
+    public void update(CertificateTag entity) {
+        tagDao.update(entity);
+        evictId(entity.getId());
+        eventPublisher.publishEvent(new TagChangedEvent(entity.getId()));
+    }
+
+    /**
+     * Deletes the {@link CertificateTag} and evicts it from the cache.
+     *
+     * @param id is the id of the {@link CertificateTag} to delete.
+     */
+    @Override
+    public void delete(long id) {
+        tagDao.delete(id);
+        evictId(id);
+        eventPublisher.publishEvent(new TagChangedEvent(id));
+    }
+
+    @Override
+    public List<CertificateTag> findAllTagsByCertificateId(long id) {
+        return tagDao.findAllTagsByCertificateId(id);
+    }
+
+    /**
+     * Finds the {@link CertificateTag} by the name in the cache and reads it from the database if it is not cached.
+     *
+     * @param name is the name of the {@link CertificateTag}.
+     * @return {@link Optional<CertificateTag>}.
+     */
+    @Override
+    public Optional<CertificateTag> findByName(String name) {
+        if (isChangedInTransaction()) {
+            return tagDao.findByName(name);
+        }
+        CertificateTag cachedTag = findCachedByName(name);
+        if (cachedTag != null) {
+            statistics.recordHit();
+            return Optional.of(copy(cachedTag));
+        }
+        statistics.recordMiss();
+        long version = tagsById.version();
+        Optional<CertificateTag> tag = tagDao.findByName(name);
+        tag.ifPresent(tagFromDatabase -> cache(tagFromDatabase, version));
+        return tag;
+    }
+
+    /**
+     * Finds the {@link CertificateTag}s by the names in the cache, the names, which are not cached,
+     * are read from the database in one query.
+     *
+     * @param names are the names of the {@link CertificateTag}s to find.
+     * @return {@link List<CertificateTag>}, the names, which are not in the database, are skipped.
+     */
+    @Override
+    public List<CertificateTag> findAllByNames(Collection<String> names) {
+        if (isChangedInTransaction()) {
+            return tagDao.findAllByNames(names);
+        }
+        List<CertificateTag> tags = new ArrayList<>();
+        Set<String> namesToRead = new LinkedHashSet<>();
+        for (String name : names) {
+            CertificateTag cachedTag = findCachedByName(name);
+            if (cachedTag != null) {
+                statistics.recordHit();
+                tags.add(copy(cachedTag));
+            } else if (namesToRead.add(name)) {
+                statistics.recordMiss();
+            }
+        }
+        if (!namesToRead.isEmpty()) {
+            long version = tagsById.version();
+            for (CertificateTag tagFromDatabase : tagDao.findAllByNames(namesToRead)) {
+                cache(tagFromDatabase, version);
+                tags.add(tagFromDatabase);
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Saves the {@link CertificateTag}s in the database. The saved tags are not cached.
+     *
+     * @param tags are the {@link CertificateTag}s to save.
+     * @return the saved {@link CertificateTag}s with their generated ids.
+     */
+    @Override
+    public List<CertificateTag> saveAll(List<CertificateTag> tags) {
+        List<CertificateTag> savedTags = tagDao.saveAll(tags);
+        List<String> names = new ArrayList<>(tags.size());
+        tags.forEach(tag -> {
+            evictName(tag.getName());
+            names.add(tag.getName());
+        });
+        eventPublisher.publishEvent(new TagCreatedEvent(names));
+        return savedTags;
+    }
+
+    /**
+     * Deletes the relations of the {@link CertificateTag} and evicts the tag from the cache.
+     *
+     * @param tagId is the id of the {@link CertificateTag}.
+     */
+    @Override
+    public void deleteFromHasTagByTagId(long tagId) {
+        tagDao.deleteFromHasTagByTagId(tagId);
+        evictId(tagId);
+        eventPublisher.publishEvent(new TagChangedEvent(tagId));
+    }
+
+    @Override
+    public void streamHasTag(BiConsumer<Long, Long> consumer) {
+        tagDao.streamHasTag(consumer);
+    }
+
+    @Override
+    public Optional<CertificateTag> findTheMostPopularTagOfTheBestUser() {
+        return tagDao.findTheMostPopularTagOfTheBestUser();
+    }
+
+    @ManagedAttribute(description = "The amount of the lookups served by the cache")
+    public long getHits() {
+        return statistics.getHits();
+    }
+
+    @ManagedAttribute(description = "The amount of the lookups served by the database")
+    public long getMisses() {
+        return statistics.getMisses();
+    }
+
+    @ManagedAttribute(description = "The share of the lookups served by the cache")
+    public double getHitRatio() {
+        return statistics.getHitRatio();
+    }
+
+    @ManagedAttribute(description = "The amount of the cached tags")
+    public int getSize() {
+        return tagsById.size();
+    }
+
+    private CertificateTag findCachedByName(String name) {
+        Long id = idsByName.get(name.toLowerCase(Locale.ROOT));
+        if (id == null) {
+            return null;
+        }
+        CertificateTag cachedTag = tagsById.get(id);
+        return cachedTag != null && cachedTag.getName().equalsIgnoreCase(name) ? cachedTag : null;
+    }
+
+    private void cache(CertificateTag tag, long version) {
+        tagsById.putIfVersion(tag.getId(), copy(tag), version);
+        idsByName.put(tag.getName().toLowerCase(Locale.ROOT), tag.getId());
+    }
+
+    private void evictId(long id) {
+        tagsById.remove(id);
+        runAfterCompletion(() -> tagsById.remove(id));
+    }
+
+    private void evictName(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        idsByName.remove(key);
+        runAfterCompletion(() -> idsByName.remove(key));
+    }
+
+    // the transaction, which changed the tags, bypasses the cache till it is completed
+    private void runAfterCompletion(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.hasResource(TAGS_CHANGED_IN_TRANSACTION)) {
+            TransactionSynchronizationManager.bindResource(TAGS_CHANGED_IN_TRANSACTION, Boolean.TRUE);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TAGS_CHANGED_IN_TRANSACTION);
+                eviction.run();
+            }
+        });
+    }
+
+    private boolean isChangedInTransaction() {
+        return TransactionSynchronizationManager.hasResource(TAGS_CHANGED_IN_TRANSACTION);
+    }
+
+    // the cached tags are not shared with the callers, which can change them
+    private CertificateTag copy(CertificateTag tag) {
+        return new CertificateTag(tag.getId(), tag.getName());
+    }
+}
@@ -0,0 +1,117 @@
+package com.epam.esm.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The bounded cache, which evicts the least recently used entry, when the cache is full.
+ * Every invalidation increments the version of the cache, so a value read from the database before
+ * the invalidation is not put in the cache after it (see {@link #putIfVersion(Object, Object, long)}).
+ *
+ * @param <K> is the type of the key.
+ * @param <V> is the type of the value.
+ */
+public class LruCache<K, V> {
+    private final Map<K, V> entries;
+    private long version;
+
+    /**
+     * Constructs the {@link LruCache}.
+     *
+     * @param maxSize is the max amount of the entries in the cache.
+     */
+    public LruCache(int maxSize) {
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the value of the key and marks it as the most recently used one.
+     *
+     * @param key is the key to find.
+     * @return the value or null if there is no such a key in the cache.
+     */
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Puts the value in the cache. The value should be checked, when it is read from the cache.
+     *
+     * @param key   is the key to put.
+     * @param value is the value to put.
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Returns the current version of the cache. The version should be read before the value is read from the database.
+     *
+     * @return the version.
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Puts the value in the cache if the cache was not invalidated since the {@param version} was read.
+     *
+     * @param key     is the key to put.
+     * @param value   is the value to put.
+     * @param version is the version of the cache, which was read before the value.
+     */
+    public synchronized void putIfVersion(K key, V value, long version) {
+        if (this.version == version) {
+            entries.put(key, value);
+        }
+    }
+
+    /**
+     * Removes the key from the cache.
+     *
+     * @param key is the key to remove.
+     */
+    public synchronized void remove(K key) {
+        version++;
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all the entries, which values match the {@param predicate}.
+     *
+     * @param predicate is the {@link Predicate} of the values to remove.
+     */
+    public synchronized void removeIf(Predicate<V> predicate) {
+        version++;
+        Iterator<V> values = entries.values().iterator();
+        while (values.hasNext()) {
+            if (predicate.test(values.next())) {
+                values.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all the entries from the cache.
+     */
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+    }
+
+    /**
+     * Returns the amount of the entries in the cache.
+     *
+     * @return the amount of the entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -12,11 +12,13 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.sql.DataSource;
+import java.time.Clock;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
@@ -29,6 +31,7 @@ import java.util.Locale;
 @EntityScan("com.epam.esm.model")
 @ComponentScan("com.epam.esm")
 @PropertySource("classpath:jdbc.properties")
+@EnableScheduling
 public class LogicConfig extends AcceptHeaderLocaleResolver
         implements WebMvcConfigurer {
     private static final String DRIVER_PROPERTY_NAME = "JDBC_DRIVER";
@@ -82,6 +85,11 @@ public class LogicConfig extends AcceptHeaderLocaleResolver
         return new JdbcTemplate(dataSource);
     }
 
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(new OrderToOrderDtoConverter());
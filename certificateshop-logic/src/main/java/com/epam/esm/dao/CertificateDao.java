@@ -4,19 +4,22 @@ import com.epam.esm.exception.DuplicateException;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.model.impl.GiftCertificate;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CertificateDao extends Dao<GiftCertificate> {
     /**
      * Saves {@link GiftCertificate} in the database.
      *
      * @param entity is the {@link GiftCertificate} to save.
+     * @return the saved {@link GiftCertificate} with its generated id.
      * @throws DuplicateException if a SQLException with the state 23505 or the state 23000 is thrown.
      */
     @Override
-    void save(GiftCertificate entity);
+    GiftCertificate save(GiftCertificate entity);
 
     /**
      * Finds all {@link GiftCertificate} entity in the database.
@@ -27,6 +30,19 @@ public interface CertificateDao extends Dao<GiftCertificate> {
      */
     List<GiftCertificate> findAllPagination(int pageNumber, int amountEntitiesOnThePage, Map<String, String> parameters);
 
+    /**
+     * Finds the page of the {@link GiftCertificate}s among the candidates, which are found by the in-memory
+     * indexes, the filters of the parameters are still applied to the candidates.
+     *
+     * @param pageNumber              is the pageNumber query parameter.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @param parameters              are the parameters of the 'GET /certificates' request.
+     * @param candidateIds            are the ids of the candidates, all the certificates if it is empty.
+     * @return List of the {@link GiftCertificate} objects.
+     */
+    List<GiftCertificate> findAllPagination(int pageNumber, int amountEntitiesOnThePage,
+                                            Map<String, String> parameters, Collection<Long> candidateIds);
+
     /**
      * Returns all the {@link GiftCertificate}s in the database.
      *
@@ -35,6 +51,14 @@ public interface CertificateDao extends Dao<GiftCertificate> {
     @Override
     List<GiftCertificate> findAll();
 
+    /**
+     * Reads all the {@link GiftCertificate}s from the database with a forward-only cursor and passes them
+     * to the {@param consumer} one by one, so the whole table is never kept in the memory.
+     *
+     * @param consumer is the {@link Consumer} of every {@link GiftCertificate}.
+     */
+    void streamAll(Consumer<GiftCertificate> consumer);
+
     /**
      * Finds {@link Optional<GiftCertificate>} in the database by the id of the {@link GiftCertificate}.
      *
@@ -68,6 +92,39 @@ public interface CertificateDao extends Dao<GiftCertificate> {
      */
     Optional<GiftCertificate> findByName(String name);
 
+    /**
+     * Finds all the {@link GiftCertificate}s with the ids from the {@param ids} together with their tags in one query.
+     *
+     * @param ids are the ids of the {@link GiftCertificate}s to find.
+     * @return {@link List<GiftCertificate>}, the ids, which are not in the database, are skipped.
+     */
+    List<GiftCertificate> findAllByIds(Collection<Long> ids);
+
+    /**
+     * Finds all the {@link GiftCertificate}s with the names from the {@param names} together with their tags
+     * in one query.
+     *
+     * @param names are the names of the {@link GiftCertificate}s to find.
+     * @return {@link List<GiftCertificate>}, the names, which are not in the database, are skipped.
+     */
+    List<GiftCertificate> findAllByNames(Collection<String> names);
+
+    /**
+     * Saves all the {@link GiftCertificate}s in the database in one JDBC batch.
+     *
+     * @param giftCertificates are the {@link GiftCertificate}s to save.
+     * @return the saved {@link GiftCertificate}s with their generated ids.
+     */
+    List<GiftCertificate> saveAll(List<GiftCertificate> giftCertificates);
+
+    /**
+     * Saves the ids of every {@link GiftCertificate} together with the ids of its tags in the 'has_tag' table
+     * in one JDBC batch.
+     *
+     * @param giftCertificates are the saved {@link GiftCertificate}s with their resolved tags.
+     */
+    void saveAllInHasTagTable(List<GiftCertificate> giftCertificates);
+
     /**
      * Saves certificateId and tagId in the database.
      *
@@ -76,6 +133,14 @@ public interface CertificateDao extends Dao<GiftCertificate> {
      */
     void saveIdsInHasTagTable(long certificateId, long tagId);
 
+    /**
+     * Saves the certificateId together with every tagId in the 'has_tag' table in one multi-row insert.
+     *
+     * @param certificateId is the id of the {@link GiftCertificate} to save.
+     * @param tagIds        are the ids of the {@link com.epam.esm.model.impl.CertificateTag}s to save.
+     */
+    void saveIdsInHasTagTable(long certificateId, List<Long> tagIds);
+
     /**
      * Removes the tuple certificateId and tagId from the 'has_tag' table of the database.
      *
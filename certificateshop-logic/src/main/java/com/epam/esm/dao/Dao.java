@@ -16,9 +16,10 @@ public interface Dao<T extends DatabaseEntity> {
      * Saves {@link T} in the database.
      *
      * @param entity is the {@link T} to save.
+     * @return the saved {@link T} with its generated id.
      * @throws DuplicateException if a SQLException with the state 23505 or the state 23000 is thrown.
      */
-    void save(T entity) throws DuplicateException;
+    T save(T entity) throws DuplicateException;
 
     /**
      * Finds all {@link T} entity in the database.
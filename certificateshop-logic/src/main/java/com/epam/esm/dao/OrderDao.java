@@ -7,18 +7,22 @@ import com.epam.esm.model.impl.Order;
 import com.epam.esm.model.impl.User;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public interface OrderDao extends Dao<Order> {
     /**
      * Saves {@link Order} in the database.
      *
      * @param order is the {@link Order} to save.
+     * @return the saved {@link Order} with its generated id.
      */
     @Override
-    void save(Order order);
+    Order save(Order order);
 
     /**
      * Finds all {@link Order} entity in the database.
@@ -28,6 +32,41 @@ public interface OrderDao extends Dao<Order> {
     @Override
     List<Order> findAll();
 
+    /**
+     * Reads all the {@link Order}s from the database with a forward-only cursor and passes them
+     * to the {@param consumer} one by one, so the whole table is never kept in the memory.
+     *
+     * @param consumer is the {@link Consumer} of every {@link Order}.
+     */
+    void streamAll(Consumer<Order> consumer);
+
+    /**
+     * Reads the {@link Order}s created since the {@param createDate} from the database with a forward-only cursor
+     * and passes them to the {@param consumer} one by one.
+     *
+     * @param createDate is the earliest create date of the {@link Order}s to read.
+     * @param consumer   is the {@link Consumer} of every {@link Order}.
+     */
+    void streamCreatedSince(LocalDateTime createDate, Consumer<Order> consumer);
+
+    /**
+     * Finds the biggest id of the {@link Order}s.
+     *
+     * @return the id, 0 if there are no orders.
+     */
+    long findMaxId();
+
+    /**
+     * Reads the ids of the ordered {@link GiftCertificate}s of the {@link Order}s with the ids
+     * after the {@param afterId} up to the {@param toId} with a forward-only cursor and passes them
+     * to the {@param consumer} ordered by the id of the {@link Order}.
+     *
+     * @param afterId  is the id before the first id of the {@link Order}s to read.
+     * @param toId     is the last id of the {@link Order}s to read.
+     * @param consumer is the consumer of the id of the {@link Order} and the id of the {@link GiftCertificate}.
+     */
+    void streamCertificateIds(long afterId, long toId, BiConsumer<Long, Long> consumer);
+
     /**
      * Finds {@link Optional<Order>} in the database by the id of the {@link Order}.
      *
@@ -72,6 +111,31 @@ public interface OrderDao extends Dao<Order> {
     void saveIdsInUserorder_certificateTable(long orderId, long certificateId,
                                              GiftCertificate giftCertificate, BigDecimal certificatePrice);
 
+    /**
+     * Saves the orderId together with every {@link GiftCertificate} of the order, its JSON and its price
+     * in the 'userorder_certificate' table in one JDBC batch.
+     *
+     * @param orderId      is the id of the {@link Order} to save.
+     * @param certificates are the {@link GiftCertificate}s of the order to save.
+     */
+    void saveAllInUserorder_certificateTable(long orderId, List<GiftCertificate> certificates);
+
+    /**
+     * Saves all the {@link Order}s in the database in one JDBC batch.
+     *
+     * @param orders are the {@link Order}s to save.
+     * @return the saved {@link Order}s with their generated ids.
+     */
+    List<Order> saveAll(List<Order> orders);
+
+    /**
+     * Saves the lines of all the {@link Order}s, which are already saved, in the 'userorder_certificate' table
+     * in one JDBC batch.
+     *
+     * @param orders are the {@link Order}s with their ids and their {@link GiftCertificate}s to save.
+     */
+    void saveAllInUserorder_certificateTable(List<Order> orders);
+
     /**
      * Finds all {@link Order} entity in the database.
      *
@@ -81,6 +145,26 @@ public interface OrderDao extends Dao<Order> {
      */
     List<Order> findAllPagination(int pageNumber, int amountEntitiesOnThePage);
 
+    /**
+     * Finds the page of the {@link Order} entities, which ids are greater than the {@param id}
+     * (keyset pagination). The page is sorted by the id.
+     *
+     * @param id                      is the id of the last {@link Order} on the previous page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link Order} objects.
+     */
+    List<Order> findPageAfter(long id, int amountEntitiesOnThePage);
+
+    /**
+     * Finds the page of the {@link Order} entities, which ids are less than the {@param id}
+     * (keyset pagination). The page is sorted by the id.
+     *
+     * @param id                      is the id of the first {@link Order} on the next page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link Order} objects.
+     */
+    List<Order> findPageBefore(long id, int amountEntitiesOnThePage);
+
     /**
      * Finds all {@link Order} entity in the database which belongs to the {@link User} with the ID equals {@param userId}.
      *
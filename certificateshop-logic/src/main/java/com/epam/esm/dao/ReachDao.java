@@ -0,0 +1,49 @@
+package com.epam.esm.dao;
+
+import com.epam.esm.dto.ReachSketch;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.User;
+import com.epam.esm.statistic.ReachType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * The interface that defines the 'reach_sketch' table, which keeps the HyperLogLog sketches of the distinct
+ * {@link User}s, who bought every {@link GiftCertificate} and every tag.
+ */
+public interface ReachDao {
+    /**
+     * Finds all the sketches.
+     *
+     * @return {@link List<ReachSketch>}.
+     */
+    List<ReachSketch> findAll();
+
+    /**
+     * Finds the sketches of the entities and locks them till the end of the transaction, so the sketches
+     * of the different nodes are merged one after another.
+     *
+     * @param type is the type of the entities.
+     * @param ids  are the ids of the entities.
+     * @return {@link List<ReachSketch>} of the entities, which have the sketches.
+     */
+    List<ReachSketch> findByIdsForUpdate(ReachType type, Collection<Long> ids);
+
+    /**
+     * Inserts the sketches or replaces the ones, which are already in the table.
+     *
+     * @param sketches are the {@link ReachSketch}s to save.
+     */
+    void saveAll(List<ReachSketch> sketches);
+
+    /**
+     * Streams the id of the entity and the id of its buyer of every ordered certificate
+     * from the 'userorder_certificate' table.
+     *
+     * @param type     is the type of the entities.
+     * @param consumer is the consumer of the id of the entity and the id of the {@link User}.
+     */
+    void streamBuyers(ReachType type, BiConsumer<Long, Long> consumer);
+}
@@ -0,0 +1,45 @@
+package com.epam.esm.dao;
+
+import com.epam.esm.dto.UserSpend;
+import com.epam.esm.dto.UserTagCount;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import com.epam.esm.model.impl.User;
+
+import java.util.List;
+
+/**
+ * The interface that defines the aggregates of the {@link Order}s, which the statistics are read from:
+ * the total spend of every {@link User} in the 'user_spend' table and the amount of the ordered certificates
+ * of every {@link User} with every tag in the 'user_tag_count' table.
+ * The aggregates are updated in the transaction, which saves the orders, so they are never ahead
+ * or behind the orders.
+ */
+public interface StatisticDao {
+    /**
+     * Adds the {@link Order}s, which are saved in the current transaction, to the aggregates of their users.
+     *
+     * @param orders are the saved {@link Order}s with their users and their {@link GiftCertificate}s.
+     */
+    void addOrders(List<Order> orders);
+
+    /**
+     * Recalculates the aggregates of all the users from the 'userorder_certificate' table,
+     * the orders saved before the aggregates were introduced are added by it.
+     */
+    void rebuild();
+
+    /**
+     * Finds the total spend of every {@link User}, who has the orders.
+     *
+     * @return {@link List<UserSpend>}.
+     */
+    List<UserSpend> findAllUserSpends();
+
+    /**
+     * Finds the amount of the ordered certificates of every {@link User} with every tag.
+     *
+     * @return {@link List<UserTagCount>}.
+     */
+    List<UserTagCount> findAllUserTagCounts();
+}
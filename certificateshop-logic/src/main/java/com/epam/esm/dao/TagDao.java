@@ -3,18 +3,21 @@ package com.epam.esm.dao;
 import com.epam.esm.exception.DuplicateException;
 import com.epam.esm.model.impl.CertificateTag;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 
 public interface TagDao extends Dao<CertificateTag> {
     /**
      * Saves {@link CertificateTag} in the database.
      *
      * @param entity is the {@link CertificateTag} to save.
+     * @return the saved {@link CertificateTag} with its generated id.
      * @throws DuplicateException if a SQLException with the state 23505 or the state 23000 is thrown.
      */
     @Override
-    void save(CertificateTag entity) throws DuplicateException;
+    CertificateTag save(CertificateTag entity) throws DuplicateException;
 
     /**
      * Finds all {@link CertificateTag} entity in the database.
@@ -26,6 +29,26 @@ public interface TagDao extends Dao<CertificateTag> {
      */
     List<CertificateTag> findAllPagination(int pageNumber, int amountEntitiesOnThePage);
 
+    /**
+     * Finds the page of the {@link CertificateTag} entities, which ids are greater than the {@param id}
+     * (keyset pagination). The page is sorted by the id.
+     *
+     * @param id                      is the id of the last {@link CertificateTag} on the previous page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link CertificateTag} objects.
+     */
+    List<CertificateTag> findPageAfter(long id, int amountEntitiesOnThePage);
+
+    /**
+     * Finds the page of the {@link CertificateTag} entities, which ids are less than the {@param id}
+     * (keyset pagination). The page is sorted by the id.
+     *
+     * @param id                      is the id of the first {@link CertificateTag} on the next page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link CertificateTag} objects.
+     */
+    List<CertificateTag> findPageBefore(long id, int amountEntitiesOnThePage);
+
     /**
      * Finds all {@link CertificateTag} entity in the database.
      *
@@ -75,6 +98,22 @@ public interface TagDao extends Dao<CertificateTag> {
      */
     Optional<CertificateTag> findByName(String name);
 
+    /**
+     * Finds all the {@link CertificateTag}s with the names from the {@param names} in one query.
+     *
+     * @param names are the names of the {@link CertificateTag}s to find.
+     * @return {@link List<CertificateTag>}, the names, which are not in the database, are skipped.
+     */
+    List<CertificateTag> findAllByNames(Collection<String> names);
+
+    /**
+     * Saves all the {@link CertificateTag}s in the database in one JDBC batch.
+     *
+     * @param tags are the {@link CertificateTag}s to save.
+     * @return the saved {@link CertificateTag}s with their generated ids.
+     */
+    List<CertificateTag> saveAll(List<CertificateTag> tags);
+
     /**
      * Removes records from 'has_tag' table by tagId.
      *
@@ -82,6 +121,14 @@ public interface TagDao extends Dao<CertificateTag> {
      */
     void deleteFromHasTagByTagId(long tagId);
 
+    /**
+     * Reads all the rows of the 'has_tag' table one by one with a forward-only cursor,
+     * so the whole table is never kept in the memory.
+     *
+     * @param consumer is the consumer of the id of the certificate and the id of the tag.
+     */
+    void streamHasTag(BiConsumer<Long, Long> consumer);
+
     /**
      * Finds the most popular {@link CertificateTag} of the {@link com.epam.esm.model.impl.User}
      * with the biggest sum of order price.
@@ -3,6 +3,7 @@ package com.epam.esm.dao;
 import com.epam.esm.exception.DuplicateException;
 import com.epam.esm.model.impl.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,10 +12,11 @@ public interface UserDao extends Dao<User> {
      * Saves {@link User} in the database.
      *
      * @param user is the {@link User} to save.
+     * @return the saved {@link User} with its generated id.
      * @throws DuplicateException if a SQLException with the state 23505 or the state 23000 is thrown.
      */
     @Override
-    void save(User user);
+    User save(User user);
 
     /**
      * Finds all {@link User} entity in the database.
@@ -57,6 +59,14 @@ public interface UserDao extends Dao<User> {
      */
     Optional<User> findByName(String nickName);
 
+    /**
+     * Finds all the {@link User}s with the ids from the {@param ids} in one query.
+     *
+     * @param ids are the ids of the {@link User}s to find.
+     * @return {@link List<User>}, the ids, which are not in the database, are skipped.
+     */
+    List<User> findAllByIds(Collection<Long> ids);
+
     /**
      * Finds all {@link User} entity in the database.
      *
@@ -65,4 +75,24 @@ public interface UserDao extends Dao<User> {
      * @return List of the {@link User} objects.
      */
     List<User> findAllPagination(int pageNumber, int amountEntitiesOnThePage);
+
+    /**
+     * Finds the page of the {@link User} entities, which ids are greater than the {@param id}
+     * (keyset pagination). The page is sorted by the id.
+     *
+     * @param id                      is the id of the last {@link User} on the previous page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link User} objects.
+     */
+    List<User> findPageAfter(long id, int amountEntitiesOnThePage);
+
+    /**
+     * Finds the page of the {@link User} entities, which ids are less than the {@param id}
+     * (keyset pagination). The page is sorted by the id.
+     *
+     * @param id                      is the id of the first {@link User} on the next page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link User} objects.
+     */
+    List<User> findPageBefore(long id, int amountEntitiesOnThePage);
 }
@@ -15,6 +15,9 @@ import java.sql.SQLException;
  */
 @Component
 public class CertificateInJsonMapper implements RowMapper<GiftCertificate> {
+    // Gson is thread safe, it caches the type adapters
+    private static final Gson GSON = new Gson();
+
     /**
      * Maps the row from {@link ResultSet} to the {@link CertificateTag}.
      *
@@ -26,9 +29,16 @@ public class CertificateInJsonMapper implements RowMapper<GiftCertificate> {
     @SneakyThrows
     @Override
     public GiftCertificate mapRow(ResultSet resultSet, int i) throws SQLException {
-        Gson gson = new Gson();
-        return gson.fromJson(
-                resultSet.getString(ColumnNames.TABLE_USERORDER_CERTIFICATE_COLUMN_CERTIFICATEINJSON),
-                GiftCertificate.class);
+        return fromJson(resultSet.getString(ColumnNames.TABLE_USERORDER_CERTIFICATE_COLUMN_CERTIFICATEINJSON));
+    }
+
+    /**
+     * Maps the {@link GiftCertificate} in JSON to the {@link GiftCertificate}.
+     *
+     * @param certificateInJson is the {@link GiftCertificate} in JSON.
+     * @return {@link GiftCertificate}.
+     */
+    public GiftCertificate fromJson(String certificateInJson) {
+        return GSON.fromJson(certificateInJson, GiftCertificate.class);
     }
 }
@@ -0,0 +1,50 @@
+package com.epam.esm.dao.impl.jdbc;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The SQL query together with the values of its placeholders in the order they appear in the query.
+ */
+public final class CertificateQuery {
+    private final String sql;
+    private final List<Object> arguments;
+
+    /**
+     * Constructs the {@link CertificateQuery}.
+     *
+     * @param sql       is the SQL query with the placeholders.
+     * @param arguments are the values to bind to the placeholders.
+     */
+    public CertificateQuery(String sql, List<Object> arguments) {
+        this.sql = sql;
+        this.arguments = Collections.unmodifiableList(arguments);
+    }
+
+    /**
+     * The getter.
+     *
+     * @return {@link String} that is the SQL query.
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * The getter.
+     *
+     * @return {@link List<Object>} that are the values of the placeholders.
+     */
+    public List<Object> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Returns the values of the placeholders as an array to pass into the {@link org.springframework.jdbc.core.JdbcTemplate}.
+     *
+     * @return the values of the placeholders.
+     */
+    public Object[] getArgumentsArray() {
+        return arguments.toArray();
+    }
+}
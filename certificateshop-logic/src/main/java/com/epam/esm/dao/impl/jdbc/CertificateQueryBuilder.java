@@ -0,0 +1,356 @@
+package com.epam.esm.dao.impl.jdbc;
+
+import com.epam.esm.model.impl.GiftCertificate;
+
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds the SQL query of the 'GET /certificates' request. All the filters and sorts of the request
+ * ('tag_name', 'any_tag_name', 'part_cert_name', 'part_descr_name', 'sortByName', 'sortByDate') are applied by the database,
+ * so that the page is cut from the already filtered and sorted rows.
+ * <p>
+ * The values of the parameters are never concatenated into the query, they are bound as parameters.
+ * The SQL text depends only on the shape of the request: which filters are present, how many tags
+ * and candidate ids are requested, how the result is sorted and whether the page is addressed by a cursor. The texts are cached
+ * by the shape, so that the database driver and Hibernate parse and plan every shape only once. The amounts
+ * of the tags and of the candidate ids are rounded up to the power of two (the last value is repeated),
+ * so that the number of the shapes stays small.
+ * <p>
+ * If the 'after' or 'before' cursor is present, the page is found by seeking on the sort keys and the id
+ * (keyset pagination) instead of skipping the rows with the offset.
+ */
+public final class CertificateQueryBuilder {
+    private static final String FIND_CERTIFICATES_PAGE_SQL
+            = "select c.id as certificateId, c.name as certificateName," +
+            " c.description as certificateDescription, c.duration as certificateDuration," +
+            " c.create_date as certificateCreateDate, c.price as certificatePrice," +
+            " c.last_update_date as certificateLastUpdateDate, t.id as tagId, t.name as tagName" +
+            " from gift_certificate as c LEFT OUTER JOIN (has_tag as h LEFT OUTER JOIN tag as t ON t.id = h.tagId)" +
+            " ON c.id = h.certificateId" +
+            " WHERE c.id IN (select * from (select cq.id from gift_certificate as cq%s" +
+            " order by %s LIMIT ?, ?) as query1)" +
+            " order by %s";
+    private static final String PART_OF_NAME_CONDITION = "cq.name like ?";
+    private static final String PART_OF_DESCRIPTION_CONDITION = "cq.description like ?";
+    private static final String CANDIDATE_IDS_CONDITION = "cq.id in (%s)";
+    private static final String TAG_NAMES_CONDITION
+            = "cq.id IN (select hq.certificateId from has_tag as hq INNER JOIN tag as tq ON tq.id = hq.tagId" +
+            " where tq.name in (%s) group by hq.certificateId having COUNT(DISTINCT tq.name) >= ?)";
+    private static final String INNER_TABLE_ALIAS = "cq.";
+    private static final String OUTER_TABLE_ALIAS = "c.";
+    private static final String ID_COLUMN = "id";
+    private static final String NAME_COLUMN = "name";
+    private static final String CREATE_DATE_COLUMN = "create_date";
+    private static final String ASC = "asc";
+    private static final String DESC = "desc";
+    private static final char LIKE_ESCAPE_CHARACTER = '\\';
+    // the shapes are bounded by the rounding of the amount of tags, the limit only protects from the abuse
+    private static final int MAX_CACHED_TEMPLATES = 512;
+    private static final ConcurrentMap<String, String> TEMPLATES = new ConcurrentHashMap<>();
+
+    private CertificateQueryBuilder() {
+    }
+
+    /**
+     * Creates the query, that fetches one page of the {@link GiftCertificate}s
+     * with their tags. The sorts are applied in the order they appear in the parameters, the id
+     * of the certificate is always the last sort key, so that the order of the pages is stable.
+     *
+     * @param parameters are the parameters of the 'GET /certificates' request.
+     * @param offset     is the amount of the certificates to skip, it is ignored if the page is addressed by a cursor.
+     * @param limit      is the amount of the certificates on the page.
+     * @return {@link CertificateQuery} with the SQL template and the values to bind.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    public static CertificateQuery createQuery(Map<String, String> parameters, int offset, int limit) {
+        return createQuery(parameters, Collections.emptyList(), offset, limit);
+    }
+
+    /**
+     * Creates the query, that fetches one page of the {@link GiftCertificate}s among the candidates,
+     * which are found by the in-memory indexes. The filters are still applied to the candidates.
+     *
+     * @param parameters   are the parameters of the 'GET /certificates' request.
+     * @param candidateIds are the ids of the candidates, all the certificates if it is empty.
+     * @param offset       is the amount of the certificates to skip, it is ignored if the page is addressed by a cursor.
+     * @param limit        is the amount of the certificates on the page.
+     * @return {@link CertificateQuery} with the SQL template and the values to bind.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    public static CertificateQuery createQuery(Map<String, String> parameters, Collection<Long> candidateIds,
+                                               int offset, int limit) {
+        StringBuilder shape = new StringBuilder();
+        List<Object> arguments = new ArrayList<>();
+        int amountOfIdPlaceholders = 0;
+        if (!candidateIds.isEmpty()) {
+            List<Long> ids = new ArrayList<>(candidateIds);
+            amountOfIdPlaceholders = roundUpToPowerOfTwo(ids.size());
+            arguments.addAll(ids);
+            for (int i = ids.size(); i < amountOfIdPlaceholders; i++) {
+                arguments.add(ids.get(ids.size() - 1));
+            }
+            shape.append('i').append(amountOfIdPlaceholders);
+        }
+        String partOfName = parameters.get(ColumnNames.PART_CERT_NAME_PARAM_NAME);
+        if (partOfName != null) {
+            shape.append('n');
+            arguments.add(toLikePattern(partOfName));
+        }
+        String partOfDescription = parameters.get(ColumnNames.PART_DESCR_NAME_PARAM_NAME);
+        if (partOfDescription != null) {
+            shape.append('d');
+            arguments.add(toLikePattern(partOfDescription));
+        }
+        int amountOfTagPlaceholders = addTagNames(parameters.get(ColumnNames.TAG_NAME_PARAM_NAME),
+                true, shape.append('t'), arguments);
+        int amountOfAnyTagPlaceholders = addTagNames(parameters.get(ColumnNames.ANY_TAG_NAME_PARAM_NAME),
+                false, shape.append('a'), arguments);
+        List<SortKey> sortKeys = createSortKeys(parameters);
+        Direction direction = Direction.NONE;
+        String cursor = parameters.get(ColumnNames.AFTER_PARAM_NAME);
+        if (cursor != null) {
+            direction = Direction.AFTER;
+        } else if (parameters.get(ColumnNames.BEFORE_PARAM_NAME) != null) {
+            cursor = parameters.get(ColumnNames.BEFORE_PARAM_NAME);
+            direction = Direction.BEFORE;
+        }
+        if (direction != Direction.NONE) {
+            List<Object> cursorValues = parseCursor(cursor, sortKeys);
+            for (int i = 0; i < sortKeys.size(); i++) {
+                arguments.addAll(cursorValues.subList(0, i + 1));
+            }
+            offset = 0;
+        }
+        shape.append('|').append(direction).append('|').append(sortKeys);
+        arguments.add(offset);
+        arguments.add(limit);
+        String key = shape.toString();
+        String template = TEMPLATES.get(key);
+        if (template == null) {
+            template = createTemplate(amountOfIdPlaceholders, partOfName != null, partOfDescription != null,
+                    amountOfTagPlaceholders, amountOfAnyTagPlaceholders, sortKeys, direction);
+            if (TEMPLATES.size() < MAX_CACHED_TEMPLATES) {
+                TEMPLATES.putIfAbsent(key, template);
+            }
+        }
+        return new CertificateQuery(template, arguments);
+    }
+
+    /**
+     * Creates the cursor of the certificate for the sort order of the request.
+     *
+     * @param giftCertificate is the first or the last {@link GiftCertificate} on the page.
+     * @param parameters      are the parameters of the 'GET /certificates' request.
+     * @return {@link String} that is the value of the 'after' or 'before' parameter.
+     */
+    public static String createCursor(GiftCertificate giftCertificate, Map<String, String> parameters) {
+        List<Object> values = new ArrayList<>();
+        for (SortKey sortKey : createSortKeys(parameters)) {
+            switch (sortKey.column) {
+                case NAME_COLUMN:
+                    values.add(giftCertificate.getName());
+                    break;
+                case CREATE_DATE_COLUMN:
+                    values.add(giftCertificate.getCreateDate());
+                    break;
+                default:
+                    values.add(giftCertificate.getId());
+            }
+        }
+        return PageCursor.encode(values.toArray());
+    }
+
+    /**
+     * Checks whether the cursor of the request fits the sort order of the request.
+     *
+     * @param parameters are the parameters of the 'GET /certificates' request.
+     * @param cursor     is the value of the 'after' or 'before' parameter.
+     * @return true if the cursor can be used with the parameters.
+     */
+    public static boolean isCursorValid(Map<String, String> parameters, String cursor) {
+        try {
+            parseCursor(cursor, createSortKeys(parameters));
+            return true;
+        } catch (IllegalArgumentException | DateTimeException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Splits the value of the 'tag_name' or the 'any_tag_name' parameter into the unique tag names.
+     * The names are unique in the database regardless of the case, so the names, which differ in the case only,
+     * are one name.
+     *
+     * @param tagNames is the comma separated value of the 'tag_name' or the 'any_tag_name' parameter.
+     * @return {@link Set<String>} of the tag names in the order they appear in the parameter.
+     */
+    public static Set<String> splitTagNames(String tagNames) {
+        Set<String> uniqueNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : tagNames.split(",")) {
+            if (uniqueNames.add(name)) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Checks whether the value of a sort parameter is a valid sort direction.
+     *
+     * @param value is the value of the 'sortByName' or 'sortByDate' parameter.
+     * @return true if the value is 'asc' or 'desc' in any case.
+     */
+    public static boolean isSortDirection(String value) {
+        return ASC.equalsIgnoreCase(value) || DESC.equalsIgnoreCase(value);
+    }
+
+    // the certificate should have all the tags or at least one of them, the amount is bound after the names
+    private static int addTagNames(String tagNames, boolean isAllRequired, StringBuilder shape,
+                                   List<Object> arguments) {
+        if (tagNames == null) {
+            return 0;
+        }
+        List<String> uniqueTagNames = new ArrayList<>(splitTagNames(tagNames));
+        int amountOfTagPlaceholders = roundUpToPowerOfTwo(uniqueTagNames.size());
+        arguments.addAll(uniqueTagNames);
+        for (int i = uniqueTagNames.size(); i < amountOfTagPlaceholders; i++) {
+            arguments.add(uniqueTagNames.get(uniqueTagNames.size() - 1));
+        }
+        arguments.add(isAllRequired ? uniqueTagNames.size() : 1);
+        shape.append(amountOfTagPlaceholders);
+        return amountOfTagPlaceholders;
+    }
+
+    private static String createTemplate(int amountOfIdPlaceholders, boolean hasPartOfName,
+                                         boolean hasPartOfDescription, int amountOfTagPlaceholders,
+                                         int amountOfAnyTagPlaceholders, List<SortKey> sortKeys,
+                                         Direction direction) {
+        List<String> conditions = new ArrayList<>();
+        if (amountOfIdPlaceholders > 0) {
+            conditions.add(String.format(CANDIDATE_IDS_CONDITION, SqlPlaceholders.createList(amountOfIdPlaceholders)));
+        }
+        if (hasPartOfName) {
+            conditions.add(PART_OF_NAME_CONDITION);
+        }
+        if (hasPartOfDescription) {
+            conditions.add(PART_OF_DESCRIPTION_CONDITION);
+        }
+        if (amountOfTagPlaceholders > 0) {
+            conditions.add(String.format(TAG_NAMES_CONDITION,
+                    SqlPlaceholders.createList(amountOfTagPlaceholders)));
+        }
+        if (amountOfAnyTagPlaceholders > 0) {
+            conditions.add(String.format(TAG_NAMES_CONDITION,
+                    SqlPlaceholders.createList(amountOfAnyTagPlaceholders)));
+        }
+        if (direction != Direction.NONE) {
+            conditions.add(createSeekCondition(sortKeys, direction == Direction.BEFORE));
+        }
+        String where = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+        return String.format(FIND_CERTIFICATES_PAGE_SQL, where,
+                createOrderBy(sortKeys, INNER_TABLE_ALIAS, direction == Direction.BEFORE),
+                createOrderBy(sortKeys, OUTER_TABLE_ALIAS, false));
+    }
+
+    // (k1 > ?) or (k1 = ? and k2 > ?) or ... the comparison is reversed for the descending keys and for 'before'
+    private static String createSeekCondition(List<SortKey> sortKeys, boolean isBackward) {
+        StringJoiner alternatives = new StringJoiner(" or ", "(", ")");
+        for (int i = 0; i < sortKeys.size(); i++) {
+            StringJoiner conjunction = new StringJoiner(" and ", "(", ")");
+            for (int j = 0; j < i; j++) {
+                conjunction.add(INNER_TABLE_ALIAS + sortKeys.get(j).column + " = ?");
+            }
+            SortKey sortKey = sortKeys.get(i);
+            String operator = sortKey.isAscending != isBackward ? " > ?" : " < ?";
+            conjunction.add(INNER_TABLE_ALIAS + sortKey.column + operator);
+            alternatives.add(conjunction.toString());
+        }
+        return alternatives.toString();
+    }
+
+    private static List<Object> parseCursor(String cursor, List<SortKey> sortKeys) {
+        List<String> values = PageCursor.decode(cursor);
+        if (values.size() != sortKeys.size()) {
+            throw new IllegalArgumentException("The cursor does not fit the sort order.");
+        }
+        List<Object> cursorValues = new ArrayList<>();
+        for (int i = 0; i < sortKeys.size(); i++) {
+            switch (sortKeys.get(i).column) {
+                case NAME_COLUMN:
+                    cursorValues.add(values.get(i));
+                    break;
+                case CREATE_DATE_COLUMN:
+                    cursorValues.add(Timestamp.valueOf(LocalDateTime.parse(values.get(i))));
+                    break;
+                default:
+                    cursorValues.add(Long.parseLong(values.get(i)));
+            }
+        }
+        return cursorValues;
+    }
+
+    private static List<SortKey> createSortKeys(Map<String, String> parameters) {
+        List<SortKey> sortKeys = new ArrayList<>();
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            String column = null;
+            if (ColumnNames.SORT_BY_NAME_PARAM_NAME.equals(parameter.getKey())) {
+                column = NAME_COLUMN;
+            } else if (ColumnNames.SORT_BY_DATE_PARAM_NAME.equals(parameter.getKey())) {
+                column = CREATE_DATE_COLUMN;
+            }
+            if (column != null && isSortDirection(parameter.getValue())) {
+                sortKeys.add(new SortKey(column, ASC.equalsIgnoreCase(parameter.getValue())));
+            }
+        }
+        sortKeys.add(new SortKey(ID_COLUMN, true));
+        return sortKeys;
+    }
+
+    private static String createOrderBy(List<SortKey> sortKeys, String tableAlias, boolean isReversed) {
+        StringJoiner orderBy = new StringJoiner(", ");
+        for (SortKey sortKey : sortKeys) {
+            orderBy.add(tableAlias + sortKey.column + " " + (sortKey.isAscending != isReversed ? ASC : DESC));
+        }
+        return orderBy.toString();
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static String toLikePattern(String value) {
+        StringBuilder pattern = new StringBuilder("%");
+        for (char character : value.toCharArray()) {
+            if (character == '%' || character == '_' || character == LIKE_ESCAPE_CHARACTER) {
+                pattern.append(LIKE_ESCAPE_CHARACTER);
+            }
+            pattern.append(character);
+        }
+        return pattern.append('%').toString();
+    }
+
+    private enum Direction {
+        NONE, AFTER, BEFORE
+    }
+
+    private static final class SortKey {
+        private final String column;
+        private final boolean isAscending;
+
+        private SortKey(String column, boolean isAscending) {
+            this.column = column;
+            this.isAscending = isAscending;
+        }
+
+        @Override
+        public String toString() {
+            return column + (isAscending ? " " + ASC : " " + DESC);
+        }
+    }
+}
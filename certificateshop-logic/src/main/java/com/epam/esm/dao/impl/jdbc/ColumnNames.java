@@ -1,6 +1,7 @@
 package com.epam.esm.dao.impl.jdbc;
 
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Stores names of the database tables columns, which are used by {@link GiftCertificateExtractor}
@@ -26,6 +27,14 @@ public final class ColumnNames {
     public static final String DEFAULT_AMOUNT_ENTITIES_ON_THE_PAGE = "5";
     public static final String PAGE_NUMBER_PARAM_NAME = "pageNumber";
     public static final String AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME = "amountOfEntitiesOnThePage";
+    public static final String TAG_NAME_PARAM_NAME = "tag_name";
+    public static final String ANY_TAG_NAME_PARAM_NAME = "any_tag_name";
+    public static final String PART_CERT_NAME_PARAM_NAME = "part_cert_name";
+    public static final String PART_DESCR_NAME_PARAM_NAME = "part_descr_name";
+    public static final String SORT_BY_NAME_PARAM_NAME = "sortByName";
+    public static final String SORT_BY_DATE_PARAM_NAME = "sortByDate";
+    public static final String AFTER_PARAM_NAME = "after";
+    public static final String BEFORE_PARAM_NAME = "before";
     public static final Map<String, String> DEFAULT_PARAMS = new HashMap<String, String>() {{
         put(PAGE_NUMBER_PARAM_NAME, "0");
         put(AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME, DEFAULT_AMOUNT_ENTITIES_ON_THE_PAGE);
@@ -47,41 +56,64 @@ public final class ColumnNames {
     }
 
     /**
-     * To use in controllers.
+     * Creates the parameters of the link to the next page. If the page is full, the link points
+     * to the page after the last entity (keyset pagination), so that every next page costs the same
+     * as the first one. Otherwise the link points to the same page.
      *
-     * @param entities
-     * @param pageNumber
-     * @param amountOfEntitesOnThePage
-     * @return
+     * @param entities                  are the entities on the current page.
+     * @param parameters                are the parameters of the current request.
+     * @param amountOfEntitiesOnThePage is the amount of the entities on the page.
+     * @param cursorOf                  creates the cursor of an entity.
+     * @return the parameters of the link.
      */
     public static <T> Map<String, String> createNextParameters(
-            List<T> entities, int pageNumber, int amountOfEntitesOnThePage) {
-        int nextPageNumber = 0;
-        Map<String, String> paramsNext = new HashMap<>();
-        if (amountOfEntitesOnThePage == entities.size()) {
-            nextPageNumber = pageNumber + 1;
+            List<T> entities, Map<String, String> parameters, int amountOfEntitiesOnThePage,
+            Function<T, String> cursorOf) {
+        Map<String, String> paramsNext;
+        if (!entities.isEmpty() && amountOfEntitiesOnThePage == entities.size()) {
+            paramsNext = copyWithoutPosition(parameters);
+            paramsNext.put(AFTER_PARAM_NAME, cursorOf.apply(entities.get(entities.size() - 1)));
         } else {
-            nextPageNumber = pageNumber;
+            paramsNext = new LinkedHashMap<>(parameters);
         }
-        paramsNext.put(ColumnNames.PAGE_NUMBER_PARAM_NAME, String.valueOf(nextPageNumber));
-        setLimit(amountOfEntitesOnThePage, paramsNext);
+        setLimit(amountOfEntitiesOnThePage, paramsNext);
         return paramsNext;
     }
 
+    /**
+     * Creates the parameters of the link to the previous page. The link points to the page before
+     * the first entity (keyset pagination). The first page and the empty page point to themselves.
+     *
+     * @param entities                  are the entities on the current page.
+     * @param parameters                are the parameters of the current request.
+     * @param amountOfEntitiesOnThePage is the amount of the entities on the page.
+     * @param cursorOf                  creates the cursor of an entity.
+     * @return the parameters of the link.
+     */
     public static <T> Map<String, String> createPrevParameters(
-            List<T> certificates, int pageNumber, int amountOfEntitiesOnThePage) {
-        Map<String, String> paramsPrev = new HashMap<>();
-        int prevPageNumber = 0;
-        if (pageNumber > 0) {
-            prevPageNumber = pageNumber - 1;
+            List<T> entities, Map<String, String> parameters, int amountOfEntitiesOnThePage,
+            Function<T, String> cursorOf) {
+        Map<String, String> paramsPrev;
+        boolean isFirstPage = !parameters.containsKey(AFTER_PARAM_NAME) && !parameters.containsKey(BEFORE_PARAM_NAME)
+                && "0".equals(parameters.get(PAGE_NUMBER_PARAM_NAME));
+        if (!entities.isEmpty() && !isFirstPage) {
+            paramsPrev = copyWithoutPosition(parameters);
+            paramsPrev.put(BEFORE_PARAM_NAME, cursorOf.apply(entities.get(0)));
         } else {
-            prevPageNumber = pageNumber;
+            paramsPrev = new LinkedHashMap<>(parameters);
         }
-        paramsPrev.put(ColumnNames.PAGE_NUMBER_PARAM_NAME, String.valueOf(prevPageNumber));
         setLimit(amountOfEntitiesOnThePage, paramsPrev);
         return paramsPrev;
     }
 
+    private static Map<String, String> copyWithoutPosition(Map<String, String> parameters) {
+        Map<String, String> copy = new LinkedHashMap<>(parameters);
+        copy.remove(PAGE_NUMBER_PARAM_NAME);
+        copy.remove(AFTER_PARAM_NAME);
+        copy.remove(BEFORE_PARAM_NAME);
+        return copy;
+    }
+
     /**
      * To use in controllers.
      *
@@ -161,11 +193,8 @@ public final class ColumnNames {
      * @return parameters of the query.
      */
     public static Map<String, String> validateParameters(Map<String, String> parameters, String defaultAmountEntitiesOnThePage) {
-        if (parameters.size() == 0 || !parameters.containsKey(ColumnNames.PAGE_NUMBER_PARAM_NAME)
-                || !parameters.containsKey(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME)) {
-            parameters.put(ColumnNames.PAGE_NUMBER_PARAM_NAME, "0");
-            parameters.put(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME, defaultAmountEntitiesOnThePage);
-        }
+        parameters.putIfAbsent(ColumnNames.PAGE_NUMBER_PARAM_NAME, "0");
+        parameters.putIfAbsent(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME, defaultAmountEntitiesOnThePage);
         return parameters;
     }
 
@@ -182,58 +211,4 @@ public final class ColumnNames {
         }
         return parameters;
     }
-
-    public static String createQuery(Map<String, String> parameters) {
-
-        String part1 = "select c.id as certificateId, c.name as certificateName, c.description as certificateDescription," +
-                " c.duration as certificateDuration, c.create_date as certificateCreateDate," +
-                " c.price as certificatePrice, c.last_update_date as certificateLastUpdateDate, t.id as tagId," +
-                " t.name as tagName" +
-                " from gift_certificate as c" +
-                " LEFT OUTER JOIN (has_tag as h LEFT OUTER JOIN tag as t ON t.id = h.tagId) ON c.id = h.certificateId" +
-                " WHERE c.id IN (select * from (select id from (select cq.id, tq.name, COUNT(tq.name) as amount" +
-                " from (gift_certificate as cq" +
-                " LEFT OUTER JOIN (has_tag as hq LEFT OUTER JOIN tag as tq ON tq.id = hq.tagId) ON cq.id = hq.certificateId)";
-        String part2_1 = " where cq.name like ";
-        String part2_2 = "'%%'";
-        String part3_1 = " and cq.description like ";
-        String part3_2 = "'%%'";
-        String part4_1 = " and tq.name in (%s)";
-        String part4_2 = "";
-        String part4_3 = " group by cq.id";
-        String part4_4 = " having amount = ";
-        String part4_5 = "";
-        String part5 = " order by cq.id) as query2";
-        String part6 = " LIMIT ?, ?) as query1);";
-
-        Set<Map.Entry<String, String>> set = parameters.entrySet();
-        for (Map.Entry<String, String> entry : set) {
-            if (entry.getKey().equals("part_cert_name")) {
-                part2_2 = "'%" + parameters.get("part_cert_name") + "%'";
-            }
-            if (entry.getKey().equals("part_descr_name")) {
-                part3_2 = "'%" + parameters.get("part_descr_name") + "%'";
-            }
-            if (entry.getKey().equals("tag_name")) {
-                List<String> values = Arrays.asList(parameters.get("tag_name").split(","));
-                part4_5 = String.valueOf(values.size());
-                for (String value : values) {
-                    if (part4_2.equals("")) {
-                        part4_2 = part4_2.concat("'").concat(value).concat("'");
-                    } else {
-                        part4_2 = part4_2.concat(", ").concat("'").concat(value).concat("'");
-                    }
-                }
-            }
-        }
-        String findAllQuery = part1.concat(part2_1);
-        if (part4_2.equals("")) {
-            findAllQuery = findAllQuery + part2_2 + part3_1 + part3_2 + part4_3 + part5 + part6;
-        } else {
-            String part4 = String.format(part4_1, part4_2);
-            findAllQuery = findAllQuery + part2_2 + part3_1 + part3_2
-                    + String.format(part4_1, part4_2) + part4_3 + part4_4 + part4_5 + part5 + part6;
-        }
-        return findAllQuery;
-    }
 }
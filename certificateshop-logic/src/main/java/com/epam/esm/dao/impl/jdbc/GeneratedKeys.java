@@ -0,0 +1,70 @@
+package com.epam.esm.dao.impl.jdbc;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executes the inserts, which id is generated by the database, and returns the generated id,
+ * so the saved entity does not have to be read again.
+ */
+public final class GeneratedKeys {
+    private static final String[] ID_COLUMN = {"id"};
+
+    private GeneratedKeys() {
+    }
+
+    /**
+     * Executes the insert and returns the id of the inserted row.
+     *
+     * @param jdbcTemplate is the {@link JdbcTemplate} to execute the insert with.
+     * @param sql          is the insert statement.
+     * @param arguments    are the values of the placeholders of the statement.
+     * @return the generated id.
+     */
+    public static long insert(JdbcTemplate jdbcTemplate, String sql, Object... arguments) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(sql, ID_COLUMN);
+            new ArgumentPreparedStatementSetter(arguments).setValues(preparedStatement);
+            return preparedStatement;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    /**
+     * Executes the insert for every row of the {@param batchArguments} in one JDBC batch
+     * and returns the ids of the inserted rows.
+     *
+     * @param connection     is the {@link Connection} to execute the batch with.
+     * @param sql            is the insert statement.
+     * @param batchArguments are the values of the placeholders of the statement, one array per row.
+     * @return the generated ids in the order of the rows.
+     * @throws SQLException if the batch fails.
+     */
+    public static List<Long> insertBatch(Connection connection, String sql, List<Object[]> batchArguments)
+            throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql, ID_COLUMN)) {
+            for (Object[] arguments : batchArguments) {
+                new ArgumentPreparedStatementSetter(arguments).setValues(preparedStatement);
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                while (generatedKeys.next()) {
+                    ids.add(generatedKeys.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+}
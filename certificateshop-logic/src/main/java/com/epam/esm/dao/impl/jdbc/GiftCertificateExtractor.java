@@ -13,13 +13,17 @@ import org.springframework.stereotype.Component;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Extract {@link List<GiftCertificate>} from the {@link ResultSet}.
  */
 @Component("certificateExtractor")
-public class GiftCertificateExtractor implements ResultSetExtractor<List<GiftCertificate>> {
+public class GiftCertificateExtractor implements ResultSetExtractor<List<GiftCertificate>>,
+        StreamingResultSetExtractor<GiftCertificate> {
 
     @Autowired
     @Qualifier("certificateTagMapper")
@@ -38,40 +42,64 @@ public class GiftCertificateExtractor implements ResultSetExtractor<List<GiftCer
      */
     @Override
     public List<GiftCertificate> extractData(ResultSet resultSet) throws SQLException, DataAccessException {
-        List<GiftCertificate> giftCertificates = new ArrayList<>();
+        // the certificates are keyed by the id to find the certificate of the row at once, the order of the rows is kept
+        Map<Long, GiftCertificate> giftCertificates = new LinkedHashMap<>();
 
         while (resultSet.next()) {
             final long currentId = resultSet.getLong(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_ID);
-            if (giftCertificates.stream().anyMatch(giftCertificate -> giftCertificate.getId() == currentId)) {
-                if (resultSet.getLong(ColumnNames.TABLE_TAG_COLUMN_ID) != 0) {
-                    CertificateTag certificateTag = tagRowMapper.mapRow(resultSet, resultSet.getRow());
-                    giftCertificates.stream()
-                            .filter(giftCertificate -> giftCertificate.getId() == currentId)
-                            .findAny().ifPresent(giftCertificate -> giftCertificate.getTags().add(certificateTag));
-                }
-            } else {
-                List<CertificateTag> allTagsThisCertificate = new ArrayList<CertificateTag>();
-                GiftCertificate giftCertificate = new GiftCertificate(
-                        resultSet.getLong(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_ID),
-                        resultSet.getString(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_NAME),
-                        resultSet.getString(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DESCRIPTION),
-                        resultSet.getBigDecimal(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_PRICE),
-                        resultSet.getLong(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DURATION),
-                        resultSet.getTimestamp(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_CREATE_DATE).toLocalDateTime(),
-                        resultSet.getTimestamp(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_LAST_UPDATE_DATE).toLocalDateTime(),
-                        allTagsThisCertificate
-                );
-                giftCertificates.add(giftCertificate);
-                if (resultSet.getLong(ColumnNames.TABLE_TAG_COLUMN_ID) != 0) {
-                    CertificateTag certificateTag = tagRowMapper.mapRow(resultSet, resultSet.getRow());
-                    giftCertificates.stream()
-                            .filter(giftCertificate1 -> giftCertificate1.getId() == currentId)
-                            .findAny().ifPresent(giftCertificate1 -> giftCertificate1.getTags()
-                            .add(certificateTag));
+            GiftCertificate giftCertificate = giftCertificates.get(currentId);
+            if (giftCertificate == null) {
+                giftCertificate = mapCertificate(resultSet, currentId);
+                giftCertificates.put(currentId, giftCertificate);
+            }
+            addTag(resultSet, giftCertificate);
+        }
+        return new ArrayList<>(giftCertificates.values());
+    }
+
+    /**
+     * Extracts the {@link GiftCertificate}s from the {@link ResultSet} ordered by the id of the certificate.
+     *
+     * @param resultSet is the {@link ResultSet} to map.
+     * @param consumer  is the {@link Consumer} of every extracted {@link GiftCertificate}.
+     * @throws SQLException when something went wrong.
+     */
+    @Override
+    public void extractEach(ResultSet resultSet, Consumer<GiftCertificate> consumer) throws SQLException {
+        // the certificate is complete, when the id of the row changes
+        GiftCertificate giftCertificate = null;
+        while (resultSet.next()) {
+            final long currentId = resultSet.getLong(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_ID);
+            if (giftCertificate == null || giftCertificate.getId() != currentId) {
+                if (giftCertificate != null) {
+                    consumer.accept(giftCertificate);
                 }
+                giftCertificate = mapCertificate(resultSet, currentId);
             }
+            addTag(resultSet, giftCertificate);
+        }
+        if (giftCertificate != null) {
+            consumer.accept(giftCertificate);
+        }
+    }
+
+    private GiftCertificate mapCertificate(ResultSet resultSet, long id) throws SQLException {
+        return new GiftCertificate(
+                id,
+                resultSet.getString(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_NAME),
+                resultSet.getString(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DESCRIPTION),
+                resultSet.getBigDecimal(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_PRICE),
+                resultSet.getLong(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DURATION),
+                resultSet.getTimestamp(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_CREATE_DATE).toLocalDateTime(),
+                resultSet.getTimestamp(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_LAST_UPDATE_DATE).toLocalDateTime(),
+                new ArrayList<>()
+        );
+    }
+
+    private void addTag(ResultSet resultSet, GiftCertificate giftCertificate) throws SQLException {
+        if (resultSet.getLong(ColumnNames.TABLE_TAG_COLUMN_ID) != 0) {
+            giftCertificate.getTags().add(tagRowMapper.mapRow(resultSet, resultSet.getRow()));
         }
-        return giftCertificates;
     }
 
     public void setJdbcTemplate(JdbcTemplate jdbcTemplate) {
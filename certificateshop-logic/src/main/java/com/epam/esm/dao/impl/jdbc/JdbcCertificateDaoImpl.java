@@ -8,21 +8,28 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * The class that implements the CertificateDAO interface.
  */
 @Profile("dev")
-@Repository("certificateDAO")
-@Component("certificateDAO")
+@Repository("certificateDAOTarget")
+@Component("certificateDAOTarget")
 public class JdbcCertificateDaoImpl implements CertificateDao {
 
     private static final Logger LOGGER = LogManager.getLogger(JdbcCertificateDaoImpl.class);
@@ -42,6 +49,13 @@ public class JdbcCertificateDaoImpl implements CertificateDao {
             = "update gift_certificate" +
             " set name = ?, description = ?, price = ?, duration = ?, create_date = ?, last_update_date = ?" +
             " where id = ?";
+    private static final String STREAM_ALL_ENTITIES_SQL
+            = "select c.id as certificateId, c.name as certificateName," +
+            " c.description as certificateDescription, c.duration as certificateDuration," +
+            " c.create_date as certificateCreateDate, c.price as certificatePrice," +
+            " c.last_update_date as certificateLastUpdateDate, t.id as tagId, t.name as tagName" +
+            " from gift_certificate as c LEFT OUTER JOIN (has_tag as h LEFT OUTER JOIN tag as t ON t.id = h.tagId)" +
+            " ON c.id = h.certificateId order by c.id";
     private static final String FIND_ENTITY_BY_ID_SQL
             = "select c.id as certificateId, c.name as certificateName," +
             " c.description as certificateDescription, c.duration as certificateDuration," +
@@ -56,6 +70,21 @@ public class JdbcCertificateDaoImpl implements CertificateDao {
             " c.last_update_date as certificateLastUpdateDate, t.id as tagId, t.name as tagName" +
             " from gift_certificate as c LEFT OUTER JOIN (has_tag as h LEFT OUTER JOIN tag as t ON t.id = h.tagId)" +
             " ON c.id = h.certificateId where c.name = ?";
+    private static final String FIND_ALL_ENTITIES_BY_IDS_SQL
+            = "select c.id as certificateId, c.name as certificateName," +
+            " c.description as certificateDescription, c.duration as certificateDuration," +
+            " c.create_date as certificateCreateDate, c.price as certificatePrice," +
+            " c.last_update_date as certificateLastUpdateDate, t.id as tagId, t.name as tagName" +
+            " from gift_certificate as c LEFT OUTER JOIN (has_tag as h LEFT OUTER JOIN tag as t ON t.id = h.tagId)" +
+            " ON c.id = h.certificateId where c.id in (%s)";
+    private static final String FIND_ALL_ENTITIES_BY_NAMES_SQL
+            = "select c.id as certificateId, c.name as certificateName," +
+            " c.description as certificateDescription, c.duration as certificateDuration," +
+            " c.create_date as certificateCreateDate, c.price as certificatePrice," +
+            " c.last_update_date as certificateLastUpdateDate, t.id as tagId, t.name as tagName" +
+            " from gift_certificate as c LEFT OUTER JOIN (has_tag as h LEFT OUTER JOIN tag as t ON t.id = h.tagId)" +
+            " ON c.id = h.certificateId where c.name in (%s)";
+    private static final String INSERT_ROWS_IN_HAS_TAG_TABLE_SQL = "insert into has_tag (certificateId, tagId) values ";
     private static final String INSERT_VALUES_IN_HAS_TAG_TABLE_SQL
             = "insert into has_tag (certificateId, tagId) values (?, ?)";
     private static final String DELETE_VALUES_IN_HAS_TAG_TABLE_SQL
@@ -68,6 +97,10 @@ public class JdbcCertificateDaoImpl implements CertificateDao {
     @Qualifier("certificateExtractor")
     private ResultSetExtractor<List<GiftCertificate>> giftCertificateExtractor;
 
+    @Autowired
+    @Qualifier("certificateExtractor")
+    private StreamingResultSetExtractor<GiftCertificate> giftCertificateStreamingExtractor;
+
     public JdbcCertificateDaoImpl() {
     }
 
@@ -89,6 +122,16 @@ public class JdbcCertificateDaoImpl implements CertificateDao {
         this.giftCertificateExtractor = giftCertificateExtractor;
     }
 
+    /**
+     * The setter of the {@link StreamingResultSetExtractor<GiftCertificate>}.
+     *
+     * @param giftCertificateStreamingExtractor is the {@link StreamingResultSetExtractor<GiftCertificate>} to set.
+     */
+    public void setGiftCertificateStreamingExtractor(
+            StreamingResultSetExtractor<GiftCertificate> giftCertificateStreamingExtractor) {
+        this.giftCertificateStreamingExtractor = giftCertificateStreamingExtractor;
+    }
+
     /**
      * Returns all the {@link GiftCertificate}s in the database.
      *
@@ -99,11 +142,24 @@ public class JdbcCertificateDaoImpl implements CertificateDao {
     @Override
     public List<GiftCertificate> findAllPagination(int pageNumber, int amountEntitiesOnThePage,
                                                    Map<String, String> parameters) {
-        String CREATED_FIND_ALL_ENTITIES = ColumnNames.createQuery(parameters);
-        List<GiftCertificate> giftCertificates =
-                jdbcTemplate.query(CREATED_FIND_ALL_ENTITIES, giftCertificateExtractor,
-                        pageNumber * amountEntitiesOnThePage, amountEntitiesOnThePage);
-        return giftCertificates;
+        return findAllPagination(pageNumber, amountEntitiesOnThePage, parameters, Collections.emptyList());
+    }
+
+    /**
+     * Returns the page of the {@link GiftCertificate}s among the candidates.
+     *
+     * @param pageNumber              is the pageNumber query parameter.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @param parameters              are the parameters of the 'GET /certificates' request.
+     * @param candidateIds            are the ids of the candidates, all the certificates if it is empty.
+     * @return {@link List<GiftCertificate>}.
+     */
+    @Override
+    public List<GiftCertificate> findAllPagination(int pageNumber, int amountEntitiesOnThePage,
+                                                   Map<String, String> parameters, Collection<Long> candidateIds) {
+        CertificateQuery query = CertificateQueryBuilder.createQuery(parameters, candidateIds,
+                pageNumber * amountEntitiesOnThePage, amountEntitiesOnThePage);
+        return jdbcTemplate.query(query.getSql(), giftCertificateExtractor, query.getArgumentsArray());
     }
 
     /**
@@ -116,6 +172,25 @@ public class JdbcCertificateDaoImpl implements CertificateDao {
         return jdbcTemplate.query(FIND_ALL_ENTITIES_SQL, giftCertificateExtractor);
     }
 
+    /**
+     * Reads all the {@link GiftCertificate}s from the database with a forward-only cursor and passes them
+     * to the {@param consumer} one by one, so the whole table is never kept in the memory.
+     *
+     * @param consumer is the {@link Consumer} of every {@link GiftCertificate}.
+     */
+    @Override
+    public void streamAll(Consumer<GiftCertificate> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(STREAM_ALL_ENTITIES_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+            return preparedStatement;
+        }, (ResultSetExtractor<Void>) resultSet -> {
+            giftCertificateStreamingExtractor.extractEach(resultSet, consumer);
+            return null;
+        });
+    }
+
     /**
      * Returns {@link Optional<GiftCertificate>} by its ID.
      *
@@ -133,14 +208,16 @@ public class JdbcCertificateDaoImpl implements CertificateDao {
      * @param giftCertificate is the {@link GiftCertificate} to save.
      */
     @Override
-    public void save(GiftCertificate giftCertificate) {
-        jdbcTemplate.update(INSERT_ENTITY_SQL,
+    public GiftCertificate save(GiftCertificate giftCertificate) {
+        long id = GeneratedKeys.insert(jdbcTemplate, INSERT_ENTITY_SQL,
                 giftCertificate.getName(),
                 giftCertificate.getDescription(),
                 giftCertificate.getPrice(),
                 giftCertificate.getDuration(),
                 giftCertificate.getCreateDate(),
                 giftCertificate.getLastUpdateDate());
+        giftCertificate.setId(id);
+        return giftCertificate;
     }
 
     /**
@@ -181,6 +258,76 @@ public class JdbcCertificateDaoImpl implements CertificateDao {
         return jdbcTemplate.query(FIND_ENTITY_BY_NAME_SQL, giftCertificateExtractor, name).stream().findFirst();
     }
 
+    /**
+     * Finds all the {@link GiftCertificate}s with the ids from the {@param ids} together with their tags in one query.
+     *
+     * @param ids are the ids of the {@link GiftCertificate}s to find.
+     * @return {@link List<GiftCertificate>}, the ids, which are not in the database, are skipped.
+     */
+    @Override
+    public List<GiftCertificate> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.query(String.format(FIND_ALL_ENTITIES_BY_IDS_SQL, SqlPlaceholders.createList(ids.size())),
+                giftCertificateExtractor, ids.toArray());
+    }
+
+    /**
+     * Finds all the {@link GiftCertificate}s with the names from the {@param names} together with their tags
+     * in one query.
+     *
+     * @param names are the names of the {@link GiftCertificate}s to find.
+     * @return {@link List<GiftCertificate>}, the names, which are not in the database, are skipped.
+     */
+    @Override
+    public List<GiftCertificate> findAllByNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.query(String.format(FIND_ALL_ENTITIES_BY_NAMES_SQL, SqlPlaceholders.createList(names.size())),
+                giftCertificateExtractor, names.toArray());
+    }
+
+    /**
+     * Saves all the {@link GiftCertificate}s in the database in one JDBC batch.
+     *
+     * @param giftCertificates are the {@link GiftCertificate}s to save.
+     * @return the saved {@link GiftCertificate}s with their generated ids.
+     */
+    @Override
+    public List<GiftCertificate> saveAll(List<GiftCertificate> giftCertificates) {
+        List<Object[]> batchArguments = new ArrayList<>();
+        for (GiftCertificate giftCertificate : giftCertificates) {
+            batchArguments.add(new Object[]{giftCertificate.getName(), giftCertificate.getDescription(),
+                    giftCertificate.getPrice(), giftCertificate.getDuration(), giftCertificate.getCreateDate(),
+                    giftCertificate.getLastUpdateDate()});
+        }
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection
+                -> GeneratedKeys.insertBatch(connection, INSERT_ENTITY_SQL, batchArguments));
+        for (int i = 0; i < giftCertificates.size(); i++) {
+            giftCertificates.get(i).setId(ids.get(i));
+        }
+        return giftCertificates;
+    }
+
+    /**
+     * Saves the ids of every {@link GiftCertificate} together with the ids of its tags in the 'has_tag' table
+     * in one JDBC batch.
+     *
+     * @param giftCertificates are the saved {@link GiftCertificate}s with their resolved tags.
+     */
+    @Override
+    public void saveAllInHasTagTable(List<GiftCertificate> giftCertificates) {
+        List<Object[]> batchArguments = new ArrayList<>();
+        for (GiftCertificate giftCertificate : giftCertificates) {
+            for (CertificateTag certificateTag : giftCertificate.getTags()) {
+                batchArguments.add(new Object[]{giftCertificate.getId(), certificateTag.getId()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_VALUES_IN_HAS_TAG_TABLE_SQL, batchArguments);
+    }
+
     /**
      * Saves certificateId and tagId in the database.
      *
@@ -192,6 +339,26 @@ public class JdbcCertificateDaoImpl implements CertificateDao {
         jdbcTemplate.update(INSERT_VALUES_IN_HAS_TAG_TABLE_SQL, certificateId, tagId);
     }
 
+    /**
+     * Saves the certificateId together with every tagId in the 'has_tag' table in one multi-row insert.
+     *
+     * @param certificateId is the id of the {@link GiftCertificate} to save.
+     * @param tagIds        are the ids of the {@link CertificateTag}s to save.
+     */
+    @Override
+    public void saveIdsInHasTagTable(long certificateId, List<Long> tagIds) {
+        if (tagIds.isEmpty()) {
+            return;
+        }
+        List<Object> arguments = new ArrayList<>();
+        for (Long tagId : tagIds) {
+            arguments.add(certificateId);
+            arguments.add(tagId);
+        }
+        jdbcTemplate.update(INSERT_ROWS_IN_HAS_TAG_TABLE_SQL + SqlPlaceholders.createRows(tagIds.size(), 2),
+                arguments.toArray());
+    }
+
     /**
      * Removes the tuple certificateId and tagId from the 'has_tag' table of the database.
      *
@@ -7,13 +7,21 @@ import com.epam.esm.model.impl.User;
 import com.google.gson.Gson;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * The class that implements the OrderDao interface.
@@ -27,6 +35,17 @@ public class JdbcOrderDaoImpl implements OrderDao {
             " from user as u" +
             " LEFT OUTER JOIN (userorder as uo LEFT OUTER JOIN userorder_certificate as uoc ON uo.id = uoc.userOrderId)" +
             " ON u.id = uo.userId";
+    private static final String STREAM_ALL_ENTITIES_SQL
+            = "select u.id as userId, u.nickName as userNickName, uo.id as userOrderId," +
+            " uo.create_date as orderCreateDate, uo.name as orderName, uoc.certificateInJSON as orderCertificate" +
+            " from userorder as uo JOIN user as u ON u.id = uo.userId" +
+            " LEFT OUTER JOIN userorder_certificate as uoc ON uo.id = uoc.userOrderId order by uo.id";
+    private static final String STREAM_ENTITIES_CREATED_SINCE_SQL
+            = "select u.id as userId, u.nickName as userNickName, uo.id as userOrderId," +
+            " uo.create_date as orderCreateDate, uo.name as orderName, uoc.certificateInJSON as orderCertificate" +
+            " from userorder as uo JOIN user as u ON u.id = uo.userId" +
+            " LEFT OUTER JOIN userorder_certificate as uoc ON uo.id = uoc.userOrderId" +
+            " where uo.create_date >= ? order by uo.id";
     private static final String FIND_ALL_ENTITIES_BY_USER_ID_SQL
             = "select u.id as userId, u.nickName as userNickName, uo.id as userOrderId," +
             " uo.create_date as orderCreateDate, uo.name as orderName, uoc.certificateInJSON as orderCertificate" +
@@ -40,6 +59,26 @@ public class JdbcOrderDaoImpl implements OrderDao {
             " LEFT OUTER JOIN (userorder as uo LEFT OUTER JOIN userorder_certificate as uoc ON uo.id = uoc.userOrderId)" +
             " ON u.id = uo.userId" +
             " WHERE uo.id IN (select * from (select id from userorder order by id LIMIT ?, ?) as query1)";
+    private static final String FIND_PAGE_AFTER_SQL
+            = "select u.id as userId, u.nickName as userNickName, uo.id as userOrderId," +
+            " uo.create_date as orderCreateDate, uo.name as orderName, uoc.certificateInJSON as orderCertificate" +
+            " from user as u" +
+            " LEFT OUTER JOIN (userorder as uo LEFT OUTER JOIN userorder_certificate as uoc ON uo.id = uoc.userOrderId)" +
+            " ON u.id = uo.userId" +
+            " WHERE uo.id IN (select * from (select id from userorder where id > ? order by id LIMIT ?) as query1)" +
+            " order by uo.id";
+    private static final String FIND_PAGE_BEFORE_SQL
+            = "select u.id as userId, u.nickName as userNickName, uo.id as userOrderId," +
+            " uo.create_date as orderCreateDate, uo.name as orderName, uoc.certificateInJSON as orderCertificate" +
+            " from user as u" +
+            " LEFT OUTER JOIN (userorder as uo LEFT OUTER JOIN userorder_certificate as uoc ON uo.id = uoc.userOrderId)" +
+            " ON u.id = uo.userId" +
+            " WHERE uo.id IN (select * from (select id from userorder where id < ? order by id desc LIMIT ?) as query1)" +
+            " order by uo.id";
+    private static final String FIND_MAX_ID_SQL = "select coalesce(max(id), 0) from userorder";
+    private static final String STREAM_CERTIFICATE_IDS_SQL
+            = "select userOrderId, certificateId from userorder_certificate" +
+            " where userOrderId > ? and userOrderId <= ? order by userOrderId";
     private static final String INSERT_ENTITY_SQL
             = "insert into userorder (userId, create_date, name) values (?, ?, ?)";
     private static final String INSERT_VALUES_IN_USERORDER_CERTIFICATE_TABLE_SQL
@@ -67,6 +106,9 @@ public class JdbcOrderDaoImpl implements OrderDao {
     @Autowired
     private ResultSetExtractor<List<Order>> orderExtractor;
 
+    @Autowired
+    private StreamingResultSetExtractor<Order> orderStreamingExtractor;
+
     public JdbcOrderDaoImpl() {
     }
 
@@ -88,17 +130,28 @@ public class JdbcOrderDaoImpl implements OrderDao {
         this.orderExtractor = orderExtractor;
     }
 
+    /**
+     * The setter of the {@link StreamingResultSetExtractor<Order>}.
+     *
+     * @param orderStreamingExtractor is the {@link StreamingResultSetExtractor<Order>} to set.
+     */
+    public void setOrderStreamingExtractor(StreamingResultSetExtractor<Order> orderStreamingExtractor) {
+        this.orderStreamingExtractor = orderStreamingExtractor;
+    }
+
     /**
      * Saves {@link Order} in the database.
      *
      * @param order is the {@link Order} to save.
      */
     @Override
-    public void save(Order order) {
-        jdbcTemplate.update(INSERT_ENTITY_SQL,
+    public Order save(Order order) {
+        long id = GeneratedKeys.insert(jdbcTemplate, INSERT_ENTITY_SQL,
                 order.getUser().getId(),
                 order.getCreateDate(),
                 order.getName());
+        order.setId(id);
+        return order;
     }
 
     /**
@@ -111,6 +164,80 @@ public class JdbcOrderDaoImpl implements OrderDao {
         return jdbcTemplate.query(FIND_ALL_ENTITIES_SQL, orderExtractor);
     }
 
+    /**
+     * Reads all the {@link Order}s from the database with a forward-only cursor and passes them
+     * to the {@param consumer} one by one, so the whole table is never kept in the memory.
+     *
+     * @param consumer is the {@link Consumer} of every {@link Order}.
+     */
+    @Override
+    public void streamAll(Consumer<Order> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(STREAM_ALL_ENTITIES_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+            return preparedStatement;
+        }, (ResultSetExtractor<Void>) resultSet -> {
+            orderStreamingExtractor.extractEach(resultSet, consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Reads the {@link Order}s created since the {@param createDate} from the database with a forward-only cursor
+     * and passes them to the {@param consumer} one by one.
+     *
+     * @param createDate is the earliest create date of the {@link Order}s to read.
+     * @param consumer   is the {@link Consumer} of every {@link Order}.
+     */
+    @Override
+    public void streamCreatedSince(LocalDateTime createDate, Consumer<Order> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(STREAM_ENTITIES_CREATED_SINCE_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(createDate));
+            return preparedStatement;
+        }, (ResultSetExtractor<Void>) resultSet -> {
+            orderStreamingExtractor.extractEach(resultSet, consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Finds the biggest id of the {@link Order}s.
+     *
+     * @return the id, 0 if there are no orders.
+     */
+    @Override
+    public long findMaxId() {
+        return jdbcTemplate.queryForObject(FIND_MAX_ID_SQL, Long.class);
+    }
+
+    /**
+     * Reads the ids of the ordered certificates of the {@link Order}s in the range of the ids row by row.
+     *
+     * @param afterId  is the id before the first id of the {@link Order}s to read.
+     * @param toId     is the last id of the {@link Order}s to read.
+     * @param consumer is the consumer of the id of the {@link Order} and the id of the certificate.
+     */
+    @Override
+    public void streamCertificateIds(long afterId, long toId, BiConsumer<Long, Long> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(STREAM_CERTIFICATE_IDS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+            preparedStatement.setLong(1, afterId);
+            preparedStatement.setLong(2, toId);
+            return preparedStatement;
+        }, (ResultSetExtractor<Void>) resultSet -> {
+            while (resultSet.next()) {
+                consumer.accept(resultSet.getLong(1), resultSet.getLong(2));
+            }
+            return null;
+        });
+    }
+
     /**
      * Finds all {@link Order} entity in the database.
      *
@@ -124,6 +251,30 @@ public class JdbcOrderDaoImpl implements OrderDao {
                 pageNumber*amountEntitiesOnThePage, amountEntitiesOnThePage);
     }
 
+    /**
+     * Finds the page of the {@link Order} entities, which ids are greater than the {@param id}.
+     *
+     * @param id                      is the id of the last {@link Order} on the previous page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link Order} objects.
+     */
+    @Override
+    public List<Order> findPageAfter(long id, int amountEntitiesOnThePage) {
+        return jdbcTemplate.query(FIND_PAGE_AFTER_SQL, orderExtractor, id, amountEntitiesOnThePage);
+    }
+
+    /**
+     * Finds the page of the {@link Order} entities, which ids are less than the {@param id}.
+     *
+     * @param id                      is the id of the first {@link Order} on the next page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link Order} objects.
+     */
+    @Override
+    public List<Order> findPageBefore(long id, int amountEntitiesOnThePage) {
+        return jdbcTemplate.query(FIND_PAGE_BEFORE_SQL, orderExtractor, id, amountEntitiesOnThePage);
+    }
+
     /**
      * Finds {@link Optional <Order>} in the database by the id of the {@link Order}.
      *
@@ -186,6 +337,64 @@ public class JdbcOrderDaoImpl implements OrderDao {
                 orderId, certificateId, certificateInJson, certificatePrice);
     }
 
+    /**
+     * Saves the orderId together with every {@link GiftCertificate} of the order, its JSON and its price
+     * in the 'userorder_certificate' table in one JDBC batch.
+     *
+     * @param orderId      is the id of the {@link Order} to save.
+     * @param certificates are the {@link GiftCertificate}s of the order to save.
+     */
+    @Override
+    public void saveAllInUserorder_certificateTable(long orderId, List<GiftCertificate> certificates) {
+        jdbcTemplate.batchUpdate(INSERT_VALUES_IN_USERORDER_CERTIFICATE_TABLE_SQL,
+                createUserorderCertificateRows(orderId, certificates, new Gson()));
+    }
+
+    /**
+     * Saves all the {@link Order}s in the database in one JDBC batch.
+     *
+     * @param orders are the {@link Order}s to save.
+     * @return the saved {@link Order}s with their generated ids.
+     */
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Object[]> batchArguments = new ArrayList<>();
+        for (Order order : orders) {
+            batchArguments.add(new Object[]{order.getUser().getId(), order.getCreateDate(), order.getName()});
+        }
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection
+                -> GeneratedKeys.insertBatch(connection, INSERT_ENTITY_SQL, batchArguments));
+        for (int i = 0; i < orders.size(); i++) {
+            orders.get(i).setId(ids.get(i));
+        }
+        return orders;
+    }
+
+    /**
+     * Saves the lines of all the {@link Order}s, which are already saved, in the 'userorder_certificate' table
+     * in one JDBC batch.
+     *
+     * @param orders are the {@link Order}s with their ids and their {@link GiftCertificate}s to save.
+     */
+    @Override
+    public void saveAllInUserorder_certificateTable(List<Order> orders) {
+        Gson gson = new Gson();
+        List<Object[]> batchArguments = new ArrayList<>();
+        for (Order order : orders) {
+            batchArguments.addAll(createUserorderCertificateRows(order.getId(), order.getCertificates(), gson));
+        }
+        jdbcTemplate.batchUpdate(INSERT_VALUES_IN_USERORDER_CERTIFICATE_TABLE_SQL, batchArguments);
+    }
+
+    private List<Object[]> createUserorderCertificateRows(long orderId, List<GiftCertificate> certificates, Gson gson) {
+        List<Object[]> rows = new ArrayList<>();
+        for (GiftCertificate giftCertificate : certificates) {
+            rows.add(new Object[]{orderId, giftCertificate.getId(), gson.toJson(giftCertificate),
+                    giftCertificate.getPrice()});
+        }
+        return rows;
+    }
+
     /**
      * Finds all {@link Order} entity in the database which belongs to the {@link User} with the ID equals {@param userId}.
      *
@@ -0,0 +1,106 @@
+package com.epam.esm.dao.impl.jdbc;
+
+import com.epam.esm.dao.ReachDao;
+import com.epam.esm.dto.ReachSketch;
+import com.epam.esm.statistic.ReachType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * The class that implements the {@link ReachDao} interface.
+ */
+@Profile("dev")
+@Repository
+public class JdbcReachDaoImpl implements ReachDao {
+    private static final RowMapper<ReachSketch> REACH_SKETCH_MAPPER = (resultSet, rowNumber)
+            -> new ReachSketch(ReachType.valueOf(resultSet.getString(1)), resultSet.getLong(2),
+            resultSet.getBytes(3));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public JdbcReachDaoImpl() {
+    }
+
+    /**
+     * The setter of the {@link JdbcTemplate}.
+     *
+     * @param jdbcTemplate is the {@link JdbcTemplate} to set.
+     */
+    public void setJdbcTemplate(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Finds all the rows of the 'reach_sketch' table.
+     *
+     * @return {@link List<ReachSketch>}.
+     */
+    @Override
+    public List<ReachSketch> findAll() {
+        return jdbcTemplate.query(ReachSketches.FIND_ALL_SQL, REACH_SKETCH_MAPPER);
+    }
+
+    /**
+     * Finds the rows of the 'reach_sketch' table by the ids and locks them.
+     *
+     * @param type is the type of the entities.
+     * @param ids  are the ids of the entities.
+     * @return {@link List<ReachSketch>} of the entities, which have the sketches.
+     */
+    @Override
+    public List<ReachSketch> findByIdsForUpdate(ReachType type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Object> parameters = new ArrayList<>(ids.size() + 1);
+        parameters.add(type.name());
+        parameters.addAll(ids);
+        return jdbcTemplate.query(String.format(ReachSketches.FIND_BY_IDS_FOR_UPDATE_SQL,
+                SqlPlaceholders.createList(ids.size())), REACH_SKETCH_MAPPER, parameters.toArray());
+    }
+
+    /**
+     * Inserts or replaces the rows of the 'reach_sketch' table in one JDBC batch.
+     *
+     * @param sketches are the {@link ReachSketch}s to save.
+     */
+    @Override
+    public void saveAll(List<ReachSketch> sketches) {
+        if (!sketches.isEmpty()) {
+            jdbcTemplate.batchUpdate(ReachSketches.UPSERT_SQL, ReachSketches.upsertRows(sketches));
+        }
+    }
+
+    /**
+     * Streams the buyers of the entities from the 'userorder_certificate' table row by row.
+     *
+     * @param type     is the type of the entities.
+     * @param consumer is the consumer of the id of the entity and the id of the user.
+     */
+    @Override
+    public void streamBuyers(ReachType type, BiConsumer<Long, Long> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(ReachSketches.streamBuyersSql(type),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+            return preparedStatement;
+        }, (ResultSetExtractor<Void>) resultSet -> {
+            while (resultSet.next()) {
+                consumer.accept(resultSet.getLong(1), resultSet.getLong(2));
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package com.epam.esm.dao.impl.jdbc;
+
+import com.epam.esm.dao.StatisticDao;
+import com.epam.esm.dto.UserSpend;
+import com.epam.esm.dto.UserTagCount;
+import com.epam.esm.model.impl.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The class that implements the {@link StatisticDao} interface.
+ */
+@Profile("dev")
+@Repository
+public class JdbcStatisticDaoImpl implements StatisticDao {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CertificateInJsonMapper certificateInJsonMapper;
+
+    public JdbcStatisticDaoImpl() {
+    }
+
+    /**
+     * The setter of the {@link JdbcTemplate}.
+     *
+     * @param jdbcTemplate is the {@link JdbcTemplate} to set.
+     */
+    public void setJdbcTemplate(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The setter of the {@link CertificateInJsonMapper}.
+     *
+     * @param certificateInJsonMapper is the {@link CertificateInJsonMapper} to set.
+     */
+    public void setCertificateInJsonMapper(CertificateInJsonMapper certificateInJsonMapper) {
+        this.certificateInJsonMapper = certificateInJsonMapper;
+    }
+
+    /**
+     * Adds the {@link Order}s to the 'user_spend' and the 'user_tag_count' tables, one JDBC batch for each table.
+     *
+     * @param orders are the saved {@link Order}s with their users and their certificates.
+     */
+    @Override
+    public void addOrders(List<Order> orders) {
+        jdbcTemplate.batchUpdate(OrderAggregates.UPSERT_USER_SPEND_SQL, OrderAggregates.userSpendRows(orders));
+        List<Object[]> userTagCountRows = OrderAggregates.userTagCountRows(orders);
+        if (!userTagCountRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(OrderAggregates.UPSERT_USER_TAG_COUNT_SQL, userTagCountRows);
+        }
+    }
+
+    /**
+     * Recalculates the 'user_spend' and the 'user_tag_count' tables from the 'userorder_certificate' table,
+     * the tags are counted from the certificates saved in JSON with the orders, the deleted tags are skipped.
+     */
+    @Override
+    public void rebuild() {
+        jdbcTemplate.update(OrderAggregates.DELETE_USER_TAG_COUNTS_SQL);
+        jdbcTemplate.update(OrderAggregates.DELETE_USER_SPENDS_SQL);
+        jdbcTemplate.update(OrderAggregates.REBUILD_USER_SPENDS_SQL);
+        Map<Long, Map<Long, Integer>> amountsByUser = new TreeMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(
+                    OrderAggregates.STREAM_ORDERED_CERTIFICATES_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+            return preparedStatement;
+        }, (ResultSetExtractor<Void>) resultSet -> {
+            while (resultSet.next()) {
+                OrderAggregates.countTags(amountsByUser, resultSet.getLong(1),
+                        certificateInJsonMapper.fromJson(resultSet.getString(2)));
+            }
+            return null;
+        });
+        Set<Long> tagIds = new HashSet<>(jdbcTemplate.queryForList(OrderAggregates.FIND_ALL_TAG_IDS_SQL, Long.class));
+        List<Object[]> userTagCountRows = OrderAggregates.userTagCountRows(amountsByUser, tagIds::contains);
+        if (!userTagCountRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(OrderAggregates.UPSERT_USER_TAG_COUNT_SQL, userTagCountRows);
+        }
+    }
+
+    /**
+     * Finds all the rows of the 'user_spend' table with the nicknames of the users.
+     *
+     * @return {@link List<UserSpend>}.
+     */
+    @Override
+    public List<UserSpend> findAllUserSpends() {
+        return jdbcTemplate.query(OrderAggregates.FIND_ALL_USER_SPENDS_SQL, (resultSet, rowNumber)
+                -> new UserSpend(resultSet.getLong(1), resultSet.getString(2), resultSet.getBigDecimal(3)));
+    }
+
+    /**
+     * Finds all the rows of the 'user_tag_count' table with the names of the tags.
+     *
+     * @return {@link List<UserTagCount>}.
+     */
+    @Override
+    public List<UserTagCount> findAllUserTagCounts() {
+        return jdbcTemplate.query(OrderAggregates.FIND_ALL_USER_TAG_COUNTS_SQL, (resultSet, rowNumber)
+                -> new UserTagCount(resultSet.getLong(1), resultSet.getLong(2), resultSet.getString(3),
+                resultSet.getLong(4)));
+    }
+}
@@ -9,28 +9,43 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 
 /**
  * The class that implements the {@link TagDao} interface.
  */
 @Profile("dev")
-@Component
+@Component("tagDAOTarget")
 public class JdbcTagDaoImpl implements TagDao {
     private static final Logger LOGGER = LogManager.getLogger(JdbcCertificateDaoImpl.class);
 
     private static final String FIND_ALL_ENTITIES_SQL_PAGINATION = "select tag.id as tagId, tag.name as tagName from tag" +
             " WHERE tag.id IN (select * from (select id from tag order by id LIMIT ?, ?) as query1)";
+    private static final String FIND_PAGE_AFTER_SQL = "select tag.id as tagId, tag.name as tagName from tag" +
+            " WHERE tag.id IN (select * from (select id from tag where id > ? order by id LIMIT ?) as query1)" +
+            " order by tag.id";
+    private static final String FIND_PAGE_BEFORE_SQL = "select tag.id as tagId, tag.name as tagName from tag" +
+            " WHERE tag.id IN (select * from (select id from tag where id < ? order by id desc LIMIT ?) as query1)" +
+            " order by tag.id";
     private static final String FIND_ALL_ENTITIES_SQL = "select tag.id as tagId, tag.name as tagName from tag";
     private static final String INSERT_ENTITY_SQL = "insert into tag (name) values (?)";
+    private static final String FIND_ALL_ENTITIES_BY_NAMES_SQL
+            = "select tag.id as tagId, tag.name as tagName from tag where name in (%s)";
     private static final String DELETE_ENTITY_BY_ID_SQL = "delete from tag where id = ?";
     private static final String DELETE_FROM_HAS_TAG_BY_TAG_ID_SQL = "delete from has_tag where tagId = ?";
+    private static final String STREAM_HAS_TAG_SQL = "select certificateId, tagId from has_tag";
     private static final String UPDATE_ENTITY_SQL = "update tag set name = ? where id = ?";
     private static final String FIND_ENTITY_BY_ID_SQL
             = "select tag.id as tagId, tag.name as tagName from tag where id = ?";
@@ -41,17 +56,11 @@ public class JdbcTagDaoImpl implements TagDao {
             = "select tag.id as tagId, tag.name as tagName from tag, has_tag" +
             " where tag.id = has_tag.tagId and has_tag.certificateId = ?";
     private static final String FIND_MOST_POPULAR_TAG_BY_THE_BEST_USER =
-            "SELECT tag.id as tagId, tag.name as tagName FROM tag" +
-                    " where id = (SELECT query3.tagIdAfterCount" +
-                    " FROM (SELECT ht.tagId as tagIdAfterCount, count(ht.tagId) as amountOfTag" +
-                    " FROM userorder as uo LEFT OUTER JOIN" +
-                    " (has_tag as ht LEFT OUTER JOIN userorder_certificate as uoc on ht.certificateId = uoc.certificateId)" +
-                    " ON uo.id = uoc.userOrderId" +
-                    " WHERE uo.userId = (SELECT query1.id" +
-                    " FROM (SELECT uo.userId as id, SUM(uoc.certificatePrice) as costAllCertificates" +
-                    " FROM userorder_certificate as uoc LEFT OUTER JOIN userorder as uo ON uoc.userOrderId = uo.id" +
-                    " GROUP BY userId ORDER BY costAllCertificates DESC) as query1 LIMIT 1)" +
-                    " GROUP BY ht.tagId ORDER BY amountOfTag DESC) as query3 LIMIT 1)";
+            "SELECT tag.id as tagId, tag.name as tagName" +
+                    " FROM user_tag_count as utc JOIN tag ON tag.id = utc.tagId" +
+                    " WHERE utc.userId = (SELECT us.userId FROM user_spend as us" +
+                    " ORDER BY us.spend DESC, us.userId DESC LIMIT 1)" +
+                    " ORDER BY utc.amount DESC, utc.tagId DESC LIMIT 1";
 
     @Autowired
     private JdbcTemplate jdbcTemplate;
@@ -94,6 +103,30 @@ public class JdbcTagDaoImpl implements TagDao {
                 pageNumber * amountEntitiesOnThePage, amountEntitiesOnThePage);
     }
 
+    /**
+     * Finds the page of the {@link CertificateTag} entities, which ids are greater than the {@param id}.
+     *
+     * @param id                      is the id of the last {@link CertificateTag} on the previous page.
+     * @param amountEntitiesOnThePage is the value of the records, which should be fetched from the database.
+     * @return List of the {@link CertificateTag} objects.
+     */
+    @Override
+    public List<CertificateTag> findPageAfter(long id, int amountEntitiesOnThePage) {
+        return jdbcTemplate.query(FIND_PAGE_AFTER_SQL, certificateTagRowMapper, id, amountEntitiesOnThePage);
+    }
+
+    /**
+     * Finds the page of the {@link CertificateTag} entities, which ids are less than the {@param id}.
+     *
+     * @param id                      is the id of the first {@link CertificateTag} on the next page.
+     * @param amountEntitiesOnThePage is the value of the records, which should be fetched from the database.
+     * @return List of the {@link CertificateTag} objects.
+     */
+    @Override
+    public List<CertificateTag> findPageBefore(long id, int amountEntitiesOnThePage) {
+        return jdbcTemplate.query(FIND_PAGE_BEFORE_SQL, certificateTagRowMapper, id, amountEntitiesOnThePage);
+    }
+
     /**
      * Finds all {@link CertificateTag} entity in the database.
      *
@@ -121,9 +154,11 @@ public class JdbcTagDaoImpl implements TagDao {
      * @throws DuplicateException if a SQLException with the state 23505 or the state 23000 is thrown.
      */
     @Override
-    public void save(CertificateTag certificateTag) {
-        jdbcTemplate.update(INSERT_ENTITY_SQL,
+    public CertificateTag save(CertificateTag certificateTag) {
+        long id = GeneratedKeys.insert(jdbcTemplate, INSERT_ENTITY_SQL,
                 certificateTag.getName());
+        certificateTag.setId(id);
+        return certificateTag;
     }
 
     /**
@@ -158,6 +193,26 @@ public class JdbcTagDaoImpl implements TagDao {
         jdbcTemplate.update(DELETE_FROM_HAS_TAG_BY_TAG_ID_SQL, tagId);
     }
 
+    /**
+     * Reads all the rows of the 'has_tag' table with a forward-only cursor.
+     *
+     * @param consumer is the consumer of the id of the certificate and the id of the tag.
+     */
+    @Override
+    public void streamHasTag(BiConsumer<Long, Long> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement preparedStatement = connection.prepareStatement(STREAM_HAS_TAG_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+            return preparedStatement;
+        }, (ResultSetExtractor<Void>) resultSet -> {
+            while (resultSet.next()) {
+                consumer.accept(resultSet.getLong(1), resultSet.getLong(2));
+            }
+            return null;
+        });
+    }
+
     /**
      * Finds all {@link CertificateTag}s by {@link com.epam.esm.model.impl.GiftCertificate} ID.
      *
@@ -191,9 +246,46 @@ public class JdbcTagDaoImpl implements TagDao {
         return jdbcTemplate.query(FIND_ENTITY_BY_NAME_SQL, certificateTagRowMapper, name).stream().findFirst();
     }
 
+    /**
+     * Finds all the {@link CertificateTag}s with the names from the {@param names} in one query.
+     *
+     * @param names are the names of the {@link CertificateTag}s to find.
+     * @return {@link List<CertificateTag>}, the names, which are not in the database, are skipped.
+     */
+    @Override
+    public List<CertificateTag> findAllByNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.query(String.format(FIND_ALL_ENTITIES_BY_NAMES_SQL, SqlPlaceholders.createList(names.size())),
+                certificateTagRowMapper, names.toArray());
+    }
+
+    /**
+     * Saves all the {@link CertificateTag}s in the database in one JDBC batch.
+     *
+     * @param tags are the {@link CertificateTag}s to save.
+     * @return the saved {@link CertificateTag}s with their generated ids.
+     */
+    @Override
+    public List<CertificateTag> saveAll(List<CertificateTag> tags) {
+        if (tags.isEmpty()) {
+            return tags;
+        }
+        List<Object[]> batchArguments = new ArrayList<>();
+        tags.forEach(tag -> batchArguments.add(new Object[]{tag.getName()}));
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection
+                -> GeneratedKeys.insertBatch(connection, INSERT_ENTITY_SQL, batchArguments));
+        for (int i = 0; i < tags.size(); i++) {
+            tags.get(i).setId(ids.get(i));
+        }
+        return tags;
+    }
+
     /**
      * Finds the most popular {@link CertificateTag} of the {@link User}
-     * with the biggest sum of order price.
+     * with the biggest sum of order price with two index lookups in the 'user_spend'
+     * and the 'user_tag_count' aggregates.
      *
      * @return {@link Optional<CertificateTag>}.
      */
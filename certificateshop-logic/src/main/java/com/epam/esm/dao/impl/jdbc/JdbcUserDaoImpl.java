@@ -9,6 +9,8 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +21,16 @@ public class JdbcUserDaoImpl implements UserDao {
     private static final String FIND_ALL_ENTITIES_PAGINATION_SQL
             = "select u.id as userId, u.nickName as userNickName from user as u" +
             " WHERE u.id IN (select * from (select id from user order by id LIMIT ?, ?) as query1)";
+    private static final String FIND_PAGE_AFTER_SQL
+            = "select u.id as userId, u.nickName as userNickName from user as u" +
+            " WHERE u.id IN (select * from (select id from user where id > ? order by id LIMIT ?) as query1)" +
+            " order by u.id";
+    private static final String FIND_PAGE_BEFORE_SQL
+            = "select u.id as userId, u.nickName as userNickName from user as u" +
+            " WHERE u.id IN (select * from (select id from user where id < ? order by id desc LIMIT ?) as query1)" +
+            " order by u.id";
+    private static final String FIND_ALL_ENTITIES_BY_IDS_SQL
+            = "select u.id as userId, u.nickName as userNickName from user as u where u.id in (%s)";
     private static final String INSERT_ENTITY_SQL = "insert into user (nickName) values (?)";
     private static final String DELETE_ENTITY_BY_ID_SQL = "delete from user where id = ?";
     private static final String UPDATE_ENTITY_SQL = "update user set nickName = ? where id = ?";
@@ -61,8 +73,9 @@ public class JdbcUserDaoImpl implements UserDao {
      * @throws DuplicateException if a SQLException with the state 23505 or the state 23000 is thrown.
      */
     @Override
-    public void save(User user) {
-        jdbcTemplate.update(INSERT_ENTITY_SQL, user.getNickName());
+    public User save(User user) {
+        long id = GeneratedKeys.insert(jdbcTemplate, INSERT_ENTITY_SQL, user.getNickName());
+        return new User(id, user.getNickName());
     }
 
     /**
@@ -88,6 +101,30 @@ public class JdbcUserDaoImpl implements UserDao {
                 pageNumber * amountEntitiesOnThePage, amountEntitiesOnThePage);
     }
 
+    /**
+     * Finds the page of the {@link User} entities, which ids are greater than the {@param id}.
+     *
+     * @param id                      is the id of the last {@link User} on the previous page.
+     * @param amountEntitiesOnThePage is the limit query parameter.
+     * @return List of the {@link User} objects.
+     */
+    @Override
+    public List<User> findPageAfter(long id, int amountEntitiesOnThePage) {
+        return jdbcTemplate.query(FIND_PAGE_AFTER_SQL, userRowMapper, id, amountEntitiesOnThePage);
+    }
+
+    /**
+     * Finds the page of the {@link User} entities, which ids are less than the {@param id}.
+     *
+     * @param id                      is the id of the first {@link User} on the next page.
+     * @param amountEntitiesOnThePage is the limit query parameter.
+     * @return List of the {@link User} objects.
+     */
+    @Override
+    public List<User> findPageBefore(long id, int amountEntitiesOnThePage) {
+        return jdbcTemplate.query(FIND_PAGE_BEFORE_SQL, userRowMapper, id, amountEntitiesOnThePage);
+    }
+
     /**
      * Finds {@link Optional <User>} in the database by the id of the {@link User}.
      *
@@ -129,4 +166,19 @@ public class JdbcUserDaoImpl implements UserDao {
     public Optional<User> findByName(String nickName) {
         return jdbcTemplate.query(FIND_ENTITY_BY_NAME_SQL, userRowMapper, nickName).stream().findFirst();
     }
+
+    /**
+     * Finds all the {@link User}s with the ids from the {@param ids} in one query.
+     *
+     * @param ids are the ids of the {@link User}s to find.
+     * @return {@link List<User>}, the ids, which are not in the database, are skipped.
+     */
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return jdbcTemplate.query(String.format(FIND_ALL_ENTITIES_BY_IDS_SQL, SqlPlaceholders.createList(ids.size())),
+                userRowMapper, ids.toArray());
+    }
 }
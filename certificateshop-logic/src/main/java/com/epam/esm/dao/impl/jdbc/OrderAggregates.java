@@ -0,0 +1,119 @@
+package com.epam.esm.dao.impl.jdbc;
+
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Sums the {@link Order}s up to the rows of the 'user_spend' and the 'user_tag_count' tables, one row per key.
+ * The rows are sorted by their keys, so the concurrent transactions lock the rows of the aggregates
+ * in the same order and do not deadlock.
+ * <p>
+ * The tags are counted from the certificates as they were ordered, both when the orders are added and when
+ * the aggregates are rebuilt from the certificates saved in JSON with the orders, so a certificate, whose tags
+ * were changed after the order, is counted with the same tags by both.
+ */
+public final class OrderAggregates {
+    public static final String UPSERT_USER_SPEND_SQL
+            = "insert into user_spend (userId, spend) values (?, ?)" +
+            " on duplicate key update spend = spend + values(spend)";
+    public static final String UPSERT_USER_TAG_COUNT_SQL
+            = "insert into user_tag_count (userId, tagId, amount) values (?, ?, ?)" +
+            " on duplicate key update amount = amount + values(amount)";
+    public static final String FIND_ALL_USER_SPENDS_SQL
+            = "select us.userId, u.nickName, us.spend from user_spend as us JOIN user as u ON u.id = us.userId";
+    public static final String FIND_ALL_USER_TAG_COUNTS_SQL
+            = "select utc.userId, utc.tagId, tag.name, utc.amount" +
+            " from user_tag_count as utc JOIN tag ON tag.id = utc.tagId";
+    public static final String DELETE_USER_TAG_COUNTS_SQL = "delete from user_tag_count";
+    public static final String DELETE_USER_SPENDS_SQL = "delete from user_spend";
+    public static final String REBUILD_USER_SPENDS_SQL
+            = "insert into user_spend (userId, spend)" +
+            " select uo.userId, SUM(uoc.certificatePrice)" +
+            " from userorder_certificate as uoc JOIN userorder as uo ON uoc.userOrderId = uo.id" +
+            " GROUP BY uo.userId";
+    public static final String STREAM_ORDERED_CERTIFICATES_SQL
+            = "select uo.userId, uoc.certificateInJSON" +
+            " from userorder_certificate as uoc JOIN userorder as uo ON uoc.userOrderId = uo.id";
+    public static final String FIND_ALL_TAG_IDS_SQL = "select id from tag";
+
+    private OrderAggregates() {
+    }
+
+    /**
+     * Sums the prices of the {@link GiftCertificate}s of the {@param orders} by the user.
+     *
+     * @param orders are the {@link Order}s to sum up.
+     * @return the rows of the userId and the spend.
+     */
+    public static List<Object[]> userSpendRows(List<Order> orders) {
+        Map<Long, BigDecimal> spendByUser = new TreeMap<>();
+        for (Order order : orders) {
+            for (GiftCertificate giftCertificate : order.getCertificates()) {
+                spendByUser.merge(order.getUser().getId(), giftCertificate.getPrice(), BigDecimal::add);
+            }
+        }
+        List<Object[]> rows = new ArrayList<>();
+        spendByUser.forEach((userId, spend) -> rows.add(new Object[]{userId, spend}));
+        return rows;
+    }
+
+    /**
+     * Counts the {@link GiftCertificate}s of the {@param orders} with every tag by the user.
+     *
+     * @param orders are the {@link Order}s to count.
+     * @return the rows of the userId, the tagId and the amount.
+     */
+    public static List<Object[]> userTagCountRows(List<Order> orders) {
+        Map<Long, Map<Long, Integer>> amountsByUser = new TreeMap<>();
+        for (Order order : orders) {
+            for (GiftCertificate giftCertificate : order.getCertificates()) {
+                countTags(amountsByUser, order.getUser().getId(), giftCertificate);
+            }
+        }
+        return userTagCountRows(amountsByUser, tagId -> true);
+    }
+
+    /**
+     * Adds the tags of the ordered {@link GiftCertificate} to the amounts of the user.
+     *
+     * @param amountsByUser   are the amounts by the userId and the tagId, sorted by the keys.
+     * @param userId          is the id of the user, who ordered the certificate.
+     * @param giftCertificate is the {@link GiftCertificate} as it was ordered.
+     */
+    public static void countTags(Map<Long, Map<Long, Integer>> amountsByUser, long userId,
+                                 GiftCertificate giftCertificate) {
+        if (giftCertificate.getTags() == null) {
+            return;
+        }
+        Map<Long, Integer> amountsByTag = amountsByUser.computeIfAbsent(userId, newUserId -> new TreeMap<>());
+        for (CertificateTag certificateTag : giftCertificate.getTags()) {
+            amountsByTag.merge(certificateTag.getId(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Converts the amounts to the rows of the 'user_tag_count' table.
+     *
+     * @param amountsByUser are the amounts by the userId and the tagId, sorted by the keys.
+     * @param isTagKept     tells, whether the tag is kept, e.g. the deleted tags are not.
+     * @return the rows of the userId, the tagId and the amount.
+     */
+    public static List<Object[]> userTagCountRows(Map<Long, Map<Long, Integer>> amountsByUser,
+                                                  LongPredicate isTagKept) {
+        List<Object[]> rows = new ArrayList<>();
+        amountsByUser.forEach((userId, amountsByTag) -> amountsByTag.forEach((tagId, amount) -> {
+            if (isTagKept.test(tagId)) {
+                rows.add(new Object[]{userId, tagId, amount});
+            }
+        }));
+        return rows;
+    }
+}
@@ -12,13 +12,16 @@ import org.springframework.stereotype.Component;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Extract {@link List<Order>} from the {@link ResultSet}.
  */
 @Component
-public class OrderExtractor implements ResultSetExtractor<List<Order>> {
+public class OrderExtractor implements ResultSetExtractor<List<Order>>, StreamingResultSetExtractor<Order> {
     @Autowired
     private RowMapper<User> userRowMapper;
 
@@ -43,37 +46,66 @@ public class OrderExtractor implements ResultSetExtractor<List<Order>> {
      */
     @Override
     public List<Order> extractData(ResultSet resultSet) throws SQLException, DataAccessException {
-        List<Order> orders = new ArrayList<>();
+        // the orders are keyed by the id to find the order of the row at once, the order of the rows is kept
+        Map<Long, Order> orders = new LinkedHashMap<>();
 
         while (resultSet.next()) {
             final long currentId = resultSet.getLong(ColumnNames.TABLE_USERORDER_COLUMN_ID);
             if (currentId != 0) {
-                if (orders.stream().anyMatch(order -> order.getId() == currentId)) {
-                    fetchNewCertificateFromTheLineAndAddItToOrder(resultSet, orders, currentId);
-                } else {
-                    List<GiftCertificate> allCertificatesThisOrder = new ArrayList<GiftCertificate>();
-                    User userThisOrder = userRowMapper.mapRow(resultSet, resultSet.getRow());
-                    Order newOrder = new Order(
-                            resultSet.getLong(ColumnNames.TABLE_USERORDER_COLUMN_ID),
-                            userThisOrder,
-                            resultSet.getTimestamp(ColumnNames.TABLE_USERORDER_COLUMN_CREATE_DATE).toLocalDateTime(),
-                            resultSet.getString(ColumnNames.TABLE_USERORDER_COLUMN_NAME),
-                            allCertificatesThisOrder
-                    );
-                    orders.add(newOrder);
-                    fetchNewCertificateFromTheLineAndAddItToOrder(resultSet, orders, currentId);
+                Order order = orders.get(currentId);
+                if (order == null) {
+                    order = mapOrder(resultSet, currentId);
+                    orders.put(currentId, order);
                 }
+                fetchNewCertificateFromTheLineAndAddItToOrder(resultSet, order);
             }
         }
-        return orders;
+        return new ArrayList<>(orders.values());
     }
 
-    private void fetchNewCertificateFromTheLineAndAddItToOrder(ResultSet resultSet, List<Order> orders, long currentId) throws SQLException {
+    /**
+     * Extracts the {@link Order}s from the {@link ResultSet} ordered by the id of the order.
+     *
+     * @param resultSet is the {@link ResultSet} to map.
+     * @param consumer  is the {@link Consumer} of every extracted {@link Order}.
+     * @throws SQLException when something went wrong.
+     */
+    @Override
+    public void extractEach(ResultSet resultSet, Consumer<Order> consumer) throws SQLException {
+        // the order is complete, when the id of the row changes
+        Order order = null;
+        while (resultSet.next()) {
+            final long currentId = resultSet.getLong(ColumnNames.TABLE_USERORDER_COLUMN_ID);
+            if (currentId == 0) {
+                continue;
+            }
+            if (order == null || order.getId() != currentId) {
+                if (order != null) {
+                    consumer.accept(order);
+                }
+                order = mapOrder(resultSet, currentId);
+            }
+            fetchNewCertificateFromTheLineAndAddItToOrder(resultSet, order);
+        }
+        if (order != null) {
+            consumer.accept(order);
+        }
+    }
+
+    private Order mapOrder(ResultSet resultSet, long id) throws SQLException {
+        User userThisOrder = userRowMapper.mapRow(resultSet, resultSet.getRow());
+        return new Order(
+                id,
+                userThisOrder,
+                resultSet.getTimestamp(ColumnNames.TABLE_USERORDER_COLUMN_CREATE_DATE).toLocalDateTime(),
+                resultSet.getString(ColumnNames.TABLE_USERORDER_COLUMN_NAME),
+                new ArrayList<>()
+        );
+    }
+
+    private void fetchNewCertificateFromTheLineAndAddItToOrder(ResultSet resultSet, Order order) throws SQLException {
         if (resultSet.getString(ColumnNames.TABLE_USERORDER_CERTIFICATE_COLUMN_CERTIFICATEINJSON) != null) {
-            GiftCertificate giftCertificate = certificateInJsonMapper.mapRow(resultSet, resultSet.getRow());
-            orders.stream()
-                    .filter(order -> order.getId() == currentId)
-                    .findAny().ifPresent(order -> order.getCertificates().add(giftCertificate));
+            order.getCertificates().add(certificateInJsonMapper.mapRow(resultSet, resultSet.getRow()));
         }
     }
 }
@@ -0,0 +1,58 @@
+package com.epam.esm.dao.impl.jdbc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Encodes and decodes the opaque cursors of the keyset pagination ('after' and 'before' query parameters).
+ * A cursor contains the values of the sort keys of the first or the last entity on the page,
+ * the last value is always the id of the entity.
+ */
+public final class PageCursor {
+    private static final String SEPARATOR = "\u001F";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Encodes the values of the sort keys into the cursor.
+     *
+     * @param keys are the values of the sort keys.
+     * @return {@link String} that is the URL safe cursor.
+     */
+    public static String encode(Object... keys) {
+        StringJoiner joiner = new StringJoiner(SEPARATOR);
+        for (Object key : keys) {
+            joiner.add(String.valueOf(key));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the cursor into the values of the sort keys.
+     *
+     * @param cursor is the cursor to decode.
+     * @return {@link List<String>} of the values of the sort keys.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    public static List<String> decode(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        return Arrays.asList(decoded.split(SEPARATOR, -1));
+    }
+
+    /**
+     * Decodes the cursor, that contains only the id of the entity.
+     *
+     * @param cursor is the cursor to decode.
+     * @return the id of the entity.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    public static long decodeId(String cursor) {
+        List<String> keys = decode(cursor);
+        if (keys.size() != 1) {
+            throw new IllegalArgumentException("The cursor should contain only the id.");
+        }
+        return Long.parseLong(keys.get(0));
+    }
+}
@@ -0,0 +1,59 @@
+package com.epam.esm.dao.impl.jdbc;
+
+import com.epam.esm.dto.ReachSketch;
+import com.epam.esm.statistic.ReachType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The statements of the 'reach_sketch' table and the queries of the buyers of the certificates and the tags,
+ * which the sketches are rebuilt from.
+ */
+public final class ReachSketches {
+    public static final String FIND_ALL_SQL = "select entityType, entityId, registers from reach_sketch";
+    public static final String FIND_BY_IDS_FOR_UPDATE_SQL
+            = "select entityType, entityId, registers from reach_sketch" +
+            " where entityType = ? and entityId in (%s) order by entityId for update";
+    public static final String UPSERT_SQL
+            = "insert into reach_sketch (entityType, entityId, registers) values (?, ?, ?)" +
+            " on duplicate key update registers = values(registers)";
+    public static final String STREAM_CERTIFICATE_BUYERS_SQL
+            = "select uoc.certificateId, uo.userId" +
+            " from userorder_certificate as uoc JOIN userorder as uo ON uoc.userOrderId = uo.id";
+    public static final String STREAM_TAG_BUYERS_SQL
+            = "select ht.tagId, uo.userId" +
+            " from userorder_certificate as uoc JOIN userorder as uo ON uoc.userOrderId = uo.id" +
+            " JOIN has_tag as ht ON ht.certificateId = uoc.certificateId";
+
+    private ReachSketches() {
+    }
+
+    /**
+     * Returns the query of the buyers of the entities of the {@param type}.
+     *
+     * @param type is the type of the entities.
+     * @return the query of the id of the entity and the id of the user.
+     */
+    public static String streamBuyersSql(ReachType type) {
+        return type == ReachType.CERTIFICATE ? STREAM_CERTIFICATE_BUYERS_SQL : STREAM_TAG_BUYERS_SQL;
+    }
+
+    /**
+     * Sorts the sketches by their keys, so the concurrent transactions lock the rows in the same order
+     * and do not deadlock.
+     *
+     * @param sketches are the {@link ReachSketch}s to save.
+     * @return the rows of the entityType, the entityId and the registers.
+     */
+    public static List<Object[]> upsertRows(List<ReachSketch> sketches) {
+        List<ReachSketch> sortedSketches = new ArrayList<>(sketches);
+        sortedSketches.sort(Comparator.comparing(ReachSketch::getType).thenComparingLong(ReachSketch::getId));
+        List<Object[]> rows = new ArrayList<>(sortedSketches.size());
+        for (ReachSketch sketch : sortedSketches) {
+            rows.add(new Object[]{sketch.getType().name(), sketch.getId(), sketch.getRegisters()});
+        }
+        return rows;
+    }
+}
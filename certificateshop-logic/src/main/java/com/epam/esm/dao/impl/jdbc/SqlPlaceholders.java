@@ -0,0 +1,34 @@
+package com.epam.esm.dao.impl.jdbc;
+
+import java.util.Collections;
+
+/**
+ * Creates the placeholders of the statements, which amount of the values is known only at runtime:
+ * the 'IN (...)' lists and the multi-row inserts.
+ */
+public final class SqlPlaceholders {
+
+    private SqlPlaceholders() {
+    }
+
+    /**
+     * Creates the placeholders of the 'IN (...)' list.
+     *
+     * @param amountOfValues is the amount of the values in the list.
+     * @return {@link String} like '?, ?, ?'.
+     */
+    public static String createList(int amountOfValues) {
+        return String.join(", ", Collections.nCopies(amountOfValues, "?"));
+    }
+
+    /**
+     * Creates the placeholders of the 'VALUES' clause of the multi-row insert.
+     *
+     * @param amountOfRows    is the amount of the rows to insert.
+     * @param amountOfColumns is the amount of the columns of every row.
+     * @return {@link String} like '(?, ?), (?, ?)'.
+     */
+    public static String createRows(int amountOfRows, int amountOfColumns) {
+        return String.join(", ", Collections.nCopies(amountOfRows, "(" + createList(amountOfColumns) + ")"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.epam.esm.dao.impl.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Extracts the entities from the {@link ResultSet} one by one and passes every entity to the consumer
+ * as soon as it is complete, so the rows of the whole {@link ResultSet} are never kept in the memory.
+ * The rows of one entity should follow each other, so the query should be ordered by the id of the entity.
+ *
+ * @param <T> is the type of the entity.
+ */
+public interface StreamingResultSetExtractor<T> {
+    /**
+     * The fetch size, with which the MySQL driver streams the rows of a forward-only read-only statement
+     * one by one instead of reading the whole result in the memory.
+     */
+    int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    /**
+     * Extracts the entities from the {@link ResultSet} ordered by the id of the entity.
+     *
+     * @param resultSet is the {@link ResultSet} to map.
+     * @param consumer  is the {@link Consumer} of every extracted entity.
+     * @throws SQLException when something went wrong.
+     */
+    void extractEach(ResultSet resultSet, Consumer<T> consumer) throws SQLException;
+}
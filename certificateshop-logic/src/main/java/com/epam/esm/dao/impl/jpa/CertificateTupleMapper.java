@@ -0,0 +1,95 @@
+package com.epam.esm.dao.impl.jpa;
+
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Maps the tuples of the native certificate queries to the {@link GiftCertificate}s with their tags.
+ * The columns of the tuple are: certificateId, certificateName, certificateDescription, certificateDuration,
+ * certificateCreateDate, certificatePrice, certificateLastUpdateDate, tagId, tagName.
+ */
+@Component
+public class CertificateTupleMapper {
+    private static final int CERTIFICATE_ID = 0;
+    private static final int CERTIFICATE_NAME = 1;
+    private static final int CERTIFICATE_DESCRIPTION = 2;
+    private static final int CERTIFICATE_DURATION = 3;
+    private static final int CERTIFICATE_CREATE_DATE = 4;
+    private static final int CERTIFICATE_PRICE = 5;
+    private static final int CERTIFICATE_LAST_UPDATE_DATE = 6;
+    private static final int TAG_ID = 7;
+    private static final int TAG_NAME = 8;
+
+    /**
+     * Maps the tuples to the {@link GiftCertificate}s in a single pass, the order of the tuples is kept.
+     *
+     * @param tuples are the rows of the native query.
+     * @return {@link List<GiftCertificate>}.
+     */
+    public List<GiftCertificate> mapTuples(List<Object[]> tuples) {
+        Map<Long, GiftCertificate> giftCertificates = new LinkedHashMap<>();
+        for (Object[] tuple : tuples) {
+            long certificateId = TupleValues.toLong(tuple[CERTIFICATE_ID]);
+            GiftCertificate giftCertificate = giftCertificates.get(certificateId);
+            if (giftCertificate == null) {
+                giftCertificate = mapCertificate(tuple, certificateId);
+                giftCertificates.put(certificateId, giftCertificate);
+            }
+            addTag(tuple, giftCertificate);
+        }
+        return new ArrayList<>(giftCertificates.values());
+    }
+
+    /**
+     * Maps the tuples ordered by the id of the certificate to the {@link GiftCertificate}s and passes
+     * every {@link GiftCertificate} to the {@param consumer} as soon as its last tuple is read.
+     *
+     * @param tuples   are the rows of the native query ordered by the id of the certificate.
+     * @param consumer is the {@link Consumer} of every {@link GiftCertificate}.
+     */
+    public void mapEach(Iterator<Object[]> tuples, Consumer<GiftCertificate> consumer) {
+        GiftCertificate giftCertificate = null;
+        while (tuples.hasNext()) {
+            Object[] tuple = tuples.next();
+            long certificateId = TupleValues.toLong(tuple[CERTIFICATE_ID]);
+            if (giftCertificate == null || giftCertificate.getId() != certificateId) {
+                if (giftCertificate != null) {
+                    consumer.accept(giftCertificate);
+                }
+                giftCertificate = mapCertificate(tuple, certificateId);
+            }
+            addTag(tuple, giftCertificate);
+        }
+        if (giftCertificate != null) {
+            consumer.accept(giftCertificate);
+        }
+    }
+
+    private GiftCertificate mapCertificate(Object[] tuple, long certificateId) {
+        return new GiftCertificate(
+                certificateId,
+                TupleValues.toText(tuple[CERTIFICATE_NAME]),
+                TupleValues.toText(tuple[CERTIFICATE_DESCRIPTION]),
+                TupleValues.toBigDecimal(tuple[CERTIFICATE_PRICE]),
+                TupleValues.toLong(tuple[CERTIFICATE_DURATION]),
+                TupleValues.toLocalDateTime(tuple[CERTIFICATE_CREATE_DATE]),
+                TupleValues.toLocalDateTime(tuple[CERTIFICATE_LAST_UPDATE_DATE]),
+                new ArrayList<>()
+        );
+    }
+
+    private void addTag(Object[] tuple, GiftCertificate giftCertificate) {
+        long tagId = TupleValues.toLong(tuple[TAG_ID]);
+        if (tagId != 0) {
+            giftCertificate.getTags().add(new CertificateTag(tagId, TupleValues.toText(tuple[TAG_NAME])));
+        }
+    }
+}
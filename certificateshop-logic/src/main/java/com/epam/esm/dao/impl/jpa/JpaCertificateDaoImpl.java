@@ -1,12 +1,16 @@
 package com.epam.esm.dao.impl.jpa;
 
 import com.epam.esm.dao.CertificateDao;
-import com.epam.esm.dao.ListToResultSetConverter;
 import com.epam.esm.dao.TagDao;
-import com.epam.esm.dao.impl.jdbc.ColumnNames;
-import com.epam.esm.dao.impl.jdbc.GiftCertificateExtractor;
+import com.epam.esm.dao.impl.jdbc.CertificateQuery;
+import com.epam.esm.dao.impl.jdbc.CertificateQueryBuilder;
+import com.epam.esm.dao.impl.jdbc.GeneratedKeys;
+import com.epam.esm.dao.impl.jdbc.SqlPlaceholders;
+import com.epam.esm.dao.impl.jdbc.StreamingResultSetExtractor;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.model.impl.GiftCertificate;
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
@@ -14,47 +18,72 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
 import javax.transaction.Transactional;
-import java.sql.ResultSet;
+import java.sql.PreparedStatement;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The class that implements the {@link TagDao} interface.
  */
 @Profile("dev_jpa")
-@Repository
+@Repository("certificateDAOTarget")
 @Transactional
 public class JpaCertificateDaoImpl implements CertificateDao {
     public static final String SELECT_CERTIFICATE_ID_AS_CERT_ID_TAG_ID_AS_T_ID_FROM_HAS_TAG_WHERE_CERTIFICATE_ID_AND_TAG_ID
             = "select certificateId as certId, tagId as tId from has_tag where certificateId = ? and tagId = ?";
-    private static final List<String> CERTIFICATE_HEADERS = Arrays.asList(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_ID,
-            ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_NAME, ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DESCRIPTION,
-            ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DURATION, ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_CREATE_DATE,
-            ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_PRICE, ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_LAST_UPDATE_DATE,
-            ColumnNames.TABLE_TAG_COLUMN_ID, ColumnNames.TABLE_TAG_COLUMN_NAME);
+    private static final String STREAM_ALL_ENTITIES_SQL
+            = "select c.id as certificateId, c.name as certificateName," +
+            " c.description as certificateDescription, c.duration as certificateDuration," +
+            " c.create_date as certificateCreateDate, c.price as certificatePrice," +
+            " c.last_update_date as certificateLastUpdateDate, t.id as tagId, t.name as tagName" +
+            " from gift_certificate as c LEFT OUTER JOIN (has_tag as h LEFT OUTER JOIN tag as t ON t.id = h.tagId)" +
+            " ON c.id = h.certificateId order by c.id";
+    private static final String SELECT_TAG_ID_FROM_HAS_TAG_WHERE_CERTIFICATE_ID
+            = "select tagId from has_tag where certificateId = ?";
+    private static final String FIND_ALL_ENTITIES_BY_IDS_SQL
+            = "select c.id as certificateId, c.name as certificateName," +
+            " c.description as certificateDescription, c.duration as certificateDuration," +
+            " c.create_date as certificateCreateDate, c.price as certificatePrice," +
+            " c.last_update_date as certificateLastUpdateDate, t.id as tagId, t.name as tagName" +
+            " from gift_certificate as c LEFT OUTER JOIN (has_tag as h LEFT OUTER JOIN tag as t ON t.id = h.tagId)" +
+            " ON c.id = h.certificateId where c.id in (%s)";
+    private static final String INSERT_ENTITY_SQL
+            = "insert into gift_certificate (name, description, price, duration, create_date, last_update_date)" +
+            " values (?, ?, ?, ?, ?, ?)";
+    private static final String FIND_ALL_ENTITIES_BY_NAMES_SQL
+            = "select c.id as certificateId, c.name as certificateName," +
+            " c.description as certificateDescription, c.duration as certificateDuration," +
+            " c.create_date as certificateCreateDate, c.price as certificatePrice," +
+            " c.last_update_date as certificateLastUpdateDate, t.id as tagId, t.name as tagName" +
+            " from gift_certificate as c LEFT OUTER JOIN (has_tag as h LEFT OUTER JOIN tag as t ON t.id = h.tagId)" +
+            " ON c.id = h.certificateId where c.name in (%s)";
+    private static final String INSERT_ROWS_IN_HAS_TAG_TABLE_SQL = "insert into has_tag (certificateId, tagId) values ";
     private static final String INSERT_VALUES_IN_HAS_TAG_TABLE_SQL
             = "insert into has_tag (certificateId, tagId) values (?, ?)";
     private static final String DELETE_VALUES_IN_HAS_TAG_TABLE_SQL
             = "delete from has_tag where certificateId = ? and tagId = ?";
     private EntityManager entityManager;
-    private ListToResultSetConverter listToResultSetConverter;
-    private GiftCertificateExtractor giftCertificateExtractor;
+    private CertificateTupleMapper certificateTupleMapper;
 
     @Autowired
-    public JpaCertificateDaoImpl(EntityManager entityManager, ListToResultSetConverter listToResultSetConverter,
-                                 GiftCertificateExtractor giftCertificateExtractor) {
+    public JpaCertificateDaoImpl(EntityManager entityManager, CertificateTupleMapper certificateTupleMapper) {
         this.entityManager = entityManager;
-        this.listToResultSetConverter = listToResultSetConverter;
-        this.giftCertificateExtractor = giftCertificateExtractor;
+        this.certificateTupleMapper = certificateTupleMapper;
     }
 
     /**
      * Saves {@link GiftCertificate} in the database.
      *
      * @param entity is the {@link GiftCertificate} to save.
+     * @return the saved {@link GiftCertificate} with its generated id.
      */
     @Override
-    public void save(GiftCertificate entity) {
+    public GiftCertificate save(GiftCertificate entity) {
         entityManager.persist(entity);
+        entityManager.flush();
+        return entity;
     }
 
     /**
@@ -66,34 +95,30 @@ public class JpaCertificateDaoImpl implements CertificateDao {
      */
     @Override
     public List<GiftCertificate> findAllPagination(int pageNumber, int amountEntitiesOnThePage, Map<String, String> parameters) {
-        String CREATED_FIND_ALL_ENTITIES = ColumnNames.createQuery(parameters);
-        Query query = entityManager.createNativeQuery(CREATED_FIND_ALL_ENTITIES)
-                .setParameter(1, pageNumber * amountEntitiesOnThePage)
-                .setParameter(2, amountEntitiesOnThePage);
-        List<Object[]> resultList = query.getResultList();
-        List<List<Object>> result = convertListOfArrayToListOfLists(resultList);
-        return getEntities(result);
-    }
-
-    private List<GiftCertificate> getEntities(List<List<Object>> result) {
-        ResultSet resultSet;
-        List<GiftCertificate> certificates = new ArrayList<>();
-        try {
-            resultSet = listToResultSetConverter.convertToResultSet(CERTIFICATE_HEADERS, result);
-            certificates = giftCertificateExtractor.extractData(resultSet);
-        } catch (Exception exception) {
-            throw new RuntimeException(exception);
-        }
-        return certificates;
+        return findAllPagination(pageNumber, amountEntitiesOnThePage, parameters, Collections.emptyList());
     }
 
-    private List<List<Object>> convertListOfArrayToListOfLists(List<Object[]> resultList) {
-        List<List<Object>> result = new ArrayList();
-        for (Object[] objects : resultList) {
-            List<Object> listOfObjects = new ArrayList<>(Arrays.asList(objects));
-            result.add(listOfObjects);
+    /**
+     * Finds the page of the {@link GiftCertificate}s among the candidates.
+     *
+     * @param pageNumber              is the pageNumber query parameter.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @param parameters              are the parameters of the 'GET /certificates' request.
+     * @param candidateIds            are the ids of the candidates, all the certificates if it is empty.
+     * @return List of the {@link GiftCertificate} objects.
+     */
+    @Override
+    public List<GiftCertificate> findAllPagination(int pageNumber, int amountEntitiesOnThePage,
+                                                   Map<String, String> parameters, Collection<Long> candidateIds) {
+        CertificateQuery certificateQuery = CertificateQueryBuilder.createQuery(parameters, candidateIds,
+                pageNumber * amountEntitiesOnThePage, amountEntitiesOnThePage);
+        Query query = entityManager.createNativeQuery(certificateQuery.getSql());
+        List<Object> arguments = certificateQuery.getArguments();
+        for (int i = 0; i < arguments.size(); i++) {
+            query.setParameter(i + 1, arguments.get(i));
         }
-        return result;
+        List<Object[]> resultList = query.getResultList();
+        return certificateTupleMapper.mapTuples(resultList);
     }
 
     /**
@@ -107,6 +132,21 @@ public class JpaCertificateDaoImpl implements CertificateDao {
                 .getResultList();
     }
 
+    /**
+     * Reads all the {@link GiftCertificate}s from the database with a forward-only cursor and passes them
+     * to the {@param consumer} one by one, so the whole table is never kept in the memory.
+     *
+     * @param consumer is the {@link Consumer} of every {@link GiftCertificate}.
+     */
+    @Override
+    public void streamAll(Consumer<GiftCertificate> consumer) {
+        Query query = entityManager.createNativeQuery(STREAM_ALL_ENTITIES_SQL)
+                .setHint(QueryHints.FETCH_SIZE, StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+        try (Stream<Object[]> tuples = query.getResultStream()) {
+            certificateTupleMapper.mapEach(tuples.iterator(), consumer);
+        }
+    }
+
     /**
      * Finds {@link Optional <GiftCertificate>} in the database by the id of the {@link GiftCertificate}.
      *
@@ -163,6 +203,93 @@ public class JpaCertificateDaoImpl implements CertificateDao {
                 .getResultList().stream().findFirst();
     }
 
+    /**
+     * Finds all the {@link GiftCertificate}s with the ids from the {@param ids} together with their tags in one query.
+     *
+     * @param ids are the ids of the {@link GiftCertificate}s to find.
+     * @return {@link List<GiftCertificate>}, the ids, which are not in the database, are skipped.
+     */
+    @Override
+    public List<GiftCertificate> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Query query = entityManager.createNativeQuery(
+                String.format(FIND_ALL_ENTITIES_BY_IDS_SQL, SqlPlaceholders.createList(ids.size())));
+        int position = 1;
+        for (Long id : ids) {
+            query.setParameter(position++, id);
+        }
+        List<Object[]> resultList = query.getResultList();
+        return certificateTupleMapper.mapTuples(resultList);
+    }
+
+    /**
+     * Finds all the {@link GiftCertificate}s with the names from the {@param names} together with their tags
+     * in one query.
+     *
+     * @param names are the names of the {@link GiftCertificate}s to find.
+     * @return {@link List<GiftCertificate>}, the names, which are not in the database, are skipped.
+     */
+    @Override
+    public List<GiftCertificate> findAllByNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Query query = entityManager.createNativeQuery(
+                String.format(FIND_ALL_ENTITIES_BY_NAMES_SQL, SqlPlaceholders.createList(names.size())));
+        int position = 1;
+        for (String name : names) {
+            query.setParameter(position++, name);
+        }
+        List<Object[]> resultList = query.getResultList();
+        return certificateTupleMapper.mapTuples(resultList);
+    }
+
+    /**
+     * Saves all the {@link GiftCertificate}s in the database in one JDBC batch.
+     *
+     * @param giftCertificates are the {@link GiftCertificate}s to save.
+     * @return the saved {@link GiftCertificate}s with their generated ids.
+     */
+    @Override
+    public List<GiftCertificate> saveAll(List<GiftCertificate> giftCertificates) {
+        List<Object[]> batchArguments = new ArrayList<>();
+        for (GiftCertificate giftCertificate : giftCertificates) {
+            batchArguments.add(new Object[]{giftCertificate.getName(), giftCertificate.getDescription(),
+                    giftCertificate.getPrice(), giftCertificate.getDuration(), giftCertificate.getCreateDate(),
+                    giftCertificate.getLastUpdateDate()});
+        }
+        List<Long> ids = entityManager.unwrap(Session.class).doReturningWork(connection
+                -> GeneratedKeys.insertBatch(connection, INSERT_ENTITY_SQL, batchArguments));
+        for (int i = 0; i < giftCertificates.size(); i++) {
+            giftCertificates.get(i).setId(ids.get(i));
+        }
+        return giftCertificates;
+    }
+
+    /**
+     * Saves the ids of every {@link GiftCertificate} together with the ids of its tags in the 'has_tag' table
+     * in one JDBC batch.
+     *
+     * @param giftCertificates are the saved {@link GiftCertificate}s with their resolved tags.
+     */
+    @Override
+    public void saveAllInHasTagTable(List<GiftCertificate> giftCertificates) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_VALUES_IN_HAS_TAG_TABLE_SQL)) {
+                for (GiftCertificate giftCertificate : giftCertificates) {
+                    for (CertificateTag certificateTag : giftCertificate.getTags()) {
+                        preparedStatement.setLong(1, giftCertificate.getId());
+                        preparedStatement.setLong(2, certificateTag.getId());
+                        preparedStatement.addBatch();
+                    }
+                }
+                preparedStatement.executeBatch();
+            }
+        });
+    }
+
     /**
      * Saves certificateId and tagId in the database.
      *
@@ -179,6 +306,34 @@ public class JpaCertificateDaoImpl implements CertificateDao {
         }
     }
 
+    /**
+     * Saves the certificateId together with every tagId in the 'has_tag' table in one multi-row insert.
+     * The tuples, which are already saved together with the persisted certificate, are skipped.
+     *
+     * @param certificateId is the id of the {@link GiftCertificate} to save.
+     * @param tagIds        are the ids of the {@link CertificateTag}s to save.
+     */
+    @Override
+    public void saveIdsInHasTagTable(long certificateId, List<Long> tagIds) {
+        Set<Long> savedTagIds = new HashSet<>();
+        for (Object tagId : entityManager.createNativeQuery(SELECT_TAG_ID_FROM_HAS_TAG_WHERE_CERTIFICATE_ID)
+                .setParameter(1, certificateId).getResultList()) {
+            savedTagIds.add(((Number) tagId).longValue());
+        }
+        List<Long> tagIdsToSave = tagIds.stream().filter(tagId -> !savedTagIds.contains(tagId)).collect(Collectors.toList());
+        if (tagIdsToSave.isEmpty()) {
+            return;
+        }
+        Query query = entityManager.createNativeQuery(
+                INSERT_ROWS_IN_HAS_TAG_TABLE_SQL + SqlPlaceholders.createRows(tagIdsToSave.size(), 2));
+        int position = 1;
+        for (Long tagId : tagIdsToSave) {
+            query.setParameter(position++, certificateId);
+            query.setParameter(position++, tagId);
+        }
+        query.executeUpdate();
+    }
+
     /**
      * Removes the tuple certificateId and tagId from the 'has_tag' table of the database.
      *
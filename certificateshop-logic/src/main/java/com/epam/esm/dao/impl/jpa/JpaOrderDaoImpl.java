@@ -1,13 +1,14 @@
 package com.epam.esm.dao.impl.jpa;
 
-import com.epam.esm.dao.ListToResultSetConverter;
 import com.epam.esm.dao.OrderDao;
-import com.epam.esm.dao.impl.jdbc.ColumnNames;
-import com.epam.esm.dao.impl.jdbc.OrderExtractor;
+import com.epam.esm.dao.impl.jdbc.GeneratedKeys;
+import com.epam.esm.dao.impl.jdbc.StreamingResultSetExtractor;
 import com.epam.esm.model.impl.GiftCertificate;
 import com.epam.esm.model.impl.Order;
 import com.epam.esm.model.impl.User;
 import com.google.gson.Gson;
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
@@ -16,11 +17,15 @@ import javax.persistence.EntityManager;
 import javax.persistence.Query;
 import javax.transaction.Transactional;
 import java.math.BigDecimal;
-import java.sql.ResultSet;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * The class that implements the {@link OrderDao} interface.
@@ -29,6 +34,21 @@ import java.util.Optional;
 @Repository
 @Transactional
 public class JpaOrderDaoImpl implements OrderDao {
+    private static final String STREAM_ALL_ENTITIES_SQL
+            = "select u.id as userId, u.nickName as userNickName, uo.id as userOrderId," +
+            " uo.create_date as orderCreateDate, uo.name as orderName, uoc.certificateInJSON as orderCertificate" +
+            " from userorder as uo JOIN user as u ON u.id = uo.userId" +
+            " LEFT OUTER JOIN userorder_certificate as uoc ON uo.id = uoc.userOrderId order by uo.id";
+    private static final String STREAM_ENTITIES_CREATED_SINCE_SQL
+            = "select u.id as userId, u.nickName as userNickName, uo.id as userOrderId," +
+            " uo.create_date as orderCreateDate, uo.name as orderName, uoc.certificateInJSON as orderCertificate" +
+            " from userorder as uo JOIN user as u ON u.id = uo.userId" +
+            " LEFT OUTER JOIN userorder_certificate as uoc ON uo.id = uoc.userOrderId" +
+            " where uo.create_date >= ? order by uo.id";
+    private static final String FIND_MAX_ID_SQL = "select coalesce(max(id), 0) from userorder";
+    private static final String STREAM_CERTIFICATE_IDS_SQL
+            = "select userOrderId, certificateId from userorder_certificate" +
+            " where userOrderId > ? and userOrderId <= ? order by userOrderId";
     private static final String INSERT_ENTITY_SQL
             = "insert into userorder (userId, create_date, name) values (?, ?, ?)";
     private static final String FIND_ENTITY_BY_NAME_SQL
@@ -62,38 +82,50 @@ public class JpaOrderDaoImpl implements OrderDao {
             " LEFT OUTER JOIN (userorder as uo LEFT OUTER JOIN userorder_certificate as uoc ON uo.id = uoc.userOrderId)" +
             " ON u.id = uo.userId" +
             " WHERE uo.id IN (select * from (select id from userorder order by id LIMIT ?, ?) as query1)";
+    private static final String FIND_PAGE_AFTER_SQL
+            = "select u.id as userId, u.nickName as userNickName, uo.id as userOrderId," +
+            " uo.create_date as orderCreateDate, uo.name as orderName, uoc.certificateInJSON as orderCertificate" +
+            " from user as u" +
+            " LEFT OUTER JOIN (userorder as uo LEFT OUTER JOIN userorder_certificate as uoc ON uo.id = uoc.userOrderId)" +
+            " ON u.id = uo.userId" +
+            " WHERE uo.id IN (select * from (select id from userorder where id > ? order by id LIMIT ?) as query1)" +
+            " order by uo.id";
+    private static final String FIND_PAGE_BEFORE_SQL
+            = "select u.id as userId, u.nickName as userNickName, uo.id as userOrderId," +
+            " uo.create_date as orderCreateDate, uo.name as orderName, uoc.certificateInJSON as orderCertificate" +
+            " from user as u" +
+            " LEFT OUTER JOIN (userorder as uo LEFT OUTER JOIN userorder_certificate as uoc ON uo.id = uoc.userOrderId)" +
+            " ON u.id = uo.userId" +
+            " WHERE uo.id IN (select * from (select id from userorder where id < ? order by id desc LIMIT ?) as query1)" +
+            " order by uo.id";
     private static final String INSERT_VALUES_IN_USERORDER_CERTIFICATE_TABLE_SQL
             = "insert into userorder_certificate" +
             " (userOrderId, certificateId, certificateInJSON, certificatePrice) values (?, ?, ?, ?)";
-    private static final List<String> ORDER_HEADERS = Arrays.asList(ColumnNames.TABLE_USER_COLUMN_ID,
-            ColumnNames.TABLE_USER_COLUMN_NICKNAME, ColumnNames.TABLE_USERORDER_COLUMN_ID,
-            ColumnNames.TABLE_USERORDER_COLUMN_CREATE_DATE, ColumnNames.TABLE_USERORDER_COLUMN_NAME,
-            ColumnNames.TABLE_USERORDER_CERTIFICATE_COLUMN_CERTIFICATEINJSON);
     private EntityManager entityManager;
-    private ListToResultSetConverter listToResultSetConverter;
-    private OrderExtractor orderExtractor;
+    private OrderTupleMapper orderTupleMapper;
 
     @Autowired
-    public JpaOrderDaoImpl(EntityManager entityManager, ListToResultSetConverter listToResultSetConverter,
-                           OrderExtractor orderExtractor) {
+    public JpaOrderDaoImpl(EntityManager entityManager, OrderTupleMapper orderTupleMapper) {
         this.entityManager = entityManager;
-        this.listToResultSetConverter = listToResultSetConverter;
-        this.orderExtractor = orderExtractor;
+        this.orderTupleMapper = orderTupleMapper;
     }
 
     /**
      * Saves {@link Order} in the database.
      *
      * @param order is the {@link Order} to save.
+     * @return the saved {@link Order} with its generated id.
      */
     @Override
-    public void save(Order order) {
-        entityManager
-                .createNativeQuery(INSERT_ENTITY_SQL)
-                .setParameter(1, order.getUser().getId())
-                .setParameter(2, order.getCreateDate())
-                .setParameter(3, order.getName())
-                .executeUpdate();
+    public Order save(Order order) {
+        // the certificates are saved in the userorder_certificate table together with their json
+        Order orderToPersist = new Order(0, entityManager.getReference(User.class, order.getUser().getId()),
+                order.getCreateDate(), order.getName(), null);
+        entityManager.persist(orderToPersist);
+        entityManager.flush();
+        order.setId(orderToPersist.getId());
+        order.setCreateDate(orderToPersist.getCreateDate());
+        return order;
     }
 
     /**
@@ -105,8 +137,67 @@ public class JpaOrderDaoImpl implements OrderDao {
     public List<Order> findAll() {
         Query query = entityManager.createNativeQuery(FIND_ALL_ENTITIES_SQL);
         List<Object[]> resultList = query.getResultList();
-        List<List<Object>> result = convertListOfArrayToListOfLists(resultList);
-        return getEntities(result);
+        return orderTupleMapper.mapTuples(resultList);
+    }
+
+    /**
+     * Reads all the {@link Order}s from the database with a forward-only cursor and passes them
+     * to the {@param consumer} one by one, so the whole table is never kept in the memory.
+     *
+     * @param consumer is the {@link Consumer} of every {@link Order}.
+     */
+    @Override
+    public void streamAll(Consumer<Order> consumer) {
+        Query query = entityManager.createNativeQuery(STREAM_ALL_ENTITIES_SQL)
+                .setHint(QueryHints.FETCH_SIZE, StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+        try (Stream<Object[]> tuples = query.getResultStream()) {
+            orderTupleMapper.mapEach(tuples.iterator(), consumer);
+        }
+    }
+
+    /**
+     * Reads the {@link Order}s created since the {@param createDate} from the database with a forward-only cursor
+     * and passes them to the {@param consumer} one by one.
+     *
+     * @param createDate is the earliest create date of the {@link Order}s to read.
+     * @param consumer   is the {@link Consumer} of every {@link Order}.
+     */
+    @Override
+    public void streamCreatedSince(LocalDateTime createDate, Consumer<Order> consumer) {
+        Query query = entityManager.createNativeQuery(STREAM_ENTITIES_CREATED_SINCE_SQL)
+                .setParameter(1, createDate)
+                .setHint(QueryHints.FETCH_SIZE, StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+        try (Stream<Object[]> tuples = query.getResultStream()) {
+            orderTupleMapper.mapEach(tuples.iterator(), consumer);
+        }
+    }
+
+    /**
+     * Finds the biggest id of the {@link Order}s.
+     *
+     * @return the id, 0 if there are no orders.
+     */
+    @Override
+    public long findMaxId() {
+        return TupleValues.toLong(entityManager.createNativeQuery(FIND_MAX_ID_SQL).getSingleResult());
+    }
+
+    /**
+     * Reads the ids of the ordered certificates of the {@link Order}s in the range of the ids row by row.
+     *
+     * @param afterId  is the id before the first id of the {@link Order}s to read.
+     * @param toId     is the last id of the {@link Order}s to read.
+     * @param consumer is the consumer of the id of the {@link Order} and the id of the certificate.
+     */
+    @Override
+    public void streamCertificateIds(long afterId, long toId, BiConsumer<Long, Long> consumer) {
+        Query query = entityManager.createNativeQuery(STREAM_CERTIFICATE_IDS_SQL)
+                .setParameter(1, afterId)
+                .setParameter(2, toId)
+                .setHint(QueryHints.FETCH_SIZE, StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+        try (Stream<Object[]> tuples = query.getResultStream()) {
+            tuples.forEach(tuple -> consumer.accept(TupleValues.toLong(tuple[0]), TupleValues.toLong(tuple[1])));
+        }
     }
 
     /**
@@ -119,9 +210,7 @@ public class JpaOrderDaoImpl implements OrderDao {
     public Optional<Order> findById(long id) {
         Query query = entityManager.createNativeQuery(FIND_ENTITY_BY_ID_SQL).setParameter(1, id);
         List<Object[]> resultList = query.getResultList();
-        List<List<Object>> result = convertListOfArrayToListOfLists(resultList);
-        List<Order> orders = getEntities(result);
-        return orders.stream().findFirst();
+        return orderTupleMapper.mapTuples(resultList).stream().findFirst();
     }
 
     /**
@@ -162,33 +251,7 @@ public class JpaOrderDaoImpl implements OrderDao {
     public Optional<Order> findByName(String name) {
         Query query = entityManager.createNativeQuery(FIND_ENTITY_BY_NAME_SQL).setParameter(1, name);
         List<Object[]> resultList = query.getResultList();
-        List<List<Object>> result = convertListOfArrayToListOfLists(resultList);
-        List<Order> users = getEntities(result);
-        if (users.isEmpty()) {
-            return Optional.empty();
-        }
-        return users.stream().findFirst();
-    }
-
-    private List<List<Object>> convertListOfArrayToListOfLists(List<Object[]> resultList) {
-        List<List<Object>> result = new ArrayList();
-        for (Object[] objects : resultList) {
-            List<Object> listOfObjects = new ArrayList<>(Arrays.asList(objects));
-            result.add(listOfObjects);
-        }
-        return result;
-    }
-
-    private List<Order> getEntities(List<List<Object>> result) {
-        ResultSet resultSet;
-        List<Order> orders = new ArrayList<>();
-        try {
-            resultSet = listToResultSetConverter.convertToResultSet(ORDER_HEADERS, result);
-            orders = orderExtractor.extractData(resultSet);
-        } catch (Exception exception) {
-            throw new RuntimeException(exception);
-        }
-        return orders;
+        return orderTupleMapper.mapTuples(resultList).stream().findFirst();
     }
 
     /**
@@ -213,6 +276,67 @@ public class JpaOrderDaoImpl implements OrderDao {
                 .executeUpdate();
     }
 
+    /**
+     * Saves the orderId together with every {@link GiftCertificate} of the order, its JSON and its price
+     * in the 'userorder_certificate' table in one JDBC batch.
+     *
+     * @param orderId      is the id of the {@link Order} to save.
+     * @param certificates are the {@link GiftCertificate}s of the order to save.
+     */
+    @Override
+    public void saveAllInUserorder_certificateTable(long orderId, List<GiftCertificate> certificates) {
+        Order order = new Order();
+        order.setId(orderId);
+        order.setCertificates(certificates);
+        saveAllInUserorder_certificateTable(Collections.singletonList(order));
+    }
+
+    /**
+     * Saves all the {@link Order}s in the database in one JDBC batch.
+     *
+     * @param orders are the {@link Order}s to save.
+     * @return the saved {@link Order}s with their generated ids.
+     */
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Object[]> batchArguments = new ArrayList<>();
+        for (Order order : orders) {
+            batchArguments.add(new Object[]{order.getUser().getId(), order.getCreateDate(), order.getName()});
+        }
+        List<Long> ids = entityManager.unwrap(Session.class).doReturningWork(connection
+                -> GeneratedKeys.insertBatch(connection, INSERT_ENTITY_SQL, batchArguments));
+        for (int i = 0; i < orders.size(); i++) {
+            orders.get(i).setId(ids.get(i));
+        }
+        return orders;
+    }
+
+    /**
+     * Saves the lines of all the {@link Order}s, which are already saved, in the 'userorder_certificate' table
+     * in one JDBC batch.
+     *
+     * @param orders are the {@link Order}s with their ids and their {@link GiftCertificate}s to save.
+     */
+    @Override
+    public void saveAllInUserorder_certificateTable(List<Order> orders) {
+        Gson gson = new Gson();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement preparedStatement
+                         = connection.prepareStatement(INSERT_VALUES_IN_USERORDER_CERTIFICATE_TABLE_SQL)) {
+                for (Order order : orders) {
+                    for (GiftCertificate giftCertificate : order.getCertificates()) {
+                        preparedStatement.setLong(1, order.getId());
+                        preparedStatement.setLong(2, giftCertificate.getId());
+                        preparedStatement.setString(3, gson.toJson(giftCertificate));
+                        preparedStatement.setBigDecimal(4, giftCertificate.getPrice());
+                        preparedStatement.addBatch();
+                    }
+                }
+                preparedStatement.executeBatch();
+            }
+        });
+    }
+
     /**
      * Finds all {@link Order} entity in the database.
      *
@@ -226,8 +350,39 @@ public class JpaOrderDaoImpl implements OrderDao {
                 .setParameter(1, pageNumber * amountEntitiesOnThePage)
                 .setParameter(2, amountEntitiesOnThePage);
         List<Object[]> resultList = query.getResultList();
-        List<List<Object>> result = convertListOfArrayToListOfLists(resultList);
-        return getEntities(result);
+        return orderTupleMapper.mapTuples(resultList);
+    }
+
+    /**
+     * Finds the page of the {@link Order} entities, which ids are greater than the {@param id}.
+     *
+     * @param id                      is the id of the last {@link Order} on the previous page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link Order} objects.
+     */
+    @Override
+    public List<Order> findPageAfter(long id, int amountEntitiesOnThePage) {
+        Query query = entityManager.createNativeQuery(FIND_PAGE_AFTER_SQL)
+                .setParameter(1, id)
+                .setParameter(2, amountEntitiesOnThePage);
+        List<Object[]> resultList = query.getResultList();
+        return orderTupleMapper.mapTuples(resultList);
+    }
+
+    /**
+     * Finds the page of the {@link Order} entities, which ids are less than the {@param id}.
+     *
+     * @param id                      is the id of the first {@link Order} on the next page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link Order} objects.
+     */
+    @Override
+    public List<Order> findPageBefore(long id, int amountEntitiesOnThePage) {
+        Query query = entityManager.createNativeQuery(FIND_PAGE_BEFORE_SQL)
+                .setParameter(1, id)
+                .setParameter(2, amountEntitiesOnThePage);
+        List<Object[]> resultList = query.getResultList();
+        return orderTupleMapper.mapTuples(resultList);
     }
 
     /**
@@ -241,7 +396,6 @@ public class JpaOrderDaoImpl implements OrderDao {
         Query query = entityManager.createNativeQuery(FIND_ALL_ENTITIES_BY_USER_ID_SQL)
                 .setParameter(1, userId);
         List<Object[]> resultList = query.getResultList();
-        List<List<Object>> result = convertListOfArrayToListOfLists(resultList);
-        return getEntities(result);
+        return orderTupleMapper.mapTuples(resultList);
     }
 }
@@ -0,0 +1,123 @@
+package com.epam.esm.dao.impl.jpa;
+
+import com.epam.esm.dao.ReachDao;
+import com.epam.esm.dao.impl.jdbc.ReachSketches;
+import com.epam.esm.dao.impl.jdbc.SqlPlaceholders;
+import com.epam.esm.dao.impl.jdbc.StreamingResultSetExtractor;
+import com.epam.esm.dto.ReachSketch;
+import com.epam.esm.statistic.ReachType;
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.transaction.Transactional;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * The class that implements the {@link ReachDao} interface.
+ */
+@Profile("dev_jpa")
+@Repository
+@Transactional
+public class JpaReachDaoImpl implements ReachDao {
+    private EntityManager entityManager;
+
+    @Autowired
+    public JpaReachDaoImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Finds all the rows of the 'reach_sketch' table.
+     *
+     * @return {@link List<ReachSketch>}.
+     */
+    @Override
+    public List<ReachSketch> findAll() {
+        return toSketches(entityManager.createNativeQuery(ReachSketches.FIND_ALL_SQL).getResultList());
+    }
+
+    /**
+     * Finds the rows of the 'reach_sketch' table by the ids and locks them.
+     *
+     * @param type is the type of the entities.
+     * @param ids  are the ids of the entities.
+     * @return {@link List<ReachSketch>} of the entities, which have the sketches.
+     */
+    @Override
+    public List<ReachSketch> findByIdsForUpdate(ReachType type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Query query = entityManager.createNativeQuery(String.format(ReachSketches.FIND_BY_IDS_FOR_UPDATE_SQL,
+                SqlPlaceholders.createList(ids.size())));
+        query.setParameter(1, type.name());
+        int position = 2;
+        for (Long id : ids) {
+            query.setParameter(position++, id);
+        }
+        return toSketches(query.getResultList());
+    }
+
+    /**
+     * Inserts or replaces the rows of the 'reach_sketch' table in one JDBC batch.
+     *
+     * @param sketches are the {@link ReachSketch}s to save.
+     */
+    @Override
+    public void saveAll(List<ReachSketch> sketches) {
+        if (sketches.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = ReachSketches.upsertRows(sketches);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(ReachSketches.UPSERT_SQL)) {
+                for (Object[] row : rows) {
+                    preparedStatement.setString(1, (String) row[0]);
+                    preparedStatement.setLong(2, (Long) row[1]);
+                    preparedStatement.setBytes(3, (byte[]) row[2]);
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Streams the buyers of the entities from the 'userorder_certificate' table row by row.
+     *
+     * @param type     is the type of the entities.
+     * @param consumer is the consumer of the id of the entity and the id of the user.
+     */
+    @Override
+    public void streamBuyers(ReachType type, BiConsumer<Long, Long> consumer) {
+        Query query = entityManager.createNativeQuery(ReachSketches.streamBuyersSql(type))
+                .setHint(QueryHints.FETCH_SIZE, StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+        try (Stream<Object[]> tuples = query.getResultStream()) {
+            Iterator<Object[]> iterator = tuples.iterator();
+            while (iterator.hasNext()) {
+                Object[] tuple = iterator.next();
+                consumer.accept(TupleValues.toLong(tuple[0]), TupleValues.toLong(tuple[1]));
+            }
+        }
+    }
+
+    private List<ReachSketch> toSketches(List<Object[]> resultList) {
+        List<ReachSketch> sketches = new ArrayList<>(resultList.size());
+        for (Object[] tuple : resultList) {
+            sketches.add(new ReachSketch(ReachType.valueOf(TupleValues.toText(tuple[0])),
+                    TupleValues.toLong(tuple[1]), TupleValues.toBytes(tuple[2])));
+        }
+        return sketches;
+    }
+}
@@ -0,0 +1,139 @@
+package com.epam.esm.dao.impl.jpa;
+
+import com.epam.esm.dao.StatisticDao;
+import com.epam.esm.dao.impl.jdbc.CertificateInJsonMapper;
+import com.epam.esm.dao.impl.jdbc.OrderAggregates;
+import com.epam.esm.dao.impl.jdbc.StreamingResultSetExtractor;
+import com.epam.esm.dto.UserSpend;
+import com.epam.esm.dto.UserTagCount;
+import com.epam.esm.model.impl.Order;
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.transaction.Transactional;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * The class that implements the {@link StatisticDao} interface.
+ */
+@Profile("dev_jpa")
+@Repository
+@Transactional
+public class JpaStatisticDaoImpl implements StatisticDao {
+    private EntityManager entityManager;
+    private final CertificateInJsonMapper certificateInJsonMapper;
+
+    @Autowired
+    public JpaStatisticDaoImpl(EntityManager entityManager, CertificateInJsonMapper certificateInJsonMapper) {
+        this.entityManager = entityManager;
+        this.certificateInJsonMapper = certificateInJsonMapper;
+    }
+
+    /**
+     * Adds the {@link Order}s to the 'user_spend' and the 'user_tag_count' tables, one JDBC batch for each table.
+     *
+     * @param orders are the saved {@link Order}s with their users and their certificates.
+     */
+    @Override
+    public void addOrders(List<Order> orders) {
+        List<Object[]> userSpendRows = OrderAggregates.userSpendRows(orders);
+        List<Object[]> userTagCountRows = OrderAggregates.userTagCountRows(orders);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            executeBatch(connection, OrderAggregates.UPSERT_USER_SPEND_SQL, userSpendRows);
+            executeBatch(connection, OrderAggregates.UPSERT_USER_TAG_COUNT_SQL, userTagCountRows);
+        });
+    }
+
+    /**
+     * Recalculates the 'user_spend' and the 'user_tag_count' tables from the 'userorder_certificate' table,
+     * the tags are counted from the certificates saved in JSON with the orders, the deleted tags are skipped.
+     */
+    @Override
+    public void rebuild() {
+        entityManager.createNativeQuery(OrderAggregates.DELETE_USER_TAG_COUNTS_SQL).executeUpdate();
+        entityManager.createNativeQuery(OrderAggregates.DELETE_USER_SPENDS_SQL).executeUpdate();
+        entityManager.createNativeQuery(OrderAggregates.REBUILD_USER_SPENDS_SQL).executeUpdate();
+        Map<Long, Map<Long, Integer>> amountsByUser = new TreeMap<>();
+        Query query = entityManager.createNativeQuery(OrderAggregates.STREAM_ORDERED_CERTIFICATES_SQL)
+                .setHint(QueryHints.FETCH_SIZE, StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+        try (Stream<Object[]> tuples = query.getResultStream()) {
+            Iterator<Object[]> iterator = tuples.iterator();
+            while (iterator.hasNext()) {
+                Object[] tuple = iterator.next();
+                OrderAggregates.countTags(amountsByUser, TupleValues.toLong(tuple[0]),
+                        certificateInJsonMapper.fromJson(TupleValues.toText(tuple[1])));
+            }
+        }
+        Set<Long> tagIds = new HashSet<>();
+        for (Object tagId : entityManager.createNativeQuery(OrderAggregates.FIND_ALL_TAG_IDS_SQL).getResultList()) {
+            tagIds.add(TupleValues.toLong(tagId));
+        }
+        List<Object[]> userTagCountRows = OrderAggregates.userTagCountRows(amountsByUser, tagIds::contains);
+        entityManager.unwrap(Session.class).doWork(connection ->
+                executeBatch(connection, OrderAggregates.UPSERT_USER_TAG_COUNT_SQL, userTagCountRows));
+    }
+
+    /**
+     * Finds all the rows of the 'user_spend' table with the nicknames of the users.
+     *
+     * @return {@link List<UserSpend>}.
+     */
+    @Override
+    public List<UserSpend> findAllUserSpends() {
+        List<Object[]> resultList = entityManager.createNativeQuery(OrderAggregates.FIND_ALL_USER_SPENDS_SQL)
+                .getResultList();
+        List<UserSpend> userSpends = new ArrayList<>();
+        for (Object[] tuple : resultList) {
+            userSpends.add(new UserSpend(TupleValues.toLong(tuple[0]), TupleValues.toText(tuple[1]),
+                    TupleValues.toBigDecimal(tuple[2])));
+        }
+        return userSpends;
+    }
+
+    /**
+     * Finds all the rows of the 'user_tag_count' table with the names of the tags.
+     *
+     * @return {@link List<UserTagCount>}.
+     */
+    @Override
+    public List<UserTagCount> findAllUserTagCounts() {
+        List<Object[]> resultList = entityManager.createNativeQuery(OrderAggregates.FIND_ALL_USER_TAG_COUNTS_SQL)
+                .getResultList();
+        List<UserTagCount> userTagCounts = new ArrayList<>();
+        for (Object[] tuple : resultList) {
+            userTagCounts.add(new UserTagCount(TupleValues.toLong(tuple[0]), TupleValues.toLong(tuple[1]),
+                    TupleValues.toText(tuple[2]), TupleValues.toLong(tuple[3])));
+        }
+        return userTagCounts;
+    }
+
+    private void executeBatch(Connection connection, String sql, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    preparedStatement.setObject(i + 1, row[i]);
+                }
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+}
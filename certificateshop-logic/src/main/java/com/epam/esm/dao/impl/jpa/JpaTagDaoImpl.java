@@ -1,40 +1,46 @@
 package com.epam.esm.dao.impl.jpa;
 
 import com.epam.esm.dao.TagDao;
+import com.epam.esm.dao.impl.jdbc.GeneratedKeys;
+import com.epam.esm.dao.impl.jdbc.StreamingResultSetExtractor;
 import com.epam.esm.exception.DuplicateException;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.model.impl.GiftCertificate;
 import com.epam.esm.model.impl.User;
 import com.epam.esm.repository.CertificateTagRepository;
+import org.hibernate.Session;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 /**
  * The class that implements the {@link TagDao} interface.
  */
 @Profile("dev_jpa")
-@Repository
+@Repository("tagDAOTarget")
 public class JpaTagDaoImpl implements TagDao {
     public static final String FIND_MOST_POPULAR_TAG_BY_THE_BEST_USER =
-            "SELECT tag.id as tagId, tag.name as tagName FROM tag" +
-                    " where id = (SELECT query3.tagIdAfterCount" +
-                    " FROM (SELECT ht.tagId as tagIdAfterCount, count(ht.tagId) as amountOfTag" +
-                    " FROM userorder as uo LEFT OUTER JOIN" +
-                    " (has_tag as ht LEFT OUTER JOIN userorder_certificate as uoc on ht.certificateId = uoc.certificateId)" +
-                    " ON uo.id = uoc.userOrderId" +
-                    " WHERE uo.userId = (SELECT query1.id" +
-                    " FROM (SELECT uo.userId as id, SUM(uoc.certificatePrice) as costAllCertificates" +
-                    " FROM userorder_certificate as uoc LEFT OUTER JOIN userorder as uo ON uoc.userOrderId = uo.id" +
-                    " GROUP BY userId ORDER BY costAllCertificates DESC) as query1 LIMIT 1)" +
-                    " GROUP BY ht.tagId ORDER BY amountOfTag DESC) as query3 LIMIT 1)";
+            "SELECT tag.id as tagId, tag.name as tagName" +
+                    " FROM user_tag_count as utc JOIN tag ON tag.id = utc.tagId" +
+                    " WHERE utc.userId = (SELECT us.userId FROM user_spend as us" +
+                    " ORDER BY us.spend DESC, us.userId DESC LIMIT 1)" +
+                    " ORDER BY utc.amount DESC, utc.tagId DESC LIMIT 1";
+    private static final String INSERT_ENTITY_SQL = "insert into tag (name) values (?)";
     private static final String DELETE_VALUES_IN_HAS_TAG_TABLE_SQL
             = "delete from has_tag where tagId = ?";
+    private static final String STREAM_HAS_TAG_SQL = "select certificateId, tagId from has_tag";
     private CertificateTagRepository certificateTagRepository;
     private EntityManager entityManager;
 
@@ -49,11 +55,14 @@ public class JpaTagDaoImpl implements TagDao {
      * Saves {@link CertificateTag} in the database.
      *
      * @param entity is the {@link CertificateTag} to save.
+     * @return the saved {@link CertificateTag} with its generated id.
      * @throws DuplicateException if a SQLException with the state 23505 or the state 23000 is thrown.
      */
     @Override
-    public void save(CertificateTag entity) throws DuplicateException {
+    public CertificateTag save(CertificateTag entity) throws DuplicateException {
         entityManager.persist(entity);
+        entityManager.flush();
+        return entity;
     }
 
     /**
@@ -71,6 +80,39 @@ public class JpaTagDaoImpl implements TagDao {
                 .getResultList();
     }
 
+    /**
+     * Finds the page of the {@link CertificateTag} entities, which ids are greater than the {@param id}.
+     *
+     * @param id                      is the id of the last {@link CertificateTag} on the previous page.
+     * @param amountEntitiesOnThePage is the value of the records, which should be fetched from the database.
+     * @return List of the {@link CertificateTag} objects.
+     */
+    @Override
+    public List<CertificateTag> findPageAfter(long id, int amountEntitiesOnThePage) {
+        return entityManager.createQuery("select t from Tag t where t.id > :id order by t.id", CertificateTag.class)
+                .setParameter("id", id)
+                .setMaxResults(amountEntitiesOnThePage)
+                .getResultList();
+    }
+
+    /**
+     * Finds the page of the {@link CertificateTag} entities, which ids are less than the {@param id}.
+     *
+     * @param id                      is the id of the first {@link CertificateTag} on the next page.
+     * @param amountEntitiesOnThePage is the value of the records, which should be fetched from the database.
+     * @return List of the {@link CertificateTag} objects.
+     */
+    @Override
+    public List<CertificateTag> findPageBefore(long id, int amountEntitiesOnThePage) {
+        List<CertificateTag> entities = new ArrayList<>(entityManager
+                .createQuery("select t from Tag t where t.id < :id order by t.id desc", CertificateTag.class)
+                .setParameter("id", id)
+                .setMaxResults(amountEntitiesOnThePage)
+                .getResultList());
+        Collections.reverse(entities);
+        return entities;
+    }
+
     /**
      * Finds all {@link CertificateTag} entity in the database.
      *
@@ -145,6 +187,43 @@ public class JpaTagDaoImpl implements TagDao {
                 .setParameter("name", name).getResultList().stream().findFirst();
     }
 
+    /**
+     * Finds all the {@link CertificateTag}s with the names from the {@param names} in one query.
+     *
+     * @param names are the names of the {@link CertificateTag}s to find.
+     * @return {@link List<CertificateTag>}, the names, which are not in the database, are skipped.
+     */
+    @Override
+    public List<CertificateTag> findAllByNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return entityManager.createQuery("select t from Tag t where t.name in :names", CertificateTag.class)
+                .setParameter("names", names)
+                .getResultList();
+    }
+
+    /**
+     * Saves all the {@link CertificateTag}s in the database in one JDBC batch.
+     *
+     * @param tags are the {@link CertificateTag}s to save.
+     * @return the saved {@link CertificateTag}s with their generated ids.
+     */
+    @Override
+    public List<CertificateTag> saveAll(List<CertificateTag> tags) {
+        if (tags.isEmpty()) {
+            return tags;
+        }
+        List<Object[]> batchArguments = new ArrayList<>();
+        tags.forEach(tag -> batchArguments.add(new Object[]{tag.getName()}));
+        List<Long> ids = entityManager.unwrap(Session.class).doReturningWork(connection
+                -> GeneratedKeys.insertBatch(connection, INSERT_ENTITY_SQL, batchArguments));
+        for (int i = 0; i < tags.size(); i++) {
+            tags.get(i).setId(ids.get(i));
+        }
+        return tags;
+    }
+
     /**
      * Removes records from 'has_tag' table by tagId.
      *
@@ -161,16 +240,34 @@ public class JpaTagDaoImpl implements TagDao {
         }
     }
 
+    /**
+     * Reads all the rows of the 'has_tag' table with a forward-only cursor, the stream is read
+     * in the transaction, so its connection is kept open till the last row.
+     *
+     * @param consumer is the consumer of the id of the certificate and the id of the tag.
+     */
+    @Override
+    @Transactional
+    public void streamHasTag(BiConsumer<Long, Long> consumer) {
+        Query query = entityManager.createNativeQuery(STREAM_HAS_TAG_SQL)
+                .setHint(QueryHints.FETCH_SIZE, StreamingResultSetExtractor.STREAMING_FETCH_SIZE);
+        try (Stream<Object[]> tuples = query.getResultStream()) {
+            tuples.forEach(tuple -> consumer.accept(TupleValues.toLong(tuple[0]), TupleValues.toLong(tuple[1])));
+        }
+    }
+
     /**
      * Finds the most popular {@link CertificateTag} of the {@link User}
-     * with the biggest sum of order price.
+     * with the biggest sum of order price with two index lookups in the 'user_spend'
+     * and the 'user_tag_count' aggregates.
      *
      * @return {@link Optional<CertificateTag>}.
      */
     @Override
     public Optional<CertificateTag> findTheMostPopularTagOfTheBestUser() {
         Query query = entityManager.createNativeQuery(FIND_MOST_POPULAR_TAG_BY_THE_BEST_USER);
-        Object[] result = (Object[]) query.getSingleResult();
-        return Optional.of(new CertificateTag(Long.parseLong(result[0].toString()), result[1].toString()));
+        List<Object[]> resultList = query.getResultList();
+        return resultList.stream().findFirst()
+                .map(result -> new CertificateTag(Long.parseLong(result[0].toString()), result[1].toString()));
     }
 }
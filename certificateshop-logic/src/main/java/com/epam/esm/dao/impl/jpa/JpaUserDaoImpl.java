@@ -1,6 +1,5 @@
 package com.epam.esm.dao.impl.jpa;
 
-import com.epam.esm.dao.ListToResultSetConverter;
 import com.epam.esm.dao.UserDao;
 import com.epam.esm.model.impl.User;
 import com.epam.esm.repository.UserRepository;
@@ -10,7 +9,9 @@ import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,28 +23,26 @@ import java.util.Optional;
 @Transactional
 public class JpaUserDaoImpl implements UserDao {
     private static final String INSERT_ENTITY_SQL = "insert into user (nickName) values (?)";
-    private static final List<String> USER_HEADERS = Arrays.asList("userId", "userNickName", "userOrderId",
-            "orderCreateDate", "orderName", "orderCertificate");
     private UserRepository userRepository;
     private EntityManager entityManager;
-    private ListToResultSetConverter listToResultSetConverter;
 
     @Autowired
-    public JpaUserDaoImpl(UserRepository userRepository, EntityManager entityManager,
-                          ListToResultSetConverter resultListToResultSetConverter) {
+    public JpaUserDaoImpl(UserRepository userRepository, EntityManager entityManager) {
         this.userRepository = userRepository;
         this.entityManager = entityManager;
-        this.listToResultSetConverter = resultListToResultSetConverter;
     }
 
     /**
      * Saves {@link User} in the database.
      *
      * @param user is the {@link User} to save.
+     * @return the saved {@link User} with its generated id.
      */
     @Override
-    public void save(User user) {
+    public User save(User user) {
         entityManager.persist(user);
+        entityManager.flush();
+        return user;
     }
 
     /**
@@ -108,6 +107,21 @@ public class JpaUserDaoImpl implements UserDao {
                 .setParameter("name", nickName).getResultList().stream().findFirst();
     }
 
+    /**
+     * Finds all the {@link User}s with the ids from the {@param ids} in one query.
+     *
+     * @param ids are the ids of the {@link User}s to find.
+     * @return {@link List<User>}, the ids, which are not in the database, are skipped.
+     */
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return entityManager.createQuery("select u from user u where u.id in :ids", User.class)
+                .setParameter("ids", ids).getResultList();
+    }
+
     /**
      * Finds all {@link User} entity in the database.
      *
@@ -122,4 +136,37 @@ public class JpaUserDaoImpl implements UserDao {
                 .setMaxResults(amountEntitiesOnThePage)
                 .getResultList();
     }
+
+    /**
+     * Finds the page of the {@link User} entities, which ids are greater than the {@param id}.
+     *
+     * @param id                      is the id of the last {@link User} on the previous page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link User} objects.
+     */
+    @Override
+    public List<User> findPageAfter(long id, int amountEntitiesOnThePage) {
+        return entityManager.createQuery("select u from user u where u.id > :id order by u.id", User.class)
+                .setParameter("id", id)
+                .setMaxResults(amountEntitiesOnThePage)
+                .getResultList();
+    }
+
+    /**
+     * Finds the page of the {@link User} entities, which ids are less than the {@param id}.
+     *
+     * @param id                      is the id of the first {@link User} on the next page.
+     * @param amountEntitiesOnThePage is the amountEntitiesOnThePage query parameter.
+     * @return List of the {@link User} objects.
+     */
+    @Override
+    public List<User> findPageBefore(long id, int amountEntitiesOnThePage) {
+        List<User> entities = new ArrayList<>(entityManager
+                .createQuery("select u from user u where u.id < :id order by u.id desc", User.class)
+                .setParameter("id", id)
+                .setMaxResults(amountEntitiesOnThePage)
+                .getResultList());
+        Collections.reverse(entities);
+        return entities;
+    }
 }
@@ -0,0 +1,105 @@
+package com.epam.esm.dao.impl.jpa;
+
+import com.epam.esm.dao.impl.jdbc.CertificateInJsonMapper;
+import com.epam.esm.model.impl.Order;
+import com.epam.esm.model.impl.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Maps the tuples of the native order queries to the {@link Order}s with their certificates.
+ * The columns of the tuple are: userId, userNickName, userOrderId, orderCreateDate, orderName, orderCertificate.
+ */
+@Component
+public class OrderTupleMapper {
+    private static final int USER_ID = 0;
+    private static final int USER_NICKNAME = 1;
+    private static final int ORDER_ID = 2;
+    private static final int ORDER_CREATE_DATE = 3;
+    private static final int ORDER_NAME = 4;
+    private static final int ORDER_CERTIFICATE = 5;
+
+    private final CertificateInJsonMapper certificateInJsonMapper;
+
+    @Autowired
+    public OrderTupleMapper(CertificateInJsonMapper certificateInJsonMapper) {
+        this.certificateInJsonMapper = certificateInJsonMapper;
+    }
+
+    /**
+     * Maps the tuples to the {@link Order}s in a single pass, the order of the tuples is kept.
+     * The tuples without an order (the user has no orders) are skipped.
+     *
+     * @param tuples are the rows of the native query.
+     * @return {@link List<Order>}.
+     */
+    public List<Order> mapTuples(List<Object[]> tuples) {
+        Map<Long, Order> orders = new LinkedHashMap<>();
+        for (Object[] tuple : tuples) {
+            long orderId = TupleValues.toLong(tuple[ORDER_ID]);
+            if (orderId == 0) {
+                continue;
+            }
+            Order order = orders.get(orderId);
+            if (order == null) {
+                order = mapOrder(tuple, orderId);
+                orders.put(orderId, order);
+            }
+            addCertificate(tuple, order);
+        }
+        return new ArrayList<>(orders.values());
+    }
+
+    /**
+     * Maps the tuples ordered by the id of the order to the {@link Order}s and passes
+     * every {@link Order} to the {@param consumer} as soon as its last tuple is read.
+     * The tuples without an order are skipped.
+     *
+     * @param tuples   are the rows of the native query ordered by the id of the order.
+     * @param consumer is the {@link Consumer} of every {@link Order}.
+     */
+    public void mapEach(Iterator<Object[]> tuples, Consumer<Order> consumer) {
+        Order order = null;
+        while (tuples.hasNext()) {
+            Object[] tuple = tuples.next();
+            long orderId = TupleValues.toLong(tuple[ORDER_ID]);
+            if (orderId == 0) {
+                continue;
+            }
+            if (order == null || order.getId() != orderId) {
+                if (order != null) {
+                    consumer.accept(order);
+                }
+                order = mapOrder(tuple, orderId);
+            }
+            addCertificate(tuple, order);
+        }
+        if (order != null) {
+            consumer.accept(order);
+        }
+    }
+
+    private Order mapOrder(Object[] tuple, long orderId) {
+        return new Order(
+                orderId,
+                new User(TupleValues.toLong(tuple[USER_ID]), TupleValues.toText(tuple[USER_NICKNAME])),
+                TupleValues.toLocalDateTime(tuple[ORDER_CREATE_DATE]),
+                TupleValues.toText(tuple[ORDER_NAME]),
+                new ArrayList<>()
+        );
+    }
+
+    private void addCertificate(Object[] tuple, Order order) {
+        String certificateInJson = TupleValues.toText(tuple[ORDER_CERTIFICATE]);
+        if (certificateInJson != null) {
+            order.getCertificates().add(certificateInJsonMapper.fromJson(certificateInJson));
+        }
+    }
+}
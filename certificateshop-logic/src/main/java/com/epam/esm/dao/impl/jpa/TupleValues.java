@@ -0,0 +1,81 @@
+package com.epam.esm.dao.impl.jpa;
+
+import java.math.BigDecimal;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Converts the values of the native query tuples into the types of the entities. The database driver
+ * and the Hibernate dialect decide the types of the values, so the conversions accept all the types they return.
+ */
+final class TupleValues {
+
+    private TupleValues() {
+    }
+
+    /**
+     * Converts the value of the id column.
+     *
+     * @param value is the value of the tuple.
+     * @return the value as a long, 0 if the value is null (the outer join did not find a row).
+     */
+    static long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    /**
+     * Converts the value of the money column.
+     *
+     * @param value is the value of the tuple.
+     * @return {@link BigDecimal}, null if the value is null.
+     */
+    static BigDecimal toBigDecimal(Object value) {
+        if (value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    /**
+     * Converts the value of the date column.
+     *
+     * @param value is the value of the tuple.
+     * @return {@link LocalDateTime}, null if the value is null.
+     */
+    static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    /**
+     * Converts the value of the text column.
+     *
+     * @param value is the value of the tuple.
+     * @return {@link String}, null if the value is null.
+     */
+    static String toText(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Converts the value of the binary column.
+     *
+     * @param value is the value of the tuple.
+     * @return the bytes, null if the value is null.
+     */
+    static byte[] toBytes(Object value) {
+        if (value instanceof Blob) {
+            try {
+                Blob blob = (Blob) value;
+                return blob.getBytes(1, (int) blob.length());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return (byte[]) value;
+    }
+}
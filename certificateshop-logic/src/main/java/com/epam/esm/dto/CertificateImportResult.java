@@ -0,0 +1,20 @@
+package com.epam.esm.dto;
+
+import com.epam.esm.model.impl.GiftCertificate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The DataTransferObject, that describes the result of the import of the stream of the {@link GiftCertificate}s.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificateImportResult {
+    private long imported;
+    private long rejected;
+    private List<String> errors;
+}
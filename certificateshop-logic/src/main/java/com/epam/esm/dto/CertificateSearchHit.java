@@ -0,0 +1,22 @@
+package com.epam.esm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The DataTransferObject, that describes the certificate found by the full-text search: its id, name,
+ * description, price and the BM25 score of the relevance of the certificate to the query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificateSearchHit {
+    private long id;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private double score;
+}
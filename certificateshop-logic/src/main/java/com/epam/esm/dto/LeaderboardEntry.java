@@ -0,0 +1,21 @@
+package com.epam.esm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The DataTransferObject, that describes one position of the leaderboard: the id and the name
+ * of the user or the tag and its score.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+    private int position;
+    private long id;
+    private String name;
+    private BigDecimal score;
+}
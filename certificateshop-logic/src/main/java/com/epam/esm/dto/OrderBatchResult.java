@@ -0,0 +1,39 @@
+package com.epam.esm.dto;
+
+import com.epam.esm.model.impl.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The DataTransferObject, that describes the result of one {@link Order} of the batch of the orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBatchResult {
+    /**
+     * The status of the {@link Order} of the batch.
+     */
+    public enum Status {
+        /**
+         * The order is saved.
+         */
+        CREATED,
+        /**
+         * The order is not valid, its errors are in the result.
+         */
+        REJECTED,
+        /**
+         * The order is valid, but the chunk of the orders with it is not saved.
+         */
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private Order order;
+    private List<String> errors;
+}
@@ -0,0 +1,25 @@
+package com.epam.esm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The DataTransferObject, that describes the estimated amount of the distinct users, who bought at least one
+ * of the certificates or one of the certificates with at least one of the tags. The estimate has
+ * the relative standard error {@code standardError}, so the real amount is between {@code lowerBound}
+ * and {@code upperBound} in about 95% of the cases.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Reach {
+    private List<Long> certificateIds;
+    private List<Long> tagIds;
+    private long distinctBuyers;
+    private double standardError;
+    private long lowerBound;
+    private long upperBound;
+}
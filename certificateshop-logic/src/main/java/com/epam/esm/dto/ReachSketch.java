@@ -0,0 +1,19 @@
+package com.epam.esm.dto;
+
+import com.epam.esm.statistic.ReachType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The DataTransferObject, that describes one row of the 'reach_sketch' table: the type and the id
+ * of the entity and the serialized HyperLogLog sketch of the ids of its buyers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReachSketch {
+    private ReachType type;
+    private long id;
+    private byte[] registers;
+}
@@ -0,0 +1,21 @@
+package com.epam.esm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The DataTransferObject, that describes the certificate, which is bought together with another certificate:
+ * its id, name, price and the amount of the orders, which contain both certificates.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedCertificate {
+    private long id;
+    private String name;
+    private BigDecimal price;
+    private long boughtTogether;
+}
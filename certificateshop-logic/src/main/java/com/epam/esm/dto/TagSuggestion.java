@@ -0,0 +1,18 @@
+package com.epam.esm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The DataTransferObject, that describes the tag suggested by the prefix of its name: its id, name
+ * and the amount of the certificates with the tag.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagSuggestion {
+    private long id;
+    private String name;
+    private long amountOfCertificates;
+}
@@ -0,0 +1,21 @@
+package com.epam.esm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The DataTransferObject, that describes the trending certificates: the amount of the counted orders
+ * of the certificates, the maximum error of every count and the counters from the biggest count to the smallest.
+ * Every certificate, which is ordered more than {@code maxError} times, is in the list, if the limit allows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Trending {
+    private long totalCount;
+    private long maxError;
+    private List<TrendingCounter> certificates;
+}
@@ -0,0 +1,20 @@
+package com.epam.esm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The DataTransferObject, that describes the counter of the trending certificate: the id and the name
+ * of the certificate, the upper bound of the amount of its orders and the maximum overestimation of it,
+ * so the amount is between {@code count - error} and {@code count}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingCounter {
+    private long id;
+    private String name;
+    private long count;
+    private long error;
+}
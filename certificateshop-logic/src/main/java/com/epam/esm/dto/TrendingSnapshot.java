@@ -0,0 +1,21 @@
+package com.epam.esm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The DataTransferObject, that describes the sketch of the trending certificates of one node: its capacity,
+ * the amount of the counted orders of the certificates and all its counters, so the sketches of the nodes
+ * can be merged.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingSnapshot {
+    private int capacity;
+    private long totalCount;
+    private List<TrendingCounter> counters;
+}
@@ -0,0 +1,20 @@
+package com.epam.esm.dto;
+
+import com.epam.esm.model.impl.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The DataTransferObject, that describes the total price of all the orders of the {@link User}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSpend {
+    private long userId;
+    private String nickName;
+    private BigDecimal spend;
+}
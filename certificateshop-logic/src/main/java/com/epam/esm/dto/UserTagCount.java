@@ -0,0 +1,21 @@
+package com.epam.esm.dto;
+
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The DataTransferObject, that describes the amount of the certificates with the {@link CertificateTag}
+ * in all the orders of the {@link User}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTagCount {
+    private long userId;
+    private long tagId;
+    private String tagName;
+    private long amount;
+}
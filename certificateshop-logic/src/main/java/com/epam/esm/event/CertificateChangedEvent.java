@@ -0,0 +1,33 @@
+package com.epam.esm.event;
+
+import com.epam.esm.model.impl.GiftCertificate;
+
+import java.util.Optional;
+
+/**
+ * The event, which is published, when a {@link GiftCertificate} is created, updated or deleted,
+ * so the in-memory indexes of the names and the descriptions can replace its old values by the new ones.
+ */
+public class CertificateChangedEvent {
+    private final GiftCertificate previous;
+    private final GiftCertificate current;
+
+    /**
+     * Constructs the {@link CertificateChangedEvent}.
+     *
+     * @param previous is the {@link GiftCertificate} before the change, null if it is created.
+     * @param current  is the {@link GiftCertificate} after the change, null if it is deleted.
+     */
+    public CertificateChangedEvent(GiftCertificate previous, GiftCertificate current) {
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public Optional<GiftCertificate> getPrevious() {
+        return Optional.ofNullable(previous);
+    }
+
+    public Optional<GiftCertificate> getCurrent() {
+        return Optional.ofNullable(current);
+    }
+}
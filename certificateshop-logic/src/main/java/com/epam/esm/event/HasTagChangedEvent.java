@@ -0,0 +1,47 @@
+package com.epam.esm.event;
+
+import com.epam.esm.model.impl.GiftCertificate;
+
+import java.util.List;
+
+/**
+ * The event, which is published, when the relations of a {@link GiftCertificate} and its tags
+ * in the 'has_tag' table are saved or deleted, or when the certificate is deleted with all its relations.
+ */
+public class HasTagChangedEvent {
+    private final Change change;
+    private final long certificateId;
+    private final List<Long> tagIds;
+
+    /**
+     * Constructs the {@link HasTagChangedEvent}.
+     *
+     * @param change        is the kind of the change.
+     * @param certificateId is the id of the {@link GiftCertificate}.
+     * @param tagIds        are the ids of the added or removed tags, empty if the certificate is deleted.
+     */
+    public HasTagChangedEvent(Change change, long certificateId, List<Long> tagIds) {
+        this.change = change;
+        this.certificateId = certificateId;
+        this.tagIds = tagIds;
+    }
+
+    public Change getChange() {
+        return change;
+    }
+
+    public long getCertificateId() {
+        return certificateId;
+    }
+
+    public List<Long> getTagIds() {
+        return tagIds;
+    }
+
+    /**
+     * The kinds of the changes of the 'has_tag' table.
+     */
+    public enum Change {
+        TAGS_ADDED, TAGS_REMOVED, CERTIFICATE_DELETED
+    }
+}
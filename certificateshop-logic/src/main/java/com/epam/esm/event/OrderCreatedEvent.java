@@ -0,0 +1,26 @@
+package com.epam.esm.event;
+
+import com.epam.esm.model.impl.Order;
+
+import java.util.List;
+
+/**
+ * The event, which is published, when the {@link Order}s are saved, so the statistics kept in the memory
+ * can add them. The listeners should handle it after the commit, so the rolled back orders are never counted.
+ */
+public class OrderCreatedEvent {
+    private final List<Order> orders;
+
+    /**
+     * Constructs the {@link OrderCreatedEvent}.
+     *
+     * @param orders are the saved {@link Order}s with their users and their certificates.
+     */
+    public OrderCreatedEvent(List<Order> orders) {
+        this.orders = orders;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+}
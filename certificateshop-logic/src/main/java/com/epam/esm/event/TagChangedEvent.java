@@ -0,0 +1,24 @@
+package com.epam.esm.event;
+
+import com.epam.esm.model.impl.CertificateTag;
+
+/**
+ * The event, which is published, when a {@link CertificateTag} is renamed or deleted,
+ * so the copies of the tag embedded in the other entities can be invalidated.
+ */
+public class TagChangedEvent {
+    private final long tagId;
+
+    /**
+     * Constructs the {@link TagChangedEvent}.
+     *
+     * @param tagId is the id of the changed {@link CertificateTag}.
+     */
+    public TagChangedEvent(long tagId) {
+        this.tagId = tagId;
+    }
+
+    public long getTagId() {
+        return tagId;
+    }
+}
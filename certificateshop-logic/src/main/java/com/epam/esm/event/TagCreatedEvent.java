@@ -0,0 +1,26 @@
+package com.epam.esm.event;
+
+import com.epam.esm.model.impl.CertificateTag;
+
+import java.util.List;
+
+/**
+ * The event, which is published, when the {@link CertificateTag}s are saved. The tags are announced
+ * by the names, because the ids of the tags, which are saved by the batch, are not returned.
+ */
+public class TagCreatedEvent {
+    private final List<String> tagNames;
+
+    /**
+     * Constructs the {@link TagCreatedEvent}.
+     *
+     * @param tagNames are the names of the saved {@link CertificateTag}s.
+     */
+    public TagCreatedEvent(List<String> tagNames) {
+        this.tagNames = tagNames;
+    }
+
+    public List<String> getTagNames() {
+        return tagNames;
+    }
+}
@@ -0,0 +1,203 @@
+package com.epam.esm.index;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The Burkhard-Keller tree of the words by the Levenshtein distance, the words are compared in the lower case.
+ * Every child of a node is kept by its distance to the node, so by the triangle inequality only the children
+ * with the distance between d - k and d + k can have the words within the distance k from the query,
+ * which is at the distance d from the node, and the rest of the tree is skipped.
+ * <p>
+ * A removed word stays in the tree as the node to route the search, it is only marked as absent, and the tree
+ * is rebuilt from the present words, when the absent ones are the majority.
+ * <p>
+ * The tree is not thread safe.
+ */
+public class BkTree {
+    private static final Comparator<Map.Entry<String, Integer>> BY_DISTANCE
+            = Comparator.<Map.Entry<String, Integer>>comparingInt(Map.Entry::getValue)
+            .thenComparing(Map.Entry::getKey);
+
+    private Node root;
+    private int amountOfWords;
+    private int amountOfNodes;
+
+    /**
+     * Adds the word, the word, which is already in the tree, is not added twice.
+     *
+     * @param word is the word to add.
+     */
+    public void add(String word) {
+        if (word == null) {
+            return;
+        }
+        String lowerCaseWord = word.toLowerCase(Locale.ROOT);
+        if (root == null) {
+            root = new Node(lowerCaseWord);
+            amountOfNodes++;
+            amountOfWords++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(lowerCaseWord, node.word, Integer.MAX_VALUE);
+            if (distance == 0) {
+                if (!node.isPresent) {
+                    node.isPresent = true;
+                    amountOfWords++;
+                }
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(lowerCaseWord));
+                node.maxChildDistance = Math.max(node.maxChildDistance, distance);
+                amountOfNodes++;
+                amountOfWords++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Removes the word.
+     *
+     * @param word is the word to remove.
+     */
+    public void remove(String word) {
+        if (word == null || root == null) {
+            return;
+        }
+        String lowerCaseWord = word.toLowerCase(Locale.ROOT);
+        Node node = root;
+        while (node != null) {
+            int distance = distance(lowerCaseWord, node.word, Integer.MAX_VALUE);
+            if (distance == 0) {
+                if (node.isPresent) {
+                    node.isPresent = false;
+                    amountOfWords--;
+                    if (amountOfWords * 2 < amountOfNodes) {
+                        rebuild();
+                    }
+                }
+                return;
+            }
+            node = node.children.get(distance);
+        }
+    }
+
+    /**
+     * Finds the words within the distance from the query.
+     *
+     * @param query       is the word to search.
+     * @param maxDistance is the maximum Levenshtein distance of the found words from the query.
+     * @return {@link List<Map.Entry>} of the word in the lower case and its distance from the closest word
+     * to the farthest one.
+     */
+    public List<Map.Entry<String, Integer>> search(String query, int maxDistance) {
+        List<Map.Entry<String, Integer>> words = new ArrayList<>();
+        if (query == null || root == null) {
+            return words;
+        }
+        String lowerCaseQuery = query.toLowerCase(Locale.ROOT);
+        Deque<Node> nodesToVisit = new ArrayDeque<>();
+        nodesToVisit.push(root);
+        while (!nodesToVisit.isEmpty()) {
+            Node node = nodesToVisit.pop();
+            // the exact distance is needed only while a child can be in the range
+            int distance = distance(lowerCaseQuery, node.word, node.maxChildDistance + maxDistance);
+            if (distance <= maxDistance && node.isPresent) {
+                words.add(new AbstractMap.SimpleImmutableEntry<>(node.word, distance));
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    nodesToVisit.push(child.getValue());
+                }
+            }
+        }
+        words.sort(BY_DISTANCE);
+        return words;
+    }
+
+    public int getAmountOfWords() {
+        return amountOfWords;
+    }
+
+    public int getAmountOfNodes() {
+        return amountOfNodes;
+    }
+
+    /**
+     * Counts the Levenshtein distance of the words with two rows of the matrix, the counting is stopped,
+     * when the whole row exceeds the limit.
+     *
+     * @param first  is the first word.
+     * @param second is the second word.
+     * @param limit  is the distance, after which the exact distance is not needed.
+     * @return the distance or any number bigger than the limit if the distance exceeds it.
+     */
+    static int distance(String first, String second, int limit) {
+        if (first.equals(second)) {
+            return 0;
+        }
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int minOfRow = current[0];
+            char character = first.charAt(i - 1);
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (character == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                minOfRow = Math.min(minOfRow, current[j]);
+            }
+            if (minOfRow > limit) {
+                return minOfRow;
+            }
+            int[] row = previous;
+            previous = current;
+            current = row;
+        }
+        return previous[second.length()];
+    }
+
+    private void rebuild() {
+        List<String> presentWords = new ArrayList<>(amountOfWords);
+        Deque<Node> nodesToVisit = new ArrayDeque<>();
+        nodesToVisit.push(root);
+        while (!nodesToVisit.isEmpty()) {
+            Node node = nodesToVisit.pop();
+            if (node.isPresent) {
+                presentWords.add(node.word);
+            }
+            node.children.values().forEach(nodesToVisit::push);
+        }
+        root = null;
+        amountOfWords = 0;
+        amountOfNodes = 0;
+        presentWords.forEach(this::add);
+    }
+
+    private static final class Node {
+        private final String word;
+        private final Map<Integer, Node> children = new HashMap<>(4);
+        private int maxChildDistance;
+        private boolean isPresent = true;
+
+        private Node(String word) {
+            this.word = word;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.epam.esm.index;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The inverted index of the words of the names and the descriptions, which ranks the documents
+ * by the Okapi BM25 score. A word of the name counts {@link #NAME_WEIGHT} times, so the documents
+ * with the words of the query in the name are ranked higher. The postings of a word keep the ids
+ * of its documents with the frequencies of the word, the scores of the words of the query are summed
+ * into an array by the id and the best documents are selected with the heap of the size of the limit.
+ * The index keeps the words of every document, so a document is replaced and removed by the id only.
+ * <p>
+ * The index is not thread safe.
+ */
+public class Bm25Index {
+    public static final int NAME_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    // the best score first, the equal scores by the id
+    private static final Comparator<Map.Entry<Long, Double>> BY_SCORE_DESCENDING
+            = Comparator.<Map.Entry<Long, Double>>comparingDouble(Map.Entry::getValue).reversed()
+            .thenComparing(Map.Entry::getKey);
+
+    private final Map<String, Postings> postingsByWord = new HashMap<>();
+    private final Map<Integer, String[]> wordsById = new HashMap<>();
+    private int[] lengths = new int[1024];
+    private int amountOfDocuments;
+    private long totalLength;
+
+    /**
+     * Adds the document, the document with the same id is replaced.
+     *
+     * @param id          is the id of the document.
+     * @param name        is the name of the document.
+     * @param description is the description of the document.
+     */
+    public void add(int id, String name, String description) {
+        remove(id);
+        Map<String, Integer> frequencies = countWords(name, description);
+        wordsById.put(id, frequencies.keySet().toArray(new String[0]));
+        int length = 0;
+        for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+            postingsByWord.computeIfAbsent(frequency.getKey(), newWord -> new Postings())
+                    .add(id, frequency.getValue());
+            length += frequency.getValue();
+        }
+        if (id >= lengths.length) {
+            lengths = Arrays.copyOf(lengths, Math.max(id + 1, lengths.length * 2));
+        }
+        lengths[id] = length;
+        amountOfDocuments++;
+        totalLength += length;
+    }
+
+    /**
+     * Removes the document by its indexed words, the unknown id is skipped.
+     *
+     * @param id is the id of the document.
+     */
+    public void remove(int id) {
+        String[] words = wordsById.remove(id);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Postings postings = postingsByWord.get(word);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                postingsByWord.remove(word);
+            }
+        }
+        totalLength -= lengths[id];
+        lengths[id] = 0;
+        amountOfDocuments--;
+    }
+
+    /**
+     * Finds the documents with the best BM25 scores of the words of the {@param query}.
+     *
+     * @param query is the text of the query.
+     * @param limit is the maximum amount of the documents to return.
+     * @return {@link List<Map.Entry>} of the id and the score from the best score to the worst.
+     */
+    public List<Map.Entry<Long, Double>> search(String query, int limit) {
+        List<Postings> postingsOfQuery = new ArrayList<>();
+        for (String word : splitWords(query)) {
+            Postings postings = postingsByWord.get(word);
+            if (postings != null) {
+                postingsOfQuery.add(postings);
+            }
+        }
+        if (postingsOfQuery.isEmpty()) {
+            return new ArrayList<>();
+        }
+        double averageLength = (double) totalLength / amountOfDocuments;
+        float[] scores = new float[lengths.length];
+        int[] scoredIds = new int[0];
+        int amountOfScoredIds = 0;
+        for (Postings postings : postingsOfQuery) {
+            double idf = Math.log(1 + (amountOfDocuments - postings.size + 0.5) / (postings.size + 0.5));
+            for (int i = 0; i < postings.size; i++) {
+                int id = postings.ids[i];
+                double frequency = postings.frequencies[i];
+                double normalization = K1 * (1 - B + B * lengths[id] / averageLength);
+                if (scores[id] == 0) {
+                    if (amountOfScoredIds == scoredIds.length) {
+                        scoredIds = Arrays.copyOf(scoredIds, Math.max(16, amountOfScoredIds * 2));
+                    }
+                    scoredIds[amountOfScoredIds++] = id;
+                }
+                scores[id] += idf * frequency * (K1 + 1) / (frequency + normalization);
+            }
+        }
+        // the heap keeps the worst of the best documents on the top, so the worse ones are dropped at once
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(BY_SCORE_DESCENDING.reversed());
+        for (int i = 0; i < amountOfScoredIds; i++) {
+            int id = scoredIds[i];
+            if (best.size() < limit || scores[id] > best.peek().getValue()) {
+                best.add(new AbstractMap.SimpleImmutableEntry<>((long) id, (double) scores[id]));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<Map.Entry<Long, Double>> top = new ArrayList<>(best);
+        top.sort(BY_SCORE_DESCENDING);
+        return top;
+    }
+
+    public int getAmountOfDocuments() {
+        return amountOfDocuments;
+    }
+
+    private static Map<String, Integer> countWords(String name, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String word : WORD_SEPARATOR.split(toLowerCase(name))) {
+            if (!word.isEmpty()) {
+                frequencies.merge(word, NAME_WEIGHT, Integer::sum);
+            }
+        }
+        for (String word : WORD_SEPARATOR.split(toLowerCase(description))) {
+            if (!word.isEmpty()) {
+                frequencies.merge(word, 1, Integer::sum);
+            }
+        }
+        return frequencies;
+    }
+
+    private static Set<String> splitWords(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATOR.split(toLowerCase(text))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String toLowerCase(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The ids of the documents of a word with the frequencies of the word, in the order of the addition.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private char[] frequencies = new char[4];
+        private int size;
+
+        private void add(int id, int frequency) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ids[size] = id;
+            frequencies[size] = (char) Math.min(frequency, Character.MAX_VALUE);
+            size++;
+        }
+
+        // the last posting takes the place of the removed one
+        private boolean remove(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    frequencies[i] = frequencies[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.epam.esm.index;
+
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.event.CertificateChangedEvent;
+import com.epam.esm.model.impl.GiftCertificate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The {@link TrigramIndex}es of the names and the descriptions of the {@link GiftCertificate}s. The indexes are
+ * read from the database, when the application is started, and are updated by the committed changes
+ * of the certificates, so the 'part_cert_name' and 'part_descr_name' filters are narrowed to the candidate ids
+ * before the query to the database.
+ */
+@Component
+public class CertificateTextIndex {
+    private final CertificateDao certificateDAO;
+    private final TrigramIndex names = new TrigramIndex();
+    private final TrigramIndex descriptions = new TrigramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public CertificateTextIndex(CertificateDao certificateDAO) {
+        this.certificateDAO = certificateDAO;
+    }
+
+    /**
+     * Reads the names and the descriptions of all the certificates from the database into the indexes.
+     */
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            certificateDAO.streamAll(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of the {@link GiftCertificate}s, which can contain the parts of the name and the description.
+     *
+     * @param partOfName        is the value of the 'part_cert_name' parameter, null if it is absent.
+     * @param partOfDescription is the value of the 'part_descr_name' parameter, null if it is absent.
+     * @return {@link Optional<CompressedBitmap>} of the candidates, empty if none of the parts can be searched
+     * in the indexes.
+     */
+    public Optional<CompressedBitmap> findCandidates(String partOfName, String partOfDescription) {
+        lock.readLock().lock();
+        try {
+            Optional<CompressedBitmap> nameCandidates = names.findCandidates(partOfName);
+            Optional<CompressedBitmap> descriptionCandidates = descriptions.findCandidates(partOfDescription);
+            if (nameCandidates.isPresent() && descriptionCandidates.isPresent()) {
+                return Optional.of(nameCandidates.get().and(descriptionCandidates.get()));
+            }
+            return nameCandidates.isPresent() ? nameCandidates : descriptionCandidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the old name and description of the committed changed certificate by the new ones.
+     *
+     * @param event is the {@link CertificateChangedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCertificateChanged(CertificateChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getPrevious().ifPresent(this::remove);
+            event.getCurrent().ifPresent(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(GiftCertificate giftCertificate) {
+        int id = Math.toIntExact(giftCertificate.getId());
+        names.add(id, giftCertificate.getName());
+        descriptions.add(id, giftCertificate.getDescription());
+    }
+
+    private void remove(GiftCertificate giftCertificate) {
+        int id = Math.toIntExact(giftCertificate.getId());
+        names.remove(id, giftCertificate.getName());
+        descriptions.remove(id, giftCertificate.getDescription());
+    }
+}
@@ -0,0 +1,537 @@
+package com.epam.esm.index;
+
+import java.util.Arrays;
+
+/**
+ * The compressed set of the non-negative int values in the layout of the Roaring bitmaps. The values are split
+ * by their high 16 bits into the containers, a container keeps the low 16 bits of its values in a sorted array,
+ * while it has at most {@link #MAX_ARRAY_CONTAINER_SIZE} values, and in a bitmap of 65536 bits otherwise.
+ * So the sparse sets take 2 bytes per value, the dense ones take 1 bit per value and the intersections
+ * and the unions are computed container by container without the look at the individual values of the bitmaps.
+ * <p>
+ * The bitmap is not thread safe, the operations, which combine the bitmaps, return the new bitmaps.
+ */
+public class CompressedBitmap {
+    public static final int MAX_ARRAY_CONTAINER_SIZE = 4096;
+    private static final int BITMAP_CONTAINER_WORDS = 1 << 10;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    /**
+     * Constructs the empty {@link CompressedBitmap}.
+     */
+    public CompressedBitmap() {
+    }
+
+    /**
+     * Constructs the {@link CompressedBitmap} with the {@param values}.
+     *
+     * @param values are the values of the bitmap in any order.
+     * @return the {@link CompressedBitmap}.
+     */
+    public static CompressedBitmap of(int... values) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adds the {@param value} to the bitmap.
+     *
+     * @param value is the non-negative value to add.
+     * @throws IllegalArgumentException if the value is negative.
+     */
+    public void add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("The value of the bitmap should not be negative: " + value);
+        }
+        char key = (char) (value >>> 16);
+        int index = findContainer(key);
+        if (index >= 0) {
+            containers[index] = containers[index].add((char) value);
+            return;
+        }
+        insertContainer(-index - 1, key, new ArrayContainer().add((char) value));
+    }
+
+    /**
+     * Removes the {@param value} from the bitmap.
+     *
+     * @param value is the value to remove.
+     */
+    public void remove(int value) {
+        if (value < 0) {
+            return;
+        }
+        int index = findContainer((char) (value >>> 16));
+        if (index < 0) {
+            return;
+        }
+        Container container = containers[index].remove((char) value);
+        if (container.cardinality() == 0) {
+            removeContainer(index);
+        } else {
+            containers[index] = container;
+        }
+    }
+
+    /**
+     * Checks whether the {@param value} is in the bitmap.
+     *
+     * @param value is the value to find.
+     * @return true if the value is in the bitmap.
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = findContainer((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * Counts the values of the bitmap.
+     *
+     * @return the amount of the values.
+     */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Intersects the bitmap with the {@param other} one.
+     *
+     * @param other is the bitmap to intersect with.
+     * @return the new {@link CompressedBitmap} with the values, which are in both bitmaps.
+     */
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.insertContainer(result.size, keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Unites the bitmap with the {@param other} one.
+     *
+     * @param other is the bitmap to unite with.
+     * @return the new {@link CompressedBitmap} with the values, which are in any of the bitmaps.
+     */
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || i < size && keys[i] < other.keys[j]) {
+                result.insertContainer(result.size, keys[i], containers[i].copy());
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.insertContainer(result.size, other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.insertContainer(result.size, keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the values of the bitmap, which are less than the {@param value}.
+     *
+     * @param value is the value to count the smaller values of.
+     * @return the position, which the value has or would have in the sorted values of the bitmap.
+     */
+    public long rank(int value) {
+        if (value <= 0) {
+            return 0;
+        }
+        char key = (char) (value >>> 16);
+        long rank = 0;
+        for (int i = 0; i < size && keys[i] <= key; i++) {
+            rank += keys[i] < key ? containers[i].cardinality() : containers[i].rank((char) value);
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the sorted values of the bitmap from the position {@param fromRank}, the containers before it
+     * are skipped by their cardinalities.
+     *
+     * @param fromRank is the position of the first value to return.
+     * @param limit    is the maximum amount of the values to return.
+     * @return the sorted values.
+     */
+    public int[] page(long fromRank, int limit) {
+        int[] page = new int[(int) Math.max(0, Math.min(limit, cardinality() - fromRank))];
+        int position = 0;
+        long skip = fromRank;
+        for (int i = 0; i < size && position < page.length; i++) {
+            int cardinality = containers[i].cardinality();
+            if (skip >= cardinality) {
+                skip -= cardinality;
+                continue;
+            }
+            position = containers[i].copyTo(page, position, (int) skip, keys[i] << 16);
+            skip = 0;
+        }
+        return page;
+    }
+
+    /**
+     * Copies the bitmap.
+     *
+     * @return the new {@link CompressedBitmap} with the same values.
+     */
+    public CompressedBitmap copy() {
+        CompressedBitmap copy = new CompressedBitmap();
+        copy.keys = Arrays.copyOf(keys, Math.max(size, 4));
+        copy.containers = new Container[copy.keys.length];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    private int findContainer(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    /**
+     * The low 16 bits of the values, which have the same high 16 bits. The changing operations return
+     * the container, which should replace this one, as the container changes its kind by its cardinality.
+     */
+    private abstract static class Container {
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        // the amount of the values less than the value
+        abstract int rank(char value);
+
+        // copies the values from the position to the target while it has the place, returns the next position
+        abstract int copyTo(int[] target, int position, int fromIndex, int high);
+
+        abstract Container copy();
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer() {
+            values = new char[4];
+        }
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == MAX_ARRAY_CONTAINER_SIZE) {
+                return toBitmap().add(value);
+            }
+            int insertion = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.max(4, Math.min(cardinality * 2, MAX_ARRAY_CONTAINER_SIZE)));
+            }
+            System.arraycopy(values, insertion, values, insertion + 1, cardinality - insertion);
+            values[insertion] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality())];
+            int amount = 0;
+            if (other instanceof BitmapContainer) {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[amount++] = values[i];
+                    }
+                }
+                return new ArrayContainer(result, amount);
+            }
+            ArrayContainer otherArray = (ArrayContainer) other;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < otherArray.cardinality) {
+                if (values[i] < otherArray.values[j]) {
+                    i++;
+                } else if (values[i] > otherArray.values[j]) {
+                    j++;
+                } else {
+                    result[amount++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, amount);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer otherArray = (ArrayContainer) other;
+            if (cardinality + otherArray.cardinality > MAX_ARRAY_CONTAINER_SIZE) {
+                return toBitmap().or(other);
+            }
+            char[] result = new char[cardinality + otherArray.cardinality];
+            int amount = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < otherArray.cardinality) {
+                if (j == otherArray.cardinality || i < cardinality && values[i] < otherArray.values[j]) {
+                    result[amount++] = values[i++];
+                } else if (i == cardinality || values[i] > otherArray.values[j]) {
+                    result[amount++] = otherArray.values[j++];
+                } else {
+                    result[amount++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, amount);
+        }
+
+        @Override
+        int rank(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        @Override
+        int copyTo(int[] target, int position, int fromIndex, int high) {
+            for (int i = fromIndex; i < cardinality && position < target.length; i++) {
+                target[position++] = high | values[i];
+            }
+            return position;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 4)), cardinality);
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer(new long[BITMAP_CONTAINER_WORDS], 0);
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            long word = words[value >>> 6];
+            long bit = 1L << value;
+            if ((word & bit) == 0) {
+                words[value >>> 6] = word | bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long word = words[value >>> 6];
+            long bit = 1L << value;
+            if ((word & bit) == 0) {
+                return this;
+            }
+            words[value >>> 6] = word & ~bit;
+            cardinality--;
+            return cardinality <= MAX_ARRAY_CONTAINER_SIZE ? toArray() : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[BITMAP_CONTAINER_WORDS];
+            int amount = 0;
+            for (int i = 0; i < BITMAP_CONTAINER_WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+                amount += Long.bitCount(result[i]);
+            }
+            BitmapContainer bitmap = new BitmapContainer(result, amount);
+            return amount <= MAX_ARRAY_CONTAINER_SIZE ? bitmap.toArray() : bitmap;
+        }
+
+        @Override
+        Container or(Container other) {
+            BitmapContainer result = (BitmapContainer) copy();
+            if (other instanceof ArrayContainer) {
+                ArrayContainer otherArray = (ArrayContainer) other;
+                for (int i = 0; i < otherArray.cardinality; i++) {
+                    result.add(otherArray.values[i]);
+                }
+                return result;
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int amount = 0;
+            for (int i = 0; i < BITMAP_CONTAINER_WORDS; i++) {
+                result.words[i] |= otherWords[i];
+                amount += Long.bitCount(result.words[i]);
+            }
+            result.cardinality = amount;
+            return result;
+        }
+
+        @Override
+        int rank(char value) {
+            int rank = 0;
+            int wordIndex = value >>> 6;
+            for (int i = 0; i < wordIndex; i++) {
+                rank += Long.bitCount(words[i]);
+            }
+            return rank + Long.bitCount(words[wordIndex] & ((1L << value) - 1));
+        }
+
+        @Override
+        int copyTo(int[] target, int position, int fromIndex, int high) {
+            int skip = fromIndex;
+            for (int i = 0; i < BITMAP_CONTAINER_WORDS && position < target.length; i++) {
+                long word = words[i];
+                int bits = Long.bitCount(word);
+                if (skip >= bits) {
+                    skip -= bits;
+                    continue;
+                }
+                while (word != 0 && position < target.length) {
+                    long lowestBit = word & -word;
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        target[position++] = high | i << 6 | Long.numberOfTrailingZeros(lowestBit);
+                    }
+                    word ^= lowestBit;
+                }
+            }
+            return position;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[cardinality];
+            int amount = 0;
+            for (int i = 0; i < BITMAP_CONTAINER_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[amount++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+}
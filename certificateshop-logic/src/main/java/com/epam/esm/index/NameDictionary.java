@@ -0,0 +1,197 @@
+package com.epam.esm.index;
+
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.event.CertificateChangedEvent;
+import com.epam.esm.event.TagChangedEvent;
+import com.epam.esm.event.TagCreatedEvent;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The {@link BkTree}s of the names of the {@link GiftCertificate}s and the {@link CertificateTag}s, so the names
+ * within the edit distance from a misspelled name are found without a scan of the tables. The dictionaries
+ * are read from the database, when the application is started, and are updated by the committed changes
+ * of the certificates and the tags. The names are kept by the ids, so a changed name is replaced by the id
+ * and not by the previous version of the event, which can be stale after the concurrent updates.
+ */
+@Component
+public class NameDictionary {
+    private final CertificateDao certificateDAO;
+    private final TagDao tagDAO;
+    private final BkTree certificateNames = new BkTree();
+    private final Map<String, Set<Long>> certificateIdsByName = new HashMap<>();
+    private final Map<Long, String> certificateNamesById = new HashMap<>();
+    private final BkTree tagNames = new BkTree();
+    private final Map<String, Set<Long>> tagIdsByName = new HashMap<>();
+    private final Map<Long, String> tagNamesById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public NameDictionary(CertificateDao certificateDAO, TagDao tagDAO) {
+        this.certificateDAO = certificateDAO;
+        this.tagDAO = tagDAO;
+    }
+
+    /**
+     * Reads the names of all the certificates and the tags from the database into the dictionaries.
+     */
+    @PostConstruct
+    public void load() {
+        List<CertificateTag> tags = tagDAO.findAll();
+        lock.writeLock().lock();
+        try {
+            certificateDAO.streamAll(this::addCertificate);
+            tags.forEach(this::addTag);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of the {@link GiftCertificate}s with the names within the edit distance from the name.
+     *
+     * @param name        is the name, which can be misspelled.
+     * @param maxDistance is the maximum Levenshtein distance of the names, the case is ignored.
+     * @return {@link List<Long>} of the ids from the closest name to the farthest one.
+     */
+    public List<Long> findCertificateIds(String name, int maxDistance) {
+        lock.readLock().lock();
+        try {
+            return findIds(certificateNames, certificateIdsByName, name, maxDistance);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of the {@link CertificateTag}s with the names within the edit distance from the name.
+     *
+     * @param name        is the name, which can be misspelled.
+     * @param maxDistance is the maximum Levenshtein distance of the names, the case is ignored.
+     * @return {@link List<Long>} of the ids from the closest name to the farthest one.
+     */
+    public List<Long> findTagIds(String name, int maxDistance) {
+        lock.readLock().lock();
+        try {
+            return findIds(tagNames, tagIdsByName, name, maxDistance);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the old name of the committed changed certificate by the new one and removes the deleted one.
+     *
+     * @param event is the {@link CertificateChangedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCertificateChanged(CertificateChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getCurrent().isPresent()) {
+                addCertificate(event.getCurrent().get());
+            } else {
+                event.getPrevious().ifPresent(certificate -> removeCertificate(certificate.getId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the committed saved tags, their ids are read by the names.
+     *
+     * @param event is the {@link TagCreatedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagCreated(TagCreatedEvent event) {
+        List<CertificateTag> tags = tagDAO.findAllByNames(event.getTagNames());
+        lock.writeLock().lock();
+        try {
+            tags.forEach(this::addTag);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the old name of the committed renamed tag and removes the deleted one.
+     *
+     * @param event is the {@link TagChangedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        Optional<CertificateTag> tag = tagDAO.findById(event.getTagId());
+        lock.writeLock().lock();
+        try {
+            String oldName = tagNamesById.remove(event.getTagId());
+            if (oldName != null) {
+                removeId(tagNames, tagIdsByName, oldName, event.getTagId());
+            }
+            tag.ifPresent(this::addTag);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addCertificate(GiftCertificate giftCertificate) {
+        removeCertificate(giftCertificate.getId());
+        if (giftCertificate.getName() != null) {
+            String name = giftCertificate.getName().toLowerCase(Locale.ROOT);
+            certificateNamesById.put(giftCertificate.getId(), name);
+            addId(certificateNames, certificateIdsByName, name, giftCertificate.getId());
+        }
+    }
+
+    private void removeCertificate(long id) {
+        String oldName = certificateNamesById.remove(id);
+        if (oldName != null) {
+            removeId(certificateNames, certificateIdsByName, oldName, id);
+        }
+    }
+
+    private void addTag(CertificateTag tag) {
+        if (tag.getName() != null) {
+            String name = tag.getName().toLowerCase(Locale.ROOT);
+            tagNamesById.put(tag.getId(), name);
+            addId(tagNames, tagIdsByName, name, tag.getId());
+        }
+    }
+
+    private static List<Long> findIds(BkTree names, Map<String, Set<Long>> idsByName, String name, int maxDistance) {
+        List<Long> ids = new ArrayList<>();
+        for (Map.Entry<String, Integer> word : names.search(name, maxDistance)) {
+            ids.addAll(idsByName.get(word.getKey()));
+        }
+        return ids;
+    }
+
+    private static void addId(BkTree names, Map<String, Set<Long>> idsByName, String name, long id) {
+        idsByName.computeIfAbsent(name, newName -> new LinkedHashSet<>()).add(id);
+        names.add(name);
+    }
+
+    private static void removeId(BkTree names, Map<String, Set<Long>> idsByName, String name, long id) {
+        Set<Long> ids = idsByName.get(name);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            idsByName.remove(name);
+            names.remove(name);
+        }
+    }
+}
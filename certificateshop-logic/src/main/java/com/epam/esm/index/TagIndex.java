@@ -0,0 +1,230 @@
+package com.epam.esm.index;
+
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.event.HasTagChangedEvent;
+import com.epam.esm.event.TagChangedEvent;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The inverted index of the 'has_tag' table: the {@link CompressedBitmap} of the ids of the {@link GiftCertificate}s
+ * of every {@link CertificateTag}. The index is read from the database, when the application is started,
+ * and is updated by the committed changes of the 'has_tag' table, so the certificates with all or any
+ * of the tags are found by the intersection or the union of the bitmaps without a query to the database.
+ * The names are unique in the database regardless of the case, so they are kept and looked up in the lower case.
+ */
+@Component
+public class TagIndex {
+    private final TagDao tagDAO;
+    private final Map<Long, CompressedBitmap> certificateIdsByTagId = new HashMap<>();
+    private final Map<String, Long> tagIdsByName = new HashMap<>();
+    private final Map<Long, String> tagNamesById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public TagIndex(TagDao tagDAO) {
+        this.tagDAO = tagDAO;
+    }
+
+    /**
+     * Reads the tags and the 'has_tag' table from the database into the index.
+     */
+    @PostConstruct
+    public void load() {
+        List<CertificateTag> tags = tagDAO.findAll();
+        lock.writeLock().lock();
+        try {
+            certificateIdsByTagId.clear();
+            tagIdsByName.clear();
+            tagNamesById.clear();
+            tags.forEach(tag -> putName(tag.getId(), tag.getName()));
+            tagDAO.streamHasTag((certificateId, tagId) -> certificateIdsByTagId
+                    .computeIfAbsent(tagId, newTagId -> new CompressedBitmap())
+                    .add(Math.toIntExact(certificateId)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of the {@link GiftCertificate}s, which have all the tags, by the intersection of their bitmaps
+     * from the smallest one, so the intersection is never bigger than the rarest tag.
+     *
+     * @param tagNames are the names of the tags.
+     * @return {@link CompressedBitmap} of the ids, empty if any of the tags is unknown.
+     */
+    public CompressedBitmap findCertificatesWithAllTags(Collection<String> tagNames) {
+        lock.readLock().lock();
+        try {
+            List<CompressedBitmap> bitmaps = findBitmaps(tagNames);
+            if (bitmaps.size() < tagNames.size() || bitmaps.isEmpty()) {
+                return new CompressedBitmap();
+            }
+            bitmaps.sort(Comparator.comparingLong(CompressedBitmap::cardinality));
+            CompressedBitmap result = bitmaps.get(0).copy();
+            for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+                result = result.and(bitmaps.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of the {@link GiftCertificate}s, which have any of the tags, by the union of their bitmaps.
+     *
+     * @param tagNames are the names of the tags.
+     * @return {@link CompressedBitmap} of the ids, the unknown tags are skipped.
+     */
+    public CompressedBitmap findCertificatesWithAnyTag(Collection<String> tagNames) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap result = new CompressedBitmap();
+            for (CompressedBitmap bitmap : findBitmaps(tagNames)) {
+                result = result.or(bitmap);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the {@link GiftCertificate}s of every tag by the cardinality of its bitmap.
+     *
+     * @param tagIds are the ids of the tags.
+     * @return the amounts of the certificates in the order of the ids, 0 for the unknown tags.
+     */
+    public long[] countCertificates(long[] tagIds) {
+        long[] amounts = new long[tagIds.length];
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < tagIds.length; i++) {
+                CompressedBitmap bitmap = certificateIdsByTagId.get(tagIds[i]);
+                amounts[i] = bitmap != null ? bitmap.cardinality() : 0;
+            }
+            return amounts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the committed change of the 'has_tag' table to the bitmaps.
+     *
+     * @param event is the {@link HasTagChangedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHasTagChanged(HasTagChangedEvent event) {
+        int certificateId = Math.toIntExact(event.getCertificateId());
+        List<CertificateTag> newTags = new ArrayList<>();
+        if (event.getChange() == HasTagChangedEvent.Change.TAGS_ADDED) {
+            // the tags, which are created in the same transaction, are not known to the index yet
+            for (Long tagId : event.getTagIds()) {
+                if (!isKnown(tagId)) {
+                    tagDAO.findById(tagId).ifPresent(newTags::add);
+                }
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            newTags.forEach(tag -> putName(tag.getId(), tag.getName()));
+            switch (event.getChange()) {
+                case TAGS_ADDED:
+                    for (Long tagId : event.getTagIds()) {
+                        if (tagNamesById.containsKey(tagId)) {
+                            certificateIdsByTagId.computeIfAbsent(tagId, newTagId -> new CompressedBitmap())
+                                    .add(certificateId);
+                        }
+                    }
+                    break;
+                case TAGS_REMOVED:
+                    for (Long tagId : event.getTagIds()) {
+                        removeCertificate(tagId, certificateId);
+                    }
+                    break;
+                default:
+                    for (Long tagId : new ArrayList<>(certificateIdsByTagId.keySet())) {
+                        removeCertificate(tagId, certificateId);
+                    }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Renames the committed renamed tag and removes the deleted one with its bitmap from the index.
+     *
+     * @param event is the {@link TagChangedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        long tagId = event.getTagId();
+        Optional<CertificateTag> tag = tagDAO.findById(tagId);
+        lock.writeLock().lock();
+        try {
+            String oldName = tagNamesById.remove(tagId);
+            if (oldName != null) {
+                tagIdsByName.remove(oldName);
+            }
+            if (tag.isPresent()) {
+                putName(tagId, tag.get().getName());
+            } else {
+                certificateIdsByTagId.remove(tagId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<CompressedBitmap> findBitmaps(Collection<String> tagNames) {
+        List<CompressedBitmap> bitmaps = new ArrayList<>();
+        for (String tagName : tagNames) {
+            Long tagId = tagIdsByName.get(tagName.toLowerCase(Locale.ROOT));
+            CompressedBitmap bitmap = tagId != null ? certificateIdsByTagId.get(tagId) : null;
+            if (bitmap != null) {
+                bitmaps.add(bitmap);
+            }
+        }
+        return bitmaps;
+    }
+
+    private boolean isKnown(long tagId) {
+        lock.readLock().lock();
+        try {
+            return tagNamesById.containsKey(tagId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putName(long tagId, String tagName) {
+        String name = tagName.toLowerCase(Locale.ROOT);
+        tagIdsByName.put(name, tagId);
+        tagNamesById.put(tagId, name);
+    }
+
+    private void removeCertificate(long tagId, int certificateId) {
+        CompressedBitmap bitmap = certificateIdsByTagId.get(tagId);
+        if (bitmap != null) {
+            bitmap.remove(certificateId);
+        }
+    }
+}
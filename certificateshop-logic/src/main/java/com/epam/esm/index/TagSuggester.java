@@ -0,0 +1,214 @@
+package com.epam.esm.index;
+
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.dto.TagSuggestion;
+import com.epam.esm.event.TagChangedEvent;
+import com.epam.esm.event.TagCreatedEvent;
+import com.epam.esm.model.impl.CertificateTag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * The dictionary of the names of the {@link CertificateTag}s sorted in the lower case, so the names
+ * with a prefix are the range of the array, which is found by two binary searches. The tags of the range
+ * are ranked by the amounts of their certificates from the {@link TagIndex}, so the suggestions are answered
+ * without a query to the database.
+ * <p>
+ * The arrays are never changed: a saved, renamed or deleted tag replaces them by the copies, so the readers
+ * do not need a lock. The tags change seldom, so the copy of the arrays is cheaper than a lock on every read.
+ */
+@Component
+public class TagSuggester {
+    private static final Comparator<TagSuggestion> BY_AMOUNT_OF_CERTIFICATES
+            = Comparator.comparingLong(TagSuggestion::getAmountOfCertificates).reversed()
+            .thenComparing(TagSuggestion::getName);
+
+    private final TagDao tagDAO;
+    private final TagIndex tagIndex;
+    private volatile Dictionary dictionary = new Dictionary(new String[0], new String[0], new long[0]);
+
+    @Autowired
+    public TagSuggester(TagDao tagDAO, TagIndex tagIndex) {
+        this.tagDAO = tagDAO;
+        this.tagIndex = tagIndex;
+    }
+
+    /**
+     * Reads the names of all the tags from the database into the dictionary.
+     */
+    @PostConstruct
+    public synchronized void load() {
+        dictionary = Dictionary.of(tagDAO.findAll());
+    }
+
+    /**
+     * Finds the tags with the names, which start with the prefix, the case is ignored.
+     *
+     * @param prefix is the beginning of the names.
+     * @param limit  is the maximum amount of the tags to return.
+     * @return {@link List<TagSuggestion>} from the biggest amount of the certificates to the smallest one,
+     * the equal amounts by the name.
+     */
+    public List<TagSuggestion> suggest(String prefix, int limit) {
+        Dictionary current = dictionary;
+        String lowerCasePrefix = prefix.toLowerCase(Locale.ROOT);
+        int from = current.indexOf(lowerCasePrefix);
+        // every name with the prefix is less than the prefix followed by the biggest character
+        int to = current.indexOf(lowerCasePrefix + Character.MAX_VALUE);
+        long[] amounts = tagIndex.countCertificates(Arrays.copyOfRange(current.ids, from, to));
+        // the heap keeps the worst of the best tags on the top, so the worse ones are dropped at once
+        PriorityQueue<TagSuggestion> best = new PriorityQueue<>(BY_AMOUNT_OF_CERTIFICATES.reversed());
+        for (int i = from; i < to; i++) {
+            best.add(new TagSuggestion(current.ids[i], current.names[i], amounts[i - from]));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<TagSuggestion> suggestions = new ArrayList<>(best);
+        suggestions.sort(BY_AMOUNT_OF_CERTIFICATES);
+        return suggestions;
+    }
+
+    /**
+     * Adds the committed saved tags, their ids are read by the names.
+     *
+     * @param event is the {@link TagCreatedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagCreated(TagCreatedEvent event) {
+        List<CertificateTag> tags = tagDAO.findAllByNames(event.getTagNames());
+        synchronized (this) {
+            dictionary = dictionary.with(tags);
+        }
+    }
+
+    /**
+     * Replaces the old name of the committed renamed tag and removes the deleted one.
+     *
+     * @param event is the {@link TagChangedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        Optional<CertificateTag> tag = tagDAO.findById(event.getTagId());
+        synchronized (this) {
+            Dictionary withoutTag = dictionary.without(event.getTagId());
+            dictionary = tag.isPresent() ? withoutTag.with(Collections.singletonList(tag.get())) : withoutTag;
+        }
+    }
+
+    public int getAmountOfTags() {
+        return dictionary.ids.length;
+    }
+
+    /**
+     * The names in the lower case in the sorted order with the original names and the ids of their tags.
+     */
+    private static final class Dictionary {
+        private final String[] lowerCaseNames;
+        private final String[] names;
+        private final long[] ids;
+
+        private Dictionary(String[] lowerCaseNames, String[] names, long[] ids) {
+            this.lowerCaseNames = lowerCaseNames;
+            this.names = names;
+            this.ids = ids;
+        }
+
+        private static Dictionary of(List<CertificateTag> tags) {
+            List<CertificateTag> namedTags = new ArrayList<>(tags.size());
+            for (CertificateTag tag : tags) {
+                if (tag.getName() != null) {
+                    namedTags.add(tag);
+                }
+            }
+            namedTags.sort(Comparator.comparing(tag -> tag.getName().toLowerCase(Locale.ROOT)));
+            String[] lowerCaseNames = new String[namedTags.size()];
+            String[] names = new String[namedTags.size()];
+            long[] ids = new long[namedTags.size()];
+            for (int i = 0; i < namedTags.size(); i++) {
+                lowerCaseNames[i] = namedTags.get(i).getName().toLowerCase(Locale.ROOT);
+                names[i] = namedTags.get(i).getName();
+                ids[i] = namedTags.get(i).getId();
+            }
+            return new Dictionary(lowerCaseNames, names, ids);
+        }
+
+        // the index of the first name, which is not less than the key
+        private int indexOf(String key) {
+            int low = 0;
+            int high = lowerCaseNames.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (lowerCaseNames[middle].compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private Dictionary with(List<CertificateTag> tags) {
+            Dictionary result = this;
+            for (CertificateTag tag : tags) {
+                if (tag.getName() != null) {
+                    result = result.without(tag.getId()).with(tag);
+                }
+            }
+            return result;
+        }
+
+        private Dictionary with(CertificateTag tag) {
+            String lowerCaseName = tag.getName().toLowerCase(Locale.ROOT);
+            int index = indexOf(lowerCaseName);
+            int length = ids.length;
+            String[] newLowerCaseNames = new String[length + 1];
+            String[] newNames = new String[length + 1];
+            long[] newIds = new long[length + 1];
+            System.arraycopy(lowerCaseNames, 0, newLowerCaseNames, 0, index);
+            System.arraycopy(names, 0, newNames, 0, index);
+            System.arraycopy(ids, 0, newIds, 0, index);
+            newLowerCaseNames[index] = lowerCaseName;
+            newNames[index] = tag.getName();
+            newIds[index] = tag.getId();
+            System.arraycopy(lowerCaseNames, index, newLowerCaseNames, index + 1, length - index);
+            System.arraycopy(names, index, newNames, index + 1, length - index);
+            System.arraycopy(ids, index, newIds, index + 1, length - index);
+            return new Dictionary(newLowerCaseNames, newNames, newIds);
+        }
+
+        private Dictionary without(long id) {
+            int index = -1;
+            for (int i = 0; i < ids.length && index < 0; i++) {
+                if (ids[i] == id) {
+                    index = i;
+                }
+            }
+            if (index < 0) {
+                return this;
+            }
+            int length = ids.length;
+            String[] newLowerCaseNames = new String[length - 1];
+            String[] newNames = new String[length - 1];
+            long[] newIds = new long[length - 1];
+            System.arraycopy(lowerCaseNames, 0, newLowerCaseNames, 0, index);
+            System.arraycopy(names, 0, newNames, 0, index);
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(lowerCaseNames, index + 1, newLowerCaseNames, index, length - index - 1);
+            System.arraycopy(names, index + 1, newNames, index, length - index - 1);
+            System.arraycopy(ids, index + 1, newIds, index, length - index - 1);
+            return new Dictionary(newLowerCaseNames, newNames, newIds);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.epam.esm.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The inverted index of the trigrams (the substrings of three characters) of the texts in the lower case:
+ * the {@link CompressedBitmap} of the ids of the texts of every trigram. A text, which contains a substring,
+ * contains all the trigrams of the substring, so the intersection of their bitmaps is the superset
+ * of the ids of the texts with the substring. The candidates should be checked, as the trigrams can be
+ * in the text in the other order, the substrings shorter than three characters can not be searched.
+ * <p>
+ * The index is not thread safe.
+ */
+public class TrigramIndex {
+    public static final int TRIGRAM_LENGTH = 3;
+
+    private final Map<Long, CompressedBitmap> idsByTrigram = new HashMap<>();
+
+    /**
+     * Adds the trigrams of the {@param text} with the {@param id}.
+     *
+     * @param id   is the id of the text.
+     * @param text is the text to index, null is skipped.
+     */
+    public void add(int id, String text) {
+        for (Long trigram : trigrams(text)) {
+            idsByTrigram.computeIfAbsent(trigram, newTrigram -> new CompressedBitmap()).add(id);
+        }
+    }
+
+    /**
+     * Removes the {@param id} from the trigrams of the {@param text}, the text should be the indexed one.
+     *
+     * @param id   is the id of the text.
+     * @param text is the indexed text, null is skipped.
+     */
+    public void remove(int id, String text) {
+        for (Long trigram : trigrams(text)) {
+            CompressedBitmap ids = idsByTrigram.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    idsByTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the ids of the texts, which can contain the {@param substring}, by the intersection of the bitmaps
+     * of its trigrams from the smallest one.
+     *
+     * @param substring is the substring to search.
+     * @return {@link Optional<CompressedBitmap>} of the candidates, empty if the substring is too short.
+     */
+    public Optional<CompressedBitmap> findCandidates(String substring) {
+        Set<Long> trigrams = trigrams(substring);
+        if (trigrams.isEmpty()) {
+            return Optional.empty();
+        }
+        List<CompressedBitmap> bitmaps = new ArrayList<>();
+        for (Long trigram : trigrams) {
+            CompressedBitmap ids = idsByTrigram.get(trigram);
+            if (ids == null) {
+                return Optional.of(new CompressedBitmap());
+            }
+            bitmaps.add(ids);
+        }
+        bitmaps.sort(Comparator.comparingLong(CompressedBitmap::cardinality));
+        CompressedBitmap candidates = bitmaps.get(0).copy();
+        for (int i = 1; i < bitmaps.size() && !candidates.isEmpty(); i++) {
+            candidates = candidates.and(bitmaps.get(i));
+        }
+        return Optional.of(candidates);
+    }
+
+    public int getAmountOfTrigrams() {
+        return idsByTrigram.size();
+    }
+
+    // the three characters of a trigram are packed into the low 48 bits
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new LinkedHashSet<>();
+        if (text == null || text.length() < TRIGRAM_LENGTH) {
+            return trigrams;
+        }
+        String lowerCaseText = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i + TRIGRAM_LENGTH <= lowerCaseText.length(); i++) {
+            trigrams.add((long) lowerCaseText.charAt(i) << 32
+                    | (long) lowerCaseText.charAt(i + 1) << 16
+                    | lowerCaseText.charAt(i + 2));
+        }
+        return trigrams;
+    }
+}
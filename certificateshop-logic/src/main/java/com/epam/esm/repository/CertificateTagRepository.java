@@ -19,17 +19,11 @@ import java.util.Optional;
 public interface CertificateTagRepository extends CrudRepository<CertificateTag, Long>,
        JpaRepository<CertificateTag, Long> {
     public static final String FIND_MOST_POPULAR_TAG_BY_THE_BEST_USER =
-            "SELECT tag.id as tagId, tag.name as tagName FROM tag" +
-                    " where id = (SELECT query3.tagIdAfterCount" +
-                    " FROM (SELECT ht.tagId as tagIdAfterCount, count(ht.tagId) as amountOfTag" +
-                    " FROM userorder as uo LEFT OUTER JOIN" +
-                    " (has_tag as ht LEFT OUTER JOIN userorder_certificate as uoc on ht.certificateId = uoc.certificateId)" +
-                    " ON uo.id = uoc.userOrderId" +
-                    " WHERE uo.userId = (SELECT query1.id" +
-                    " FROM (SELECT uo.userId as id, SUM(uoc.certificatePrice) as costAllCertificates" +
-                    " FROM userorder_certificate as uoc LEFT OUTER JOIN userorder as uo ON uoc.userOrderId = uo.id" +
-                    " GROUP BY userId ORDER BY costAllCertificates DESC) as query1 LIMIT 1)" +
-                    " GROUP BY ht.tagId ORDER BY amountOfTag DESC) as query3 LIMIT 1)";
+            "SELECT tag.id as tagId, tag.name as tagName" +
+                    " FROM user_tag_count as utc JOIN tag ON tag.id = utc.tagId" +
+                    " WHERE utc.userId = (SELECT us.userId FROM user_spend as us" +
+                    " ORDER BY us.spend DESC, us.userId DESC LIMIT 1)" +
+                    " ORDER BY utc.amount DESC, utc.tagId DESC LIMIT 1";
 
     @Modifying
     @Query("update Tag t set t.name = ?1 where t.id = ?2")
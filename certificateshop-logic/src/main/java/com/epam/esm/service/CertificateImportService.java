@@ -0,0 +1,20 @@
+package com.epam.esm.service;
+
+import com.epam.esm.dto.CertificateImportResult;
+import com.epam.esm.model.impl.GiftCertificate;
+
+import java.io.InputStream;
+
+/**
+ * The interface that defines the bulk import of the {@link GiftCertificate}s.
+ */
+public interface CertificateImportService {
+    /**
+     * Imports the {@link GiftCertificate}s from the stream of the newline delimited JSON,
+     * one {@link GiftCertificate} per line. The not valid records are rejected, the valid ones are saved.
+     *
+     * @param inputStream is the {@link InputStream} with the records to import.
+     * @return the {@link CertificateImportResult}.
+     */
+    CertificateImportResult importCertificates(InputStream inputStream);
+}
@@ -0,0 +1,21 @@
+package com.epam.esm.service;
+
+import com.epam.esm.dto.CertificateSearchHit;
+import com.epam.esm.model.impl.GiftCertificate;
+
+import java.util.List;
+
+/**
+ * The interface that defines the full-text search of the {@link GiftCertificate}s by the words
+ * of their names and descriptions, ranked by the relevance.
+ */
+public interface CertificateSearchService {
+    /**
+     * Returns the {@link GiftCertificate}s, which are the most relevant to the query.
+     *
+     * @param query is the text of the query.
+     * @param limit is the maximum amount of the certificates to return.
+     * @return {@link List<CertificateSearchHit>} from the most relevant certificate to the least one.
+     */
+    List<CertificateSearchHit> search(String query, int limit);
+}
@@ -53,4 +53,14 @@ public interface CertificateService {
      * @param name is the name of the {@link GiftCertificate} to find in the system.
      */
     GiftCertificate findCertificateByName(String name);
+
+    /**
+     * Returns the certificates with the names within the edit distance from the name, so the misspelled names
+     * are found too.
+     *
+     * @param name        is the name of the {@link GiftCertificate} to find in the system, the case is ignored.
+     * @param maxDistance is the maximum amount of the inserted, deleted and replaced characters.
+     * @return {@link List<GiftCertificate>} from the closest name to the farthest one.
+     */
+    List<GiftCertificate> findCertificatesBySimilarName(String name, int maxDistance);
 }
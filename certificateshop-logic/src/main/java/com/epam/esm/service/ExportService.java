@@ -0,0 +1,29 @@
+package com.epam.esm.service;
+
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The interface that defines the export of the {@link GiftCertificate}s and the {@link Order}s
+ * in the newline delimited JSON.
+ */
+public interface ExportService {
+    /**
+     * Writes all the {@link GiftCertificate}s in the {@param outputStream}, one {@link GiftCertificate} per line.
+     *
+     * @param outputStream is the {@link OutputStream} to write in.
+     * @throws IOException if the {@param outputStream} is not writable.
+     */
+    void exportCertificates(OutputStream outputStream) throws IOException;
+
+    /**
+     * Writes all the {@link Order}s in the {@param outputStream}, one {@link Order} per line.
+     *
+     * @param outputStream is the {@link OutputStream} to write in.
+     * @throws IOException if the {@param outputStream} is not writable.
+     */
+    void exportOrders(OutputStream outputStream) throws IOException;
+}
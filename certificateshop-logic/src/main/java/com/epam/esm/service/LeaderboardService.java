@@ -0,0 +1,44 @@
+package com.epam.esm.service;
+
+import com.epam.esm.dto.LeaderboardEntry;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.Order;
+import com.epam.esm.model.impl.User;
+
+import java.util.List;
+
+/**
+ * The interface that defines the leaderboards of the {@link User}s and the {@link CertificateTag}s,
+ * which are kept in the memory and are updated by every created {@link Order}.
+ */
+public interface LeaderboardService {
+    /**
+     * Returns the {@link User}s with the biggest sum of the prices of all their orders.
+     *
+     * @param limit is the maximum amount of the users to return.
+     * @return {@link List<LeaderboardEntry>} from the biggest sum to the smallest.
+     */
+    List<LeaderboardEntry> topSpenders(int limit);
+
+    /**
+     * Returns the {@link CertificateTag}s, which are ordered most often by all the users.
+     *
+     * @param limit is the maximum amount of the tags to return.
+     * @return {@link List<LeaderboardEntry>} from the biggest amount of the orders to the smallest.
+     */
+    List<LeaderboardEntry> topTags(int limit);
+
+    /**
+     * Returns the {@link CertificateTag}s, which are ordered most often by the {@link User}.
+     *
+     * @param userId is the id of the {@link User}.
+     * @param limit  is the maximum amount of the tags to return.
+     * @return {@link List<LeaderboardEntry>} from the biggest amount of the orders to the smallest.
+     */
+    List<LeaderboardEntry> topTagsOfUser(long userId, int limit);
+
+    /**
+     * Replaces the leaderboards with the ones read from the aggregates of the orders in the database.
+     */
+    void reseed();
+}
@@ -1,5 +1,6 @@
 package com.epam.esm.service;
 
+import com.epam.esm.dto.OrderBatchResult;
 import com.epam.esm.model.impl.Order;
 import com.epam.esm.model.impl.User;
 
@@ -18,6 +19,14 @@ public interface OrderService {
      */
     Order createOrder(Order order);
 
+    /**
+     * Creates the batch of the new {@link Order}s in the system.
+     *
+     * @param orders are the {@link Order}s to create.
+     * @return {@link List<OrderBatchResult>}, one result for every order in the order of the {@param orders}.
+     */
+    List<OrderBatchResult> createOrders(List<Order> orders);
+
 //    /**
 //     * Orders a {@link GiftCertificate} to the {@link User}
 //     *
@@ -0,0 +1,35 @@
+package com.epam.esm.service;
+
+import com.epam.esm.dto.Reach;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.User;
+
+import java.util.List;
+
+/**
+ * The interface that defines the estimated amounts of the distinct {@link User}s, who bought
+ * the {@link GiftCertificate}s and the certificates with the {@link CertificateTag}s.
+ */
+public interface ReachService {
+    /**
+     * Estimates the amount of the distinct {@link User}s, who bought at least one of the {@link GiftCertificate}s
+     * or one of the certificates with at least one of the {@link CertificateTag}s.
+     *
+     * @param certificateIds are the ids of the {@link GiftCertificate}s, may be empty.
+     * @param tagIds         are the ids of the {@link CertificateTag}s, may be empty.
+     * @return {@link Reach}.
+     */
+    Reach reach(List<Long> certificateIds, List<Long> tagIds);
+
+    /**
+     * Saves the sketches, which are changed since they were saved last time, to the database.
+     */
+    void flush();
+
+    /**
+     * Adds the buyers of all the {@link GiftCertificate}s and the {@link CertificateTag}s from the orders
+     * in the database to the sketches, e.g. to backfill them after the 'reach_sketch' table is created.
+     */
+    void rebuild();
+}
@@ -0,0 +1,27 @@
+package com.epam.esm.service;
+
+import com.epam.esm.dto.RelatedCertificate;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+
+import java.util.List;
+
+/**
+ * The interface that defines the "customers also bought" recommendations: the {@link GiftCertificate}s,
+ * which are bought in the same {@link Order}s with a certificate most often.
+ */
+public interface RecommendationService {
+    /**
+     * Returns the {@link GiftCertificate}s, which are bought together with the certificate most often.
+     *
+     * @param certificateId is the id of the {@link GiftCertificate}.
+     * @param limit         is the maximum amount of the certificates to return.
+     * @return {@link List<RelatedCertificate>} from the biggest amount of the orders to the smallest.
+     */
+    List<RelatedCertificate> relatedCertificates(long certificateId, int limit);
+
+    /**
+     * Recalculates the recommendations from all the {@link Order}s in the database.
+     */
+    void rebuild();
+}
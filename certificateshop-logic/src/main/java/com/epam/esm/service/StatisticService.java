@@ -0,0 +1,14 @@
+package com.epam.esm.service;
+
+import com.epam.esm.model.impl.Order;
+
+/**
+ * The interface that defines the maintenance of the aggregates of the {@link Order}s, which the statistics
+ * are read from.
+ */
+public interface StatisticService {
+    /**
+     * Recalculates the aggregates of all the users from their {@link Order}s.
+     */
+    void rebuildStatistics();
+}
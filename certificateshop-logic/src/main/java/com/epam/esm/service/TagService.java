@@ -1,5 +1,6 @@
 package com.epam.esm.service;
 
+import com.epam.esm.dto.TagSuggestion;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.model.impl.User;
 
@@ -52,6 +53,25 @@ public interface TagService {
      */
     CertificateTag findCertificateTagByName(String name);
 
+    /**
+     * Returns the {@link CertificateTag}s with the names within the edit distance from the name, so the misspelled
+     * names are found too.
+     *
+     * @param name        is the name of the {@link CertificateTag} to find in the system, the case is ignored.
+     * @param maxDistance is the maximum amount of the inserted, deleted and replaced characters.
+     * @return {@link List<CertificateTag>} from the closest name to the farthest one.
+     */
+    List<CertificateTag> findCertificateTagsBySimilarName(String name, int maxDistance);
+
+    /**
+     * Returns the {@link CertificateTag}s with the names, which start with the prefix, the most used tags first.
+     *
+     * @param prefix is the beginning of the names, the case is ignored.
+     * @param limit  is the maximum amount of the tags to return.
+     * @return {@link List<TagSuggestion>} from the biggest amount of the certificates to the smallest one.
+     */
+    List<TagSuggestion> suggestCertificateTags(String prefix, int limit);
+
     /**
      * Returns the most popular {@link CertificateTag} of the {@link User}
      * with the biggest sum of order price.
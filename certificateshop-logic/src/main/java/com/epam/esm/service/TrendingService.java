@@ -0,0 +1,39 @@
+package com.epam.esm.service;
+
+import com.epam.esm.dto.Trending;
+import com.epam.esm.dto.TrendingSnapshot;
+import com.epam.esm.model.impl.GiftCertificate;
+
+import java.util.List;
+
+/**
+ * The interface that defines the {@link GiftCertificate}s, which are ordered most often in the last minutes.
+ * The counts are approximate: they are never less than the real amounts and are more than them
+ * by the returned error at most.
+ */
+public interface TrendingService {
+    /**
+     * Returns the {@link GiftCertificate}s, which are ordered most often on this node.
+     *
+     * @param limit is the maximum amount of the certificates to return.
+     * @return {@link Trending}.
+     */
+    Trending trending(int limit);
+
+    /**
+     * Returns the sketch of the trending {@link GiftCertificate}s of this node to merge it on another node.
+     *
+     * @return {@link TrendingSnapshot}.
+     */
+    TrendingSnapshot snapshot();
+
+    /**
+     * Returns the {@link GiftCertificate}s, which are ordered most often on this node and the nodes,
+     * which the snapshots are taken from.
+     *
+     * @param snapshots are the {@link TrendingSnapshot}s of the other nodes.
+     * @param limit     is the maximum amount of the certificates to return.
+     * @return {@link Trending}.
+     */
+    Trending merge(List<TrendingSnapshot> snapshots, int limit);
+}
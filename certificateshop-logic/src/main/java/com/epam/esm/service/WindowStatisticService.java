@@ -0,0 +1,39 @@
+package com.epam.esm.service;
+
+import com.epam.esm.dto.LeaderboardEntry;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.User;
+
+import java.util.List;
+
+/**
+ * The interface that defines the statistics of the orders created in the last hour, day or 30 days.
+ * The window is given by its code: '1h', '1d' or '30d'.
+ */
+public interface WindowStatisticService {
+    /**
+     * Returns the {@link CertificateTag}, which is ordered most often in the window.
+     *
+     * @param window is the code of the window.
+     * @return {@link LeaderboardEntry} of the tag with the amount of its orders.
+     */
+    LeaderboardEntry mostPopularTag(String window);
+
+    /**
+     * Returns the {@link User} with the biggest sum of the prices of the orders in the window.
+     *
+     * @param window is the code of the window.
+     * @return {@link LeaderboardEntry} of the user with the sum.
+     */
+    LeaderboardEntry bestUser(String window);
+
+    /**
+     * Returns the {@link GiftCertificate}s, which are ordered most often in the window.
+     *
+     * @param window is the code of the window.
+     * @param limit  is the maximum amount of the certificates to return.
+     * @return {@link List<LeaderboardEntry>} from the biggest amount of the orders to the smallest.
+     */
+    List<LeaderboardEntry> bestSellingCertificates(String window, int limit);
+}
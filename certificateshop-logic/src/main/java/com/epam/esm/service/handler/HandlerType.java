@@ -1,92 +1,34 @@
 package com.epam.esm.service.handler;
 
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
-import com.epam.esm.model.impl.GiftCertificate;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
- * The class that handles the parameters in the GET /certificates?params query.
- * The parameters are 'tag_name', part_cert_name, part_descr_name, sortByName, sortByDate.
+ * Describes the parameters of the GET /certificates?params query.
+ * The parameters are 'tag_name', 'any_tag_name', part_cert_name, part_descr_name, sortByName, sortByDate, the pagination
+ * parameters and the 'after' and 'before' cursors of the keyset pagination. The parameters are applied by the database in the query, which is built by
+ * {@link com.epam.esm.dao.impl.jdbc.CertificateQueryBuilder}.
  */
 public enum HandlerType {
-    BY_TAG_NAME("tag_name") {
-        @Override
-        public List<GiftCertificate> handle(List<GiftCertificate> certificates, String value) {
-            List<String> values = Arrays.asList(value.split(","));
-            List<GiftCertificate> certificatesToReturn = new ArrayList<>();
-            for (String tagName : values) {
-                certificatesToReturn = certificates.stream()
-                        .filter(certificate -> certificate.getTags().stream()
-                                .anyMatch(tag -> tag.getName().equals(tagName)))
-                        .collect(Collectors.toList());
-            }
-            return certificatesToReturn;
-        }
-    },
-    BY_OFFSET(ColumnNames.PAGE_NUMBER_PARAM_NAME) {
-        @Override
-        public List<GiftCertificate> handle(List<GiftCertificate> certificates, String value) {
-            return certificates;
-        }
-    },
-    BY_LIMIT(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME) {
-        @Override
-        public List<GiftCertificate> handle(List<GiftCertificate> certificates, String value) {
-            return certificates;
-        }
-    },
-    BY_PART_NAME("part_cert_name") {
-        @Override
-        public List<GiftCertificate> handle(List<GiftCertificate> certificates, String value) {
-            return certificates.stream()
-                    .filter(certificate -> certificate.getName().contains(value))
-                    .collect(Collectors.toList());
-        }
-    },
-    BY_PART_DESCRIPTION("part_descr_name") {
-        @Override
-        public List<GiftCertificate> handle(List<GiftCertificate> certificates, String value) {
-            return certificates.stream()
-                    .filter(certificate -> certificate.getDescription().contains(value))
-                    .collect(Collectors.toList());
-        }
-    },
-    SORT_BY_NAME("sortByName") {
-        @Override
-        public List<GiftCertificate> handle(List<GiftCertificate> certificates, String value) {
-            if (value.equals("asc")) {
-                certificates.sort(Comparator.comparing(GiftCertificate::getName));
-            }
+    BY_TAG_NAME(ColumnNames.TAG_NAME_PARAM_NAME, ParameterKind.FILTER),
+    BY_ANY_TAG_NAME(ColumnNames.ANY_TAG_NAME_PARAM_NAME, ParameterKind.FILTER),
+    BY_OFFSET(ColumnNames.PAGE_NUMBER_PARAM_NAME, ParameterKind.PAGINATION),
+    BY_LIMIT(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME, ParameterKind.PAGINATION),
+    BY_PART_NAME(ColumnNames.PART_CERT_NAME_PARAM_NAME, ParameterKind.FILTER),
+    BY_PART_DESCRIPTION(ColumnNames.PART_DESCR_NAME_PARAM_NAME, ParameterKind.FILTER),
+    SORT_BY_NAME(ColumnNames.SORT_BY_NAME_PARAM_NAME, ParameterKind.SORT),
+    SORT_BY_DATE(ColumnNames.SORT_BY_DATE_PARAM_NAME, ParameterKind.SORT),
+    BY_AFTER(ColumnNames.AFTER_PARAM_NAME, ParameterKind.CURSOR),
+    BY_BEFORE(ColumnNames.BEFORE_PARAM_NAME, ParameterKind.CURSOR);
 
-            if (value.equals("desc")) {
-                certificates.sort(Comparator.comparing(GiftCertificate::getName).reversed());
-            }
-            return certificates;
-        }
-    },
-    SORT_BY_DATE("sortByDate") {
-        @Override
-        public List<GiftCertificate> handle(List<GiftCertificate> certificates, String value) {
-            if (value.equals("asc")) {
-                certificates.sort(Comparator.comparing(GiftCertificate::getCreateDate));
-            }
+    private final String parameterName;
+    private final ParameterKind parameterKind;
 
-            if (value.equals("desc")) {
-                certificates.sort(Comparator.comparing(GiftCertificate::getCreateDate).reversed());
-            }
-            return certificates;
-        }
-    };
-
-    private String parameterName;
-
-    HandlerType(String parameterName) {
+    HandlerType(String parameterName, ParameterKind parameterKind) {
         this.parameterName = parameterName;
+        this.parameterKind = parameterKind;
     }
 
     /**
@@ -99,11 +41,30 @@ public enum HandlerType {
     }
 
     /**
-     * The method defines how to handle the list on certificates depends on the value.
+     * The getter.
      *
-     * @param certificates the list, that is to handle.
-     * @param value        is the value of the params, depends on the method handles the list.
-     * @return {@link List<GiftCertificate>}, which satisfy the conditions of the handling.
+     * @return {@link ParameterKind} that is the kind of the parameter.
      */
-    public abstract List<GiftCertificate> handle(List<GiftCertificate> certificates, String value);
+    public ParameterKind getParameterKind() {
+        return parameterKind;
+    }
+
+    /**
+     * Finds the {@link HandlerType} by the name of the parameter.
+     *
+     * @param parameterName is the name of the query parameter.
+     * @return {@link Optional<HandlerType>}, that is empty if the parameter is not supported.
+     */
+    public static Optional<HandlerType> findByParameterName(String parameterName) {
+        return Arrays.stream(values())
+                .filter(handlerType -> handlerType.parameterName.equals(parameterName))
+                .findAny();
+    }
+
+    /**
+     * The kinds of the parameters of the GET /certificates?params query.
+     */
+    public enum ParameterKind {
+        FILTER, SORT, PAGINATION, CURSOR
+    }
 }
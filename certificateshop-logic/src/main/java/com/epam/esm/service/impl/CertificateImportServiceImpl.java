@@ -0,0 +1,244 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.configuration.Translator;
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.dto.CertificateImportResult;
+import com.epam.esm.exception.MethodArgumentNotValidException;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.service.CertificateImportService;
+import com.epam.esm.validator.CertificateValidator;
+import com.epam.esm.validator.TagValidator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Imports the {@link GiftCertificate}s from the stream of the newline delimited JSON.
+ * The records are read one by one with the streaming parser and are saved in the batches of
+ * {@link #IMPORT_BATCH_SIZE}, so only one batch is kept in the memory whatever the size of the stream is.
+ * The stream is not read while a batch is saved, so a fast client is slowed down by the network flow control.
+ */
+@Service
+public class CertificateImportServiceImpl implements CertificateImportService {
+    public static final int IMPORT_BATCH_SIZE = 500;
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private final CertificateDao certificateDAO;
+    private final TagDao tagDAO;
+    private final CertificateValidator certificateValidator;
+    private final TagValidator tagValidator;
+    private final Translator translator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public CertificateImportServiceImpl(CertificateDao certificateDAO, TagDao tagDAO,
+                                        CertificateValidator certificateValidator, TagValidator tagValidator,
+                                        Translator translator, TransactionTemplate transactionTemplate,
+                                        ObjectMapper objectMapper) {
+        this.certificateDAO = certificateDAO;
+        this.tagDAO = tagDAO;
+        this.certificateValidator = certificateValidator;
+        this.tagValidator = tagValidator;
+        this.translator = translator;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Imports the {@link GiftCertificate}s from the stream of the newline delimited JSON,
+     * one {@link GiftCertificate} per line. The not valid records are rejected, the valid ones are saved.
+     * The import is stopped at the first record, which is not a valid JSON, the records before it are saved.
+     *
+     * @param inputStream is the {@link InputStream} with the records to import.
+     * @return the {@link CertificateImportResult}.
+     */
+    @Override
+    public CertificateImportResult importCertificates(InputStream inputStream) {
+        CertificateImportResult result = new CertificateImportResult(0, 0, new ArrayList<>());
+        // the name of the certificate -> the record of the current batch, the names are unique in the database
+        // regardless of the case, so they are compared in any case
+        Map<String, ImportRecord> batch = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        long line = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                line = parser.getTokenLocation().getLineNr();
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    reject(result, line, translator.toLocale("THE_RECORD_OF_IMPORT_IS_NOT_A_CERTIFICATE"));
+                    continue;
+                }
+                JsonNode record = parser.readValueAsTree();
+                GiftCertificate giftCertificate;
+                try {
+                    giftCertificate = objectMapper.treeToValue(record, GiftCertificate.class);
+                } catch (JsonProcessingException exception) {
+                    reject(result, line, translator.toLocale("THE_RECORD_OF_IMPORT_IS_NOT_A_CERTIFICATE"));
+                    continue;
+                }
+                List<String> errorMessage = validateRecord(giftCertificate, batch);
+                if (!errorMessage.isEmpty()) {
+                    reject(result, line, errorMessage);
+                    continue;
+                }
+                batch.put(giftCertificate.getName(), new ImportRecord(line, giftCertificate));
+                if (batch.size() == IMPORT_BATCH_SIZE) {
+                    saveBatch(batch, result);
+                    batch.clear();
+                }
+            }
+        } catch (JsonProcessingException exception) {
+            reject(result, exception.getLocation() != null ? exception.getLocation().getLineNr() : line,
+                    translator.toLocale("THE_RECORD_OF_IMPORT_IS_NOT_VALID_JSON"));
+        } catch (IOException exception) {
+            reject(result, line, translator.toLocale("THE_RECORD_OF_IMPORT_IS_NOT_VALID_JSON"));
+        }
+        if (!batch.isEmpty()) {
+            saveBatch(batch, result);
+        }
+        return result;
+    }
+
+    private List<String> validateRecord(GiftCertificate giftCertificate, Map<String, ImportRecord> batch) {
+        List<String> errorMessage = new ArrayList<>();
+        try {
+            certificateValidator.validateCertificate(giftCertificate, true);
+        } catch (MethodArgumentNotValidException exception) {
+            for (Object message : (List<?>) exception.getErrorMessage()) {
+                errorMessage.add(String.valueOf(message));
+            }
+        }
+        if (giftCertificate.getTags() == null) {
+            giftCertificate.setTags(new ArrayList<>());
+        }
+        for (CertificateTag certificateTag : giftCertificate.getTags()) {
+            if (certificateTag.getName() == null || !tagValidator.isNameValid(certificateTag.getName(), 30)) {
+                errorMessage.add(certificateTag
+                        + ": " + translator.toLocale("TAG_NAME_IS_NOT_VALID_ERROR_MESSAGE"));
+            }
+        }
+        if (giftCertificate.getName() != null && batch.containsKey(giftCertificate.getName())) {
+            errorMessage.add(String.format(translator.toLocale("CERTIFICATE_WITH_SUCH_NAME_IS_ALREADY_IN_IMPORT"),
+                    giftCertificate.getName()));
+        }
+        return errorMessage;
+    }
+
+    // the certificates of one batch and their tags are saved together or not saved at all
+    private void saveBatch(Map<String, ImportRecord> batch, CertificateImportResult result) {
+        for (GiftCertificate certificateFromDatabase : certificateDAO.findAllByNames(batch.keySet())) {
+            ImportRecord importRecord = batch.remove(certificateFromDatabase.getName());
+            if (importRecord != null) {
+                reject(result, importRecord.line, String.format(translator
+                        .toLocale("CERTIFICATE_WITH_SUCH_NAME_EXIST_IN_DB_MESSAGE"), certificateFromDatabase.getName()));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<GiftCertificate> giftCertificates = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (ImportRecord importRecord : batch.values()) {
+            GiftCertificate giftCertificate = importRecord.giftCertificate;
+            giftCertificate.setId(0);
+            giftCertificate.setCreateDate(now);
+            giftCertificate.setLastUpdateDate(now);
+            giftCertificates.add(giftCertificate);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                resolveTags(giftCertificates);
+                certificateDAO.saveAll(giftCertificates);
+                certificateDAO.saveAllInHasTagTable(giftCertificates);
+            });
+        } catch (DataAccessException | TransactionException exception) {
+            for (ImportRecord importRecord : batch.values()) {
+                reject(result, importRecord.line, translator.toLocale("THE_BATCH_OF_CERTIFICATES_IS_NOT_SAVED"));
+            }
+            return;
+        }
+        result.setImported(result.getImported() + giftCertificates.size());
+    }
+
+    // the tags of the batch are looked up once, the missing ones are created in one batch with their ids;
+    // the names are unique in the database regardless of the case, so they are matched in any case
+    private void resolveTags(List<GiftCertificate> giftCertificates) {
+        Set<String> uniqueNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> names = new ArrayList<>();
+        for (GiftCertificate giftCertificate : giftCertificates) {
+            for (CertificateTag certificateTag : giftCertificate.getTags()) {
+                if (uniqueNames.add(certificateTag.getName())) {
+                    names.add(certificateTag.getName());
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            return;
+        }
+        Map<String, CertificateTag> tagsByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        tagDAO.findAllByNames(names).forEach(tag -> tagsByName.put(tag.getName(), tag));
+        List<CertificateTag> newTags = new ArrayList<>();
+        for (String name : names) {
+            if (!tagsByName.containsKey(name)) {
+                newTags.add(new CertificateTag(0, name));
+            }
+        }
+        if (!newTags.isEmpty()) {
+            tagDAO.saveAll(newTags).forEach(tag -> tagsByName.put(tag.getName(), tag));
+        }
+        for (GiftCertificate giftCertificate : giftCertificates) {
+            Set<String> namesOfCertificate = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            List<CertificateTag> tags = new ArrayList<>();
+            for (CertificateTag certificateTag : giftCertificate.getTags()) {
+                if (namesOfCertificate.add(certificateTag.getName())) {
+                    tags.add(tagsByName.get(certificateTag.getName()));
+                }
+            }
+            giftCertificate.setTags(tags);
+        }
+    }
+
+    private void reject(CertificateImportResult result, long line, String message) {
+        List<String> errorMessage = new ArrayList<>();
+        errorMessage.add(message);
+        reject(result, line, errorMessage);
+    }
+
+    private void reject(CertificateImportResult result, long line, List<String> errorMessage) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(String.format(translator.toLocale("IMPORT_ERROR_AT_LINE"), line,
+                    String.join(" ", errorMessage)));
+        }
+    }
+
+    private static final class ImportRecord {
+        private final long line;
+        private final GiftCertificate giftCertificate;
+
+        private ImportRecord(long line, GiftCertificate giftCertificate) {
+            this.line = line;
+            this.giftCertificate = giftCertificate;
+        }
+    }
+}
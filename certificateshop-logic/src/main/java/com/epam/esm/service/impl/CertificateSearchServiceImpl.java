@@ -0,0 +1,134 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.configuration.Translator;
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.dto.CertificateSearchHit;
+import com.epam.esm.event.CertificateChangedEvent;
+import com.epam.esm.exception.MethodArgumentNotValidException;
+import com.epam.esm.index.Bm25Index;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.service.CertificateSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the {@link Bm25Index} of the names and the descriptions of the certificates in the memory, so the search
+ * is answered without a query to the database, only the found certificates are read by the id from the cache
+ * of the certificates. The index is read from the database, when the application is started, and is updated
+ * by the created, updated and deleted certificates after their transaction is committed. The index replaces
+ * and removes the certificates by the id, so the previous version of the event, which can be stale
+ * after the concurrent updates, is not needed.
+ */
+@Service
+public class CertificateSearchServiceImpl implements CertificateSearchService {
+    public static final String ERROR_CODE_METHOD_ARGUMENT_NOT_VALID = "400";
+    public static final String ERROR_CODE_CERTIFICATE_NOT_VALID = "01";
+    public static final int MAX_AMOUNT_OF_CERTIFICATES = 100;
+    public static final int MAX_LENGTH_OF_QUERY = 200;
+
+    private final CertificateDao certificateDAO;
+    private final Translator translator;
+    private final Bm25Index index = new Bm25Index();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public CertificateSearchServiceImpl(CertificateDao certificateDAO, Translator translator) {
+        this.certificateDAO = certificateDAO;
+        this.translator = translator;
+    }
+
+    /**
+     * Returns the certificates with the best BM25 scores of the words of the query.
+     *
+     * @param query is the text of the query.
+     * @param limit is the maximum amount of the certificates to return.
+     * @return {@link List<CertificateSearchHit>} from the best score to the worst.
+     */
+    @Override
+    public List<CertificateSearchHit> search(String query, int limit) {
+        checkQueryAndLimit(query, limit);
+        List<Map.Entry<Long, Double>> top;
+        lock.readLock().lock();
+        try {
+            top = index.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> ids = new ArrayList<>(top.size());
+        top.forEach(entry -> ids.add(entry.getKey()));
+        Map<Long, GiftCertificate> certificatesById = new HashMap<>();
+        certificateDAO.findAllByIds(ids).forEach(certificate -> certificatesById.put(certificate.getId(), certificate));
+        List<CertificateSearchHit> hits = new ArrayList<>(top.size());
+        for (Map.Entry<Long, Double> entry : top) {
+            GiftCertificate giftCertificate = certificatesById.get(entry.getKey());
+            if (giftCertificate != null) {
+                hits.add(new CertificateSearchHit(giftCertificate.getId(), giftCertificate.getName(),
+                        giftCertificate.getDescription(), giftCertificate.getPrice(), entry.getValue()));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Reads the names and the descriptions of all the certificates from the database into the index.
+     */
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            certificateDAO.streamAll(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the indexed name and description of the committed changed certificate by the new ones
+     * or removes the deleted certificate.
+     *
+     * @param event is the {@link CertificateChangedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCertificateChanged(CertificateChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getCurrent().isPresent()) {
+                add(event.getCurrent().get());
+            } else {
+                event.getPrevious().ifPresent(certificate -> index.remove(Math.toIntExact(certificate.getId())));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(GiftCertificate giftCertificate) {
+        index.add(Math.toIntExact(giftCertificate.getId()), giftCertificate.getName(),
+                giftCertificate.getDescription());
+    }
+
+    private void checkQueryAndLimit(String query, int limit) {
+        List<String> errorMessage = new ArrayList<>();
+        if (query == null || query.trim().isEmpty() || query.length() > MAX_LENGTH_OF_QUERY) {
+            errorMessage.add(String.format(translator.toLocale("THE_SEARCH_QUERY_SHOULD_NOT_BE_EMPTY"),
+                    MAX_LENGTH_OF_QUERY));
+        }
+        if (limit < 1 || limit > MAX_AMOUNT_OF_CERTIFICATES) {
+            errorMessage.add(String.format(translator.toLocale("THE_LIMIT_OF_SEARCH_RESULTS_SHOULD_BE_BETWEEN"),
+                    MAX_AMOUNT_OF_CERTIFICATES));
+        }
+        if (!errorMessage.isEmpty()) {
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_CERTIFICATE_NOT_VALID, errorMessage);
+        }
+    }
+}
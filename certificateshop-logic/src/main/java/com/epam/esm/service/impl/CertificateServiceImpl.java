@@ -3,10 +3,16 @@ package com.epam.esm.service.impl;
 import com.epam.esm.configuration.Translator;
 import com.epam.esm.dao.CertificateDao;
 import com.epam.esm.dao.TagDao;
+import com.epam.esm.dao.impl.jdbc.CertificateQueryBuilder;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dao.impl.jdbc.PageCursor;
 import com.epam.esm.exception.DuplicateException;
 import com.epam.esm.exception.EntityNotFoundException;
 import com.epam.esm.exception.MethodArgumentNotValidException;
+import com.epam.esm.index.CertificateTextIndex;
+import com.epam.esm.index.NameDictionary;
+import com.epam.esm.index.CompressedBitmap;
+import com.epam.esm.index.TagIndex;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.model.impl.GiftCertificate;
 import com.epam.esm.service.CertificateService;
@@ -19,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Transactional
 @Service
@@ -28,19 +35,29 @@ public class CertificateServiceImpl implements CertificateService {
     public static final String ERROR_CODE_METHOD_ARGUMENT_NOT_VALID = "400";
     public static final String ERROR_CODE_CERTIFICATE_NOT_VALID = "01";
     public static final String ERROR_CODE_TAG_NOT_VALID = "02";
+    // the bigger sets of the candidates are filtered by the database without the list of the ids
+    public static final int MAX_CANDIDATE_IDS_IN_QUERY = 1024;
+    public static final int MAX_EDIT_DISTANCE = 3;
+    public static final int MAX_AMOUNT_OF_SIMILAR_NAMES = 20;
 
     private final CertificateDao certificateDAO;
     private final TagDao tagDAO;
     private final CertificateValidator certificateValidator;
     private final TagValidator tagValidator;
+    private final TagIndex tagIndex;
+    private final CertificateTextIndex certificateTextIndex;
+    private final NameDictionary nameDictionary;
     private final Translator translator;
 
     @Autowired
-    public CertificateServiceImpl(CertificateDao certificateDAO, TagDao tagDAO, CertificateValidator certificateValidator, TagValidator tagValidator, Translator translator) {
+    public CertificateServiceImpl(CertificateDao certificateDAO, TagDao tagDAO, CertificateValidator certificateValidator, TagValidator tagValidator, TagIndex tagIndex, CertificateTextIndex certificateTextIndex, NameDictionary nameDictionary, Translator translator) {
         this.certificateDAO = certificateDAO;
         this.tagDAO = tagDAO;
         this.certificateValidator = certificateValidator;
         this.tagValidator = tagValidator;
+        this.tagIndex = tagIndex;
+        this.certificateTextIndex = certificateTextIndex;
+        this.nameDictionary = nameDictionary;
         this.translator = translator;
     }
 
@@ -57,9 +74,9 @@ public class CertificateServiceImpl implements CertificateService {
         giftCertificate.setCreateDate(LocalDateTime.now());
         giftCertificate.setLastUpdateDate(LocalDateTime.now());
         saveNewTagsInDatabase(giftCertificate, 0);
-        certificateDAO.save(giftCertificate);
-        saveRelations(giftCertificate);
-        return certificateDAO.findByName(giftCertificate.getName()).get();
+        GiftCertificate savedCertificate = certificateDAO.save(giftCertificate);
+        saveRelations(savedCertificate);
+        return savedCertificate;
     }
 
     private void checkIfCertificateExistAndValidateItsTags(GiftCertificate giftCertificate) {
@@ -89,7 +106,7 @@ public class CertificateServiceImpl implements CertificateService {
         List<CertificateTag> certificateTags = giftCertificate.getTags();
         List<CertificateTag> certificateTags1 = new ArrayList<>();
         if (certificateTags != null) {
-            constructCertificateTagsFromTagsInCreatedOrder(certificateTags, certificateTags1);
+            certificateTags1 = findOrCreateTags(certificateTags);
         } else {
             certificateTags1 = constructCertificateTagsFromCertificateTagsInDatabase(idCertificateFromDB, certificateTags1);
         }
@@ -103,36 +120,44 @@ public class CertificateServiceImpl implements CertificateService {
         return certificateTags1;
     }
 
-    private void constructCertificateTagsFromTagsInCreatedOrder(List<CertificateTag> certificateTags, List<CertificateTag> certificateTags1) {
-        for (CertificateTag certificateTag : fetchTagsWithUniqueNames(certificateTags)) {
-            Optional<CertificateTag> certificateTag1 = tagDAO.findByName(certificateTag.getName());
-            // to check if the tag is new, or it already exists in the database
-            if (!certificateTag1.isPresent()) {
-                persistNewTagAndAddItToTheCertificateTags(certificateTags1, certificateTag);
-            } else {
-                // to save an existed tag in the new list
-                if (!certificateTags1.contains(certificateTag1.get())) {
-                    certificateTags1.add(certificateTag1.get());
-                }
+    // one lookup of the existing tags and one insert of the new tags, which returns their ids;
+    // the names are unique in the database regardless of the case, so they are matched in any case
+    private List<CertificateTag> findOrCreateTags(List<CertificateTag> certificateTags) {
+        Set<String> uniqueNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> names = new ArrayList<>();
+        for (CertificateTag certificateTag : certificateTags) {
+            if (uniqueNames.add(certificateTag.getName())) {
+                names.add(certificateTag.getName());
             }
         }
+        if (names.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, CertificateTag> tagsByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        tagDAO.findAllByNames(names).forEach(tag -> tagsByName.put(tag.getName(), tag));
+        List<CertificateTag> newTags = new ArrayList<>();
+        for (String name : names) {
+            if (!tagsByName.containsKey(name)) {
+                CertificateTag newTag = new CertificateTag(0, name);
+                tagValidator.validateTag(newTag, true);
+                newTags.add(newTag);
+            }
+        }
+        if (!newTags.isEmpty()) {
+            tagDAO.saveAll(newTags).forEach(tag -> tagsByName.put(tag.getName(), tag));
+        }
+        List<CertificateTag> tags = new ArrayList<>();
+        for (String name : names) {
+            tags.add(tagsByName.get(name));
+        }
+        return tags;
     }
 
-    private void persistNewTagAndAddItToTheCertificateTags(List<CertificateTag> certificateTags1, CertificateTag certificateTag) {
-        CertificateTag newTag = new CertificateTag(0, certificateTag.getName());
-        tagValidator.validateTag(newTag, true);
-        tagDAO.save(newTag);
-        certificateTags1.add(tagDAO.findByName(newTag.getName()).get());
-    }
-
+    // the tags are already resolved by saveNewTagsInDatabase, so they have their ids
     private void saveRelations(GiftCertificate giftCertificate) {
-        Optional<GiftCertificate> certificate
-                = certificateDAO.findByName((giftCertificate.getName()));
-        long newGiftCertificateId = certificate.get().getId();
-        for (CertificateTag certificateTag : fetchTagsWithUniqueNames(giftCertificate.getTags())) {
-            CertificateTag tag = tagDAO.findByName(certificateTag.getName()).get();
-            certificateDAO.saveIdsInHasTagTable(newGiftCertificateId, tag.getId());
-        }
+        certificateDAO.saveIdsInHasTagTable(giftCertificate.getId(), giftCertificate.getTags().stream()
+                .map(CertificateTag::getId)
+                .collect(Collectors.toList()));
     }
 
     private List<CertificateTag> fetchTagsWithUniqueNames(List<CertificateTag> tags) {
@@ -145,7 +170,12 @@ public class CertificateServiceImpl implements CertificateService {
     }
 
     /**
-     * Returns all certificates in the system.
+     * Returns all certificates in the system. The certificates with all the tags of 'tag_name' and any
+     * of the tags of 'any_tag_name' are found in the {@link TagIndex}, if there are no other filters
+     * and sorts, the page of their ids is cut from the bitmap and only the certificates of the page
+     * are read from the database. Otherwise the candidates of 'part_cert_name' and 'part_descr_name'
+     * are found in the {@link CertificateTextIndex}, and the database filters only the candidates,
+     * if there are not too many of them.
      *
      * @param parameters the filters and parameters to apply to the values to be returned.
      * @return {@link List<GiftCertificate>}.
@@ -157,15 +187,116 @@ public class CertificateServiceImpl implements CertificateService {
         int amountEntitiesOnThePage
                 = Integer.parseInt(parameters.get(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME));
         checkLimitAndOffset(errorMessage, pageNumber, amountEntitiesOnThePage);
-        List<GiftCertificate> giftCertificates = new ArrayList<>();
-        giftCertificates = certificateDAO.findAllPagination(pageNumber, amountEntitiesOnThePage, parameters);
+        checkParameters(parameters);
+        Optional<CompressedBitmap> taggedCertificateIds = findTaggedCertificateIds(parameters);
+        if (taggedCertificateIds.isPresent() && isFilteredByTagsOnly(parameters)) {
+            return findPageOfTaggedCertificates(taggedCertificateIds.get(), pageNumber,
+                    amountEntitiesOnThePage, parameters);
+        }
+        Optional<CompressedBitmap> candidateIds = certificateTextIndex.findCandidates(
+                parameters.get(ColumnNames.PART_CERT_NAME_PARAM_NAME),
+                parameters.get(ColumnNames.PART_DESCR_NAME_PARAM_NAME));
+        Map<String, String> parametersOfQuery = parameters;
+        if (taggedCertificateIds.isPresent()) {
+            candidateIds = Optional.of(candidateIds.map(taggedCertificateIds.get()::and)
+                    .orElse(taggedCertificateIds.get()));
+            // the tag index is exact, so the tags are not filtered by the database again
+            parametersOfQuery = new LinkedHashMap<>(parameters);
+            parametersOfQuery.remove(ColumnNames.TAG_NAME_PARAM_NAME);
+            parametersOfQuery.remove(ColumnNames.ANY_TAG_NAME_PARAM_NAME);
+        }
+        if (!candidateIds.isPresent() || candidateIds.get().cardinality() > MAX_CANDIDATE_IDS_IN_QUERY) {
+            return certificateDAO.findAllPagination(pageNumber, amountEntitiesOnThePage, parameters);
+        }
+        if (candidateIds.get().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return certificateDAO.findAllPagination(pageNumber, amountEntitiesOnThePage, parametersOfQuery,
+                toIds(candidateIds.get().page(0, MAX_CANDIDATE_IDS_IN_QUERY)));
+    }
+
+    private Optional<CompressedBitmap> findTaggedCertificateIds(Map<String, String> parameters) {
+        String tagNames = parameters.get(ColumnNames.TAG_NAME_PARAM_NAME);
+        String anyTagNames = parameters.get(ColumnNames.ANY_TAG_NAME_PARAM_NAME);
+        CompressedBitmap certificateIds = null;
+        if (tagNames != null) {
+            certificateIds = tagIndex.findCertificatesWithAllTags(CertificateQueryBuilder.splitTagNames(tagNames));
+        }
+        if (anyTagNames != null) {
+            CompressedBitmap anyTagCertificateIds
+                    = tagIndex.findCertificatesWithAnyTag(CertificateQueryBuilder.splitTagNames(anyTagNames));
+            certificateIds = certificateIds == null ? anyTagCertificateIds : certificateIds.and(anyTagCertificateIds);
+        }
+        return Optional.ofNullable(certificateIds);
+    }
+
+    // the other filters and sorts are applied by the database, the bitmap is sorted by the id only
+    private boolean isFilteredByTagsOnly(Map<String, String> parameters) {
+        for (String parameterName : parameters.keySet()) {
+            HandlerType handlerType = HandlerType.findByParameterName(parameterName).get();
+            if (handlerType.getParameterKind() == HandlerType.ParameterKind.SORT
+                    || handlerType == HandlerType.BY_PART_NAME || handlerType == HandlerType.BY_PART_DESCRIPTION) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<GiftCertificate> findPageOfTaggedCertificates(CompressedBitmap certificateIds, int pageNumber,
+                                                               int amountEntitiesOnThePage,
+                                                               Map<String, String> parameters) {
+        long fromRank = (long) pageNumber * amountEntitiesOnThePage;
+        int limit = amountEntitiesOnThePage;
+        String after = parameters.get(ColumnNames.AFTER_PARAM_NAME);
+        String before = parameters.get(ColumnNames.BEFORE_PARAM_NAME);
+        if (after != null) {
+            fromRank = certificateIds.rank(toBitmapValue(PageCursor.decodeId(after) + 1));
+        } else if (before != null) {
+            long toRank = certificateIds.rank(toBitmapValue(PageCursor.decodeId(before)));
+            fromRank = Math.max(0, toRank - amountEntitiesOnThePage);
+            limit = (int) (toRank - fromRank);
+        }
+        List<Long> ids = toIds(certificateIds.page(fromRank, limit));
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<GiftCertificate> certificates = new ArrayList<>(certificateDAO.findAllByIds(ids));
+        certificates.sort(Comparator.comparingLong(GiftCertificate::getId));
+        return certificates;
+    }
+
+    private List<Long> toIds(int[] bitmapValues) {
+        List<Long> ids = new ArrayList<>(bitmapValues.length);
+        for (int value : bitmapValues) {
+            ids.add((long) value);
+        }
+        return ids;
+    }
+
+    private int toBitmapValue(long id) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, id));
+    }
+
+    private void checkParameters(Map<String, String> parameters) {
+        List<String> errorMessage = new ArrayList<>();
         for (Map.Entry<String, String> parameter : parameters.entrySet()) {
-            giftCertificates = Arrays.stream(HandlerType.values())
-                    .filter(handlerType -> handlerType.getParameterName().equals(parameter.getKey()))
-                    .findAny().orElseThrow(RuntimeException::new)
-                    .handle(giftCertificates, parameter.getValue());
+            Optional<HandlerType> handlerType = HandlerType.findByParameterName(parameter.getKey());
+            if (!handlerType.isPresent()) {
+                errorMessage.add(String.format(translator
+                        .toLocale("THE_PARAMETER_IS_NOT_SUPPORTED"), parameter.getKey()));
+            } else if (handlerType.get().getParameterKind() == HandlerType.ParameterKind.SORT
+                    && !CertificateQueryBuilder.isSortDirection(parameter.getValue())) {
+                errorMessage.add(String.format(translator
+                        .toLocale("THE_SORT_DIRECTION_IS_NOT_VALID"), parameter.getKey()));
+            } else if (handlerType.get().getParameterKind() == HandlerType.ParameterKind.CURSOR
+                    && !CertificateQueryBuilder.isCursorValid(parameters, parameter.getValue())) {
+                errorMessage.add(translator.toLocale("THE_CURSOR_IS_NOT_VALID"));
+            }
+        }
+        if (!errorMessage.isEmpty()) {
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_CERTIFICATE_NOT_VALID, errorMessage);
         }
-        return giftCertificates;
     }
 
     private void checkLimitAndOffset(List<String> errorMessage, int pageNumber, int amountEntitiesOnThePage) {
@@ -262,8 +393,7 @@ public class CertificateServiceImpl implements CertificateService {
                     certificateDAO.saveIdsInHasTagTable(giftCertificate.getId(), idOfTag);
                 }
             } else {
-                tagDAO.save(certificateTag);
-                CertificateTag newTag = tagDAO.findByName(certificateTag.getName()).get();
+                CertificateTag newTag = tagDAO.save(certificateTag);
                 certificateDAO.saveIdsInHasTagTable(giftCertificate.getId(), newTag.getId());
             }
         }
@@ -379,6 +509,48 @@ public class CertificateServiceImpl implements CertificateService {
         return certificate.get();
     }
 
+    /**
+     * Returns the certificates with the names within the edit distance from the name. The names are found
+     * in the {@link NameDictionary}, so only the found certificates are read by the id.
+     *
+     * @param name        is the name of the {@link GiftCertificate} to find in the system, the case is ignored.
+     * @param maxDistance is the maximum amount of the inserted, deleted and replaced characters.
+     * @return {@link List<GiftCertificate>} from the closest name to the farthest one.
+     */
+    @Override
+    public List<GiftCertificate> findCertificatesBySimilarName(String name, int maxDistance) {
+        checkSimilarNameParameters(name, maxDistance);
+        List<Long> ids = nameDictionary.findCertificateIds(name, maxDistance);
+        if (ids.size() > MAX_AMOUNT_OF_SIMILAR_NAMES) {
+            ids = ids.subList(0, MAX_AMOUNT_OF_SIMILAR_NAMES);
+        }
+        Map<Long, GiftCertificate> certificatesById = new HashMap<>();
+        certificateDAO.findAllByIds(ids).forEach(certificate -> certificatesById.put(certificate.getId(), certificate));
+        List<GiftCertificate> certificates = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            GiftCertificate giftCertificate = certificatesById.get(id);
+            if (giftCertificate != null) {
+                certificates.add(giftCertificate);
+            }
+        }
+        return certificates;
+    }
+
+    private void checkSimilarNameParameters(String name, int maxDistance) {
+        List<String> errorMessage = new ArrayList<>();
+        if (name == null || name.trim().isEmpty()) {
+            errorMessage.add(translator.toLocale("THE_NAME_TO_LOOK_UP_SHOULD_NOT_BE_EMPTY"));
+        }
+        if (maxDistance < 0 || maxDistance > MAX_EDIT_DISTANCE) {
+            errorMessage.add(String.format(translator.toLocale("THE_EDIT_DISTANCE_SHOULD_BE_BETWEEN"),
+                    MAX_EDIT_DISTANCE));
+        }
+        if (!errorMessage.isEmpty()) {
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_CERTIFICATE_NOT_VALID, errorMessage);
+        }
+    }
+
     private Optional<GiftCertificate> fetchAndCheckCertificateByName(String name) {
         List<String> errorMessage = new ArrayList<>();
         Optional<GiftCertificate> certificate = certificateDAO.findByName(name);
@@ -0,0 +1,86 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.dao.OrderDao;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import com.epam.esm.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes the {@link GiftCertificate}s and the {@link Order}s in the newline delimited JSON straight from
+ * the database cursor to the {@link OutputStream}, so only one entity is kept in the memory at a time.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+    private final CertificateDao certificateDAO;
+    private final OrderDao orderDao;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ExportServiceImpl(CertificateDao certificateDAO, OrderDao orderDao, ObjectMapper objectMapper) {
+        this.certificateDAO = certificateDAO;
+        this.orderDao = orderDao;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes all the {@link GiftCertificate}s in the {@param outputStream}, one {@link GiftCertificate} per line.
+     *
+     * @param outputStream is the {@link OutputStream} to write in.
+     * @throws IOException if the {@param outputStream} is not writable.
+     */
+    @Override
+    public void exportCertificates(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            certificateDAO.streamAll(writeLine(generator));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Writes all the {@link Order}s in the {@param outputStream}, one {@link Order} per line.
+     *
+     * @param outputStream is the {@link OutputStream} to write in.
+     * @throws IOException if the {@param outputStream} is not writable.
+     */
+    @Override
+    public void exportOrders(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            orderDao.streamAll(writeLine(generator));
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        // the lines are separated by the '\n' written after every entity instead of the default space
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    // the generator is flushed by its buffer, not after every entity
+    private <T> Consumer<T> writeLine(JsonGenerator generator) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return entity -> {
+            try {
+                writer.writeValue(generator, entity);
+                generator.writeRaw('\n');
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        };
+    }
+}
@@ -0,0 +1,201 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.configuration.Translator;
+import com.epam.esm.dao.StatisticDao;
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.dto.LeaderboardEntry;
+import com.epam.esm.dto.UserSpend;
+import com.epam.esm.dto.UserTagCount;
+import com.epam.esm.event.OrderCreatedEvent;
+import com.epam.esm.event.TagChangedEvent;
+import com.epam.esm.exception.MethodArgumentNotValidException;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import com.epam.esm.service.LeaderboardService;
+import com.epam.esm.statistic.Leaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the leaderboards of the users and the tags in the memory. They are seeded from the 'user_spend'
+ * and the 'user_tag_count' aggregates, when the application is started, and are updated by the orders
+ * after their transaction is committed, so the reads never touch the database.
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+    public static final String ERROR_CODE_METHOD_ARGUMENT_NOT_VALID = "400";
+    public static final String ERROR_CODE_STATISTIC_NOT_VALID = "05";
+    public static final int MAX_LEADERBOARD_LIMIT = 100;
+
+    private final StatisticDao statisticDao;
+    private final TagDao tagDAO;
+    private final Translator translator;
+    private volatile Leaderboards leaderboards = new Leaderboards();
+
+    @Autowired
+    public LeaderboardServiceImpl(StatisticDao statisticDao, TagDao tagDAO, Translator translator) {
+        this.statisticDao = statisticDao;
+        this.tagDAO = tagDAO;
+        this.translator = translator;
+    }
+
+    /**
+     * Returns the users with the biggest sum of the prices of all their orders.
+     *
+     * @param limit is the maximum amount of the users to return.
+     * @return {@link List<LeaderboardEntry>} from the biggest sum to the smallest.
+     */
+    @Override
+    public List<LeaderboardEntry> topSpenders(int limit) {
+        checkLimit(limit);
+        Leaderboards current = leaderboards;
+        List<LeaderboardEntry> top = new ArrayList<>();
+        for (Leaderboard.Entry<Long, BigDecimal> entry : current.spenders.top(limit)) {
+            top.add(new LeaderboardEntry(top.size() + 1, entry.getKey(), current.userNames.get(entry.getKey()),
+                    entry.getScore()));
+        }
+        return top;
+    }
+
+    /**
+     * Returns the tags, which are ordered most often by all the users.
+     *
+     * @param limit is the maximum amount of the tags to return.
+     * @return {@link List<LeaderboardEntry>} from the biggest amount of the orders to the smallest.
+     */
+    @Override
+    public List<LeaderboardEntry> topTags(int limit) {
+        checkLimit(limit);
+        Leaderboards current = leaderboards;
+        return toTagEntries(current.tags.top(limit), current);
+    }
+
+    /**
+     * Returns the tags, which are ordered most often by the user.
+     *
+     * @param userId is the id of the user.
+     * @param limit  is the maximum amount of the tags to return.
+     * @return {@link List<LeaderboardEntry>}, empty if the user has no orders.
+     */
+    @Override
+    public List<LeaderboardEntry> topTagsOfUser(long userId, int limit) {
+        checkLimit(limit);
+        Leaderboards current = leaderboards;
+        Leaderboard<Long, Long> tagsOfUser = current.tagsByUser.get(userId);
+        if (tagsOfUser == null) {
+            return Collections.emptyList();
+        }
+        return toTagEntries(tagsOfUser.top(limit), current);
+    }
+
+    /**
+     * Replaces the leaderboards with the ones read from the aggregates of the orders in the database.
+     * The orders, which are committed while the aggregates are read, can be counted twice or not at all,
+     * so it is done before the requests are served, or after the aggregates are rebuilt.
+     */
+    @Override
+    @PostConstruct
+    public void reseed() {
+        Leaderboards seeded = new Leaderboards();
+        for (UserSpend userSpend : statisticDao.findAllUserSpends()) {
+            seeded.userNames.put(userSpend.getUserId(), userSpend.getNickName());
+            seeded.spenders.add(userSpend.getUserId(), userSpend.getSpend());
+        }
+        for (UserTagCount userTagCount : statisticDao.findAllUserTagCounts()) {
+            seeded.tagNames.put(userTagCount.getTagId(), userTagCount.getTagName());
+            seeded.tags.add(userTagCount.getTagId(), userTagCount.getAmount());
+            seeded.tagsOfUser(userTagCount.getUserId()).add(userTagCount.getTagId(), userTagCount.getAmount());
+        }
+        leaderboards = seeded;
+    }
+
+    /**
+     * Adds the committed {@link Order}s to the leaderboards.
+     *
+     * @param event is the {@link OrderCreatedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        Leaderboards current = leaderboards;
+        for (Order order : event.getOrders()) {
+            long userId = order.getUser().getId();
+            current.userNames.put(userId, order.getUser().getNickName());
+            Leaderboard<Long, Long> tagsOfUser = current.tagsOfUser(userId);
+            BigDecimal spend = BigDecimal.ZERO;
+            for (GiftCertificate giftCertificate : order.getCertificates()) {
+                spend = spend.add(giftCertificate.getPrice());
+                if (giftCertificate.getTags() == null) {
+                    continue;
+                }
+                for (CertificateTag certificateTag : giftCertificate.getTags()) {
+                    current.tagNames.put(certificateTag.getId(), certificateTag.getName());
+                    current.tags.add(certificateTag.getId(), 1L);
+                    tagsOfUser.add(certificateTag.getId(), 1L);
+                }
+            }
+            current.spenders.add(userId, spend);
+        }
+    }
+
+    /**
+     * Renames the committed renamed tag in the leaderboards and removes the deleted one from them.
+     *
+     * @param event is the {@link TagChangedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        Leaderboards current = leaderboards;
+        long tagId = event.getTagId();
+        Optional<CertificateTag> tag = tagDAO.findById(tagId);
+        if (tag.isPresent()) {
+            current.tagNames.put(tagId, tag.get().getName());
+            return;
+        }
+        current.tags.remove(tagId);
+        current.tagsByUser.values().forEach(tagsOfUser -> tagsOfUser.remove(tagId));
+        current.tagNames.remove(tagId);
+    }
+
+    private List<LeaderboardEntry> toTagEntries(List<Leaderboard.Entry<Long, Long>> top, Leaderboards current) {
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        for (Leaderboard.Entry<Long, Long> entry : top) {
+            entries.add(new LeaderboardEntry(entries.size() + 1, entry.getKey(), current.tagNames.get(entry.getKey()),
+                    BigDecimal.valueOf(entry.getScore())));
+        }
+        return entries;
+    }
+
+    private void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LEADERBOARD_LIMIT) {
+            List<String> errorMessage = new ArrayList<>();
+            errorMessage.add(String.format(translator.toLocale("THE_LIMIT_OF_LEADERBOARD_SHOULD_BE_BETWEEN"),
+                    MAX_LEADERBOARD_LIMIT));
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_STATISTIC_NOT_VALID, errorMessage);
+        }
+    }
+
+    // the leaderboards are replaced together, when they are reseeded
+    private static final class Leaderboards {
+        private final Leaderboard<Long, BigDecimal> spenders = new Leaderboard<>(BigDecimal::add);
+        private final Leaderboard<Long, Long> tags = new Leaderboard<>(Long::sum);
+        private final Map<Long, Leaderboard<Long, Long>> tagsByUser = new ConcurrentHashMap<>();
+        private final Map<Long, String> userNames = new ConcurrentHashMap<>();
+        private final Map<Long, String> tagNames = new ConcurrentHashMap<>();
+
+        private Leaderboard<Long, Long> tagsOfUser(long userId) {
+            return tagsByUser.computeIfAbsent(userId, id -> new Leaderboard<>(Long::sum));
+        }
+    }
+}
@@ -3,9 +3,13 @@ package com.epam.esm.service.impl;
 import com.epam.esm.configuration.Translator;
 import com.epam.esm.dao.CertificateDao;
 import com.epam.esm.dao.OrderDao;
+import com.epam.esm.dao.StatisticDao;
 import com.epam.esm.dao.TagDao;
 import com.epam.esm.dao.UserDao;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dao.impl.jdbc.PageCursor;
+import com.epam.esm.dto.OrderBatchResult;
+import com.epam.esm.event.OrderCreatedEvent;
 import com.epam.esm.exception.EntityNotFoundException;
 import com.epam.esm.exception.MethodArgumentNotValidException;
 import com.epam.esm.model.impl.GiftCertificate;
@@ -19,13 +23,22 @@ import com.epam.esm.validator.UserValidator;
 import com.google.gson.Gson;
 import lombok.SneakyThrows;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -36,31 +49,41 @@ public class OrderServiceImpl implements OrderService {
     public static final String ERROR_CODE_TAG_NOT_VALID = "02";
     public static final String ERROR_CODE_USER_NOT_VALID = "04";
     public static final String ERROR_CODE_ORDER_NOT_VALID = "03";
+    public static final int ORDERS_BATCH_CHUNK_SIZE = 500;
+    public static final int MAX_AMOUNT_OF_ORDERS_IN_BATCH = 10000;
 
 
     private final UserDao userDao;
     private final CertificateDao certificateDAO;
     private final TagDao tagDAO;
     private final OrderDao orderDao;
+    private final StatisticDao statisticDao;
     private final CertificateValidator certificateValidator;
     private final TagValidator tagValidator;
     private final UserValidator userValidator;
     private final Translator translator;
     private final OrderValidator orderValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public OrderServiceImpl(UserDao userDao, CertificateDao certificateDAO, TagDao tagDAO, OrderDao orderDao,
-                            CertificateValidator certificateValidator, TagValidator tagValidator,
-                            UserValidator userValidator, Translator translator, OrderValidator orderValidator) {
+                            StatisticDao statisticDao, CertificateValidator certificateValidator,
+                            TagValidator tagValidator, UserValidator userValidator, Translator translator,
+                            OrderValidator orderValidator, TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher) {
         this.userDao = userDao;
         this.certificateDAO = certificateDAO;
         this.tagDAO = tagDAO;
         this.orderDao = orderDao;
+        this.statisticDao = statisticDao;
         this.certificateValidator = certificateValidator;
         this.tagValidator = tagValidator;
         this.userValidator = userValidator;
         this.translator = translator;
         this.orderValidator = orderValidator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     private String checkId(long id, String label) {
@@ -118,9 +141,28 @@ public class OrderServiceImpl implements OrderService {
         int amountEntitiesOnThePage = Integer.parseInt(parameters.get(
                 ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME));
         checkLimitAndOffset(errorMessage, pageNumber, amountEntitiesOnThePage);
+        String after = parameters.get(ColumnNames.AFTER_PARAM_NAME);
+        if (after != null) {
+            return orderDao.findPageAfter(decodeCursor(after), amountEntitiesOnThePage);
+        }
+        String before = parameters.get(ColumnNames.BEFORE_PARAM_NAME);
+        if (before != null) {
+            return orderDao.findPageBefore(decodeCursor(before), amountEntitiesOnThePage);
+        }
         return orderDao.findAllPagination(pageNumber, amountEntitiesOnThePage);
     }
 
+    private long decodeCursor(String cursor) {
+        try {
+            return PageCursor.decodeId(cursor);
+        } catch (IllegalArgumentException exception) {
+            List<String> errorMessage = new ArrayList<>();
+            errorMessage.add(translator.toLocale("THE_CURSOR_IS_NOT_VALID"));
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_ORDER_NOT_VALID, errorMessage);
+        }
+    }
+
     private void checkLimitAndOffset(List<String> errorMessage, int pageNumber, int amountEntitiesOnThePage) {
         if (pageNumber < 0) {
             errorMessage.add(translator.toLocale("THE_PAGE_NUMBER_SHOULD_BE_MORE_THAN_0"));
@@ -135,7 +177,8 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Creates a new {@link Order} in the system.
+     * Creates a new {@link Order} in the system. The order, its lines and the aggregates of its user
+     * are saved in one transaction.
      *
      * @param order is the {@link Order} to create.
      * @return created {@link Order}
@@ -143,23 +186,153 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public Order createOrder(Order order) {
         List<String> errorMessage = new ArrayList<>();
-        checkUserIdAndCertificatesId(order, errorMessage);
+        Map<Long, GiftCertificate> certificatesFromDatabase = findCertificatesOfOrders(Collections.singletonList(order));
+        checkUserIdAndCertificatesId(order, certificatesFromDatabase, errorMessage);
         checkIfOrderCertificateNotEmpty(order, errorMessage);
-        String newOrderName = saveOrderToCertificateRelationInReletionTable(order);
-        return orderDao.findByName(newOrderName).get();
+        return saveOrderToCertificateRelationInReletionTable(order, certificatesFromDatabase);
+    }
+
+    /**
+     * Creates the batch of the new {@link Order}s in the system. The users and the certificates of all the orders
+     * are validated with one query for each, the valid orders are saved in the chunks of
+     * {@link #ORDERS_BATCH_CHUNK_SIZE} orders, every chunk in its own transaction.
+     *
+     * @param orders are the {@link Order}s to create.
+     * @return {@link List<OrderBatchResult>}, one result for every order in the order of the {@param orders}.
+     */
+    @Override
+    public List<OrderBatchResult> createOrders(List<Order> orders) {
+        checkOrdersBatchSize(orders);
+        Map<Long, User> usersFromDatabase = findUsersOfOrders(orders);
+        Map<Long, GiftCertificate> certificatesFromDatabase = findCertificatesOfOrders(orders);
+        OrderBatchResult[] results = new OrderBatchResult[orders.size()];
+        List<Integer> validOrderIndexes = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            List<String> errorMessage = validateOrderOfBatch(orders.get(i), usersFromDatabase, certificatesFromDatabase);
+            if (errorMessage.isEmpty()) {
+                validOrderIndexes.add(i);
+            } else {
+                results[i] = new OrderBatchResult(i, OrderBatchResult.Status.REJECTED, null, errorMessage);
+            }
+        }
+        for (int from = 0; from < validOrderIndexes.size(); from += ORDERS_BATCH_CHUNK_SIZE) {
+            List<Integer> chunk = validOrderIndexes.subList(from,
+                    Math.min(from + ORDERS_BATCH_CHUNK_SIZE, validOrderIndexes.size()));
+            saveChunkOfOrders(orders, chunk, usersFromDatabase, certificatesFromDatabase, results);
+        }
+        return Arrays.asList(results);
     }
 
-    private String saveOrderToCertificateRelationInReletionTable(Order order) {
+    private void checkOrdersBatchSize(List<Order> orders) {
+        List<String> errorMessage = new ArrayList<>();
+        if (orders == null || orders.isEmpty()) {
+            errorMessage.add(translator.toLocale("ORDERS_IN_BATCH_SHOULD_BE_NOT_EMPTY"));
+        } else if (orders.size() > MAX_AMOUNT_OF_ORDERS_IN_BATCH) {
+            errorMessage.add(String.format(translator.toLocale("THE_AMOUNT_OF_ORDERS_IN_BATCH_SHOULD_NOT_BE_MORE_THAN"),
+                    MAX_AMOUNT_OF_ORDERS_IN_BATCH));
+        }
+        if (!errorMessage.isEmpty()) {
+            throw new MethodArgumentNotValidException(ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_ORDER_NOT_VALID,
+                    errorMessage);
+        }
+    }
+
+    private List<String> validateOrderOfBatch(Order order, Map<Long, User> usersFromDatabase,
+                                              Map<Long, GiftCertificate> certificatesFromDatabase) {
+        List<String> errorMessage = new ArrayList<>();
+        if (order.getUser() == null) {
+            errorMessage.add(translator.toLocale("USER_ID_SHOULD_NOT_BE_EMPTY"));
+        } else {
+            checkUserId(order.getUser().getId(), usersFromDatabase.containsKey(order.getUser().getId()), errorMessage);
+        }
+        checkOrdersCertificatesIdAndIfCertificatesWithSuchIdExist(order, certificatesFromDatabase, errorMessage);
+        if (order.getCertificates() == null || order.getCertificates().isEmpty()) {
+            errorMessage.add(translator.toLocale("CERTIFICATES_IN_ORDER_SHOULD_BE_NOT_EMPTY"));
+        }
+        return errorMessage;
+    }
+
+    // the orders and their lines of one chunk are saved together or not saved at all
+    private void saveChunkOfOrders(List<Order> orders, List<Integer> chunk, Map<Long, User> usersFromDatabase,
+                                   Map<Long, GiftCertificate> certificatesFromDatabase, OrderBatchResult[] results) {
+        List<Order> newOrders = new ArrayList<>();
+        for (int index : chunk) {
+            Order order = orders.get(index);
+            User user = usersFromDatabase.get(order.getUser().getId());
+            List<GiftCertificate> certificatesInOrder = new ArrayList<>();
+            for (GiftCertificate certificate : order.getCertificates()) {
+                certificatesInOrder.add(certificatesFromDatabase.get(certificate.getId()));
+            }
+            newOrders.add(new Order(0, user, LocalDateTime.now(), generateUniqueOrderName(user) + "_" + index,
+                    certificatesInOrder));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                orderDao.saveAll(newOrders);
+                orderDao.saveAllInUserorder_certificateTable(newOrders);
+                statisticDao.addOrders(newOrders);
+                eventPublisher.publishEvent(new OrderCreatedEvent(newOrders));
+            });
+        } catch (DataAccessException | TransactionException exception) {
+            for (int index : chunk) {
+                results[index] = new OrderBatchResult(index, OrderBatchResult.Status.FAILED, null,
+                        Collections.singletonList(translator.toLocale("THE_CHUNK_OF_ORDERS_IS_NOT_SAVED")));
+            }
+            return;
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            results[chunk.get(i)] = new OrderBatchResult(chunk.get(i), OrderBatchResult.Status.CREATED,
+                    newOrders.get(i), new ArrayList<>());
+        }
+    }
+
+    private Map<Long, User> findUsersOfOrders(List<Order> orders) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Order order : orders) {
+            if (order.getUser() != null && order.getUser().getId() > 0) {
+                ids.add(order.getUser().getId());
+            }
+        }
+        Map<Long, User> usersFromDatabase = new HashMap<>();
+        userDao.findAllByIds(ids).forEach(user -> usersFromDatabase.put(user.getId(), user));
+        return usersFromDatabase;
+    }
+
+    // one lookup of all the certificates of the orders, the result is used for the validation and for the snapshots
+    private Map<Long, GiftCertificate> findCertificatesOfOrders(List<Order> orders) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Order order : orders) {
+            if (order.getCertificates() == null) {
+                continue;
+            }
+            for (GiftCertificate certificate : order.getCertificates()) {
+                if (certificate.getId() > 0) {
+                    ids.add(certificate.getId());
+                }
+            }
+        }
+        Map<Long, GiftCertificate> certificatesFromDatabase = new HashMap<>();
+        certificateDAO.findAllByIds(ids)
+                .forEach(certificate -> certificatesFromDatabase.put(certificate.getId(), certificate));
+        return certificatesFromDatabase;
+    }
+
+    private Order saveOrderToCertificateRelationInReletionTable(Order order,
+                                                               Map<Long, GiftCertificate> certificatesFromDatabase) {
         User userFromDatabase = userDao.findById(order.getUser().getId()).get();
-        String newOrderName = createNewOrder(order, userFromDatabase);
-        Order orderFromDB = orderDao.findByName(newOrderName).get();
+        List<GiftCertificate> certificatesInOrder = new ArrayList<>();
         for (GiftCertificate certificate : order.getCertificates()) {
-
-            GiftCertificate certificateToAddToOrder = certificateDAO.findById(certificate.getId()).get();
-            orderDao.saveIdsInUserorder_certificateTable(orderFromDB.getId(), certificate.getId(),
-                    certificateToAddToOrder, certificateToAddToOrder.getPrice());
+            certificatesInOrder.add(certificatesFromDatabase.get(certificate.getId()));
         }
-        return newOrderName;
+        return transactionTemplate.execute(status -> {
+            Order savedOrder = createNewOrder(order, userFromDatabase);
+            orderDao.saveAllInUserorder_certificateTable(savedOrder.getId(), certificatesInOrder);
+            Order createdOrder = new Order(savedOrder.getId(), userFromDatabase, savedOrder.getCreateDate(),
+                    savedOrder.getName(), certificatesInOrder);
+            statisticDao.addOrders(Collections.singletonList(createdOrder));
+            eventPublisher.publishEvent(new OrderCreatedEvent(Collections.singletonList(createdOrder)));
+            return createdOrder;
+        });
     }
 
     private void checkIfOrderCertificateNotEmpty(Order order, List<String> errorMessage) {
@@ -169,22 +342,26 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
-    private String createNewOrder(Order order, User user) {
+    private Order createNewOrder(Order order, User user) {
         String name = generateUniqueOrderName(user);
         Order newOrder = new Order(0, order.getUser(), LocalDateTime.now(), name, order.getCertificates());
-        orderDao.save(newOrder);
-        return name;
+        return orderDao.save(newOrder);
     }
 
-    private void checkUserIdAndCertificatesId(Order order, List<String> errorMessage) {
+    private void checkUserIdAndCertificatesId(Order order, Map<Long, GiftCertificate> certificatesFromDatabase,
+                                              List<String> errorMessage) {
         checkUserIdAndIfUserWithSuchIdExistInDatabase(order, errorMessage);
-        checkOrdersCertificatesIdAndIfCertificatesWithSuchIdExist(order, errorMessage);
+        checkOrdersCertificatesIdAndIfCertificatesWithSuchIdExist(order, certificatesFromDatabase, errorMessage);
         if (!errorMessage.isEmpty()) {
             throw new EntityNotFoundException(ERROR_CODE_ENTITY_NOT_FOUND + ERROR_CODE_ORDER_NOT_VALID, errorMessage);
         }
     }
 
-    private void checkOrdersCertificatesIdAndIfCertificatesWithSuchIdExist(Order order, List<String> errorMessage) {
+    private void checkOrdersCertificatesIdAndIfCertificatesWithSuchIdExist(
+            Order order, Map<Long, GiftCertificate> certificatesFromDatabase, List<String> errorMessage) {
+        if (order.getCertificates() == null) {
+            return;
+        }
         for (GiftCertificate certificate : order.getCertificates()) {
             if (certificate.getId() == 0) {
                 errorMessage.add(translator.toLocale("CERTIFICATE_ID_SHOULD_NOT_BE_EMPTY"));
@@ -193,7 +370,7 @@ public class OrderServiceImpl implements OrderService {
                 errorMessage.add(String.format(translator.toLocale("SOME_ID_SHOULD_NOT_BE_LESS_THAN_ONE"),
                         ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_ID));
             }
-            if (!certificateDAO.findById(certificate.getId()).isPresent()) {
+            if (!certificatesFromDatabase.containsKey(certificate.getId())) {
                 errorMessage.add(String.format(translator.toLocale(
                         "THERE_IS_NO_A_CERTIFICATE_WITH_SUCH_AN_ID_IN_DATABASE"), certificate.getId()));
             }
@@ -201,16 +378,20 @@ public class OrderServiceImpl implements OrderService {
     }
 
     private void checkUserIdAndIfUserWithSuchIdExistInDatabase(Order order, List<String> errorMessage) {
-        if (order.getUser().getId() == 0) {
+        checkUserId(order.getUser().getId(), userDao.findById(order.getUser().getId()).isPresent(), errorMessage);
+    }
+
+    private void checkUserId(long userId, boolean isUserInDatabase, List<String> errorMessage) {
+        if (userId == 0) {
             errorMessage.add(translator.toLocale("USER_ID_SHOULD_NOT_BE_EMPTY"));
         }
-        if (order.getUser().getId() < 0) {
+        if (userId < 0) {
             errorMessage.add(String.format(translator.toLocale("SOME_ID_SHOULD_NOT_BE_LESS_THAN_ONE"),
                     ColumnNames.TABLE_USER_COLUMN_ID));
         }
-        if (!userDao.findById(order.getUser().getId()).isPresent()) {
+        if (!isUserInDatabase) {
             errorMessage.add(String.format(translator.toLocale("THERE_IS_NO_A_USER_WITH_SUCH_AN_ID_IN_DATABASE"),
-                    order.getUser().getId()));
+                    userId));
         }
     }
 
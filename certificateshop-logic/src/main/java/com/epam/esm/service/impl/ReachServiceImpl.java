@@ -0,0 +1,195 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.configuration.Translator;
+import com.epam.esm.dao.ReachDao;
+import com.epam.esm.dto.Reach;
+import com.epam.esm.dto.ReachSketch;
+import com.epam.esm.event.OrderCreatedEvent;
+import com.epam.esm.exception.MethodArgumentNotValidException;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import com.epam.esm.service.ReachService;
+import com.epam.esm.statistic.HyperLogLog;
+import com.epam.esm.statistic.ReachType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the {@link HyperLogLog} sketch of the ids of the buyers of every certificate and every tag
+ * in the memory, so the reach is estimated without a query to the database. The sketches are loaded
+ * from the 'reach_sketch' table, when the application is started, are updated by the orders after
+ * their transaction is committed and the changed ones are saved to the table periodically and on shutdown.
+ * The saved sketch is merged with the sketch of the node, before it is replaced, so the nodes, which save
+ * the sketches to the same table, do not lose the buyers counted by each other.
+ */
+@Service
+public class ReachServiceImpl implements ReachService {
+    public static final String ERROR_CODE_METHOD_ARGUMENT_NOT_VALID = "400";
+    public static final String ERROR_CODE_STATISTIC_NOT_VALID = "05";
+    public static final int MAX_AMOUNT_OF_IDS = 100;
+    public static final int FLUSH_CHUNK_SIZE = 500;
+    // about 95% of the estimates are within two standard errors
+    private static final double CONFIDENCE_INTERVAL = 2 * HyperLogLog.STANDARD_ERROR;
+
+    private final ReachDao reachDao;
+    private final TransactionTemplate transactionTemplate;
+    private final Translator translator;
+    private final Map<ReachType, Map<Long, HyperLogLog>> sketchesByType = new EnumMap<>(ReachType.class);
+    private final Map<ReachType, Set<Long>> changedIdsByType = new EnumMap<>(ReachType.class);
+
+    @Autowired
+    public ReachServiceImpl(ReachDao reachDao, TransactionTemplate transactionTemplate, Translator translator) {
+        this.reachDao = reachDao;
+        this.transactionTemplate = transactionTemplate;
+        this.translator = translator;
+        for (ReachType type : ReachType.values()) {
+            sketchesByType.put(type, new ConcurrentHashMap<>());
+            changedIdsByType.put(type, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Estimates the amount of the distinct users by the union of the sketches of the certificates and the tags.
+     *
+     * @param certificateIds are the ids of the certificates, may be empty.
+     * @param tagIds         are the ids of the tags, may be empty.
+     * @return {@link Reach}.
+     */
+    @Override
+    public Reach reach(List<Long> certificateIds, List<Long> tagIds) {
+        List<Long> certificates = certificateIds != null ? certificateIds : Collections.emptyList();
+        List<Long> tags = tagIds != null ? tagIds : Collections.emptyList();
+        int amountOfIds = certificates.size() + tags.size();
+        if (amountOfIds < 1 || amountOfIds > MAX_AMOUNT_OF_IDS) {
+            List<String> errorMessage = new ArrayList<>();
+            errorMessage.add(String.format(translator.toLocale("THE_AMOUNT_OF_REACH_IDS_SHOULD_BE_BETWEEN"),
+                    MAX_AMOUNT_OF_IDS));
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_STATISTIC_NOT_VALID, errorMessage);
+        }
+        List<HyperLogLog> sketches = new ArrayList<>(amountOfIds);
+        addSketches(ReachType.CERTIFICATE, certificates, sketches);
+        addSketches(ReachType.TAG, tags, sketches);
+        long distinctBuyers;
+        if (sketches.size() == 1) {
+            distinctBuyers = sketches.get(0).cardinality();
+        } else {
+            HyperLogLog union = new HyperLogLog();
+            sketches.forEach(union::merge);
+            distinctBuyers = union.cardinality();
+        }
+        return new Reach(certificates, tags, distinctBuyers, HyperLogLog.STANDARD_ERROR,
+                (long) Math.floor(distinctBuyers * (1 - CONFIDENCE_INTERVAL)),
+                (long) Math.ceil(distinctBuyers * (1 + CONFIDENCE_INTERVAL)));
+    }
+
+    /**
+     * Merges the changed sketches with the saved ones and saves them, every chunk of the sketches
+     * in its own transaction. The chunk, which is not saved, is saved next time.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${statistics.reach.flush-delay-millis:60000}")
+    @PreDestroy
+    public void flush() {
+        for (ReachType type : ReachType.values()) {
+            Set<Long> changedIds = changedIdsByType.get(type);
+            List<Long> ids = new ArrayList<>(changedIds);
+            ids.forEach(changedIds::remove);
+            for (int from = 0; from < ids.size(); from += FLUSH_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, ids.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> flushChunk(type, chunk));
+                } catch (RuntimeException e) {
+                    changedIds.addAll(ids.subList(from, ids.size()));
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the buyers of all the certificates and the tags from the 'userorder_certificate' table
+     * to the sketches and saves them.
+     */
+    @Override
+    public void rebuild() {
+        for (ReachType type : ReachType.values()) {
+            reachDao.streamBuyers(type, (id, userId) -> offer(type, id, userId));
+        }
+        flush();
+    }
+
+    /**
+     * Loads the saved sketches.
+     */
+    @PostConstruct
+    public void load() {
+        for (ReachSketch reachSketch : reachDao.findAll()) {
+            sketchesByType.get(reachSketch.getType())
+                    .put(reachSketch.getId(), HyperLogLog.fromBytes(reachSketch.getRegisters()));
+        }
+    }
+
+    /**
+     * Adds the buyers of the committed {@link Order}s to the sketches of their certificates and tags.
+     *
+     * @param event is the {@link OrderCreatedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        for (Order order : event.getOrders()) {
+            long userId = order.getUser().getId();
+            for (GiftCertificate giftCertificate : order.getCertificates()) {
+                offer(ReachType.CERTIFICATE, giftCertificate.getId(), userId);
+                if (giftCertificate.getTags() == null) {
+                    continue;
+                }
+                for (CertificateTag certificateTag : giftCertificate.getTags()) {
+                    offer(ReachType.TAG, certificateTag.getId(), userId);
+                }
+            }
+        }
+    }
+
+    private void offer(ReachType type, long id, long userId) {
+        sketchesByType.get(type).computeIfAbsent(id, key -> new HyperLogLog()).offer(userId);
+        // the id is marked after the sketch is changed, so the flush, which unmarks it, saves the change
+        changedIdsByType.get(type).add(id);
+    }
+
+    private void flushChunk(ReachType type, List<Long> ids) {
+        Map<Long, HyperLogLog> sketches = sketchesByType.get(type);
+        for (ReachSketch savedSketch : reachDao.findByIdsForUpdate(type, ids)) {
+            sketches.get(savedSketch.getId()).merge(HyperLogLog.fromBytes(savedSketch.getRegisters()));
+        }
+        List<ReachSketch> reachSketches = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            reachSketches.add(new ReachSketch(type, id, sketches.get(id).toBytes()));
+        }
+        reachDao.saveAll(reachSketches);
+    }
+
+    private void addSketches(ReachType type, List<Long> ids, List<HyperLogLog> sketches) {
+        Map<Long, HyperLogLog> sketchesOfType = sketchesByType.get(type);
+        for (Long id : ids) {
+            HyperLogLog sketch = sketchesOfType.get(id);
+            if (sketch != null) {
+                sketches.add(sketch);
+            }
+        }
+    }
+}
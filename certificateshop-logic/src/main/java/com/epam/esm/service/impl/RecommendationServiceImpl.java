@@ -0,0 +1,185 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.configuration.Translator;
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.dao.OrderDao;
+import com.epam.esm.dto.RelatedCertificate;
+import com.epam.esm.event.OrderCreatedEvent;
+import com.epam.esm.exception.EntityNotFoundException;
+import com.epam.esm.exception.MethodArgumentNotValidException;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import com.epam.esm.service.RecommendationService;
+import com.epam.esm.statistic.CoOccurrenceMatrix;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps the {@link CoOccurrenceMatrix} of the ordered certificates in the memory, so the related certificates
+ * are read from the row of the certificate without a query of the orders. The matrix is rebuilt from the
+ * 'userorder_certificate' table, when the application is started, the ids of the orders are split into
+ * the ranges, which are read in parallel. The matrix is updated by the orders after their transaction
+ * is committed.
+ * The certificates are read by the id from the cache of the certificates, the deleted ones are removed
+ * from the matrix, when they are met.
+ */
+@Service
+public class RecommendationServiceImpl implements RecommendationService {
+    public static final String ERROR_CODE_ENTITY_NOT_FOUND = "404";
+    public static final String ERROR_CODE_METHOD_ARGUMENT_NOT_VALID = "400";
+    public static final String ERROR_CODE_CERTIFICATE_NOT_VALID = "01";
+    public static final int MAX_AMOUNT_OF_CERTIFICATES = 100;
+    public static final int MAX_REBUILD_THREADS = 4;
+    public static final long MIN_ORDERS_PER_RANGE = 10000;
+
+    private final OrderDao orderDao;
+    private final CertificateDao certificateDAO;
+    private final Translator translator;
+    private volatile CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+
+    @Autowired
+    public RecommendationServiceImpl(OrderDao orderDao, CertificateDao certificateDAO, Translator translator) {
+        this.orderDao = orderDao;
+        this.certificateDAO = certificateDAO;
+        this.translator = translator;
+    }
+
+    /**
+     * Returns the certificates, which are bought together with the certificate most often.
+     *
+     * @param certificateId is the id of the certificate.
+     * @param limit         is the maximum amount of the certificates to return.
+     * @return {@link List<RelatedCertificate>} from the biggest amount of the orders to the smallest.
+     */
+    @Override
+    public List<RelatedCertificate> relatedCertificates(long certificateId, int limit) {
+        checkLimit(limit);
+        if (!certificateDAO.findById(certificateId).isPresent()) {
+            List<String> errorMessage = new ArrayList<>();
+            errorMessage.add(String.format(translator
+                    .toLocale("THERE_IS_NO_A_CERTIFICATE_WITH_SUCH_AN_ID_IN_DATABASE"), certificateId));
+            throw new EntityNotFoundException(
+                    ERROR_CODE_ENTITY_NOT_FOUND + ERROR_CODE_CERTIFICATE_NOT_VALID, errorMessage);
+        }
+        CoOccurrenceMatrix currentMatrix = matrix;
+        List<RelatedCertificate> relatedCertificates = new ArrayList<>();
+        boolean deletedCertificateFound = true;
+        while (deletedCertificateFound) {
+            deletedCertificateFound = false;
+            relatedCertificates.clear();
+            for (Map.Entry<Long, Long> entry : currentMatrix.top(certificateId, limit)) {
+                Optional<GiftCertificate> giftCertificate = certificateDAO.findById(entry.getKey());
+                if (!giftCertificate.isPresent()) {
+                    currentMatrix.remove(entry.getKey());
+                    deletedCertificateFound = true;
+                    continue;
+                }
+                relatedCertificates.add(new RelatedCertificate(entry.getKey(), giftCertificate.get().getName(),
+                        giftCertificate.get().getPrice(), entry.getValue()));
+            }
+        }
+        return relatedCertificates;
+    }
+
+    /**
+     * Recalculates the matrix from the 'userorder_certificate' table, the ranges of the ids of the orders
+     * are read by the different threads into the same matrix.
+     */
+    @Override
+    @PostConstruct
+    public void rebuild() {
+        long maxId = orderDao.findMaxId();
+        int amountOfRanges = (int) Math.max(1, Math.min(MAX_REBUILD_THREADS, maxId / MIN_ORDERS_PER_RANGE));
+        long rangeSize = (maxId + amountOfRanges - 1) / amountOfRanges;
+        CoOccurrenceMatrix rebuiltMatrix = new CoOccurrenceMatrix();
+        ExecutorService executorService = Executors.newFixedThreadPool(amountOfRanges);
+        try {
+            List<Future<?>> futures = new ArrayList<>(amountOfRanges);
+            for (int i = 0; i < amountOfRanges; i++) {
+                long afterId = i * rangeSize;
+                long toId = Math.min(maxId, afterId + rangeSize);
+                futures.add(executorService.submit(() -> {
+                    BasketCollector basketCollector = new BasketCollector(rebuiltMatrix);
+                    orderDao.streamCertificateIds(afterId, toId, basketCollector);
+                    basketCollector.addLastBasket();
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+        matrix = rebuiltMatrix;
+    }
+
+    /**
+     * Adds the certificates of every committed {@link Order} to the matrix.
+     *
+     * @param event is the {@link OrderCreatedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        CoOccurrenceMatrix currentMatrix = matrix;
+        for (Order order : event.getOrders()) {
+            List<Long> basket = new ArrayList<>(order.getCertificates().size());
+            order.getCertificates().forEach(giftCertificate -> basket.add(giftCertificate.getId()));
+            currentMatrix.addBasket(basket);
+        }
+    }
+
+    private void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_AMOUNT_OF_CERTIFICATES) {
+            List<String> errorMessage = new ArrayList<>();
+            errorMessage.add(String.format(translator.toLocale("THE_LIMIT_OF_RELATED_CERTIFICATES_SHOULD_BE_BETWEEN"),
+                    MAX_AMOUNT_OF_CERTIFICATES));
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_CERTIFICATE_NOT_VALID, errorMessage);
+        }
+    }
+
+    /**
+     * Collects the ids of the certificates of one order, the rows of the order follow each other,
+     * and adds them to the matrix, when the rows of the next order begin.
+     */
+    private static final class BasketCollector implements BiConsumer<Long, Long> {
+        private final CoOccurrenceMatrix matrix;
+        private final List<Long> basket = new ArrayList<>();
+        private long orderId = -1;
+
+        private BasketCollector(CoOccurrenceMatrix matrix) {
+            this.matrix = matrix;
+        }
+
+        @Override
+        public void accept(Long orderId, Long certificateId) {
+            if (orderId != this.orderId) {
+                addLastBasket();
+                this.orderId = orderId;
+            }
+            basket.add(certificateId);
+        }
+
+        private void addLastBasket() {
+            matrix.addBasket(basket);
+            basket.clear();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.dao.StatisticDao;
+import com.epam.esm.service.StatisticService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the aggregates of the orders, the aggregates are replaced in one transaction,
+ * so the statistics are never read from the half rebuilt tables.
+ */
+@Transactional
+@Service
+public class StatisticServiceImpl implements StatisticService {
+    private final StatisticDao statisticDao;
+
+    @Autowired
+    public StatisticServiceImpl(StatisticDao statisticDao) {
+        this.statisticDao = statisticDao;
+    }
+
+    /**
+     * Recalculates the aggregates of all the users from their orders.
+     */
+    @Override
+    public void rebuildStatistics() {
+        statisticDao.rebuild();
+    }
+}
@@ -3,9 +3,13 @@ package com.epam.esm.service.impl;
 import com.epam.esm.configuration.Translator;
 import com.epam.esm.dao.TagDao;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dao.impl.jdbc.PageCursor;
+import com.epam.esm.dto.TagSuggestion;
 import com.epam.esm.exception.DuplicateException;
 import com.epam.esm.exception.EntityNotFoundException;
 import com.epam.esm.exception.MethodArgumentNotValidException;
+import com.epam.esm.index.NameDictionary;
+import com.epam.esm.index.TagSuggester;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.model.impl.GiftCertificate;
 import com.epam.esm.model.impl.User;
@@ -27,14 +31,23 @@ public class TagServiceImpl implements TagService {
     public static final String ERROR_CODE_ENTITY_NOT_FOUND = "404";
     public static final String ERROR_CODE_METHOD_ARGUMENT_NOT_VALID = "400";
     public static final String ERROR_CODE_TAG_NOT_VALID = "02";
+    public static final int MAX_EDIT_DISTANCE = 3;
+    public static final int MAX_AMOUNT_OF_SIMILAR_NAMES = 20;
+    public static final int MAX_AMOUNT_OF_SUGGESTIONS = 50;
+    public static final int MAX_LENGTH_OF_PREFIX = 20;
     private final TagDao tagDAO;
     private final TagValidator tagValidator;
+    private final NameDictionary nameDictionary;
+    private final TagSuggester tagSuggester;
     private final Translator translator;
 
     @Autowired
-    public TagServiceImpl(TagDao tagDAO, TagValidator tagValidator, Translator translator) {
+    public TagServiceImpl(TagDao tagDAO, TagValidator tagValidator, NameDictionary nameDictionary,
+                          TagSuggester tagSuggester, Translator translator) {
         this.tagDAO = tagDAO;
         this.tagValidator = tagValidator;
+        this.nameDictionary = nameDictionary;
+        this.tagSuggester = tagSuggester;
         this.translator = translator;
     }
 
@@ -48,8 +61,7 @@ public class TagServiceImpl implements TagService {
         checkTagIfExistInSystem(certificateTag);
         tagValidator.validateTag(certificateTag, true);
         CertificateTag certificateTag1 = new CertificateTag(0, certificateTag.getName());
-        tagDAO.save(certificateTag1);
-        return findCertificateTagByName(certificateTag1.getName());
+        return tagDAO.save(certificateTag1);
     }
 
     private void checkTagIfExistInSystem(CertificateTag certificateTag) {
@@ -72,9 +84,28 @@ public class TagServiceImpl implements TagService {
         int pageNumber = Integer.parseInt(parameters.get(ColumnNames.PAGE_NUMBER_PARAM_NAME));
         int amountEntitiesOnThePage = Integer.parseInt(parameters.get(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME));
         checkLimitAndOffset(errorMessage, pageNumber, amountEntitiesOnThePage);
+        String after = parameters.get(ColumnNames.AFTER_PARAM_NAME);
+        if (after != null) {
+            return tagDAO.findPageAfter(decodeCursor(after), amountEntitiesOnThePage);
+        }
+        String before = parameters.get(ColumnNames.BEFORE_PARAM_NAME);
+        if (before != null) {
+            return tagDAO.findPageBefore(decodeCursor(before), amountEntitiesOnThePage);
+        }
         return tagDAO.findAllPagination(pageNumber, amountEntitiesOnThePage);
     }
 
+    private long decodeCursor(String cursor) {
+        try {
+            return PageCursor.decodeId(cursor);
+        } catch (IllegalArgumentException exception) {
+            List<String> errorMessage = new ArrayList<>();
+            errorMessage.add(translator.toLocale("THE_CURSOR_IS_NOT_VALID"));
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_TAG_NOT_VALID, errorMessage);
+        }
+    }
+
     private void checkLimitAndOffset(List<String> errorMessage, int pageNumber, int amountEntitiesOnThePage) {
         if (pageNumber < 0) {
             errorMessage.add(translator.toLocale("THE_PAGE_NUMBER_SHOULD_BE_MORE_THAN_0"));
@@ -190,6 +221,66 @@ public class TagServiceImpl implements TagService {
         }
     }
 
+    /**
+     * Returns the {@link CertificateTag}s with the names within the edit distance from the name. The names are found
+     * in the {@link NameDictionary}, so only the found tags are read by the id.
+     *
+     * @param name        is the name of the {@link CertificateTag} to find in the system, the case is ignored.
+     * @param maxDistance is the maximum amount of the inserted, deleted and replaced characters.
+     * @return {@link List<CertificateTag>} from the closest name to the farthest one.
+     */
+    @Override
+    public List<CertificateTag> findCertificateTagsBySimilarName(String name, int maxDistance) {
+        checkSimilarNameParameters(name, maxDistance);
+        List<Long> ids = nameDictionary.findTagIds(name, maxDistance);
+        List<CertificateTag> tags = new ArrayList<>();
+        for (int i = 0; i < ids.size() && tags.size() < MAX_AMOUNT_OF_SIMILAR_NAMES; i++) {
+            tagDAO.findById(ids.get(i)).ifPresent(tags::add);
+        }
+        return tags;
+    }
+
+    private void checkSimilarNameParameters(String name, int maxDistance) {
+        List<String> errorMessage = new ArrayList<>();
+        if (name == null || name.trim().isEmpty()) {
+            errorMessage.add(translator.toLocale("THE_NAME_TO_LOOK_UP_SHOULD_NOT_BE_EMPTY"));
+        }
+        if (maxDistance < 0 || maxDistance > MAX_EDIT_DISTANCE) {
+            errorMessage.add(String.format(translator.toLocale("THE_EDIT_DISTANCE_SHOULD_BE_BETWEEN"),
+                    MAX_EDIT_DISTANCE));
+        }
+        if (!errorMessage.isEmpty()) {
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_TAG_NOT_VALID, errorMessage);
+        }
+    }
+
+    /**
+     * Returns the {@link CertificateTag}s with the names, which start with the prefix, from the {@link TagSuggester},
+     * so the suggestions are answered without a query to the database.
+     *
+     * @param prefix is the beginning of the names, the case is ignored.
+     * @param limit  is the maximum amount of the tags to return.
+     * @return {@link List<TagSuggestion>} from the biggest amount of the certificates to the smallest one.
+     */
+    @Override
+    public List<TagSuggestion> suggestCertificateTags(String prefix, int limit) {
+        List<String> errorMessage = new ArrayList<>();
+        if (prefix == null || prefix.isEmpty() || prefix.length() > MAX_LENGTH_OF_PREFIX) {
+            errorMessage.add(String.format(translator.toLocale("THE_PREFIX_OF_TAG_NAME_SHOULD_NOT_BE_EMPTY"),
+                    MAX_LENGTH_OF_PREFIX));
+        }
+        if (limit < 1 || limit > MAX_AMOUNT_OF_SUGGESTIONS) {
+            errorMessage.add(String.format(translator.toLocale("THE_LIMIT_OF_TAG_SUGGESTIONS_SHOULD_BE_BETWEEN"),
+                    MAX_AMOUNT_OF_SUGGESTIONS));
+        }
+        if (!errorMessage.isEmpty()) {
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_TAG_NOT_VALID, errorMessage);
+        }
+        return tagSuggester.suggest(prefix, limit);
+    }
+
     /**
      * Returns the most popular {@link CertificateTag} of the {@link User}
      * with the biggest sum of order price.
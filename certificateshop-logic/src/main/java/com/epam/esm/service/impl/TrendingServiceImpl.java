@@ -0,0 +1,228 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.configuration.Translator;
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.dto.Trending;
+import com.epam.esm.dto.TrendingCounter;
+import com.epam.esm.dto.TrendingSnapshot;
+import com.epam.esm.event.OrderCreatedEvent;
+import com.epam.esm.exception.MethodArgumentNotValidException;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import com.epam.esm.service.TrendingService;
+import com.epam.esm.statistic.SpaceSaving;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts the orders of the certificates in the Space-Saving sketches of {@link #CAPACITY} counters,
+ * so the memory does not depend on the amount of the orders. The sketch is replaced every {@link #PERIOD_MILLIS},
+ * the trending certificates are the ones of the current and the previous sketch merged, so they are the ones
+ * of the last 10 to 20 minutes. The sketches are updated by the orders after their transaction is committed.
+ * Only the ids are counted, the names of the returned certificates are read by the ids from the cache
+ * of the certificates, so the names of the evicted and the merged certificates are not kept.
+ */
+@Service
+public class TrendingServiceImpl implements TrendingService {
+    public static final String ERROR_CODE_METHOD_ARGUMENT_NOT_VALID = "400";
+    public static final String ERROR_CODE_STATISTIC_NOT_VALID = "05";
+    public static final int CAPACITY = 1000;
+    public static final long PERIOD_MILLIS = 10 * 60 * 1000L;
+    public static final int MAX_AMOUNT_OF_CERTIFICATES = 100;
+    public static final int MAX_AMOUNT_OF_SNAPSHOTS = 100;
+    public static final int MAX_CAPACITY_OF_SNAPSHOT = 10000;
+
+    private final CertificateDao certificateDAO;
+    private final Translator translator;
+    private final Clock clock;
+    private volatile Sketches sketches;
+
+    @Autowired
+    public TrendingServiceImpl(CertificateDao certificateDAO, Translator translator, Clock clock) {
+        this.certificateDAO = certificateDAO;
+        this.translator = translator;
+        this.clock = clock;
+        sketches = new Sketches(currentPeriod(), new SpaceSaving<>(CAPACITY), new SpaceSaving<>(CAPACITY));
+    }
+
+    /**
+     * Returns the certificates, which are ordered most often on this node.
+     *
+     * @param limit is the maximum amount of the certificates to return.
+     * @return {@link Trending}.
+     */
+    @Override
+    public Trending trending(int limit) {
+        checkLimit(limit);
+        SpaceSaving<Long> sketch = localSketch();
+        return toTrending(sketch, sketch.getMaxError(), limit);
+    }
+
+    /**
+     * Returns the merged current and previous sketches of this node.
+     *
+     * @return {@link TrendingSnapshot}.
+     */
+    @Override
+    public TrendingSnapshot snapshot() {
+        SpaceSaving<Long> sketch = localSketch();
+        return new TrendingSnapshot(sketch.getCapacity(), sketch.getTotalCount(), toCounters(sketch.counters()));
+    }
+
+    /**
+     * Merges the sketch of this node with the snapshots of the other nodes. The error of the merged counts
+     * is the sum of the errors of the merged sketches.
+     *
+     * @param snapshots are the {@link TrendingSnapshot}s of the other nodes.
+     * @param limit     is the maximum amount of the certificates to return.
+     * @return {@link Trending}.
+     */
+    @Override
+    public Trending merge(List<TrendingSnapshot> snapshots, int limit) {
+        checkLimit(limit);
+        checkSnapshots(snapshots);
+        SpaceSaving<Long> merged = localSketch();
+        long maxError = merged.getMaxError();
+        for (TrendingSnapshot snapshot : snapshots) {
+            List<SpaceSaving.Counter<Long>> counters = new ArrayList<>(snapshot.getCounters().size());
+            for (TrendingCounter counter : snapshot.getCounters()) {
+                counters.add(new SpaceSaving.Counter<>(counter.getId(), counter.getCount(), counter.getError()));
+            }
+            SpaceSaving<Long> sketch = SpaceSaving.of(snapshot.getCapacity(), snapshot.getTotalCount(), counters);
+            maxError += sketch.getMaxError();
+            merged = merged.merge(sketch);
+        }
+        return toTrending(merged, maxError, limit);
+    }
+
+    /**
+     * Counts the certificates of the committed {@link Order}s.
+     *
+     * @param event is the {@link OrderCreatedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        SpaceSaving<Long> current = currentSketches().current;
+        for (Order order : event.getOrders()) {
+            for (GiftCertificate giftCertificate : order.getCertificates()) {
+                current.offer(giftCertificate.getId(), 1L);
+            }
+        }
+    }
+
+    private SpaceSaving<Long> localSketch() {
+        Sketches currentSketches = currentSketches();
+        return currentSketches.previous.merge(currentSketches.current);
+    }
+
+    private Sketches currentSketches() {
+        long period = currentPeriod();
+        Sketches currentSketches = sketches;
+        if (currentSketches.period == period) {
+            return currentSketches;
+        }
+        synchronized (this) {
+            currentSketches = sketches;
+            if (currentSketches.period != period) {
+                SpaceSaving<Long> previous = currentSketches.period == period - 1
+                        ? currentSketches.current
+                        : new SpaceSaving<>(CAPACITY);
+                currentSketches = new Sketches(period, previous, new SpaceSaving<>(CAPACITY));
+                sketches = currentSketches;
+            }
+            return currentSketches;
+        }
+    }
+
+    private long currentPeriod() {
+        return clock.millis() / PERIOD_MILLIS;
+    }
+
+    private Trending toTrending(SpaceSaving<Long> sketch, long maxError, int limit) {
+        return new Trending(sketch.getTotalCount(), maxError, toCounters(sketch.top(limit)));
+    }
+
+    // the names are read in one lookup, the deleted certificates are returned without the names
+    private List<TrendingCounter> toCounters(List<SpaceSaving.Counter<Long>> counters) {
+        List<Long> ids = new ArrayList<>(counters.size());
+        counters.forEach(counter -> ids.add(counter.getKey()));
+        Map<Long, String> certificateNames = new HashMap<>();
+        if (!ids.isEmpty()) {
+            certificateDAO.findAllByIds(ids).forEach(giftCertificate ->
+                    certificateNames.put(giftCertificate.getId(), giftCertificate.getName()));
+        }
+        List<TrendingCounter> trendingCounters = new ArrayList<>(counters.size());
+        for (SpaceSaving.Counter<Long> counter : counters) {
+            trendingCounters.add(new TrendingCounter(counter.getKey(), certificateNames.get(counter.getKey()),
+                    counter.getCount(), counter.getError()));
+        }
+        return trendingCounters;
+    }
+
+    private void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_AMOUNT_OF_CERTIFICATES) {
+            List<String> errorMessage = new ArrayList<>();
+            errorMessage.add(String.format(translator.toLocale("THE_LIMIT_OF_LEADERBOARD_SHOULD_BE_BETWEEN"),
+                    MAX_AMOUNT_OF_CERTIFICATES));
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_STATISTIC_NOT_VALID, errorMessage);
+        }
+    }
+
+    private void checkSnapshots(List<TrendingSnapshot> snapshots) {
+        List<String> errorMessage = new ArrayList<>();
+        if (snapshots == null || snapshots.isEmpty() || snapshots.size() > MAX_AMOUNT_OF_SNAPSHOTS) {
+            errorMessage.add(String.format(translator.toLocale("THE_AMOUNT_OF_TRENDING_SNAPSHOTS_SHOULD_BE_BETWEEN"),
+                    MAX_AMOUNT_OF_SNAPSHOTS));
+        } else {
+            for (TrendingSnapshot snapshot : snapshots) {
+                if (!isValid(snapshot)) {
+                    errorMessage.add(String.format(translator.toLocale("THE_SNAPSHOT_OF_TRENDING_IS_NOT_VALID"),
+                            MAX_CAPACITY_OF_SNAPSHOT));
+                    break;
+                }
+            }
+        }
+        if (!errorMessage.isEmpty()) {
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_STATISTIC_NOT_VALID, errorMessage);
+        }
+    }
+
+    private boolean isValid(TrendingSnapshot snapshot) {
+        if (snapshot == null || snapshot.getCapacity() < 1 || snapshot.getCapacity() > MAX_CAPACITY_OF_SNAPSHOT
+                || snapshot.getTotalCount() < 0 || snapshot.getCounters() == null
+                || snapshot.getCounters().size() > snapshot.getCapacity()) {
+            return false;
+        }
+        Set<Long> ids = new HashSet<>();
+        for (TrendingCounter counter : snapshot.getCounters()) {
+            if (counter == null || counter.getError() < 0 || counter.getCount() < counter.getError()
+                    || !ids.add(counter.getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Sketches {
+        private final long period;
+        private final SpaceSaving<Long> previous;
+        private final SpaceSaving<Long> current;
+
+        private Sketches(long period, SpaceSaving<Long> previous, SpaceSaving<Long> current) {
+            this.period = period;
+            this.previous = previous;
+            this.current = current;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.epam.esm.dao.OrderDao;
 import com.epam.esm.dao.TagDao;
 import com.epam.esm.dao.UserDao;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dao.impl.jdbc.PageCursor;
 import com.epam.esm.dto.OrderDto;
 import com.epam.esm.exception.DuplicateException;
 import com.epam.esm.exception.EntityNotFoundException;
@@ -112,10 +113,29 @@ public class UserServiceImpl implements UserService {
         int pageNumber = Integer.parseInt(parameters.get(ColumnNames.PAGE_NUMBER_PARAM_NAME));
         int amountEntitiesOnThePage = Integer.parseInt(parameters.get(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME));
         checkLimitAndOffset(errorMessage, pageNumber, amountEntitiesOnThePage);
+        String after = parameters.get(ColumnNames.AFTER_PARAM_NAME);
+        if (after != null) {
+            return userDao.findPageAfter(decodeCursor(after), amountEntitiesOnThePage);
+        }
+        String before = parameters.get(ColumnNames.BEFORE_PARAM_NAME);
+        if (before != null) {
+            return userDao.findPageBefore(decodeCursor(before), amountEntitiesOnThePage);
+        }
         List<User> users = userDao.findAllPagination(pageNumber, amountEntitiesOnThePage);
         return users;
     }
 
+    private long decodeCursor(String cursor) {
+        try {
+            return PageCursor.decodeId(cursor);
+        } catch (IllegalArgumentException exception) {
+            List<String> errorMessage = new ArrayList<>();
+            errorMessage.add(translator.toLocale("THE_CURSOR_IS_NOT_VALID"));
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_USER_NOT_VALID, errorMessage);
+        }
+    }
+
     private void checkLimitAndOffset(List<String> errorMessage, long offset, long limit) {
         if (offset < 0) {
             errorMessage.add(translator.toLocale("THE_OFFSET_SHOULD_BE_MORE_THAN_0"));
@@ -149,9 +169,7 @@ public class UserServiceImpl implements UserService {
     private User createNewUser(User user) {
         userValidator.validateUser(user, true);
         User userToSave = new User(0, user.getNickName());
-        userDao.save(userToSave);
-        Optional<User> userFromDB = userDao.findByName(userToSave.getNickName());
-        return userFromDB.get();
+        return userDao.save(userToSave);
     }
 
     private void checkIfUserExistInSystem(User user, List<String> errorMessage) {
@@ -0,0 +1,232 @@
+package com.epam.esm.service.impl;
+
+import com.epam.esm.configuration.Translator;
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.dao.OrderDao;
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.dao.UserDao;
+import com.epam.esm.dto.LeaderboardEntry;
+import com.epam.esm.event.OrderCreatedEvent;
+import com.epam.esm.event.TagChangedEvent;
+import com.epam.esm.exception.EntityNotFoundException;
+import com.epam.esm.exception.MethodArgumentNotValidException;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import com.epam.esm.model.impl.User;
+import com.epam.esm.service.WindowStatisticService;
+import com.epam.esm.statistic.SlidingWindowCounter;
+import com.epam.esm.statistic.StatisticWindow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the statistics of the orders of every {@link StatisticWindow} in the rings of the buckets
+ * in the memory, so a window is answered by merging its buckets without a query to the database.
+ * The rings are seeded with the orders of the longest window, when the application is started,
+ * and are updated by the orders after their transaction is committed.
+ * Only the ids are counted, the names of the returned entities are read by the ids through the DAOs,
+ * so a renamed entity is returned with its current name and the names are not kept in the memory.
+ */
+@Service
+public class WindowStatisticServiceImpl implements WindowStatisticService {
+    public static final String ERROR_CODE_ENTITY_NOT_FOUND = "404";
+    public static final String ERROR_CODE_METHOD_ARGUMENT_NOT_VALID = "400";
+    public static final String ERROR_CODE_STATISTIC_NOT_VALID = "05";
+    public static final int MAX_AMOUNT_OF_CERTIFICATES = 100;
+
+    private final OrderDao orderDao;
+    private final TagDao tagDAO;
+    private final CertificateDao certificateDAO;
+    private final UserDao userDao;
+    private final Translator translator;
+    private final Clock clock;
+    private final Map<StatisticWindow, WindowCounters> countersByWindow = new EnumMap<>(StatisticWindow.class);
+
+    @Autowired
+    public WindowStatisticServiceImpl(OrderDao orderDao, TagDao tagDAO, CertificateDao certificateDAO,
+                                      UserDao userDao, Translator translator, Clock clock) {
+        this.orderDao = orderDao;
+        this.tagDAO = tagDAO;
+        this.certificateDAO = certificateDAO;
+        this.userDao = userDao;
+        this.translator = translator;
+        this.clock = clock;
+        for (StatisticWindow window : StatisticWindow.values()) {
+            countersByWindow.put(window, new WindowCounters(window));
+        }
+    }
+
+    /**
+     * Returns the tag, which is ordered most often in the window.
+     *
+     * @param window is the code of the window.
+     * @return {@link LeaderboardEntry} of the tag with the amount of its orders.
+     */
+    @Override
+    public LeaderboardEntry mostPopularTag(String window) {
+        List<Map.Entry<Long, Long>> top = findCounters(window).tags.top(1, clock.millis());
+        if (top.isEmpty()) {
+            throw noOrdersInWindow(window);
+        }
+        Map.Entry<Long, Long> entry = top.get(0);
+        String name = tagDAO.findById(entry.getKey()).map(CertificateTag::getName).orElse(null);
+        return new LeaderboardEntry(1, entry.getKey(), name, BigDecimal.valueOf(entry.getValue()));
+    }
+
+    /**
+     * Returns the user with the biggest sum of the prices of the orders in the window.
+     *
+     * @param window is the code of the window.
+     * @return {@link LeaderboardEntry} of the user with the sum.
+     */
+    @Override
+    public LeaderboardEntry bestUser(String window) {
+        List<Map.Entry<Long, BigDecimal>> top = findCounters(window).users.top(1, clock.millis());
+        if (top.isEmpty()) {
+            throw noOrdersInWindow(window);
+        }
+        Map.Entry<Long, BigDecimal> entry = top.get(0);
+        String name = userDao.findById(entry.getKey()).map(User::getNickName).orElse(null);
+        return new LeaderboardEntry(1, entry.getKey(), name, entry.getValue());
+    }
+
+    /**
+     * Returns the certificates, which are ordered most often in the window.
+     *
+     * @param window is the code of the window.
+     * @param limit  is the maximum amount of the certificates to return.
+     * @return {@link List<LeaderboardEntry>}, empty if there are no orders in the window.
+     */
+    @Override
+    public List<LeaderboardEntry> bestSellingCertificates(String window, int limit) {
+        checkLimit(limit);
+        List<Map.Entry<Long, Long>> top = findCounters(window).certificates.top(limit, clock.millis());
+        // the names are read in one lookup, the deleted certificates are returned without the names
+        Map<Long, String> certificateNames = new HashMap<>();
+        if (!top.isEmpty()) {
+            List<Long> ids = new ArrayList<>(top.size());
+            top.forEach(entry -> ids.add(entry.getKey()));
+            certificateDAO.findAllByIds(ids).forEach(giftCertificate ->
+                    certificateNames.put(giftCertificate.getId(), giftCertificate.getName()));
+        }
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : top) {
+            entries.add(new LeaderboardEntry(entries.size() + 1, entry.getKey(),
+                    certificateNames.get(entry.getKey()), BigDecimal.valueOf(entry.getValue())));
+        }
+        return entries;
+    }
+
+    /**
+     * Adds the orders of the longest window from the database to the rings.
+     */
+    @PostConstruct
+    public void seed() {
+        LocalDateTime since = LocalDateTime.now(clock).minus(StatisticWindow.MONTH.getDuration());
+        orderDao.streamCreatedSince(since, this::addOrder);
+    }
+
+    /**
+     * Adds the committed {@link Order}s to the rings.
+     *
+     * @param event is the {@link OrderCreatedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        event.getOrders().forEach(this::addOrder);
+    }
+
+    /**
+     * Removes the committed deleted tag from the rings.
+     *
+     * @param event is the {@link TagChangedEvent}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        long tagId = event.getTagId();
+        if (!tagDAO.findById(tagId).isPresent()) {
+            countersByWindow.values().forEach(counters -> counters.tags.remove(tagId));
+        }
+    }
+
+    private void addOrder(Order order) {
+        long timeMillis = order.getCreateDate() != null
+                ? order.getCreateDate().atZone(clock.getZone()).toInstant().toEpochMilli()
+                : clock.millis();
+        long userId = order.getUser().getId();
+        BigDecimal spend = BigDecimal.ZERO;
+        for (GiftCertificate giftCertificate : order.getCertificates()) {
+            spend = spend.add(giftCertificate.getPrice());
+            for (WindowCounters counters : countersByWindow.values()) {
+                counters.certificates.add(giftCertificate.getId(), 1L, timeMillis);
+            }
+            if (giftCertificate.getTags() == null) {
+                continue;
+            }
+            for (CertificateTag certificateTag : giftCertificate.getTags()) {
+                for (WindowCounters counters : countersByWindow.values()) {
+                    counters.tags.add(certificateTag.getId(), 1L, timeMillis);
+                }
+            }
+        }
+        for (WindowCounters counters : countersByWindow.values()) {
+            counters.users.add(userId, spend, timeMillis);
+        }
+    }
+
+    private WindowCounters findCounters(String window) {
+        Optional<StatisticWindow> statisticWindow = StatisticWindow.fromCode(window);
+        if (!statisticWindow.isPresent()) {
+            List<String> errorMessage = new ArrayList<>();
+            List<String> codes = new ArrayList<>();
+            Arrays.stream(StatisticWindow.values()).forEach(value -> codes.add(value.getCode()));
+            errorMessage.add(String.format(translator.toLocale("THE_WINDOW_OF_STATISTIC_IS_NOT_VALID"),
+                    String.join(", ", codes)));
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_STATISTIC_NOT_VALID, errorMessage);
+        }
+        return countersByWindow.get(statisticWindow.get());
+    }
+
+    private void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_AMOUNT_OF_CERTIFICATES) {
+            List<String> errorMessage = new ArrayList<>();
+            errorMessage.add(String.format(translator.toLocale("THE_LIMIT_OF_LEADERBOARD_SHOULD_BE_BETWEEN"),
+                    MAX_AMOUNT_OF_CERTIFICATES));
+            throw new MethodArgumentNotValidException(
+                    ERROR_CODE_METHOD_ARGUMENT_NOT_VALID + ERROR_CODE_STATISTIC_NOT_VALID, errorMessage);
+        }
+    }
+
+    private EntityNotFoundException noOrdersInWindow(String window) {
+        List<String> errorMessage = new ArrayList<>();
+        errorMessage.add(String.format(translator.toLocale("THERE_ARE_NO_ORDERS_IN_THE_WINDOW"), window));
+        return new EntityNotFoundException(ERROR_CODE_ENTITY_NOT_FOUND + ERROR_CODE_STATISTIC_NOT_VALID, errorMessage);
+    }
+
+    private static final class WindowCounters {
+        private final SlidingWindowCounter<Long, Long> tags;
+        private final SlidingWindowCounter<Long, BigDecimal> users;
+        private final SlidingWindowCounter<Long, Long> certificates;
+
+        private WindowCounters(StatisticWindow window) {
+            tags = new SlidingWindowCounter<>(window, Long::sum);
+            users = new SlidingWindowCounter<>(window, BigDecimal::add);
+            certificates = new SlidingWindowCounter<>(window, Long::sum);
+        }
+    }
+}
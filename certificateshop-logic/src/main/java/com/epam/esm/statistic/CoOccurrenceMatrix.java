@@ -0,0 +1,97 @@
+package com.epam.esm.statistic;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The sparse symmetric matrix of the amounts of the baskets, which contain both keys. Only the pairs,
+ * which are met together, are kept, every pair in the rows of both its keys, so the keys met most often
+ * with a key are read from its row without a look at the other rows.
+ */
+public class CoOccurrenceMatrix {
+    // the biggest amount first, the equal amounts by the key
+    private static final Comparator<Map.Entry<Long, Long>> BY_AMOUNT_DESCENDING
+            = Comparator.<Map.Entry<Long, Long>>comparingLong(Map.Entry::getValue).reversed()
+            .thenComparing(Map.Entry::getKey);
+
+    private final Map<Long, Map<Long, Long>> rows = new ConcurrentHashMap<>();
+
+    /**
+     * Counts every pair of the different keys of the basket once, the repeated keys are counted once.
+     *
+     * @param basket are the keys met together.
+     */
+    public void addBasket(Collection<Long> basket) {
+        List<Long> keys = new ArrayList<>(new LinkedHashSet<>(basket));
+        for (int i = 0; i < keys.size(); i++) {
+            for (int j = i + 1; j < keys.size(); j++) {
+                add(keys.get(i), keys.get(j), 1L);
+                add(keys.get(j), keys.get(i), 1L);
+            }
+        }
+    }
+
+    /**
+     * Adds the amounts of the {@param other} matrix to this one.
+     *
+     * @param other is the matrix to add.
+     */
+    public void merge(CoOccurrenceMatrix other) {
+        other.rows.forEach((key, row) -> row.forEach((otherKey, amount) -> add(key, otherKey, amount)));
+    }
+
+    /**
+     * Returns the {@param limit} keys, which are met with the {@param key} most often.
+     *
+     * @param key   is the key to find the related keys of.
+     * @param limit is the maximum amount of the keys to return.
+     * @return {@link List<Map.Entry>} of the key and the amount from the biggest amount to the smallest.
+     */
+    public List<Map.Entry<Long, Long>> top(long key, int limit) {
+        Map<Long, Long> row = rows.get(key);
+        if (row == null) {
+            return Collections.emptyList();
+        }
+        // the heap keeps the smallest of the best entries on the top, so the worse ones are dropped at once
+        PriorityQueue<Map.Entry<Long, Long>> best = new PriorityQueue<>(BY_AMOUNT_DESCENDING.reversed());
+        for (Map.Entry<Long, Long> entry : row.entrySet()) {
+            best.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<Long, Long>> top = new ArrayList<>(best);
+        top.sort(BY_AMOUNT_DESCENDING);
+        return top;
+    }
+
+    /**
+     * Removes the {@param key} from its row and from the rows of the keys, which it is met with.
+     *
+     * @param key is the key to remove.
+     */
+    public void remove(long key) {
+        Map<Long, Long> row = rows.remove(key);
+        if (row == null) {
+            return;
+        }
+        for (Long otherKey : row.keySet()) {
+            Map<Long, Long> otherRow = rows.get(otherKey);
+            if (otherRow != null) {
+                otherRow.remove(key);
+            }
+        }
+    }
+
+    private void add(long key, long otherKey, long amount) {
+        rows.computeIfAbsent(key, newKey -> new ConcurrentHashMap<>()).merge(otherKey, amount, Long::sum);
+    }
+}
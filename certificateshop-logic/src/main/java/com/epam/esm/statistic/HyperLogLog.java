@@ -0,0 +1,220 @@
+package com.epam.esm.statistic;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The HyperLogLog sketch of the amount of the distinct values of a stream with {@link #REGISTERS} registers,
+ * the relative standard error of the amount is {@link #STANDARD_ERROR}. The sketch, which has few values,
+ * keeps only its non-zero registers, so the sketches of the rarely ordered entities take a few bytes.
+ * The sketches are merged by the maximum of every register, so the merged sketch counts the union
+ * of the values and the merge can be repeated.
+ */
+public class HyperLogLog {
+    public static final int PRECISION = 12;
+    public static final int REGISTERS = 1 << PRECISION;
+    public static final double STANDARD_ERROR = 1.04 / Math.sqrt(REGISTERS);
+    // the sparse registers take 4 bytes each, so the sketch becomes dense before it is bigger than the dense one
+    private static final int MAX_SPARSE_REGISTERS = REGISTERS / 8;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+    private static final byte SPARSE_FORMAT = 1;
+    private static final byte DENSE_FORMAT = 2;
+    private static final int RANK_BITS = 8;
+    private static final int RANK_MASK = (1 << RANK_BITS) - 1;
+
+    // the sorted registers of the sparse sketch: the index in the high bits, the rank in the low ones
+    private int[] sparseRegisters = new int[4];
+    private int sparseSize;
+    private byte[] denseRegisters;
+
+    /**
+     * Constructs the empty {@link HyperLogLog}.
+     */
+    public HyperLogLog() {
+    }
+
+    /**
+     * Constructs the {@link HyperLogLog} from the bytes of {@link #toBytes()}.
+     *
+     * @param bytes is the serialized sketch.
+     * @return the {@link HyperLogLog}.
+     * @throws IllegalArgumentException if the bytes are not a serialized sketch.
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes.length < 2 || bytes[1] != PRECISION) {
+            throw new IllegalArgumentException("The bytes are not a HyperLogLog sketch of the precision " + PRECISION);
+        }
+        if (bytes[0] == DENSE_FORMAT && bytes.length == 2 + REGISTERS) {
+            sketch.denseRegisters = Arrays.copyOfRange(bytes, 2, bytes.length);
+            sketch.sparseRegisters = null;
+            return sketch;
+        }
+        if (bytes[0] == SPARSE_FORMAT && (bytes.length - 2) % Integer.BYTES == 0) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+            while (buffer.hasRemaining()) {
+                int register = buffer.getInt();
+                if (register >>> RANK_BITS >= REGISTERS) {
+                    throw new IllegalArgumentException("The register of the sketch is not valid: " + register);
+                }
+                sketch.update(register >>> RANK_BITS, (byte) (register & RANK_MASK));
+            }
+            return sketch;
+        }
+        throw new IllegalArgumentException("The bytes are not a HyperLogLog sketch of the precision " + PRECISION);
+    }
+
+    /**
+     * Adds the {@param value} to the sketch.
+     *
+     * @param value is the value to count.
+     */
+    public void offer(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // the marker bit limits the rank, if all the remaining bits are zero
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        synchronized (this) {
+            update(index, rank);
+        }
+    }
+
+    /**
+     * Estimates the amount of the distinct values of the sketch.
+     *
+     * @return the estimated amount.
+     */
+    public synchronized long cardinality() {
+        double sum = 0;
+        int zeroRegisters = 0;
+        if (denseRegisters != null) {
+            for (byte rank : denseRegisters) {
+                sum += 1.0 / (1L << rank);
+                if (rank == 0) {
+                    zeroRegisters++;
+                }
+            }
+        } else {
+            for (int i = 0; i < sparseSize; i++) {
+                sum += 1.0 / (1L << (sparseRegisters[i] & RANK_MASK));
+            }
+            zeroRegisters = REGISTERS - sparseSize;
+            sum += zeroRegisters;
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeroRegisters > 0) {
+            // the linear counting is more precise for the small amounts
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeroRegisters);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Merges the {@param other} sketch into this one, so this sketch counts the union of the values.
+     *
+     * @param other is the sketch to merge.
+     */
+    public void merge(HyperLogLog other) {
+        byte[] otherRegisters = other.toBytes();
+        HyperLogLog copy = fromBytes(otherRegisters);
+        synchronized (this) {
+            if (copy.denseRegisters != null) {
+                for (int i = 0; i < REGISTERS; i++) {
+                    if (copy.denseRegisters[i] != 0) {
+                        update(i, copy.denseRegisters[i]);
+                    }
+                }
+            } else {
+                for (int i = 0; i < copy.sparseSize; i++) {
+                    update(copy.sparseRegisters[i] >>> RANK_BITS, (byte) (copy.sparseRegisters[i] & RANK_MASK));
+                }
+            }
+        }
+    }
+
+    /**
+     * Serializes the sketch: the format, the precision and the sparse or the dense registers.
+     *
+     * @return the bytes of the sketch.
+     */
+    public synchronized byte[] toBytes() {
+        if (denseRegisters != null) {
+            byte[] bytes = new byte[2 + REGISTERS];
+            bytes[0] = DENSE_FORMAT;
+            bytes[1] = PRECISION;
+            System.arraycopy(denseRegisters, 0, bytes, 2, REGISTERS);
+            return bytes;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(2 + sparseSize * Integer.BYTES);
+        buffer.put(SPARSE_FORMAT).put((byte) PRECISION);
+        for (int i = 0; i < sparseSize; i++) {
+            buffer.putInt(sparseRegisters[i]);
+        }
+        return buffer.array();
+    }
+
+    private void update(int index, byte rank) {
+        if (denseRegisters != null) {
+            if (denseRegisters[index] < rank) {
+                denseRegisters[index] = rank;
+            }
+            return;
+        }
+        int position = findSparse(index);
+        if (position >= 0) {
+            if ((sparseRegisters[position] & RANK_MASK) < rank) {
+                sparseRegisters[position] = index << RANK_BITS | rank;
+            }
+            return;
+        }
+        if (sparseSize == MAX_SPARSE_REGISTERS) {
+            toDense();
+            denseRegisters[index] = rank;
+            return;
+        }
+        int insertion = -position - 1;
+        if (sparseSize == sparseRegisters.length) {
+            sparseRegisters = Arrays.copyOf(sparseRegisters, sparseSize * 2);
+        }
+        System.arraycopy(sparseRegisters, insertion, sparseRegisters, insertion + 1, sparseSize - insertion);
+        sparseRegisters[insertion] = index << RANK_BITS | rank;
+        sparseSize++;
+    }
+
+    private int findSparse(int index) {
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleIndex = sparseRegisters[middle] >>> RANK_BITS;
+            if (middleIndex < index) {
+                low = middle + 1;
+            } else if (middleIndex > index) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void toDense() {
+        denseRegisters = new byte[REGISTERS];
+        for (int i = 0; i < sparseSize; i++) {
+            denseRegisters[sparseRegisters[i] >>> RANK_BITS] = (byte) (sparseRegisters[i] & RANK_MASK);
+        }
+        sparseRegisters = null;
+        sparseSize = 0;
+    }
+
+    // the finalizer of the 64-bit MurmurHash3, the ids are sequential, so their bits should be spread
+    private static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,138 @@
+package com.epam.esm.statistic;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.BinaryOperator;
+
+/**
+ * The scores of the keys kept sorted by the score, so the top N keys are read in O(N) without a lock.
+ * The writers are serialized, every change of a score adds the new entry before the old one is removed,
+ * so a concurrent reader can meet both entries of a key and skips the one, which is not the current score.
+ *
+ * @param <K> is the type of the key.
+ * @param <S> is the type of the score.
+ */
+public class Leaderboard<K extends Comparable<? super K>, S extends Comparable<? super S>> {
+    private final BinaryOperator<S> addition;
+    private final Map<K, S> scores = new ConcurrentHashMap<>();
+    // the highest score first, the equal scores by the key, so the entries of the different keys never collide
+    private final ConcurrentSkipListSet<Entry<K, S>> ranking = new ConcurrentSkipListSet<>(
+            Comparator.<Entry<K, S>, S>comparing(Entry::getScore).reversed().thenComparing(Entry::getKey));
+
+    /**
+     * Constructs the {@link Leaderboard}.
+     *
+     * @param addition is the addition of the scores.
+     */
+    public Leaderboard(BinaryOperator<S> addition) {
+        this.addition = addition;
+    }
+
+    /**
+     * Adds the {@param delta} to the score of the {@param key}.
+     *
+     * @param key   is the key to score.
+     * @param delta is the value to add to the score.
+     */
+    public synchronized void add(K key, S delta) {
+        S oldScore = scores.get(key);
+        S newScore = oldScore == null ? delta : addition.apply(oldScore, delta);
+        ranking.add(new Entry<>(key, newScore));
+        scores.put(key, newScore);
+        if (oldScore != null && oldScore.compareTo(newScore) != 0) {
+            ranking.remove(new Entry<>(key, oldScore));
+        }
+    }
+
+    /**
+     * Removes the {@param key} from the leaderboard.
+     *
+     * @param key is the key to remove.
+     */
+    public synchronized void remove(K key) {
+        S oldScore = scores.remove(key);
+        if (oldScore != null) {
+            ranking.remove(new Entry<>(key, oldScore));
+        }
+    }
+
+    /**
+     * Returns the {@param limit} keys with the highest scores.
+     *
+     * @param limit is the maximum amount of the keys to return.
+     * @return {@link List<Entry>} from the highest score to the lowest.
+     */
+    public List<Entry<K, S>> top(int limit) {
+        List<Entry<K, S>> top = new ArrayList<>(Math.min(limit, scores.size()));
+        for (Entry<K, S> entry : ranking) {
+            if (top.size() == limit) {
+                break;
+            }
+            S currentScore = scores.get(entry.getKey());
+            if (currentScore != null && currentScore.compareTo(entry.getScore()) == 0) {
+                top.add(entry);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Returns the score of the {@param key}.
+     *
+     * @param key is the key to find.
+     * @return the score, null if the key is not in the leaderboard.
+     */
+    public S score(K key) {
+        return scores.get(key);
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    /**
+     * The key with its score.
+     *
+     * @param <K> is the type of the key.
+     * @param <S> is the type of the score.
+     */
+    public static final class Entry<K, S> {
+        private final K key;
+        private final S score;
+
+        private Entry(K key, S score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public S getScore() {
+            return score;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) other;
+            return key.equals(entry.key) && score.equals(entry.score);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, score);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.epam.esm.statistic;
+
+/**
+ * The types of the entities, which the distinct buyers are counted for. The name of the type is kept
+ * in the 'entityType' column of the 'reach_sketch' table.
+ */
+public enum ReachType {
+    CERTIFICATE,
+    TAG
+}
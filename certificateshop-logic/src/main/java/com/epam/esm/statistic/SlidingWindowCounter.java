@@ -0,0 +1,131 @@
+package com.epam.esm.statistic;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BinaryOperator;
+
+/**
+ * The scores of the keys in the sliding time window, kept as a ring of the buckets of a fixed duration.
+ * A bucket is reused, when the window slides over it, so the memory is bounded by the amount of the buckets
+ * and the keys in them, and a read merges the buckets only, whatever the amount of the added values is.
+ *
+ * @param <K> is the type of the key.
+ * @param <S> is the type of the score.
+ */
+public class SlidingWindowCounter<K extends Comparable<? super K>, S extends Comparable<? super S>> {
+    private final long bucketMillis;
+    private final BinaryOperator<S> addition;
+    private final AtomicReferenceArray<Bucket<K, S>> buckets;
+
+    /**
+     * Constructs the {@link SlidingWindowCounter}.
+     *
+     * @param window   is the {@link StatisticWindow} to count in.
+     * @param addition is the addition of the scores.
+     */
+    public SlidingWindowCounter(StatisticWindow window, BinaryOperator<S> addition) {
+        this.bucketMillis = window.getBucketDuration().toMillis();
+        this.addition = addition;
+        this.buckets = new AtomicReferenceArray<>(window.getAmountOfBuckets());
+    }
+
+    /**
+     * Adds the {@param delta} to the score of the {@param key} in the bucket of the {@param timeMillis}.
+     * The values older than the window are skipped.
+     *
+     * @param key        is the key to score.
+     * @param delta      is the value to add to the score.
+     * @param timeMillis is the time of the value in milliseconds since the epoch.
+     */
+    public void add(K key, S delta, long timeMillis) {
+        long epoch = timeMillis / bucketMillis;
+        int index = (int) (epoch % buckets.length());
+        while (true) {
+            Bucket<K, S> bucket = buckets.get(index);
+            if (bucket != null && bucket.epoch > epoch) {
+                return;
+            }
+            if (bucket != null && bucket.epoch == epoch) {
+                bucket.scores.merge(key, delta, addition);
+                // the bucket could be replaced by a concurrent value after it was read, then the value
+                // is added once more to the bucket, which replaced it, or is skipped, if it is too old
+                if (buckets.get(index) == bucket) {
+                    return;
+                }
+                continue;
+            }
+            buckets.compareAndSet(index, bucket, new Bucket<>(epoch));
+        }
+    }
+
+    /**
+     * Removes the {@param key} from all the buckets.
+     *
+     * @param key is the key to remove.
+     */
+    public void remove(K key) {
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket<K, S> bucket = buckets.get(i);
+            if (bucket != null) {
+                bucket.scores.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Merges the buckets of the window, which ends at the {@param nowMillis}.
+     *
+     * @param nowMillis is the end of the window in milliseconds since the epoch.
+     * @return the scores of all the keys in the window.
+     */
+    public Map<K, S> totals(long nowMillis) {
+        long lastEpoch = nowMillis / bucketMillis;
+        long firstEpoch = lastEpoch - buckets.length() + 1;
+        Map<K, S> totals = new HashMap<>();
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket<K, S> bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch >= firstEpoch && bucket.epoch <= lastEpoch) {
+                bucket.scores.forEach((key, score) -> totals.merge(key, score, addition));
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Returns the {@param limit} keys with the highest scores in the window, which ends at the {@param nowMillis}.
+     *
+     * @param limit     is the maximum amount of the keys to return.
+     * @param nowMillis is the end of the window in milliseconds since the epoch.
+     * @return {@link List<Map.Entry>} from the highest score to the lowest, the equal scores by the key.
+     */
+    public List<Map.Entry<K, S>> top(int limit, long nowMillis) {
+        Comparator<Map.Entry<K, S>> ranking = Map.Entry.<K, S>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        // the heap keeps the best entries only, the worst of them is at the head
+        PriorityQueue<Map.Entry<K, S>> heap = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (Map.Entry<K, S> entry : totals(nowMillis).entrySet()) {
+            heap.add(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<K, S>> top = new ArrayList<>(heap);
+        top.sort(ranking);
+        return top;
+    }
+
+    private static final class Bucket<K, S> {
+        private final long epoch;
+        private final Map<K, S> scores = new ConcurrentHashMap<>();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
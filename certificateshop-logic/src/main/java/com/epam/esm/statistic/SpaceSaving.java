@@ -0,0 +1,215 @@
+package com.epam.esm.statistic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The Space-Saving sketch of the most frequent keys of a stream, which keeps at most {@code capacity} counters.
+ * A key, which is not counted, replaces the key with the smallest count and takes over its count as the error,
+ * so the count of a key is never less than its real frequency and is more than it by the error at most.
+ * The error of every counter is not more than {@code totalCount / capacity}, every key, which frequency
+ * is more than that, is in the sketch.
+ *
+ * @param <K> is the type of the key.
+ */
+public class SpaceSaving<K extends Comparable<? super K>> {
+    private final int capacity;
+    private final Map<K, Counter<K>> counters = new HashMap<>();
+    // the smallest count first, the equal counts by the key
+    private final TreeSet<Counter<K>> countersByCount = new TreeSet<>(
+            Comparator.<Counter<K>>comparingLong(Counter::getCount).thenComparing(Counter::getKey));
+    private long totalCount;
+
+    /**
+     * Constructs the empty {@link SpaceSaving}.
+     *
+     * @param capacity is the maximum amount of the counters.
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity should be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Constructs the {@link SpaceSaving} from the counters of a snapshot.
+     *
+     * @param capacity   is the maximum amount of the counters.
+     * @param totalCount is the sum of all the counted increments.
+     * @param counters   are the counters of the snapshot, the smallest ones are dropped if there are too many.
+     * @param <K>        is the type of the key.
+     * @return the {@link SpaceSaving}.
+     */
+    public static <K extends Comparable<? super K>> SpaceSaving<K> of(int capacity, long totalCount,
+                                                                       Collection<Counter<K>> counters) {
+        SpaceSaving<K> sketch = new SpaceSaving<>(capacity);
+        sketch.totalCount = totalCount;
+        for (Counter<K> counter : counters) {
+            sketch.put(counter);
+            if (sketch.counters.size() > capacity) {
+                sketch.counters.remove(sketch.countersByCount.pollFirst().getKey());
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * Adds the {@param increment} to the count of the {@param key}.
+     *
+     * @param key       is the key to count.
+     * @param increment is the positive value to add to the count.
+     */
+    public synchronized void offer(K key, long increment) {
+        totalCount += increment;
+        Counter<K> counter = counters.get(key);
+        if (counter != null) {
+            countersByCount.remove(counter);
+            put(new Counter<>(key, counter.count + increment, counter.error));
+        } else if (counters.size() < capacity) {
+            put(new Counter<>(key, increment, 0));
+        } else {
+            Counter<K> smallest = countersByCount.pollFirst();
+            counters.remove(smallest.getKey());
+            put(new Counter<>(key, smallest.count + increment, smallest.count));
+        }
+    }
+
+    /**
+     * Returns the {@param limit} counters with the biggest counts.
+     *
+     * @param limit is the maximum amount of the counters to return.
+     * @return {@link List<Counter>} from the biggest count to the smallest.
+     */
+    public synchronized List<Counter<K>> top(int limit) {
+        List<Counter<K>> top = new ArrayList<>(Math.min(limit, counters.size()));
+        Iterator<Counter<K>> iterator = countersByCount.descendingIterator();
+        while (iterator.hasNext() && top.size() < limit) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    /**
+     * Merges the sketch with the {@param other} one into the new sketch of the same capacity. A key, which is not
+     * in one of the sketches, is counted there as the smallest count of that sketch, if that sketch is full,
+     * so the merged counts stay the upper bounds of the frequencies with the error of the sum of the errors.
+     *
+     * @param other is the sketch to merge with.
+     * @return the merged {@link SpaceSaving}.
+     */
+    public SpaceSaving<K> merge(SpaceSaving<K> other) {
+        Map<K, Counter<K>> thisCounters;
+        long thisTotalCount;
+        long thisMinCount;
+        synchronized (this) {
+            thisCounters = new HashMap<>(counters);
+            thisTotalCount = totalCount;
+            thisMinCount = minCount();
+        }
+        Map<K, Counter<K>> otherCounters;
+        long otherTotalCount;
+        long otherMinCount;
+        synchronized (other) {
+            otherCounters = new HashMap<>(other.counters);
+            otherTotalCount = other.totalCount;
+            otherMinCount = other.minCount();
+        }
+        Set<K> keys = new HashSet<>(thisCounters.keySet());
+        keys.addAll(otherCounters.keySet());
+        List<Counter<K>> merged = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            Counter<K> thisCounter = thisCounters.get(key);
+            Counter<K> otherCounter = otherCounters.get(key);
+            long count = (thisCounter != null ? thisCounter.count : thisMinCount)
+                    + (otherCounter != null ? otherCounter.count : otherMinCount);
+            long error = (thisCounter != null ? thisCounter.error : thisMinCount)
+                    + (otherCounter != null ? otherCounter.error : otherMinCount);
+            merged.add(new Counter<>(key, count, error));
+        }
+        return of(capacity, thisTotalCount + otherTotalCount, merged);
+    }
+
+    /**
+     * Returns all the counters of the sketch.
+     *
+     * @return {@link List<Counter>} from the biggest count to the smallest.
+     */
+    public synchronized List<Counter<K>> counters() {
+        return top(counters.size());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the maximum error of the counts of the sketch.
+     *
+     * @return {@code totalCount / capacity}, rounded up.
+     */
+    public synchronized long getMaxError() {
+        return (totalCount + capacity - 1) / capacity;
+    }
+
+    // the count of a key, which is not in the full sketch, is not more than the smallest count
+    private long minCount() {
+        return counters.size() < capacity ? 0 : countersByCount.first().count;
+    }
+
+    private void put(Counter<K> counter) {
+        Counter<K> replacedCounter = counters.put(counter.getKey(), counter);
+        if (replacedCounter != null) {
+            countersByCount.remove(replacedCounter);
+        }
+        countersByCount.add(counter);
+    }
+
+    /**
+     * The counted key with its count and the error of the count.
+     *
+     * @param <K> is the type of the key.
+     */
+    public static final class Counter<K> {
+        private final K key;
+        private final long count;
+        private final long error;
+
+        /**
+         * Constructs the {@link Counter}.
+         *
+         * @param key   is the counted key.
+         * @param count is the upper bound of the frequency of the key.
+         * @param error is the maximum overestimation of the count.
+         */
+        public Counter(K key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+}
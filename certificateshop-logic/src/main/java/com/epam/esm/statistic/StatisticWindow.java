@@ -0,0 +1,55 @@
+package com.epam.esm.statistic;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The time windows of the statistics. Every window is kept as a ring of the buckets, so it slides
+ * by one bucket: the orders older than the window, but not older than the oldest bucket, are still counted.
+ */
+public enum StatisticWindow {
+    HOUR("1h", Duration.ofMinutes(1), 60),
+    DAY("1d", Duration.ofHours(1), 24),
+    MONTH("30d", Duration.ofDays(1), 30);
+
+    private final String code;
+    private final Duration bucketDuration;
+    private final int amountOfBuckets;
+
+    StatisticWindow(String code, Duration bucketDuration, int amountOfBuckets) {
+        this.code = code;
+        this.bucketDuration = bucketDuration;
+        this.amountOfBuckets = amountOfBuckets;
+    }
+
+    /**
+     * Finds the window by its code in the query parameter.
+     *
+     * @param code is the code of the window, e.g. '1h'.
+     * @return {@link Optional<StatisticWindow>}, empty if there is no window with such a code.
+     */
+    public static Optional<StatisticWindow> fromCode(String code) {
+        for (StatisticWindow window : values()) {
+            if (window.code.equals(code)) {
+                return Optional.of(window);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Duration getBucketDuration() {
+        return bucketDuration;
+    }
+
+    public int getAmountOfBuckets() {
+        return amountOfBuckets;
+    }
+
+    public Duration getDuration() {
+        return bucketDuration.multipliedBy(amountOfBuckets);
+    }
+}
@@ -0,0 +1,42 @@
+CREATE TABLE user_spend
+(
+    userId                         INTEGER         NOT NULL,
+    spend                          DECIMAL(19, 2)  NOT NULL,
+    PRIMARY KEY (userId),
+    FOREIGN KEY (userId) REFERENCES user (id)
+        ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+CREATE INDEX user_spend_spend_index ON user_spend (spend, userId);
+
+CREATE TABLE user_tag_count
+(
+    userId                         INTEGER  NOT NULL,
+    tagId                          INTEGER  NOT NULL,
+    amount                         INTEGER  NOT NULL,
+    PRIMARY KEY (userId, tagId),
+    FOREIGN KEY (userId) REFERENCES user (id)
+        ON DELETE CASCADE ON UPDATE CASCADE,
+    FOREIGN KEY (tagId) REFERENCES tag (id)
+        ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+CREATE INDEX user_tag_count_amount_index ON user_tag_count (userId, amount, tagId);
+
+CREATE INDEX userorder_create_date_index ON userorder (create_date);
+
+INSERT INTO user_spend (userId, spend)
+SELECT uo.userId, SUM(uoc.certificatePrice)
+FROM userorder_certificate AS uoc JOIN userorder AS uo ON uoc.userOrderId = uo.id
+GROUP BY uo.userId;
+
+-- the tags are counted from the certificates saved in JSON with the orders, so the 'user_tag_count' table
+-- is filled by the application started with the '--rebuild-statistics' option
+
+CREATE TABLE reach_sketch
+(
+    entityType                     VARCHAR(16)  NOT NULL,
+    entityId                       INTEGER      NOT NULL,
+    registers                      BLOB         NOT NULL,
+    PRIMARY KEY (entityType, entityId)
+);
@@ -0,0 +1,118 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.dao.impl.jdbc.CertificateInJsonMapper;
+import com.epam.esm.dao.impl.jdbc.CertificateTagMapper;
+import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dao.impl.jdbc.GiftCertificateExtractor;
+import com.epam.esm.dao.impl.jdbc.OrderExtractor;
+import com.epam.esm.dao.impl.jdbc.UserMapper;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import com.mockrunner.mock.jdbc.MockResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of the {@link GiftCertificateExtractor} and the {@link OrderExtractor}. Every entity is joined
+ * with {@link #ROWS_PER_ENTITY} rows, so the amount of the entities grows together with the amount of the rows.
+ * The time per row should stay the same for all the amounts of the rows.
+ * <p>
+ * Run it with the main method from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtractorBenchmark {
+    private static final int ROWS_PER_ENTITY = 5;
+    private static final String CERTIFICATE_IN_JSON = "{\"id\":1,\"name\":\"cert\"}";
+
+    @Param({"1000", "10000", "50000"})
+    private int amountOfRows;
+
+    private MockResultSet certificateRows;
+    private MockResultSet orderRows;
+    private GiftCertificateExtractor giftCertificateExtractor;
+    private OrderExtractor orderExtractor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        giftCertificateExtractor = new GiftCertificateExtractor();
+        giftCertificateExtractor.setTagRowMapper(new CertificateTagMapper());
+        orderExtractor = new OrderExtractor();
+        orderExtractor.setUserRowMapper(new UserMapper());
+        // the certificate is not parsed from the json, only the work of the extractor is measured
+        GiftCertificate giftCertificate = new GiftCertificate();
+        orderExtractor.setCertificateInJsonMapper(new CertificateInJsonMapper() {
+            @Override
+            public GiftCertificate mapRow(ResultSet resultSet, int i) {
+                return giftCertificate;
+            }
+        });
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        certificateRows = new MockResultSet("certificateRows");
+        for (String column : Arrays.asList(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_ID,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_NAME, ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DESCRIPTION,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_PRICE, ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DURATION,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_CREATE_DATE,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_LAST_UPDATE_DATE,
+                ColumnNames.TABLE_TAG_COLUMN_ID, ColumnNames.TABLE_TAG_COLUMN_NAME)) {
+            certificateRows.addColumn(column);
+        }
+        orderRows = new MockResultSet("orderRows");
+        for (String column : Arrays.asList(ColumnNames.TABLE_USER_COLUMN_ID, ColumnNames.TABLE_USER_COLUMN_NICKNAME,
+                ColumnNames.TABLE_USERORDER_COLUMN_ID, ColumnNames.TABLE_USERORDER_COLUMN_CREATE_DATE,
+                ColumnNames.TABLE_USERORDER_COLUMN_NAME,
+                ColumnNames.TABLE_USERORDER_CERTIFICATE_COLUMN_CERTIFICATEINJSON)) {
+            orderRows.addColumn(column);
+        }
+        for (int i = 0; i < amountOfRows; i++) {
+            long entityId = i / ROWS_PER_ENTITY + 1;
+            long joinedId = i % ROWS_PER_ENTITY + 1;
+            certificateRows.addRow(Arrays.<Object>asList(entityId, "cert" + entityId, "description",
+                    BigDecimal.TEN, 10L, now, now, joinedId, "tag" + joinedId));
+            orderRows.addRow(Arrays.<Object>asList(entityId % 100 + 1, "user", entityId, now,
+                    "order" + entityId, CERTIFICATE_IN_JSON));
+        }
+    }
+
+    @Benchmark
+    public List<GiftCertificate> extractCertificates() throws SQLException {
+        certificateRows.beforeFirst();
+        return giftCertificateExtractor.extractData(certificateRows);
+    }
+
+    @Benchmark
+    public List<Order> extractOrders() throws SQLException {
+        orderRows.beforeFirst();
+        return orderExtractor.extractData(orderRows);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExtractorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.dao.impl.jdbc.CertificateQuery;
+import com.epam.esm.dao.impl.jdbc.CertificateQueryBuilder;
+import com.epam.esm.dao.impl.jdbc.CertificateTagMapper;
+import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dao.impl.jdbc.GiftCertificateExtractor;
+import com.epam.esm.index.CompressedBitmap;
+import com.epam.esm.index.TrigramIndex;
+import com.epam.esm.model.impl.GiftCertificate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of the 'part_cert_name' and 'part_descr_name' filters: the LIKE scan of the whole
+ * 'gift_certificate' table against the same query, which filters only the candidates of the {@link TrigramIndex}.
+ * The certificates are inserted into the embedded database once per trial, so the setup of a million
+ * certificates takes a while.
+ * <p>
+ * Run it with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubstringSearchBenchmark {
+    private static final String INSERT_CERTIFICATE_SQL
+            = "insert into gift_certificate (name, description, price, duration) values (?, ?, 10, 10)";
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int AMOUNT_OF_WORDS = 20_000;
+    private static final int WORDS_PER_DESCRIPTION = 8;
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"100000", "1000000"})
+    private int amountOfCertificates;
+
+    @Param({"part_cert_name:4242", "part_descr_name:wordqz"})
+    private String filter;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private GiftCertificateExtractor extractor;
+    private TrigramIndex index;
+    private Map<String, String> parameters;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("sql/create_db.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        extractor = new GiftCertificateExtractor();
+        extractor.setTagRowMapper(new CertificateTagMapper());
+        boolean isByName = filter.startsWith(ColumnNames.PART_CERT_NAME_PARAM_NAME);
+        index = new TrigramIndex();
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>();
+        for (int id = 1; id <= amountOfCertificates; id++) {
+            String name = "cert" + id;
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < WORDS_PER_DESCRIPTION; i++) {
+                description.append(createWord(random.nextInt(AMOUNT_OF_WORDS))).append(' ');
+            }
+            // the ids are generated by the database in the order of the inserts
+            index.add(id, isByName ? name : description.toString());
+            batch.add(new Object[]{name, description.toString()});
+            if (batch.size() == INSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_CERTIFICATE_SQL, batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_CERTIFICATE_SQL, batch);
+        parameters = new LinkedHashMap<>();
+        String[] nameAndValue = filter.split(":");
+        parameters.put(nameAndValue[0], nameAndValue[1]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public List<GiftCertificate> likeScan() {
+        return findPage(CertificateQueryBuilder.createQuery(parameters, Collections.emptyList(), 0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<GiftCertificate> trigramCandidates() {
+        CompressedBitmap candidates = index.findCandidates(parameters.values().iterator().next()).get();
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> candidateIds = new ArrayList<>();
+        for (int id : candidates.page(0, 1024)) {
+            candidateIds.add((long) id);
+        }
+        return findPage(CertificateQueryBuilder.createQuery(parameters, candidateIds, 0, PAGE_SIZE));
+    }
+
+    private List<GiftCertificate> findPage(CertificateQuery query) {
+        return jdbcTemplate.query(query.getSql(), extractor, query.getArgumentsArray());
+    }
+
+    // the base 26 letters of the number, so the words share the trigrams like the natural ones
+    private static String createWord(int number) {
+        StringBuilder word = new StringBuilder("word");
+        int rest = number;
+        do {
+            word.append((char) ('a' + rest % 26));
+            rest /= 26;
+        } while (rest > 0);
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SubstringSearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,113 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.event.TagChangedEvent;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.*;
+
+/**
+ * Contains {@link CachingCertificateDao} tests.
+ */
+@ExtendWith({MockitoExtension.class})
+public class CachingCertificateDaoTest {
+    @Mock
+    CertificateDao certificateDao;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    CachingCertificateDao cachingCertificateDao;
+
+    @BeforeEach
+    public void setUp() {
+        cachingCertificateDao = new CachingCertificateDao(certificateDao, eventPublisher);
+    }
+
+    /**
+     * The test of the concurrent misses of the same id, the certificate should be read from the database once.
+     */
+    @Test
+    public void shouldCollapseConcurrentMissesInOneReadTest() throws Exception {
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch readAllowed = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            readStarted.countDown();
+            readAllowed.await(5, TimeUnit.SECONDS);
+            return Optional.of(createCertificate());
+        }).given(certificateDao).findById(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<GiftCertificate>> first = executorService.submit(() -> cachingCertificateDao.findById(1));
+            readStarted.await(5, TimeUnit.SECONDS);
+            Future<Optional<GiftCertificate>> second = executorService.submit(() -> cachingCertificateDao.findById(1));
+            // the second request should be waiting for the read of the first one
+            Thread.sleep(100);
+            readAllowed.countDown();
+
+            Assertions.assertEquals("cert1", first.get(5, TimeUnit.SECONDS).get().getName());
+            Assertions.assertEquals("cert1", second.get(5, TimeUnit.SECONDS).get().getName());
+        } finally {
+            executorService.shutdownNow();
+        }
+        cachingCertificateDao.findById(1);
+        verify(certificateDao, times(1)).findById(1);
+    }
+
+    /**
+     * The test of the tag rename, the certificates with the tag should be read from the database again.
+     */
+    @Test
+    public void shouldEvictCertificatesWithTheChangedTagTest() {
+        given(certificateDao.findById(1)).willReturn(Optional.of(createCertificate()));
+        cachingCertificateDao.findById(1);
+
+        cachingCertificateDao.onTagChanged(new TagChangedEvent(7));
+        cachingCertificateDao.findById(1);
+        cachingCertificateDao.onTagChanged(new TagChangedEvent(8));
+        cachingCertificateDao.findById(1);
+
+        verify(certificateDao, times(2)).findById(1);
+    }
+
+    /**
+     * The test of the update, the updated certificate should be read from the database again.
+     */
+    @Test
+    public void shouldEvictTheCertificateOnUpdateTest() {
+        given(certificateDao.findById(1)).willReturn(Optional.of(createCertificate()));
+        GiftCertificate giftCertificate = cachingCertificateDao.findById(1).get();
+        giftCertificate.setName("changed");
+
+        Assertions.assertEquals("cert1", cachingCertificateDao.findById(1).get().getName());
+        cachingCertificateDao.update(giftCertificate);
+        cachingCertificateDao.findById(1);
+
+        verify(certificateDao, times(2)).findById(1);
+    }
+
+    private GiftCertificate createCertificate() {
+        return new GiftCertificate(1, "cert1", "d", BigDecimal.ONE, 5, LocalDateTime.now(), LocalDateTime.now(),
+                new ArrayList<>(Collections.singletonList(new CertificateTag(7, "tag7"))));
+    }
+}
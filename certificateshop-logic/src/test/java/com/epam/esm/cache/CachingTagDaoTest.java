@@ -0,0 +1,133 @@
+package com.epam.esm.cache;
+
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.event.TagChangedEvent;
+import com.epam.esm.model.impl.CertificateTag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * Contains {@link CachingTagDao} tests.
+ */
+@ExtendWith({MockitoExtension.class})
+public class CachingTagDaoTest {
+    @Mock
+    TagDao tagDao;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    CachingTagDao cachingTagDao;
+
+    @BeforeEach
+    public void setUp() {
+        cachingTagDao = new CachingTagDao(tagDao, eventPublisher);
+    }
+
+    /**
+     * The test of the lookups by the name and by the id, the second lookup should be served by the cache.
+     */
+    @Test
+    public void shouldServeRepeatedLookupsFromTheCacheTest() {
+        given(tagDao.findByName("tag1")).willReturn(Optional.of(new CertificateTag(1, "tag1")));
+
+        cachingTagDao.findByName("tag1");
+        Optional<CertificateTag> tagByName = cachingTagDao.findByName("tag1");
+        Optional<CertificateTag> tagById = cachingTagDao.findById(1);
+
+        Assertions.assertEquals(1, tagByName.get().getId());
+        Assertions.assertEquals("tag1", tagById.get().getName());
+        verify(tagDao, times(1)).findByName("tag1");
+        verify(tagDao, never()).findById(anyLong());
+        Assertions.assertEquals(2.0 / 3, cachingTagDao.getHitRatio(), 0.001);
+    }
+
+    /**
+     * The test of the lookups by the name in the other case, they should be served by the cache
+     * with the stored name of the tag.
+     */
+    @Test
+    public void shouldServeLookupsByNameInAnyCaseTest() {
+        given(tagDao.findByName("Spa")).willReturn(Optional.of(new CertificateTag(1, "spa")));
+
+        cachingTagDao.findByName("Spa");
+        Optional<CertificateTag> tag = cachingTagDao.findByName("SPA");
+        List<CertificateTag> tags = cachingTagDao.findAllByNames(Collections.singletonList("spa"));
+
+        Assertions.assertEquals("spa", tag.get().getName());
+        Assertions.assertEquals(1, tags.get(0).getId());
+        verify(tagDao, times(1)).findByName(any());
+        verify(tagDao, never()).findAllByNames(any());
+    }
+
+    /**
+     * The test of the update, the renamed tag should not be found by its old name in the cache.
+     */
+    @Test
+    public void shouldEvictTheTagOnUpdateTest() {
+        given(tagDao.findByName("tag1")).willReturn(Optional.of(new CertificateTag(1, "tag1")),
+                Optional.empty());
+        cachingTagDao.findByName("tag1");
+
+        cachingTagDao.update(new CertificateTag(1, "tag2"));
+
+        Assertions.assertFalse(cachingTagDao.findByName("tag1").isPresent());
+        verify(tagDao, times(2)).findByName("tag1");
+        verify(eventPublisher).publishEvent(any(TagChangedEvent.class));
+    }
+
+    /**
+     * The test of the lookups in the transaction, which saved a tag, they should be served by the database
+     * and should not cache the not committed tag, the lookups after the commit should cache it again.
+     */
+    @Test
+    public void shouldBypassTheCacheInTheChangingTransactionTest() {
+        given(tagDao.findByName("tag1")).willReturn(Optional.of(new CertificateTag(1, "tag1")));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cachingTagDao.save(new CertificateTag(0, "tag1"));
+            cachingTagDao.findByName("tag1");
+            cachingTagDao.findByName("tag1");
+            Assertions.assertEquals(0, cachingTagDao.getSize());
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clear();
+        }
+        cachingTagDao.findByName("tag1");
+
+        verify(tagDao, times(3)).findByName("tag1");
+        Assertions.assertEquals(1, cachingTagDao.getSize());
+    }
+
+    /**
+     * The test of the findAllByNames() method, only the names, which are not cached, should be read.
+     */
+    @Test
+    public void shouldReadOnlyNotCachedNamesTest() {
+        given(tagDao.findAllByNames(any()))
+                .willReturn(Collections.singletonList(new CertificateTag(1, "tag1")))
+                .willReturn(Collections.singletonList(new CertificateTag(2, "tag2")));
+        cachingTagDao.findAllByNames(Collections.singletonList("tag1"));
+
+        List<CertificateTag> tags = cachingTagDao.findAllByNames(Arrays.asList("tag1", "tag2"));
+
+        Assertions.assertEquals(2, tags.size());
+        verify(tagDao).findAllByNames(argThat(names -> names.size() == 1 && names.contains("tag2")));
+    }
+}
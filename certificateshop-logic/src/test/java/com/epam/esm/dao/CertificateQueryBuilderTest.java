@@ -0,0 +1,191 @@
+package com.epam.esm.dao;
+
+import com.epam.esm.dao.impl.jdbc.CertificateQuery;
+import com.epam.esm.dao.impl.jdbc.CertificateQueryBuilder;
+import com.epam.esm.dao.impl.jdbc.CertificateTagMapper;
+import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dao.impl.jdbc.GiftCertificateExtractor;
+import com.epam.esm.model.impl.GiftCertificate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Contains {@link CertificateQueryBuilder} tests, the built queries are executed against the embedded database.
+ */
+public class CertificateQueryBuilderTest {
+    private static EmbeddedDatabase database;
+    private static JdbcTemplate jdbcTemplate;
+    private static GiftCertificateExtractor extractor;
+
+    @BeforeAll
+    public static void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("sql/create_db.sql")
+                .addScript("sql/insert_data.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        extractor = new GiftCertificateExtractor();
+        extractor.setTagRowMapper(new CertificateTagMapper());
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * The test of the query without filters.
+     */
+    @Test
+    public void shouldReturnFullPageOrderedByIdTest() {
+        List<GiftCertificate> certificates = findPage(new LinkedHashMap<>(), 1, 3);
+        Assertions.assertEquals(3, certificates.size());
+        Assertions.assertEquals("cert4", certificates.get(0).getName());
+        Assertions.assertEquals("cert6", certificates.get(2).getName());
+    }
+
+    /**
+     * The test of the 'tag_name' filter, all the tags should be present in the certificate.
+     */
+    @Test
+    public void shouldReturnCertificatesWithAllTheTagsTest() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put(ColumnNames.TAG_NAME_PARAM_NAME, "tag2,tag3,tag2");
+        List<GiftCertificate> certificates = findPage(parameters, 0, 5);
+        Assertions.assertEquals(1, certificates.size());
+        Assertions.assertEquals("cert2", certificates.get(0).getName());
+        Assertions.assertEquals(3, certificates.get(0).getTags().size());
+    }
+
+    /**
+     * The test of the 'any_tag_name' filter, at least one of the tags should be present in the certificate.
+     */
+    @Test
+    public void shouldReturnCertificatesWithAnyOfTheTagsTest() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put(ColumnNames.ANY_TAG_NAME_PARAM_NAME, "tag3,tag4,unknown");
+        Assertions.assertEquals("cert2,cert3,cert4", findPage(parameters, 0, 5).stream()
+                .map(GiftCertificate::getName).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * The test of the 'part_cert_name' and 'part_descr_name' filters together with the sort.
+     */
+    @Test
+    public void shouldFilterAndSortInTheQueryTest() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put(ColumnNames.PART_CERT_NAME_PARAM_NAME, "cert");
+        parameters.put(ColumnNames.PART_DESCR_NAME_PARAM_NAME, "Description");
+        parameters.put(ColumnNames.SORT_BY_NAME_PARAM_NAME, "DESC");
+        List<GiftCertificate> certificates = findPage(parameters, 0, 3);
+        Assertions.assertEquals("cert8,cert7,cert6", certificates.stream()
+                .map(GiftCertificate::getName).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * The test of the filter value with a quote, it should be handled as a part of the value.
+     */
+    @Test
+    public void shouldTreatQuoteAsPartOfTheValueTest() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put(ColumnNames.PART_CERT_NAME_PARAM_NAME, "' or '1'='1");
+        Assertions.assertTrue(findPage(parameters, 0, 5).isEmpty());
+    }
+
+    /**
+     * The test of the LIKE wildcards in the filter value, they should be matched literally.
+     */
+    @Test
+    public void shouldMatchWildcardsLiterallyTest() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put(ColumnNames.PART_CERT_NAME_PARAM_NAME, "cert_");
+        Assertions.assertTrue(findPage(parameters, 0, 5).isEmpty());
+    }
+
+    /**
+     * The test of the template cache, the queries of the same shape should share the SQL text.
+     */
+    @Test
+    public void shouldShareTemplateBetweenQueriesOfTheSameShapeTest() {
+        Map<String, String> firstParameters = new LinkedHashMap<>();
+        firstParameters.put(ColumnNames.TAG_NAME_PARAM_NAME, "tag1,tag2,tag3");
+        firstParameters.put(ColumnNames.PART_CERT_NAME_PARAM_NAME, "cert");
+        Map<String, String> secondParameters = new LinkedHashMap<>();
+        secondParameters.put(ColumnNames.TAG_NAME_PARAM_NAME, "tag4,tag5,tag6,tag7");
+        secondParameters.put(ColumnNames.PART_CERT_NAME_PARAM_NAME, "other");
+        CertificateQuery firstQuery = CertificateQueryBuilder.createQuery(firstParameters, 0, 5);
+        CertificateQuery secondQuery = CertificateQueryBuilder.createQuery(secondParameters, 5, 5);
+        Assertions.assertSame(firstQuery.getSql(), secondQuery.getSql());
+        Assertions.assertFalse(firstQuery.getSql().contains("tag1"));
+    }
+
+    /**
+     * The test of the 'after' cursor, the next page should continue the sort order without the offset.
+     */
+    @Test
+    public void shouldReturnPageAfterTheCursorTest() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put(ColumnNames.SORT_BY_NAME_PARAM_NAME, "desc");
+        List<GiftCertificate> firstPage = findPage(parameters, 0, 3);
+        parameters.put(ColumnNames.AFTER_PARAM_NAME,
+                CertificateQueryBuilder.createCursor(firstPage.get(firstPage.size() - 1), parameters));
+        Assertions.assertEquals("cert5,cert4,cert3", findPage(parameters, 0, 3).stream()
+                .map(GiftCertificate::getName).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * The test of the 'before' cursor, the previous page should be returned in the sort order.
+     */
+    @Test
+    public void shouldReturnPageBeforeTheCursorTest() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put(ColumnNames.SORT_BY_DATE_PARAM_NAME, "asc");
+        List<GiftCertificate> secondPage = findPage(parameters, 1, 3);
+        List<GiftCertificate> firstPage = findPage(parameters, 0, 3);
+        parameters.put(ColumnNames.BEFORE_PARAM_NAME,
+                CertificateQueryBuilder.createCursor(secondPage.get(0), parameters));
+        Assertions.assertEquals(firstPage, findPage(parameters, 0, 3));
+    }
+
+    /**
+     * The test of the cursor, that was created for another sort order.
+     */
+    @Test
+    public void shouldRejectCursorOfAnotherSortOrderTest() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        String cursor = CertificateQueryBuilder.createCursor(findPage(parameters, 0, 1).get(0), parameters);
+        parameters.put(ColumnNames.SORT_BY_NAME_PARAM_NAME, "asc");
+        Assertions.assertFalse(CertificateQueryBuilder.isCursorValid(parameters, cursor));
+        Assertions.assertFalse(CertificateQueryBuilder.isCursorValid(parameters, "not a cursor"));
+    }
+
+    /**
+     * The test of the splitTagNames() method, the names, which differ in the case only, should be one name,
+     * so the amount of the required tags is the one counted by the database.
+     */
+    @Test
+    public void shouldSplitTagNamesUniqueInAnyCaseTest() {
+        Assertions.assertEquals(Arrays.asList("spa", "tag2"),
+                new ArrayList<>(CertificateQueryBuilder.splitTagNames("spa,SPA,tag2,Spa")));
+    }
+
+    private List<GiftCertificate> findPage(Map<String, String> parameters, int pageNumber, int amount) {
+        CertificateQuery query = CertificateQueryBuilder.createQuery(parameters, pageNumber * amount, amount);
+        return jdbcTemplate.query(query.getSql(), extractor, query.getArgumentsArray());
+    }
+}
@@ -0,0 +1,124 @@
+package com.epam.esm.dao;
+
+import com.epam.esm.dao.impl.jdbc.CertificateInJsonMapper;
+import com.epam.esm.dao.impl.jdbc.CertificateTagMapper;
+import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dao.impl.jdbc.GiftCertificateExtractor;
+import com.epam.esm.dao.impl.jdbc.OrderExtractor;
+import com.epam.esm.dao.impl.jdbc.UserMapper;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import com.mockrunner.mock.jdbc.MockResultSet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contains {@link GiftCertificateExtractor} and {@link OrderExtractor} tests.
+ */
+public class ExtractorTest {
+    private static final Timestamp NOW = new Timestamp(System.currentTimeMillis());
+
+    /**
+     * The test of the certificates extraction, the tags should be attached to their certificates
+     * and the certificates should keep the order of the rows.
+     */
+    @Test
+    public void shouldGroupTagsByCertificateInTheOrderOfTheRowsTest() throws SQLException {
+        MockResultSet resultSet = new MockResultSet("certificates");
+        for (String column : Arrays.asList(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_ID,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_NAME, ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DESCRIPTION,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_PRICE, ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DURATION,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_CREATE_DATE,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_LAST_UPDATE_DATE,
+                ColumnNames.TABLE_TAG_COLUMN_ID, ColumnNames.TABLE_TAG_COLUMN_NAME)) {
+            resultSet.addColumn(column);
+        }
+        resultSet.addRow(Arrays.<Object>asList(3L, "cert3", "d", BigDecimal.ONE, 1L, NOW, NOW, 1L, "tag1"));
+        resultSet.addRow(Arrays.<Object>asList(1L, "cert1", "d", BigDecimal.ONE, 1L, NOW, NOW, 0L, null));
+        resultSet.addRow(Arrays.<Object>asList(3L, "cert3", "d", BigDecimal.ONE, 1L, NOW, NOW, 2L, "tag2"));
+        GiftCertificateExtractor extractor = new GiftCertificateExtractor();
+        extractor.setTagRowMapper(new CertificateTagMapper());
+
+        List<GiftCertificate> certificates = extractor.extractData(resultSet);
+
+        Assertions.assertEquals(2, certificates.size());
+        Assertions.assertEquals(3, certificates.get(0).getId());
+        Assertions.assertEquals(2, certificates.get(0).getTags().size());
+        Assertions.assertTrue(certificates.get(1).getTags().isEmpty());
+    }
+
+    /**
+     * The test of the orders extraction, the certificates should be attached to their orders
+     * and the rows without an order should be skipped.
+     */
+    @Test
+    public void shouldGroupCertificatesByOrderTest() throws SQLException {
+        MockResultSet resultSet = new MockResultSet("orders");
+        for (String column : Arrays.asList(ColumnNames.TABLE_USER_COLUMN_ID, ColumnNames.TABLE_USER_COLUMN_NICKNAME,
+                ColumnNames.TABLE_USERORDER_COLUMN_ID, ColumnNames.TABLE_USERORDER_COLUMN_CREATE_DATE,
+                ColumnNames.TABLE_USERORDER_COLUMN_NAME,
+                ColumnNames.TABLE_USERORDER_CERTIFICATE_COLUMN_CERTIFICATEINJSON)) {
+            resultSet.addColumn(column);
+        }
+        resultSet.addRow(Arrays.<Object>asList(1L, "user1", 2L, NOW, "order2", "cert1"));
+        resultSet.addRow(Arrays.<Object>asList(2L, "user2", 0L, null, null, null));
+        resultSet.addRow(Arrays.<Object>asList(1L, "user1", 2L, NOW, "order2", "cert2"));
+        resultSet.addRow(Arrays.<Object>asList(1L, "user1", 1L, NOW, "order1", null));
+        OrderExtractor extractor = new OrderExtractor();
+        extractor.setUserRowMapper(new UserMapper());
+        extractor.setCertificateInJsonMapper(new CertificateInJsonMapper() {
+            @Override
+            public GiftCertificate mapRow(ResultSet resultSet, int i) throws SQLException {
+                GiftCertificate giftCertificate = new GiftCertificate();
+                giftCertificate.setName(resultSet.getString(
+                        ColumnNames.TABLE_USERORDER_CERTIFICATE_COLUMN_CERTIFICATEINJSON));
+                return giftCertificate;
+            }
+        });
+
+        List<Order> orders = extractor.extractData(resultSet);
+
+        Assertions.assertEquals(2, orders.size());
+        Assertions.assertEquals("order2", orders.get(0).getName());
+        Assertions.assertEquals(2, orders.get(0).getCertificates().size());
+        Assertions.assertTrue(orders.get(1).getCertificates().isEmpty());
+    }
+
+    /**
+     * The test of the streaming certificates extraction, every certificate should be passed to the consumer
+     * with all its tags as soon as the id of the row changes.
+     */
+    @Test
+    public void shouldPassEveryCertificateOfTheOrderedRowsToTheConsumerTest() throws SQLException {
+        MockResultSet resultSet = new MockResultSet("certificates");
+        for (String column : Arrays.asList(ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_ID,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_NAME, ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DESCRIPTION,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_PRICE, ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_DURATION,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_CREATE_DATE,
+                ColumnNames.TABLE_GIFT_CERTIFICATE_COLUMN_LAST_UPDATE_DATE,
+                ColumnNames.TABLE_TAG_COLUMN_ID, ColumnNames.TABLE_TAG_COLUMN_NAME)) {
+            resultSet.addColumn(column);
+        }
+        resultSet.addRow(Arrays.<Object>asList(1L, "cert1", "d", BigDecimal.ONE, 1L, NOW, NOW, 0L, null));
+        resultSet.addRow(Arrays.<Object>asList(3L, "cert3", "d", BigDecimal.ONE, 1L, NOW, NOW, 1L, "tag1"));
+        resultSet.addRow(Arrays.<Object>asList(3L, "cert3", "d", BigDecimal.ONE, 1L, NOW, NOW, 2L, "tag2"));
+        GiftCertificateExtractor extractor = new GiftCertificateExtractor();
+        extractor.setTagRowMapper(new CertificateTagMapper());
+        List<GiftCertificate> certificates = new ArrayList<>();
+
+        extractor.extractEach(resultSet, certificates::add);
+
+        Assertions.assertEquals(2, certificates.size());
+        Assertions.assertTrue(certificates.get(0).getTags().isEmpty());
+        Assertions.assertEquals(3, certificates.get(1).getId());
+        Assertions.assertEquals(2, certificates.get(1).getTags().size());
+    }
+}
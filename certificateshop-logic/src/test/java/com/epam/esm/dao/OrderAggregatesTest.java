@@ -0,0 +1,81 @@
+package com.epam.esm.dao;
+
+import com.epam.esm.dao.impl.jdbc.OrderAggregates;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import com.epam.esm.model.impl.User;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Contains {@link OrderAggregates} tests.
+ */
+public class OrderAggregatesTest {
+
+    /**
+     * The test of the aggregate rows, the orders of one user should be summed up in one row per key
+     * and the rows should be sorted by their keys.
+     */
+    @Test
+    public void shouldSumOrdersUpByUserAndTagTest() {
+        CertificateTag tag1 = new CertificateTag(1, "tag1");
+        CertificateTag tag2 = new CertificateTag(2, "tag2");
+        GiftCertificate certificate1 = new GiftCertificate(1, "cert1", "d", new BigDecimal("7.50"), 5, null, null,
+                Arrays.asList(tag2, tag1));
+        GiftCertificate certificate2 = new GiftCertificate(2, "cert2", "d", BigDecimal.TEN, 5, null, null,
+                Collections.singletonList(tag2));
+        List<Order> orders = Arrays.asList(
+                new Order(1, new User(9, "user9"), null, "order1", Arrays.asList(certificate1, certificate2)),
+                new Order(2, new User(3, "user3"), null, "order2", Collections.singletonList(certificate2)),
+                new Order(3, new User(9, "user9"), null, "order3", Collections.singletonList(certificate1)));
+
+        List<Object[]> userSpendRows = OrderAggregates.userSpendRows(orders);
+        List<Object[]> userTagCountRows = OrderAggregates.userTagCountRows(orders);
+
+        Assertions.assertEquals(2, userSpendRows.size());
+        Assertions.assertArrayEquals(new Object[]{3L, BigDecimal.TEN}, userSpendRows.get(0));
+        Assertions.assertArrayEquals(new Object[]{9L, new BigDecimal("25.00")}, userSpendRows.get(1));
+        Assertions.assertEquals(3, userTagCountRows.size());
+        Assertions.assertArrayEquals(new Object[]{3L, 2L, 1}, userTagCountRows.get(0));
+        Assertions.assertArrayEquals(new Object[]{9L, 1L, 2}, userTagCountRows.get(1));
+        Assertions.assertArrayEquals(new Object[]{9L, 2L, 3}, userTagCountRows.get(2));
+    }
+
+    /**
+     * The test of the rebuilt rows, the certificates as they were ordered should be counted as the added orders
+     * are, and the deleted tags should be skipped.
+     */
+    @Test
+    public void shouldRebuildTheSameRowsAsTheAddedOrdersTest() {
+        GiftCertificate certificate1 = new GiftCertificate(1, "cert1", "d", BigDecimal.TEN, 5, null, null,
+                Arrays.asList(new CertificateTag(2, "tag2"), new CertificateTag(1, "tag1")));
+        GiftCertificate certificate2 = new GiftCertificate(2, "cert2", "d", BigDecimal.TEN, 5, null, null, null);
+        List<Order> orders = Arrays.asList(
+                new Order(1, new User(9, "user9"), null, "order1", Arrays.asList(certificate1, certificate2)),
+                new Order(2, new User(3, "user3"), null, "order2", Collections.singletonList(certificate1)));
+        Map<Long, Map<Long, Integer>> amountsByUser = new TreeMap<>();
+        OrderAggregates.countTags(amountsByUser, 9, certificate1);
+        OrderAggregates.countTags(amountsByUser, 9, certificate2);
+        OrderAggregates.countTags(amountsByUser, 3, certificate1);
+
+        List<Object[]> addedRows = OrderAggregates.userTagCountRows(orders);
+        List<Object[]> rebuiltRows = OrderAggregates.userTagCountRows(amountsByUser, tagId -> true);
+        List<Object[]> rowsWithoutDeletedTag = OrderAggregates.userTagCountRows(amountsByUser, tagId -> tagId != 1);
+
+        Assertions.assertEquals(addedRows.size(), rebuiltRows.size());
+        for (int i = 0; i < addedRows.size(); i++) {
+            Assertions.assertArrayEquals(addedRows.get(i), rebuiltRows.get(i));
+        }
+        Assertions.assertEquals(2, rowsWithoutDeletedTag.size());
+        Assertions.assertArrayEquals(new Object[]{3L, 2L, 1}, rowsWithoutDeletedTag.get(0));
+        Assertions.assertArrayEquals(new Object[]{9L, 2L, 1}, rowsWithoutDeletedTag.get(1));
+    }
+}
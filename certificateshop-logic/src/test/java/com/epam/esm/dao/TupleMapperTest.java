@@ -0,0 +1,70 @@
+package com.epam.esm.dao;
+
+import com.epam.esm.dao.impl.jdbc.CertificateInJsonMapper;
+import com.epam.esm.dao.impl.jpa.CertificateTupleMapper;
+import com.epam.esm.dao.impl.jpa.OrderTupleMapper;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contains {@link CertificateTupleMapper} and {@link OrderTupleMapper} tests.
+ */
+public class TupleMapperTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2021, 10, 1, 12, 0);
+
+    /**
+     * The test of the certificate tuples, the numeric types of the driver should be converted
+     * and the tags should be attached to their certificates.
+     */
+    @Test
+    public void shouldMapCertificateTuplesTest() {
+        List<Object[]> tuples = Arrays.asList(
+                new Object[]{BigInteger.valueOf(2), "cert2", "d", 10, Timestamp.valueOf(NOW), 12.5,
+                        Timestamp.valueOf(NOW), BigInteger.ONE, "tag1"},
+                new Object[]{BigInteger.valueOf(2), "cert2", "d", 10, Timestamp.valueOf(NOW), 12.5,
+                        Timestamp.valueOf(NOW), BigInteger.valueOf(3), "tag3"},
+                new Object[]{BigInteger.ONE, "cert1", "d", 5, NOW, new BigDecimal("7.00"), NOW, null, null});
+
+        List<GiftCertificate> certificates = new CertificateTupleMapper().mapTuples(tuples);
+
+        Assertions.assertEquals(2, certificates.size());
+        Assertions.assertEquals(2, certificates.get(0).getId());
+        Assertions.assertEquals(new BigDecimal("12.5"), certificates.get(0).getPrice());
+        Assertions.assertEquals(NOW, certificates.get(0).getCreateDate());
+        Assertions.assertEquals(2, certificates.get(0).getTags().size());
+        Assertions.assertTrue(certificates.get(1).getTags().isEmpty());
+    }
+
+    /**
+     * The test of the order tuples, the tuples of the users without orders should be skipped.
+     */
+    @Test
+    public void shouldMapOrderTuplesTest() {
+        GiftCertificate giftCertificate = new GiftCertificate();
+        OrderTupleMapper orderTupleMapper = new OrderTupleMapper(new CertificateInJsonMapper() {
+            @Override
+            public GiftCertificate fromJson(String certificateInJson) {
+                return giftCertificate;
+            }
+        });
+        List<Object[]> tuples = Arrays.asList(
+                new Object[]{BigInteger.ONE, "user1", BigInteger.valueOf(4), Timestamp.valueOf(NOW), "order4", "{}"},
+                new Object[]{BigInteger.ONE, "user1", BigInteger.valueOf(4), Timestamp.valueOf(NOW), "order4", "{}"},
+                new Object[]{BigInteger.valueOf(2), "user2", null, null, null, null});
+
+        List<Order> orders = orderTupleMapper.mapTuples(tuples);
+
+        Assertions.assertEquals(1, orders.size());
+        Assertions.assertEquals("user1", orders.get(0).getUser().getNickName());
+        Assertions.assertEquals(2, orders.get(0).getCertificates().size());
+    }
+}
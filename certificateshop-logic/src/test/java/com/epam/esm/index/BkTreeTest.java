@@ -0,0 +1,69 @@
+package com.epam.esm.index;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Contains {@link BkTree} tests.
+ */
+public class BkTreeTest {
+
+    /**
+     * The test of the search() method, the words within the distance should be found in any case
+     * from the closest one to the farthest one.
+     */
+    @Test
+    public void shouldFindWordsWithinTheDistanceTest() {
+        BkTree tree = new BkTree();
+        tree.add("Spa weekend");
+        tree.add("Spa weekends");
+        tree.add("Sea weekend");
+        tree.add("Diving course");
+
+        List<Map.Entry<String, Integer>> words = tree.search("SPA WEEKND", 2);
+
+        Assertions.assertEquals(3, words.size());
+        Assertions.assertEquals("spa weekend", words.get(0).getKey());
+        Assertions.assertEquals(1, words.get(0).getValue());
+        Assertions.assertTrue(tree.search("yoga", 2).isEmpty());
+    }
+
+    /**
+     * The test of the remove() method, the removed word should not be found, and the tree should be rebuilt,
+     * when the most of the words are removed.
+     */
+    @Test
+    public void shouldNotFindTheRemovedWordTest() {
+        BkTree tree = new BkTree();
+        tree.add("spa");
+        tree.add("sea");
+        tree.add("sun");
+        tree.remove("spa");
+
+        Assertions.assertEquals(Arrays.asList("sea"), toWords(tree.search("spa", 1)));
+        tree.remove("sun");
+        Assertions.assertEquals(1, tree.getAmountOfWords());
+        Assertions.assertEquals(1, tree.getAmountOfNodes());
+        tree.add("spa");
+        Assertions.assertEquals(Arrays.asList("sea", "spa"), toWords(tree.search("sxa", 1)));
+    }
+
+    /**
+     * The test of the distance() method.
+     */
+    @Test
+    public void shouldCountTheLevenshteinDistanceTest() {
+        Assertions.assertEquals(3, BkTree.distance("kitten", "sitting", Integer.MAX_VALUE));
+        Assertions.assertEquals(0, BkTree.distance("spa", "spa", 0));
+        Assertions.assertTrue(BkTree.distance("abcdef", "uvwxyz", 1) > 1);
+    }
+
+    private static List<String> toWords(List<Map.Entry<String, Integer>> words) {
+        return words.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,89 @@
+package com.epam.esm.index;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Contains {@link Bm25Index} tests.
+ */
+public class Bm25IndexTest {
+
+    /**
+     * The test of the search() method, the documents with the words of the query in the name should be ranked
+     * higher than the ones with the words in the description, and the documents without the words should not
+     * be found.
+     */
+    @Test
+    public void shouldRankTheWordsOfTheNameHigherTest() {
+        Bm25Index index = new Bm25Index();
+        index.add(1, "Diving course", "Two dives with the instructor, spa after the dives");
+        index.add(2, "Spa weekend", "Sauna and massage");
+        index.add(3, "Cinema", "Two tickets");
+
+        List<Long> ids = toIds(index.search("SPA massage", 10));
+
+        Assertions.assertEquals(2, ids.size());
+        Assertions.assertEquals(2L, ids.get(0));
+        Assertions.assertEquals(1L, ids.get(1));
+        Assertions.assertTrue(index.search("yoga", 10).isEmpty());
+    }
+
+    /**
+     * The test of the search() method, only the limit of the best documents should be returned.
+     */
+    @Test
+    public void shouldReturnOnlyTheLimitOfTheBestDocumentsTest() {
+        Bm25Index index = new Bm25Index();
+        for (int id = 1; id <= 50; id++) {
+            index.add(id, "Certificate " + id, id % 10 == 0 ? "gift gift gift" : "gift");
+        }
+
+        List<Map.Entry<Long, Double>> top = index.search("gift", 5);
+
+        Assertions.assertEquals(5, top.size());
+        Assertions.assertTrue(top.get(0).getValue() >= top.get(4).getValue());
+        Assertions.assertEquals(10L, top.get(0).getKey());
+    }
+
+    /**
+     * The test of the remove() method, the removed document should not be found by its old words.
+     */
+    @Test
+    public void shouldNotFindTheRemovedDocumentTest() {
+        Bm25Index index = new Bm25Index();
+        index.add(1, "Spa weekend", "Sauna");
+        index.add(2, "Spa day", null);
+        index.remove(1);
+        index.add(1, "Diving", "Sea");
+
+        Assertions.assertEquals(2, index.getAmountOfDocuments());
+        Assertions.assertTrue(index.search("sauna", 10).isEmpty());
+        Assertions.assertEquals(2L, toIds(index.search("spa", 10)).get(0));
+        Assertions.assertEquals(1L, toIds(index.search("sea", 10)).get(0));
+    }
+
+    /**
+     * The test of the add() method, the document with the same id should be replaced, so its old words
+     * are not found and its new words are counted once.
+     */
+    @Test
+    public void shouldReplaceTheDocumentWithTheSameIdTest() {
+        Bm25Index index = new Bm25Index();
+        index.add(1, "Spa weekend", "Sauna");
+        index.add(2, "Spa day", null);
+        index.add(1, "Spa evening", null);
+        index.add(1, "Spa evening", null);
+
+        Assertions.assertEquals(2, index.getAmountOfDocuments());
+        Assertions.assertTrue(index.search("weekend", 10).isEmpty());
+        Assertions.assertEquals(2, index.search("spa", 10).size());
+    }
+
+    private static List<Long> toIds(List<Map.Entry<Long, Double>> top) {
+        return top.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+    }
+}
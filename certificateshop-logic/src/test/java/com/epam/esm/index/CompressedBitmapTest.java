@@ -0,0 +1,90 @@
+package com.epam.esm.index;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Contains {@link CompressedBitmap} tests.
+ */
+public class CompressedBitmapTest {
+
+    /**
+     * The test of the and() and or() methods on the sparse and the dense containers, the results
+     * should be the same as the ones of the {@link BitSet}.
+     */
+    @Test
+    public void shouldIntersectAndUniteLikeBitSetTest() {
+        Random random = new Random(42);
+        CompressedBitmap sparse = new CompressedBitmap();
+        CompressedBitmap dense = new CompressedBitmap();
+        BitSet sparseBits = new BitSet();
+        BitSet denseBits = new BitSet();
+        for (int i = 0; i < 3000; i++) {
+            int value = random.nextInt(300_000);
+            sparse.add(value);
+            sparseBits.set(value);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt(200_000);
+            dense.add(value);
+            denseBits.set(value);
+        }
+        BitSet intersection = (BitSet) sparseBits.clone();
+        intersection.and(denseBits);
+        BitSet union = (BitSet) sparseBits.clone();
+        union.or(denseBits);
+
+        assertSameValues(intersection, sparse.and(dense));
+        assertSameValues(intersection, dense.and(dense.or(sparse)).and(sparse));
+        assertSameValues(union, sparse.or(dense));
+        assertSameValues(denseBits, dense.and(dense));
+    }
+
+    /**
+     * The test of the remove() method, the container should become an array again and the empty
+     * container should be dropped.
+     */
+    @Test
+    public void shouldRemoveValuesTest() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = 0; value < 10_000; value++) {
+            bitmap.add(value);
+        }
+        bitmap.add(70_000);
+        for (int value = 0; value < 10_000; value += 2) {
+            bitmap.remove(value);
+        }
+        bitmap.remove(70_000);
+        bitmap.remove(70_000);
+
+        Assertions.assertEquals(5000, bitmap.cardinality());
+        Assertions.assertTrue(bitmap.contains(9999));
+        Assertions.assertFalse(bitmap.contains(9998));
+        Assertions.assertFalse(bitmap.contains(70_000));
+    }
+
+    /**
+     * The test of the rank() and page() methods, the page should be cut at the position of the rank
+     * across the containers.
+     */
+    @Test
+    public void shouldCutPageByRankTest() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = 1; value <= 20_000; value++) {
+            bitmap.add(value * 5);
+        }
+
+        Assertions.assertEquals(13_106, bitmap.rank(65_535));
+        Assertions.assertArrayEquals(new int[]{65_535, 65_540, 65_545}, bitmap.page(bitmap.rank(65_535), 3));
+        Assertions.assertArrayEquals(new int[]{99_995, 100_000}, bitmap.page(19_998, 5));
+        Assertions.assertEquals(0, bitmap.page(20_000, 5).length);
+    }
+
+    private void assertSameValues(BitSet expected, CompressedBitmap actual) {
+        Assertions.assertEquals(expected.cardinality(), actual.cardinality());
+        Assertions.assertArrayEquals(expected.stream().toArray(), actual.page(0, expected.cardinality()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.epam.esm.index;
+
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.event.TagChangedEvent;
+import com.epam.esm.model.impl.CertificateTag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+
+/**
+ * Contains {@link TagIndex} tests.
+ */
+@ExtendWith({MockitoExtension.class})
+public class TagIndexTest {
+
+    @Mock
+    TagDao tagDAO;
+
+    TagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        tagIndex = new TagIndex(tagDAO);
+        given(tagDAO.findAll()).willReturn(Arrays.asList(new CertificateTag(1L, "spa"),
+                new CertificateTag(2L, "Sport")));
+        willAnswer(invocation -> {
+            BiConsumer<Long, Long> consumer = invocation.getArgument(0);
+            consumer.accept(10L, 1L);
+            consumer.accept(11L, 1L);
+            consumer.accept(11L, 2L);
+            return null;
+        }).given(tagDAO).streamHasTag(any());
+        tagIndex.load();
+    }
+
+    /**
+     * The test of the lookups by the names, the names in the other case should find the same tags.
+     */
+    @Test
+    public void shouldFindTagsByNamesInOtherCaseTest() {
+        Assertions.assertArrayEquals(new int[]{11},
+                tagIndex.findCertificatesWithAllTags(Arrays.asList("SPA", "sport")).page(0, 10));
+        Assertions.assertArrayEquals(new int[]{10, 11},
+                tagIndex.findCertificatesWithAnyTag(Collections.singletonList("Spa")).page(0, 10));
+    }
+
+    /**
+     * The test of the onTagChanged() method, the renamed tag should not be found by its old name in any case.
+     */
+    @Test
+    public void shouldRenameTheTagTest() {
+        given(tagDAO.findById(2L)).willReturn(Optional.of(new CertificateTag(2L, "Sea")));
+
+        tagIndex.onTagChanged(new TagChangedEvent(2L));
+
+        Assertions.assertTrue(tagIndex.findCertificatesWithAnyTag(Collections.singletonList("SPORT")).isEmpty());
+        Assertions.assertArrayEquals(new int[]{11},
+                tagIndex.findCertificatesWithAnyTag(Collections.singletonList("sea")).page(0, 10));
+    }
+}
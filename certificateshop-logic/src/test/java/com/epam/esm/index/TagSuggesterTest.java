@@ -0,0 +1,87 @@
+package com.epam.esm.index;
+
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.dto.TagSuggestion;
+import com.epam.esm.event.TagChangedEvent;
+import com.epam.esm.event.TagCreatedEvent;
+import com.epam.esm.model.impl.CertificateTag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Contains {@link TagSuggester} tests.
+ */
+@ExtendWith({MockitoExtension.class})
+public class TagSuggesterTest {
+
+    @Mock
+    TagDao tagDAO;
+    @Mock
+    TagIndex tagIndex;
+
+    TagSuggester tagSuggester;
+
+    @BeforeEach
+    void setUp() {
+        tagSuggester = new TagSuggester(tagDAO, tagIndex);
+        given(tagDAO.findAll()).willReturn(Arrays.asList(new CertificateTag(1L, "Spa"),
+                new CertificateTag(2L, "sport"), new CertificateTag(3L, "sea"), new CertificateTag(4L, "spain")));
+        tagSuggester.load();
+    }
+
+    /**
+     * The test of the suggest() method, the tags with the prefix should be ranked by the amount
+     * of the certificates and cut to the limit.
+     */
+    @Test
+    public void shouldSuggestTheMostUsedTagsWithThePrefixTest() {
+        given(tagIndex.countCertificates(any())).willAnswer(invocation -> {
+            long[] tagIds = invocation.getArgument(0);
+            return Arrays.stream(tagIds).map(tagId -> tagId * 10).toArray();
+        });
+
+        List<TagSuggestion> suggestions = tagSuggester.suggest("SP", 2);
+
+        Assertions.assertEquals(Arrays.asList("spain", "sport"), toNames(suggestions));
+        Assertions.assertEquals(40, suggestions.get(0).getAmountOfCertificates());
+    }
+
+    /**
+     * The test of the onTagCreated() and onTagChanged() methods, the created, renamed and deleted tags
+     * should be applied to the dictionary.
+     */
+    @Test
+    public void shouldApplyTheChangedTagsTest() {
+        given(tagIndex.countCertificates(any())).willAnswer(invocation -> new long[((long[]) invocation
+                .getArgument(0)).length]);
+        given(tagDAO.findAllByNames(Collections.singletonList("spring")))
+                .willReturn(Collections.singletonList(new CertificateTag(5L, "spring")));
+        given(tagDAO.findById(2L)).willReturn(Optional.of(new CertificateTag(2L, "fitness")));
+        given(tagDAO.findById(4L)).willReturn(Optional.empty());
+
+        tagSuggester.onTagCreated(new TagCreatedEvent(Collections.singletonList("spring")));
+        tagSuggester.onTagChanged(new TagChangedEvent(2L));
+        tagSuggester.onTagChanged(new TagChangedEvent(4L));
+
+        Assertions.assertEquals(Arrays.asList("Spa", "spring"), toNames(tagSuggester.suggest("sp", 10)));
+        Assertions.assertEquals(Collections.singletonList("fitness"), toNames(tagSuggester.suggest("f", 10)));
+        Assertions.assertEquals(4, tagSuggester.getAmountOfTags());
+    }
+
+    private static List<String> toNames(List<TagSuggestion> suggestions) {
+        return suggestions.stream().map(TagSuggestion::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,48 @@
+package com.epam.esm.index;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+/**
+ * Contains {@link TrigramIndex} tests.
+ */
+public class TrigramIndexTest {
+
+    /**
+     * The test of the findCandidates() method, the candidates should contain all the texts with the substring
+     * in any case, and the too short substring should not be searched.
+     */
+    @Test
+    public void shouldFindTextsWithTheSubstringTest() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "Spa weekend");
+        index.add(2, "Diving course");
+        index.add(3, "SPA day for two");
+        index.add(4, null);
+
+        Assertions.assertArrayEquals(new int[]{1, 3}, index.findCandidates("spa").get().page(0, 10));
+        Assertions.assertArrayEquals(new int[]{2}, index.findCandidates("ING CO").get().page(0, 10));
+        Assertions.assertTrue(index.findCandidates("yoga").get().isEmpty());
+        Assertions.assertEquals(Optional.empty(), index.findCandidates("sp"));
+    }
+
+    /**
+     * The test of the remove() method, the text should not be found by its old trigrams
+     * and the trigrams without the texts should be dropped.
+     */
+    @Test
+    public void shouldRemoveTheOldTextTest() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(1, "abcd");
+        index.add(2, "bcde");
+        index.remove(1, "abcd");
+        index.add(1, "xyz");
+
+        Assertions.assertTrue(index.findCandidates("abc").get().isEmpty());
+        Assertions.assertArrayEquals(new int[]{2}, index.findCandidates("bcd").get().page(0, 10));
+        Assertions.assertArrayEquals(new int[]{1}, index.findCandidates("xyz").get().page(0, 10));
+        Assertions.assertEquals(3, index.getAmountOfTrigrams());
+    }
+}
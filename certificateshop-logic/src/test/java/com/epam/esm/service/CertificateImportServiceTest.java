@@ -0,0 +1,135 @@
+package com.epam.esm.service;
+
+import com.epam.esm.configuration.Translator;
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.dto.CertificateImportResult;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.service.impl.CertificateImportServiceImpl;
+import com.epam.esm.validator.CertificateValidator;
+import com.epam.esm.validator.TagValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.*;
+
+/**
+ * Contains {@link CertificateImportService} tests.
+ */
+@ExtendWith({MockitoExtension.class})
+public class CertificateImportServiceTest {
+    @Mock
+    CertificateDao certificateDao;
+    @Mock
+    TagDao tagDAO;
+    @Mock
+    CertificateValidator certificateValidator;
+    @Mock
+    TagValidator tagValidator;
+    @Mock
+    Translator translator;
+    @Mock
+    TransactionTemplate transactionTemplate;
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    CertificateImportServiceImpl certificateImportService;
+
+    /**
+     * The test of the importCertificates() method, the duplicate and not certificate records should be rejected,
+     * the valid ones should be saved in one batch with the tags resolved once for the batch.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void importCertificatesInBatchTest() {
+        String records = "{\"name\":\"cert1\",\"description\":\"d\",\"price\":10,\"duration\":5,\"tags\":[{\"name\":\"tag1\"}]}\n"
+                + "{\"name\":\"cert1\",\"description\":\"d\",\"price\":10,\"duration\":5}\n"
+                + "[1, 2]\n"
+                + "{\"name\":\"cert3\",\"description\":\"d\",\"price\":10,\"duration\":5,"
+                + "\"tags\":[{\"name\":\"tag1\"},{\"name\":\"tag2\"}]}\n";
+        given(translator.toLocale(any())).willReturn("test");
+        given(tagValidator.isNameValid(any(), anyInt())).willReturn(true);
+        given(certificateDao.findAllByNames(any())).willReturn(new ArrayList<>());
+        given(tagDAO.findAllByNames(any())).willReturn(Collections.singletonList(new CertificateTag(1, "tag1")));
+        given(tagDAO.saveAll(any())).willReturn(Collections.singletonList(new CertificateTag(2, "tag2")));
+        willAnswer(invocation -> {
+            List<GiftCertificate> giftCertificates = invocation.getArgument(0);
+            for (int i = 0; i < giftCertificates.size(); i++) {
+                giftCertificates.get(i).setId(i + 1);
+            }
+            return giftCertificates;
+        }).given(certificateDao).saveAll(any());
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        CertificateImportResult result = certificateImportService.importCertificates(
+                new ByteArrayInputStream(records.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(2, result.getImported());
+        Assertions.assertEquals(2, result.getRejected());
+        Assertions.assertEquals(2, result.getErrors().size());
+        ArgumentCaptor<List<CertificateTag>> newTags = ArgumentCaptor.forClass(List.class);
+        verify(tagDAO, times(1)).findAllByNames(any());
+        verify(tagDAO, times(1)).saveAll(newTags.capture());
+        Assertions.assertEquals("tag2", newTags.getValue().get(0).getName());
+        ArgumentCaptor<List<GiftCertificate>> savedCertificates = ArgumentCaptor.forClass(List.class);
+        verify(certificateDao, times(1)).saveAllInHasTagTable(savedCertificates.capture());
+        Assertions.assertEquals(2, savedCertificates.getValue().get(1).getTags().get(1).getId());
+    }
+
+    /**
+     * The test of the importCertificates() method, the names of the certificates and the tags should be matched
+     * with the stored ones in any case, so the case variant of a stored certificate is rejected alone
+     * and the case variant of a stored tag is not saved again.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void importCertificatesWithNamesInOtherCaseTest() {
+        String records = "{\"name\":\"cert1\",\"description\":\"d\",\"price\":10,\"duration\":5,\"tags\":[{\"name\":\"spa\"}]}\n"
+                + "{\"name\":\"cert2\",\"description\":\"d\",\"price\":10,\"duration\":5}\n";
+        given(translator.toLocale(any())).willReturn("test %s");
+        given(tagValidator.isNameValid(any(), anyInt())).willReturn(true);
+        given(certificateDao.findAllByNames(any())).willReturn(Collections.singletonList(
+                new GiftCertificate(7, "CERT2", "d", BigDecimal.TEN, 5, null, null, new ArrayList<>())));
+        given(tagDAO.findAllByNames(any())).willReturn(Collections.singletonList(new CertificateTag(1, "Spa")));
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        CertificateImportResult result = certificateImportService.importCertificates(
+                new ByteArrayInputStream(records.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(1, result.getImported());
+        Assertions.assertEquals(1, result.getRejected());
+        verify(tagDAO, never()).saveAll(any());
+        ArgumentCaptor<List<GiftCertificate>> savedCertificates = ArgumentCaptor.forClass(List.class);
+        verify(certificateDao, times(1)).saveAllInHasTagTable(savedCertificates.capture());
+        Assertions.assertEquals(1, savedCertificates.getValue().get(0).getTags().get(0).getId());
+    }
+}
@@ -6,6 +6,10 @@ import com.epam.esm.dao.TagDao;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
 import com.epam.esm.exception.DuplicateException;
 import com.epam.esm.exception.EntityNotFoundException;
+import com.epam.esm.index.CertificateTextIndex;
+import com.epam.esm.index.NameDictionary;
+import com.epam.esm.index.CompressedBitmap;
+import com.epam.esm.index.TagIndex;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.model.impl.GiftCertificate;
 import com.epam.esm.service.impl.CertificateServiceImpl;
@@ -41,6 +45,12 @@ public class CertificateServiceTest {
     @Mock
     TagValidator tagValidator;
     @Mock
+    TagIndex tagIndex;
+    @Mock
+    CertificateTextIndex certificateTextIndex;
+    @Mock
+    NameDictionary nameDictionary;
+    @Mock
     Translator translator;
 
     @Spy
@@ -66,6 +76,47 @@ public class CertificateServiceTest {
         Assertions.assertEquals(certificates, expectedCertificates);
     }
 
+    /**
+     * The test of the findAll() method with the 'tag_name' filter, the page of the ids should be cut
+     * from the bitmap of the tag index and only its certificates should be read.
+     */
+    @Test
+    public void findAllByTagNamesFromTheTagIndexTest() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put(ColumnNames.PAGE_NUMBER_PARAM_NAME, "1");
+        parameters.put(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME, "2");
+        parameters.put(ColumnNames.TAG_NAME_PARAM_NAME, "tag1,tag2");
+        given(tagIndex.findCertificatesWithAllTags(any())).willReturn(CompressedBitmap.of(3, 8, 5, 12, 40));
+        GiftCertificate certificate8 = new GiftCertificate(8, "cert8", "description", BigDecimal.ONE,
+                30, LocalDateTime.now(), LocalDateTime.now(), new ArrayList<>());
+        GiftCertificate certificate12 = new GiftCertificate(12, "cert12", "description", BigDecimal.ONE,
+                30, LocalDateTime.now(), LocalDateTime.now(), new ArrayList<>());
+        given(certificateDAO.findAllByIds(Arrays.asList(8L, 12L)))
+                .willReturn(Arrays.asList(certificate12, certificate8));
+        List<GiftCertificate> certificates = certificateService.findAllCertificates(parameters);
+        Assertions.assertEquals(Arrays.asList(certificate8, certificate12), certificates);
+        verify(certificateDAO, never()).findAllPagination(anyInt(), anyInt(), any());
+    }
+
+    /**
+     * The test of the findAll() method with the 'part_cert_name' filter and the sort, the database
+     * should filter only the candidates of the trigram index.
+     */
+    @Test
+    public void findAllByPartOfNameAmongTheCandidatesTest() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put(ColumnNames.PAGE_NUMBER_PARAM_NAME, "0");
+        parameters.put(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME, "5");
+        parameters.put(ColumnNames.PART_CERT_NAME_PARAM_NAME, "spa");
+        parameters.put(ColumnNames.SORT_BY_NAME_PARAM_NAME, "asc");
+        given(certificateTextIndex.findCandidates("spa", null)).willReturn(Optional.of(CompressedBitmap.of(7, 3)));
+        List<GiftCertificate> certificates = new ArrayList<>();
+        given(certificateDAO.findAllPagination(0, 5, parameters, Arrays.asList(3L, 7L))).willReturn(certificates);
+
+        Assertions.assertSame(certificates, certificateService.findAllCertificates(parameters));
+        verify(certificateDAO, never()).findAllPagination(0, 5, parameters);
+    }
+
     /**
      * The test of the createCertificate() method.
      */
@@ -82,6 +133,63 @@ public class CertificateServiceTest {
         verify(certificateDAO, never()).save(any(GiftCertificate.class));
     }
 
+    /**
+     * The test of the createCertificate() method, the tags should be resolved and linked in batches.
+     */
+    @Test
+    public void createCertificateWithTagsInBatchesTest() {
+        List<CertificateTag> tags = new ArrayList<>(Arrays.asList(new CertificateTag(0, "tag1"),
+                new CertificateTag(0, "newTag"), new CertificateTag(0, "tag1")));
+        final GiftCertificate giftCertificate = new GiftCertificate(
+                0, "cert9", "certNineDescription", BigDecimal.ONE,
+                30, LocalDateTime.now(), LocalDateTime.now(), tags
+        );
+        given(tagValidator.isNameValid(any(), anyInt())).willReturn(true);
+        given(certificateDAO.findByName(giftCertificate.getName())).willReturn(Optional.empty());
+        given(certificateDAO.save(giftCertificate)).willAnswer(invocation -> {
+            GiftCertificate savedCertificate = invocation.getArgument(0);
+            savedCertificate.setId(9);
+            return savedCertificate;
+        });
+        given(tagDAO.findAllByNames(any())).willReturn(Collections.singletonList(new CertificateTag(1, "tag1")));
+        given(tagDAO.saveAll(Collections.singletonList(new CertificateTag(0, "newTag"))))
+                .willReturn(Collections.singletonList(new CertificateTag(8, "newTag")));
+
+        certificateService.createCertificate(giftCertificate);
+
+        verify(tagDAO, times(1)).findAllByNames(any());
+        verify(certificateDAO).saveIdsInHasTagTable(9L, Arrays.asList(1L, 8L));
+        verify(tagDAO, never()).findByName(any());
+    }
+
+    /**
+     * The test of the createCertificate() method, the tags of the request should be matched
+     * with the stored tags in any case, so they are neither saved again nor lost.
+     */
+    @Test
+    public void createCertificateWithTagsInOtherCaseTest() {
+        List<CertificateTag> tags = new ArrayList<>(Arrays.asList(new CertificateTag(0, "SPA"),
+                new CertificateTag(0, "spa")));
+        final GiftCertificate giftCertificate = new GiftCertificate(
+                0, "cert9", "certNineDescription", BigDecimal.ONE,
+                30, LocalDateTime.now(), LocalDateTime.now(), tags
+        );
+        given(tagValidator.isNameValid(any(), anyInt())).willReturn(true);
+        given(certificateDAO.findByName(giftCertificate.getName())).willReturn(Optional.empty());
+        given(certificateDAO.save(giftCertificate)).willAnswer(invocation -> {
+            GiftCertificate savedCertificate = invocation.getArgument(0);
+            savedCertificate.setId(9);
+            return savedCertificate;
+        });
+        given(tagDAO.findAllByNames(Collections.singletonList("SPA")))
+                .willReturn(Collections.singletonList(new CertificateTag(1, "spa")));
+
+        certificateService.createCertificate(giftCertificate);
+
+        verify(tagDAO, never()).saveAll(any());
+        verify(certificateDAO).saveIdsInHasTagTable(9L, Collections.singletonList(1L));
+    }
+
     /**
      * The test of the findCertificateById() method.
      */
@@ -0,0 +1,82 @@
+package com.epam.esm.service;
+
+import com.epam.esm.configuration.Translator;
+import com.epam.esm.dao.StatisticDao;
+import com.epam.esm.dao.TagDao;
+import com.epam.esm.dto.LeaderboardEntry;
+import com.epam.esm.dto.UserSpend;
+import com.epam.esm.dto.UserTagCount;
+import com.epam.esm.event.OrderCreatedEvent;
+import com.epam.esm.exception.MethodArgumentNotValidException;
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.model.impl.Order;
+import com.epam.esm.model.impl.User;
+import com.epam.esm.service.impl.LeaderboardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Contains {@link LeaderboardService} tests.
+ */
+@ExtendWith({MockitoExtension.class})
+public class LeaderboardServiceTest {
+    @Mock
+    StatisticDao statisticDao;
+    @Mock
+    TagDao tagDAO;
+    @Mock
+    Translator translator;
+
+    @InjectMocks
+    LeaderboardServiceImpl leaderboardService;
+
+    /**
+     * The test of the reseed() and the onOrderCreated() methods, the created orders should be added
+     * to the leaderboards seeded from the database.
+     */
+    @Test
+    public void shouldAddCreatedOrdersToSeededLeaderboardsTest() {
+        given(statisticDao.findAllUserSpends()).willReturn(Arrays.asList(
+                new UserSpend(1, "user1", new BigDecimal("30")), new UserSpend(2, "user2", new BigDecimal("20"))));
+        given(statisticDao.findAllUserTagCounts()).willReturn(Arrays.asList(
+                new UserTagCount(1, 1, "tag1", 3), new UserTagCount(2, 2, "tag2", 2)));
+        leaderboardService.reseed();
+        GiftCertificate giftCertificate = new GiftCertificate(1, "cert1", "d", BigDecimal.TEN, 5, null, null,
+                Collections.singletonList(new CertificateTag(2, "tag2")));
+        Order order = new Order(7, new User(2, "user2"), null, "order7",
+                Arrays.asList(giftCertificate, giftCertificate));
+
+        leaderboardService.onOrderCreated(new OrderCreatedEvent(Collections.singletonList(order)));
+
+        List<LeaderboardEntry> topSpenders = leaderboardService.topSpenders(10);
+        Assertions.assertEquals(2, topSpenders.get(0).getId());
+        Assertions.assertEquals(new BigDecimal("40"), topSpenders.get(0).getScore());
+        List<LeaderboardEntry> topTags = leaderboardService.topTags(1);
+        Assertions.assertEquals(1, topTags.size());
+        Assertions.assertEquals("tag2", topTags.get(0).getName());
+        Assertions.assertEquals(BigDecimal.valueOf(4), leaderboardService.topTagsOfUser(2, 10).get(0).getScore());
+        Assertions.assertTrue(leaderboardService.topTagsOfUser(3, 10).isEmpty());
+    }
+
+    /**
+     * The test of the topSpenders() method, the limit out of the bounds should be rejected.
+     */
+    @Test
+    public void shouldThrowErrorWhenLimitIsNotValidTest() {
+        given(translator.toLocale(any())).willReturn("test %s");
+        Assertions.assertThrows(MethodArgumentNotValidException.class, () -> leaderboardService.topSpenders(0));
+    }
+}
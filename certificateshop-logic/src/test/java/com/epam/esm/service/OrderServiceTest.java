@@ -3,9 +3,11 @@ package com.epam.esm.service;
 import com.epam.esm.configuration.Translator;
 import com.epam.esm.dao.CertificateDao;
 import com.epam.esm.dao.OrderDao;
+import com.epam.esm.dao.StatisticDao;
 import com.epam.esm.dao.TagDao;
 import com.epam.esm.dao.UserDao;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dto.OrderBatchResult;
 import com.epam.esm.exception.EntityNotFoundException;
 import com.epam.esm.exception.MethodArgumentNotValidException;
 import com.epam.esm.model.impl.CertificateTag;
@@ -22,10 +24,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
@@ -45,6 +52,8 @@ public class OrderServiceTest {
     OrderDao orderDao;
     @Mock
     UserDao userDao;
+    @Mock
+    StatisticDao statisticDao;
 
     @Mock
     CertificateValidator certificateValidator;
@@ -52,6 +61,10 @@ public class OrderServiceTest {
     TagValidator tagValidator;
     @Mock
     Translator translator;
+    @Mock
+    TransactionTemplate transactionTemplate;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
 
     @Spy
     @InjectMocks
@@ -122,6 +135,7 @@ public class OrderServiceTest {
      * The test of the createOrder() method.
      */
     @Test
+    @SuppressWarnings("unchecked")
     public void shouldThrowErrorWhenSaveOrderWithTheExistingIdTest() {
         final CertificateTag certificateTag1 = new CertificateTag(1L, "tag1");
         final CertificateTag certificateTag2 = new CertificateTag(2L, "tag2");
@@ -146,8 +160,10 @@ public class OrderServiceTest {
         User user = new User(1, "user1");
         Order order1 = new Order(1, user, LocalDateTime.now(), "order1", certificates1);
         Order order2 = new Order(1, user, LocalDateTime.now(), "order1", certificates2);
-        given(certificateDao.findById(order1.getCertificates().get(1).getId())).willReturn(Optional.of(giftCertificate2));
+        given(certificateDao.findAllByIds(any())).willReturn(Collections.singletonList(giftCertificate2));
         given(userDao.findById(order1.getUser().getId())).willReturn(Optional.of(user));
+        doAnswer(invocation -> ((TransactionCallback<Order>) invocation.getArgument(0)).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
         Assertions.assertThrows(RuntimeException.class, () -> orderService.createOrder(order2));
         verify(orderDao, times(1)).save(any(Order.class));
     }
@@ -180,8 +196,7 @@ public class OrderServiceTest {
         User user = new User(-1, "user1");
         Order order1 = new Order(1, user, LocalDateTime.now(), "order1", certificates1);
         given(translator.toLocale(any())).willReturn("test");
-        given(certificateDao.findById(order1.getCertificates().get(0).getId())).willReturn(Optional.of(giftCertificate1));
-        given(certificateDao.findById(order1.getCertificates().get(1).getId())).willReturn(Optional.of(giftCertificate2));
+        given(certificateDao.findAllByIds(any())).willReturn(Arrays.asList(giftCertificate1, giftCertificate2));
         given(userDao.findById(order1.getUser().getId())).willReturn(Optional.of(user));
         Assertions.assertThrows(EntityNotFoundException.class, () -> orderService.createOrder(order1));
         verify(orderDao, never()).save(any(Order.class));
@@ -216,8 +231,7 @@ public class OrderServiceTest {
         User user2 = new User(2, "user2");
         Order order1 = new Order(1, user1, LocalDateTime.now(), "order1", certificates1);
         given(translator.toLocale(any())).willReturn("test");
-        given(certificateDao.findById(order1.getCertificates().get(0).getId())).willReturn(Optional.of(giftCertificate1));
-        given(certificateDao.findById(order1.getCertificates().get(1).getId())).willReturn(Optional.of(giftCertificate2));
+        given(certificateDao.findAllByIds(any())).willReturn(Arrays.asList(giftCertificate1, giftCertificate2));
         given(userDao.findById(order1.getUser().getId())).willReturn(Optional.empty());
         Assertions.assertThrows(EntityNotFoundException.class, () -> orderService.createOrder(order1));
         verify(orderDao, never()).save(any(Order.class));
@@ -297,8 +311,7 @@ public class OrderServiceTest {
         User user2 = new User(2, "user2");
         Order order1 = new Order(1, user1, LocalDateTime.now(), "order1", certificates1);
         given(translator.toLocale(any())).willReturn("test");
-        given(certificateDao.findById(order1.getCertificates().get(0).getId())).willReturn(Optional.of(giftCertificate1));
-        given(certificateDao.findById(order1.getCertificates().get(1).getId())).willReturn(Optional.of(giftCertificate2));
+        given(certificateDao.findAllByIds(any())).willReturn(Arrays.asList(giftCertificate1, giftCertificate2));
         given(userDao.findById(order1.getUser().getId())).willReturn(Optional.empty());
         Assertions.assertThrows(EntityNotFoundException.class, () -> orderService.createOrder(order1));
         verify(orderDao, never()).save(any(Order.class));
@@ -326,7 +339,7 @@ public class OrderServiceTest {
         User user1 = new User(1, "user1");
         Order order1 = new Order(1, user1, LocalDateTime.now(), "order1", certificates1);
         given(translator.toLocale(any())).willReturn("test");
-        given(certificateDao.findById(order1.getCertificates().get(0).getId())).willReturn(Optional.of(giftCertificate1));
+        given(certificateDao.findAllByIds(any())).willReturn(Collections.singletonList(giftCertificate1));
         given(userDao.findById(order1.getUser().getId())).willReturn(Optional.empty());
         Assertions.assertThrows(EntityNotFoundException.class, () -> orderService.createOrder(order1));
         verify(orderDao, never()).save(any(Order.class));
@@ -354,7 +367,7 @@ public class OrderServiceTest {
         User user1 = new User(1, "user1");
         Order order1 = new Order(1, user1, LocalDateTime.now(), "order1", certificates1);
         given(translator.toLocale(any())).willReturn("test");
-        given(certificateDao.findById(order1.getCertificates().get(0).getId())).willReturn(Optional.empty());
+        given(certificateDao.findAllByIds(any())).willReturn(Collections.emptyList());
         given(userDao.findById(order1.getUser().getId())).willReturn(Optional.empty());
         Assertions.assertThrows(EntityNotFoundException.class, () -> orderService.createOrder(order1));
         verify(orderDao, never()).save(any(Order.class));
@@ -448,4 +461,78 @@ public class OrderServiceTest {
         Optional<Order> expectedOrder = Optional.ofNullable(orderService.findOrderById(order1.getId()));
         Assertions.assertEquals(Optional.of(order1), expectedOrder);
     }
+
+    /**
+     * The test of the createOrder() method, the certificates should be fetched and saved in batches
+     * and the order should be added to the statistics in the same transaction.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createOrderWithCertificatesInBatchesTest() {
+        final GiftCertificate giftCertificate1 = new GiftCertificate(
+                1, "cert1", "certOneDescription", BigDecimal.ONE,
+                30, LocalDateTime.now(), LocalDateTime.now(), new ArrayList<>()
+        );
+        final GiftCertificate giftCertificate2 = new GiftCertificate(
+                2, "cert2", "certTwoDescription", BigDecimal.TEN,
+                50, LocalDateTime.now(), LocalDateTime.now(), new ArrayList<>()
+        );
+        User user = new User(1, "user1");
+        Order order = new Order(0, user, null, null, Arrays.asList(
+                new GiftCertificate(2, null, null, null, 0, null, null, null),
+                new GiftCertificate(1, null, null, null, 0, null, null, null)));
+        given(userDao.findById(user.getId())).willReturn(Optional.of(user));
+        given(certificateDao.findAllByIds(any())).willReturn(Arrays.asList(giftCertificate1, giftCertificate2));
+        given(orderDao.save(any(Order.class))).willAnswer(invocation -> {
+            Order savedOrder = invocation.getArgument(0);
+            savedOrder.setId(5);
+            return savedOrder;
+        });
+        doAnswer(invocation -> ((TransactionCallback<Order>) invocation.getArgument(0)).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+
+        Order createdOrder = orderService.createOrder(order);
+
+        Assertions.assertEquals(5, createdOrder.getId());
+        Assertions.assertEquals(Arrays.asList(giftCertificate2, giftCertificate1), createdOrder.getCertificates());
+        verify(certificateDao, times(1)).findAllByIds(any());
+        verify(certificateDao, never()).findById(anyLong());
+        verify(orderDao).saveAllInUserorder_certificateTable(5L, Arrays.asList(giftCertificate2, giftCertificate1));
+        verify(statisticDao).addOrders(Collections.singletonList(createdOrder));
+    }
+
+    /**
+     * The test of the createOrders() method, the invalid orders should be rejected and the valid ones
+     * should be saved in one chunk.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createOrdersInBatchTest() {
+        final GiftCertificate giftCertificate1 = new GiftCertificate(
+                1, "cert1", "certOneDescription", BigDecimal.ONE,
+                30, LocalDateTime.now(), LocalDateTime.now(), new ArrayList<>()
+        );
+        User user = new User(1, "user1");
+        List<Order> orders = Arrays.asList(
+                new Order(0, user, null, null, Collections.singletonList(giftCertificate1)),
+                new Order(0, new User(7, "user7"), null, null, Collections.singletonList(giftCertificate1)),
+                new Order(0, user, null, null, Collections.singletonList(giftCertificate1)));
+        given(translator.toLocale(any())).willReturn("test");
+        given(userDao.findAllByIds(any())).willReturn(Collections.singletonList(user));
+        given(certificateDao.findAllByIds(any())).willReturn(Collections.singletonList(giftCertificate1));
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        List<OrderBatchResult> results = orderService.createOrders(orders);
+
+        Assertions.assertEquals(OrderBatchResult.Status.CREATED, results.get(0).getStatus());
+        Assertions.assertEquals(OrderBatchResult.Status.REJECTED, results.get(1).getStatus());
+        Assertions.assertEquals(OrderBatchResult.Status.CREATED, results.get(2).getStatus());
+        verify(userDao, never()).findById(anyLong());
+        verify(orderDao, times(1)).saveAll(any());
+        verify(orderDao, times(1)).saveAllInUserorder_certificateTable(anyList());
+        verify(statisticDao, times(1)).addOrders(argThat(savedOrders -> savedOrders.size() == 2));
+    }
 }
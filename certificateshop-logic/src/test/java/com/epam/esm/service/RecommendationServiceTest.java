@@ -0,0 +1,89 @@
+package com.epam.esm.service;
+
+import com.epam.esm.configuration.Translator;
+import com.epam.esm.dao.CertificateDao;
+import com.epam.esm.dao.OrderDao;
+import com.epam.esm.dto.RelatedCertificate;
+import com.epam.esm.exception.EntityNotFoundException;
+import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.service.impl.RecommendationServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Contains {@link RecommendationService} tests.
+ */
+@ExtendWith({MockitoExtension.class})
+public class RecommendationServiceTest {
+    @Mock
+    OrderDao orderDao;
+    @Mock
+    CertificateDao certificateDAO;
+    @Mock
+    Translator translator;
+
+    @InjectMocks
+    RecommendationServiceImpl recommendationService;
+
+    /**
+     * The test of the rebuild() and the relatedCertificates() methods, the certificates of the same orders
+     * should be related and the deleted certificates should be skipped.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRelateCertificatesOfSameOrdersTest() {
+        given(orderDao.findMaxId()).willReturn(3L);
+        doAnswer(invocation -> {
+            BiConsumer<Long, Long> consumer = invocation.getArgument(2);
+            consumer.accept(1L, 1L);
+            consumer.accept(1L, 2L);
+            consumer.accept(2L, 1L);
+            consumer.accept(2L, 2L);
+            consumer.accept(2L, 3L);
+            consumer.accept(3L, 1L);
+            consumer.accept(3L, 4L);
+            return null;
+        }).when(orderDao).streamCertificateIds(eq(0L), eq(3L), any(BiConsumer.class));
+        given(certificateDAO.findById(anyLong())).willAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            return id == 3L ? Optional.empty() : Optional.of(new GiftCertificate(id, "cert" + id, "d",
+                    BigDecimal.TEN, 5, null, null, null));
+        });
+        recommendationService.rebuild();
+
+        List<RelatedCertificate> relatedCertificates = recommendationService.relatedCertificates(1L, 2);
+
+        Assertions.assertEquals(2, relatedCertificates.size());
+        Assertions.assertEquals(2L, relatedCertificates.get(0).getId());
+        Assertions.assertEquals(2L, relatedCertificates.get(0).getBoughtTogether());
+        Assertions.assertEquals(4L, relatedCertificates.get(1).getId());
+        Assertions.assertEquals("cert4", relatedCertificates.get(1).getName());
+    }
+
+    /**
+     * The test of the relatedCertificates() method, the unknown certificate should not be found.
+     */
+    @Test
+    public void shouldThrowExceptionWhenCertificateIsNotFoundTest() {
+        given(certificateDAO.findById(1L)).willReturn(Optional.empty());
+        given(translator.toLocale(any())).willReturn("test");
+
+        Assertions.assertThrows(EntityNotFoundException.class,
+                () -> recommendationService.relatedCertificates(1L, 5));
+    }
+}
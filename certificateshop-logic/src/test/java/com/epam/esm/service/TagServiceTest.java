@@ -5,6 +5,9 @@ import com.epam.esm.dao.TagDao;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
 import com.epam.esm.exception.DuplicateException;
 import com.epam.esm.exception.EntityNotFoundException;
+import com.epam.esm.exception.MethodArgumentNotValidException;
+import com.epam.esm.index.NameDictionary;
+import com.epam.esm.index.TagSuggester;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.service.impl.TagServiceImpl;
 import com.epam.esm.validator.TagValidator;
@@ -18,6 +21,7 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -37,6 +41,10 @@ public class TagServiceTest {
     @Mock
     TagValidator tagValidator;
     @Mock
+    NameDictionary nameDictionary;
+    @Mock
+    TagSuggester tagSuggester;
+    @Mock
     Translator translator;
 
     @Spy
@@ -166,8 +174,35 @@ public class TagServiceTest {
     public void createCertificateTagTest() {
         final CertificateTag certificateTag = new CertificateTag(0, "tag1");
         given(tagDAO.findByName(certificateTag.getName())).willReturn(Optional.empty());
-        doReturn(certificateTag).when(tagService).findCertificateTagByName(any()); //изменили поведение реального метода
-        tagService.createCertificateTag(certificateTag);
+        given(tagDAO.save(certificateTag)).willReturn(new CertificateTag(8, "tag1"));
+        Assertions.assertEquals(8, tagService.createCertificateTag(certificateTag).getId());
         verify(tagDAO, times(1)).save(certificateTag);
     }
+
+    /**
+     * The test of the findCertificateTagsBySimilarName() method, the tags should be read by the ids
+     * from the dictionary in the order of the distance.
+     */
+    @Test
+    public void findCertificateTagsBySimilarNameTest() {
+        given(nameDictionary.findTagIds("sap", 1)).willReturn(Arrays.asList(3L, 1L));
+        given(tagDAO.findById(3L)).willReturn(Optional.of(new CertificateTag(3L, "spa")));
+        given(tagDAO.findById(1L)).willReturn(Optional.of(new CertificateTag(1L, "sea")));
+
+        List<CertificateTag> tags = tagService.findCertificateTagsBySimilarName("sap", 1);
+
+        Assertions.assertEquals(2, tags.size());
+        Assertions.assertEquals("spa", tags.get(0).getName());
+    }
+
+    /**
+     * The test of the findCertificateTagsBySimilarName() method with the too big edit distance.
+     */
+    @Test
+    public void findCertificateTagsBySimilarNameWithTooBigDistanceTest() {
+        given(translator.toLocale(any())).willReturn("test %s");
+        Assertions.assertThrows(MethodArgumentNotValidException.class,
+                () -> tagService.findCertificateTagsBySimilarName("spa", TagServiceImpl.MAX_EDIT_DISTANCE + 1));
+        verifyNoInteractions(nameDictionary);
+    }
 }
@@ -0,0 +1,51 @@
+package com.epam.esm.statistic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contains {@link CoOccurrenceMatrix} tests.
+ */
+public class CoOccurrenceMatrixTest {
+
+    /**
+     * The test of the top() method, the keys met with the key most often should be first
+     * and the repeated keys of a basket should be counted once.
+     */
+    @Test
+    public void shouldReturnKeysMetMostOftenTest() {
+        CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+        matrix.addBasket(Arrays.asList(1L, 2L, 2L));
+        matrix.addBasket(Arrays.asList(1L, 2L, 3L));
+        matrix.addBasket(Arrays.asList(1L, 4L));
+
+        List<Map.Entry<Long, Long>> top = matrix.top(1L, 2);
+
+        Assertions.assertEquals(2, top.size());
+        Assertions.assertEquals(2L, top.get(0).getKey());
+        Assertions.assertEquals(2L, top.get(0).getValue());
+        Assertions.assertEquals(3L, top.get(1).getKey());
+        Assertions.assertEquals(1L, top.get(1).getValue());
+        Assertions.assertEquals(2L, matrix.top(2L, 5).get(0).getValue());
+        Assertions.assertTrue(matrix.top(5L, 5).isEmpty());
+    }
+
+    /**
+     * The test of the remove() method, the key should be removed from the rows of the keys it is met with.
+     */
+    @Test
+    public void shouldRemoveKeyFromAllRowsTest() {
+        CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+        matrix.addBasket(Arrays.asList(1L, 2L, 3L));
+
+        matrix.remove(2L);
+
+        Assertions.assertTrue(matrix.top(2L, 5).isEmpty());
+        Assertions.assertEquals(1, matrix.top(1L, 5).size());
+        Assertions.assertEquals(3L, matrix.top(1L, 5).get(0).getKey());
+    }
+}
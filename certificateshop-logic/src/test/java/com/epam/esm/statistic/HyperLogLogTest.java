@@ -0,0 +1,84 @@
+package com.epam.esm.statistic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Contains {@link HyperLogLog} tests.
+ */
+public class HyperLogLogTest {
+
+    /**
+     * The test of the cardinality() method, the small amounts of the sparse sketch should be almost exact
+     * and the repeated values should not be counted.
+     */
+    @Test
+    public void shouldCountSmallAmountAlmostExactlyTest() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 3; i++) {
+            for (long userId = 1; userId <= 100; userId++) {
+                sketch.offer(userId);
+            }
+        }
+
+        Assertions.assertTrue(Math.abs(sketch.cardinality() - 100) <= 2);
+    }
+
+    /**
+     * The test of the cardinality() method, the estimate of the dense sketch should be within
+     * three standard errors.
+     */
+    @Test
+    public void shouldEstimateWithinStandardErrorTest() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long userId = 1; userId <= 1_000_000; userId++) {
+            sketch.offer(userId);
+        }
+
+        double relativeError = Math.abs(sketch.cardinality() - 1_000_000) / 1_000_000.0;
+
+        Assertions.assertTrue(relativeError < 3 * HyperLogLog.STANDARD_ERROR);
+    }
+
+    /**
+     * The test of the merge() method, the merged sketch should count the union of the values
+     * and the repeated merge should not change it.
+     */
+    @Test
+    public void shouldMergeUnionTest() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (long userId = 1; userId <= 20_000; userId++) {
+            first.offer(userId);
+            second.offer(userId + 10_000);
+        }
+
+        first.merge(second);
+        long cardinality = first.cardinality();
+        first.merge(second);
+
+        Assertions.assertTrue(Math.abs(cardinality - 30_000) / 30_000.0 < 3 * HyperLogLog.STANDARD_ERROR);
+        Assertions.assertEquals(cardinality, first.cardinality());
+    }
+
+    /**
+     * The test of the toBytes() and the fromBytes() methods, the sparse and the dense sketches should be restored.
+     */
+    @Test
+    public void shouldRestoreFromBytesTest() {
+        HyperLogLog sparse = new HyperLogLog();
+        HyperLogLog dense = new HyperLogLog();
+        for (long userId = 1; userId <= 10_000; userId++) {
+            dense.offer(userId);
+            if (userId <= 10) {
+                sparse.offer(userId);
+            }
+        }
+
+        Assertions.assertEquals(2 + 10 * Integer.BYTES, sparse.toBytes().length);
+        Assertions.assertEquals(sparse.cardinality(), HyperLogLog.fromBytes(sparse.toBytes()).cardinality());
+        Assertions.assertEquals(2 + HyperLogLog.REGISTERS, dense.toBytes().length);
+        Assertions.assertEquals(dense.cardinality(), HyperLogLog.fromBytes(dense.toBytes()).cardinality());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{1}));
+    }
+}
@@ -0,0 +1,52 @@
+package com.epam.esm.statistic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Contains {@link Leaderboard} tests.
+ */
+public class LeaderboardTest {
+
+    /**
+     * The test of the top() method, the keys should be sorted by the score and the equal scores by the key,
+     * the old scores of the changed keys should not be returned.
+     */
+    @Test
+    public void shouldReturnTopKeysByScoreTest() {
+        Leaderboard<Long, Long> leaderboard = new Leaderboard<>(Long::sum);
+        leaderboard.add(1L, 5L);
+        leaderboard.add(2L, 3L);
+        leaderboard.add(3L, 3L);
+        leaderboard.add(2L, 4L);
+        leaderboard.add(4L, 1L);
+
+        List<Leaderboard.Entry<Long, Long>> top = leaderboard.top(3);
+
+        Assertions.assertEquals(3, top.size());
+        Assertions.assertEquals(2L, top.get(0).getKey());
+        Assertions.assertEquals(7L, top.get(0).getScore());
+        Assertions.assertEquals(1L, top.get(1).getKey());
+        Assertions.assertEquals(3L, top.get(2).getKey());
+        Assertions.assertEquals(4, leaderboard.size());
+    }
+
+    /**
+     * The test of the remove() method, the removed key should not be returned.
+     */
+    @Test
+    public void shouldNotReturnRemovedKeyTest() {
+        Leaderboard<Long, Long> leaderboard = new Leaderboard<>(Long::sum);
+        leaderboard.add(1L, 5L);
+        leaderboard.add(2L, 3L);
+
+        leaderboard.remove(1L);
+
+        List<Leaderboard.Entry<Long, Long>> top = leaderboard.top(10);
+        Assertions.assertEquals(1, top.size());
+        Assertions.assertEquals(2L, top.get(0).getKey());
+        Assertions.assertNull(leaderboard.score(1L));
+    }
+}
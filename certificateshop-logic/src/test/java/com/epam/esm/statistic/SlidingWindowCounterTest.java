@@ -0,0 +1,55 @@
+package com.epam.esm.statistic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contains {@link SlidingWindowCounter} tests.
+ */
+public class SlidingWindowCounterTest {
+    private static final long MINUTE = 60_000L;
+    private static final long START = 1_000 * MINUTE;
+
+    /**
+     * The test of the top() method, the values of the buckets in the window should be summed up.
+     */
+    @Test
+    public void shouldSumValuesOfWindowTest() {
+        SlidingWindowCounter<Long, Long> counter = new SlidingWindowCounter<>(StatisticWindow.HOUR, Long::sum);
+        counter.add(1L, 1L, START);
+        counter.add(2L, 1L, START + MINUTE);
+        counter.add(2L, 1L, START + 2 * MINUTE);
+        counter.add(3L, 1L, START + 2 * MINUTE);
+
+        List<Map.Entry<Long, Long>> top = counter.top(2, START + 2 * MINUTE);
+
+        Assertions.assertEquals(2, top.size());
+        Assertions.assertEquals(2L, top.get(0).getKey());
+        Assertions.assertEquals(2L, top.get(0).getValue());
+        Assertions.assertEquals(1L, top.get(1).getKey());
+    }
+
+    /**
+     * The test of the totals() method, the buckets older than the window should not be counted
+     * and should be reused by the new values.
+     */
+    @Test
+    public void shouldSkipValuesOlderThanWindowTest() {
+        SlidingWindowCounter<Long, Long> counter = new SlidingWindowCounter<>(StatisticWindow.HOUR, Long::sum);
+        counter.add(1L, 5L, START);
+        counter.add(2L, 1L, START + 30 * MINUTE);
+
+        Assertions.assertEquals(5L, counter.totals(START + 59 * MINUTE).get(1L));
+        Assertions.assertNull(counter.totals(START + 60 * MINUTE).get(1L));
+
+        counter.add(3L, 1L, START + 60 * MINUTE);
+        counter.add(1L, 1L, START - MINUTE);
+
+        Map<Long, Long> totals = counter.totals(START + 60 * MINUTE);
+        Assertions.assertEquals(2, totals.size());
+        Assertions.assertNull(totals.get(1L));
+    }
+}
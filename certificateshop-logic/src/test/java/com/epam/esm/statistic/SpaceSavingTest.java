@@ -0,0 +1,94 @@
+package com.epam.esm.statistic;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Contains {@link SpaceSaving} tests.
+ */
+public class SpaceSavingTest {
+
+    /**
+     * The test of the top() method, the keys of the sketch, which is not full, should be counted exactly.
+     */
+    @Test
+    public void shouldCountExactlyWhenNotFullTest() {
+        SpaceSaving<Long> sketch = new SpaceSaving<>(3);
+        sketch.offer(1L, 1L);
+        sketch.offer(2L, 1L);
+        sketch.offer(2L, 1L);
+
+        List<SpaceSaving.Counter<Long>> top = sketch.top(3);
+
+        Assertions.assertEquals(2, top.size());
+        Assertions.assertEquals(2L, top.get(0).getKey());
+        Assertions.assertEquals(2L, top.get(0).getCount());
+        Assertions.assertEquals(0L, top.get(0).getError());
+        Assertions.assertEquals(3L, sketch.getTotalCount());
+    }
+
+    /**
+     * The test of the offer() method, the counts should be the upper bounds of the frequencies
+     * within the maximum error and the heavy hitters should be in the sketch.
+     */
+    @Test
+    public void shouldKeepHeavyHittersWithinErrorTest() {
+        SpaceSaving<Long> sketch = new SpaceSaving<>(50);
+        Map<Long, Long> frequencies = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long key = i % 4 == 0 ? i % 3 : 100 + random.nextInt(1000);
+            frequencies.merge(key, 1L, Long::sum);
+            sketch.offer(key, 1L);
+        }
+
+        for (SpaceSaving.Counter<Long> counter : sketch.counters()) {
+            long frequency = frequencies.get(counter.getKey());
+            Assertions.assertTrue(counter.getCount() >= frequency);
+            Assertions.assertTrue(counter.getCount() - counter.getError() <= frequency);
+            Assertions.assertTrue(counter.getError() <= sketch.getMaxError());
+        }
+        List<SpaceSaving.Counter<Long>> top = sketch.top(3);
+        Assertions.assertTrue(top.stream().allMatch(counter -> counter.getKey() < 3));
+    }
+
+    /**
+     * The test of the merge() method, the counts of the sketches should be summed up
+     * and a key missing in the full sketch should get its smallest count as the error.
+     */
+    @Test
+    public void shouldMergeSketchesTest() {
+        SpaceSaving<Long> first = new SpaceSaving<>(2);
+        first.offer(1L, 5L);
+        first.offer(2L, 2L);
+        SpaceSaving<Long> second = new SpaceSaving<>(2);
+        second.offer(1L, 3L);
+
+        SpaceSaving<Long> merged = first.merge(second);
+        List<SpaceSaving.Counter<Long>> top = merged.top(2);
+
+        Assertions.assertEquals(10L, merged.getTotalCount());
+        Assertions.assertEquals(1L, top.get(0).getKey());
+        Assertions.assertEquals(8L, top.get(0).getCount());
+        Assertions.assertEquals(2L, top.get(1).getKey());
+        Assertions.assertEquals(2L, top.get(1).getCount());
+
+        SpaceSaving<Long> full = SpaceSaving.of(1, 4L, Collections.singletonList(
+                new SpaceSaving.Counter<>(3L, 4L, 0L)));
+        SpaceSaving<Long> third = new SpaceSaving<>(3);
+        third.offer(1L, 5L);
+        third.offer(2L, 3L);
+        third.offer(4L, 1L);
+        SpaceSaving.Counter<Long> counterOfMissingKey = third.merge(full).top(2).get(1);
+
+        Assertions.assertEquals(2L, counterOfMissingKey.getKey());
+        Assertions.assertEquals(7L, counterOfMissingKey.getCount());
+        Assertions.assertEquals(4L, counterOfMissingKey.getError());
+    }
+}
@@ -0,0 +1,41 @@
+package com.epam.esm.configuration;
+
+import com.epam.esm.service.LeaderboardService;
+import com.epam.esm.service.ReachService;
+import com.epam.esm.service.StatisticService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the aggregates of the orders, which the statistics are read from, when the application is started
+ * with the '--rebuild-statistics' option, e.g. to backfill them after the 'user_spend' and the 'user_tag_count'
+ * tables are created. The leaderboards are reseeded from the rebuilt aggregates and the buyers
+ * of the orders are added to the sketches of the distinct buyers in the 'reach_sketch' table.
+ */
+@Component
+public class RebuildStatisticsRunner implements ApplicationRunner {
+    public static final String REBUILD_STATISTICS_OPTION = "rebuild-statistics";
+
+    private final StatisticService statisticService;
+    private final LeaderboardService leaderboardService;
+    private final ReachService reachService;
+
+    @Autowired
+    public RebuildStatisticsRunner(StatisticService statisticService, LeaderboardService leaderboardService,
+                                   ReachService reachService) {
+        this.statisticService = statisticService;
+        this.leaderboardService = leaderboardService;
+        this.reachService = reachService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(REBUILD_STATISTICS_OPTION)) {
+            statisticService.rebuildStatistics();
+            leaderboardService.reseed();
+            reachService.rebuild();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.epam.esm.controller;
+
+import com.epam.esm.model.impl.CertificateTag;
+import com.epam.esm.model.impl.GiftCertificate;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Creates the validators of the {@link GiftCertificate} responses, so a client with the current representation
+ * is answered with '304 Not Modified' instead of the body.
+ * The links of the body are translated, so the locale of the request is a part of every ETag.
+ */
+final class CertificateETags {
+
+    private CertificateETags() {
+    }
+
+    /**
+     * Creates the strong ETag of the {@link GiftCertificate} from its id, its last update date and its tags.
+     *
+     * @param giftCertificate is the {@link GiftCertificate} of the response.
+     * @return the quoted ETag.
+     */
+    static String createStrongETag(GiftCertificate giftCertificate) {
+        StringBuilder version = new StringBuilder(LocaleContextHolder.getLocale().toLanguageTag());
+        appendVersion(version, giftCertificate);
+        return '"' + DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    /**
+     * Creates the weak ETag of the page of the {@link GiftCertificate}s from the ids, the max last update date
+     * and the tags of the certificates of the page and from the parameters of the page, which are in its links.
+     *
+     * @param giftCertificates are the {@link GiftCertificate}s of the page.
+     * @param parameters       are the parameters of the page.
+     * @return the weak ETag.
+     */
+    static String createWeakETag(List<GiftCertificate> giftCertificates, Map<String, String> parameters) {
+        StringBuilder version = new StringBuilder(LocaleContextHolder.getLocale().toLanguageTag());
+        version.append(new TreeMap<>(parameters));
+        LocalDateTime maxLastUpdateDate = null;
+        for (GiftCertificate giftCertificate : giftCertificates) {
+            appendVersion(version, giftCertificate);
+            LocalDateTime lastUpdateDate = giftCertificate.getLastUpdateDate();
+            if (lastUpdateDate != null && (maxLastUpdateDate == null || lastUpdateDate.isAfter(maxLastUpdateDate))) {
+                maxLastUpdateDate = lastUpdateDate;
+            }
+        }
+        version.append('|').append(maxLastUpdateDate);
+        return "W/\"" + DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    /**
+     * Converts the last update date to the value of the 'Last-Modified' header.
+     *
+     * @param lastUpdateDate is the last update date of the {@link GiftCertificate}.
+     * @return the milliseconds since the epoch or -1 if the date is not set.
+     */
+    static long toLastModified(LocalDateTime lastUpdateDate) {
+        return lastUpdateDate == null ? -1 : lastUpdateDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void appendVersion(StringBuilder version, GiftCertificate giftCertificate) {
+        version.append('|').append(giftCertificate.getId()).append('@').append(giftCertificate.getLastUpdateDate());
+        if (giftCertificate.getTags() != null) {
+            for (CertificateTag certificateTag : giftCertificate.getTags()) {
+                version.append(',').append(certificateTag.getId()).append('=').append(certificateTag.getName());
+            }
+        }
+    }
+}
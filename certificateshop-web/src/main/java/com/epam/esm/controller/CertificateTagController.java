@@ -2,6 +2,8 @@ package com.epam.esm.controller;
 
 import com.epam.esm.configuration.Translator;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dao.impl.jdbc.PageCursor;
+import com.epam.esm.dto.TagSuggestion;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.service.TagService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +25,9 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RestController
 @RequestMapping("/tags")
 public class CertificateTagController {
+    public static final String DEFAULT_EDIT_DISTANCE = "2";
+    public static final String DEFAULT_SUGGESTIONS_LIMIT = "10";
+
     private final TagService tagService;
     private final Translator translator;
 
@@ -48,11 +53,12 @@ public class CertificateTagController {
         parameters = ColumnNames.validateParameters(parameters, ColumnNames.DEFAULT_AMOUNT_ENTITIES_ON_THE_PAGE);
         List<CertificateTag> tags = tagService.findAllCertificateTags(parameters);
 
-        int pageNumber = Integer.parseInt(parameters.get(ColumnNames.PAGE_NUMBER_PARAM_NAME));
         int amountEntitiesOnThePage
                 = Integer.parseInt(parameters.get(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME));
-        Map<String, String> paramsNext = ColumnNames.createNextParameters(tags, pageNumber, amountEntitiesOnThePage);
-        Map<String, String> paramsPrev = ColumnNames.createPrevParameters(tags, pageNumber, amountEntitiesOnThePage);
+        Map<String, String> paramsNext = ColumnNames.createNextParameters(tags, parameters, amountEntitiesOnThePage,
+                tag -> PageCursor.encode(tag.getId()));
+        Map<String, String> paramsPrev = ColumnNames.createPrevParameters(tags, parameters, amountEntitiesOnThePage,
+                tag -> PageCursor.encode(tag.getId()));
         List<EntityModel<CertificateTag>> modelFromOrders = tags.stream().map(tag -> EntityModel.of(tag,
                         linkTo(methodOn(CertificateTagController.class).tag(tag.getId()))
                                 .withRel(translator.toLocale("FETCHES_AND_REMOVES_TAG_HATEOAS_LINK_MESSAGE")),
@@ -90,6 +96,46 @@ public class CertificateTagController {
         return orderEntityModel.add(linkTo(methodOn(CertificateTagController.class).tag(tag.getId())).withSelfRel());
     }
 
+    /**
+     * The method that realises the 'GET /tags/suggest' query.
+     * Returns the {@link CertificateTag}s with the names, which start with the prefix, the most used tags first.
+     *
+     * @param prefix is the beginning of the names, the case is ignored.
+     * @param limit  is the maximum amount of the tags to return.
+     * @return {@link CollectionModel<TagSuggestion>} from the biggest amount of the certificates to the smallest one.
+     */
+    @GetMapping(value = "/suggest")
+    @ResponseStatus(HttpStatus.OK)
+    public CollectionModel<TagSuggestion> suggestTags(
+            @RequestParam(value = "prefix", required = false) String prefix,
+            @RequestParam(value = "limit", defaultValue = DEFAULT_SUGGESTIONS_LIMIT) int limit) {
+        List<TagSuggestion> suggestions = tagService.suggestCertificateTags(prefix, limit);
+        return CollectionModel.of(suggestions,
+                linkTo(methodOn(CertificateTagController.class).suggestTags(prefix, limit)).withSelfRel());
+    }
+
+    /**
+     * The method that realises the 'GET /tags/similar' query.
+     * Returns the {@link CertificateTag}s with the names within the edit distance from the name.
+     *
+     * @param name     is the name of the {@link CertificateTag}, which can be misspelled.
+     * @param distance is the maximum amount of the inserted, deleted and replaced characters.
+     * @return {@link CollectionModel<CertificateTag>} from the closest name to the farthest one.
+     */
+    @GetMapping(value = "/similar")
+    @ResponseStatus(HttpStatus.OK)
+    public CollectionModel<EntityModel<CertificateTag>> similarTags(
+            @RequestParam(value = "name", required = false) String name,
+            @RequestParam(value = "distance", defaultValue = DEFAULT_EDIT_DISTANCE) int distance) {
+        List<CertificateTag> tags = tagService.findCertificateTagsBySimilarName(name, distance);
+        List<EntityModel<CertificateTag>> modelFromTags = tags.stream().map(tag -> EntityModel.of(tag,
+                        linkTo(methodOn(CertificateTagController.class).tag(tag.getId()))
+                                .withRel(translator.toLocale("FETCHES_AND_REMOVES_TAG_HATEOAS_LINK_MESSAGE"))))
+                .collect(Collectors.toList());
+        return CollectionModel.of(modelFromTags,
+                linkTo(methodOn(CertificateTagController.class).similarTags(name, distance)).withSelfRel());
+    }
+
     /**
      * The method that realises the 'DELETE /tags/{tagId}' query.
      *
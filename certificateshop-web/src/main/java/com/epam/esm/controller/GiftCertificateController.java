@@ -1,15 +1,27 @@
 package com.epam.esm.controller;
 
 import com.epam.esm.configuration.Translator;
+import com.epam.esm.dao.impl.jdbc.CertificateQueryBuilder;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dto.CertificateImportResult;
+import com.epam.esm.dto.CertificateSearchHit;
+import com.epam.esm.dto.RelatedCertificate;
 import com.epam.esm.model.impl.GiftCertificate;
+import com.epam.esm.service.CertificateImportService;
+import com.epam.esm.service.CertificateSearchService;
 import com.epam.esm.service.CertificateService;
+import com.epam.esm.service.ExportService;
+import com.epam.esm.service.RecommendationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -23,17 +35,36 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RestController
 @RequestMapping("/certificates")
 public class GiftCertificateController {
+    public static final String DEFAULT_RELATED_CERTIFICATES_LIMIT = "5";
+    public static final String DEFAULT_SEARCH_RESULTS_LIMIT = "10";
+    public static final String DEFAULT_EDIT_DISTANCE = "2";
+
     private final CertificateService certificateService;
+    private final CertificateImportService certificateImportService;
+    private final ExportService exportService;
+    private final RecommendationService recommendationService;
+    private final CertificateSearchService certificateSearchService;
     private final Translator translator;
 
     /**
      * Constructs the {@link GiftCertificateController}.
      *
-     * @param certificateService is the service to inject.
+     * @param certificateService       is the service to inject.
+     * @param certificateImportService is the import service to inject.
+     * @param exportService            is the export service to inject.
+     * @param recommendationService    is the recommendation service to inject.
+     * @param certificateSearchService is the full-text search service to inject.
      */
     @Autowired
-    public GiftCertificateController(CertificateService certificateService, Translator translator) {
+    public GiftCertificateController(CertificateService certificateService,
+                                     CertificateImportService certificateImportService, ExportService exportService,
+                                     RecommendationService recommendationService,
+                                     CertificateSearchService certificateSearchService, Translator translator) {
         this.certificateService = certificateService;
+        this.certificateImportService = certificateImportService;
+        this.exportService = exportService;
+        this.recommendationService = recommendationService;
+        this.certificateSearchService = certificateSearchService;
         this.translator = translator;
     }
 
@@ -54,26 +85,36 @@ public class GiftCertificateController {
      *                    -  offset=0/MAX_VALUE is the long to pass records from database.
      *                    To fetch records from 6 record 'offset' should be set to 5.
      *                    - limit = 0/MAX_VALUE is the long to set how many records should be fetched.
-     * @return {@link List<GiftCertificate>} - {@link GiftCertificate}s in the system.
+     *                    - after=cursor/before=cursor is the opaque cursor from the 'next' or 'previous' link,
+     *                    the page is fetched after or before the entity of the cursor without skipping the records.
+     * @param webRequest  is the {@link WebRequest} with the 'If-None-Match' header.
+     * @return {@link List<GiftCertificate>} - {@link GiftCertificate}s in the system
+     * or nothing with the status '304 Not Modified' if the client has the current page.
      */
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public CollectionModel<EntityModel<GiftCertificate>> certificates(@RequestParam Map<String, String> parameters) {
+    public CollectionModel<EntityModel<GiftCertificate>> certificates(@RequestParam Map<String, String> parameters,
+                                                                      WebRequest webRequest) {
         parameters = ColumnNames.validateParameters(parameters, ColumnNames.DEFAULT_AMOUNT_ENTITIES_ON_THE_PAGE);
         List<GiftCertificate> certificates = certificateService.findAllCertificates(parameters);
-        int pageNumber = Integer.parseInt(parameters.get(ColumnNames.PAGE_NUMBER_PARAM_NAME));
+        // the max last update date does not change, when a certificate is deleted, so only the ETag is checked
+        if (webRequest.checkNotModified(CertificateETags.createWeakETag(certificates, parameters))) {
+            return null;
+        }
+        Map<String, String> sortParameters = parameters;
         int amountEntitiesOnThePage
                 = Integer.parseInt(parameters.get(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME));
         Map<String, String> paramsNext
-                = ColumnNames.createNextParameters(certificates, pageNumber, amountEntitiesOnThePage);
+                = ColumnNames.createNextParameters(certificates, parameters, amountEntitiesOnThePage,
+                certificate -> CertificateQueryBuilder.createCursor(certificate, sortParameters));
         Map<String,String> paramsPrev
-                = ColumnNames.createPrevParameters(certificates, pageNumber, amountEntitiesOnThePage);
+                = ColumnNames.createPrevParameters(certificates, parameters, amountEntitiesOnThePage,
+                certificate -> CertificateQueryBuilder.createCursor(certificate, sortParameters));
 
         List<EntityModel<GiftCertificate>> modelFromCertificates = certificates.stream()
                 .map(order -> EntityModel.of(order,
                         linkTo(methodOn(GiftCertificateController.class).addNewCertificate(certificates.get(0)))
                                 .withRel(translator.toLocale("CREATES_NEW_CERTIFICATE_HATEOAS_LINK_MESSAGE")),
-                        linkTo(methodOn(GiftCertificateController.class).certificate(certificates.get(0).getId()))
+                        linkTo(methodOn(GiftCertificateController.class).certificate(certificates.get(0).getId(), null))
                                 .withRel(translator
                                         .toLocale("FETCHES_AND_REMOVES_CERTIFICATE_HATEOAS_LINK_MESSAGE"))))
                 .collect(Collectors.toList());
@@ -84,35 +125,108 @@ public class GiftCertificateController {
                         .withRel(translator.toLocale("FETCHES_ALL_ORDERS_HATEOAS_LINK_MESSAGE")),
                 linkTo(methodOn(CertificateTagController.class).tags(parameters))
                         .withRel(translator.toLocale("FETCHES_ALL_TAGS_HATEOAS_LINK_MESSAGE")));
-        collectionModel.add(linkTo(methodOn(GiftCertificateController.class).certificates(paramsNext)).
+        collectionModel.add(linkTo(methodOn(GiftCertificateController.class).certificates(paramsNext, null)).
                         withRel(translator.toLocale("FETCHES_NEXT_PAGE_CERTIFICATES_HATEOAS_LINK_MESSAGE")),
-                linkTo(methodOn(GiftCertificateController.class).certificates(paramsPrev)).
+                linkTo(methodOn(GiftCertificateController.class).certificates(paramsPrev, null)).
                         withRel(translator.toLocale("FETCHES_PREVIOUS_PAGE_CERTIFICATES_HATEOAS_LINK_MESSAGE")),
-                linkTo(methodOn(GiftCertificateController.class).certificates(parameters)).withSelfRel());
+                linkTo(methodOn(GiftCertificateController.class).certificates(parameters, null)).withSelfRel());
         return collectionModel;
     }
 
+    /**
+     * The method that realises the 'GET /certificates/search' query.
+     * Returns the {@link GiftCertificate}s ranked by the relevance of their names and descriptions to the query,
+     * the words of the name weigh more than the words of the description.
+     *
+     * @param query is the words to search.
+     * @param limit is the maximum amount of the certificates to return.
+     * @return {@link CollectionModel<CertificateSearchHit>} from the most relevant certificate to the least one.
+     */
+    @GetMapping(value = "/search")
+    @ResponseStatus(HttpStatus.OK)
+    public CollectionModel<CertificateSearchHit> searchCertificates(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "limit", defaultValue = DEFAULT_SEARCH_RESULTS_LIMIT) int limit) {
+        List<CertificateSearchHit> hits = certificateSearchService.search(query, limit);
+        CollectionModel<CertificateSearchHit> collectionModel = CollectionModel.of(hits,
+                linkTo(methodOn(GiftCertificateController.class).certificates(ColumnNames.DEFAULT_PARAMS, null))
+                        .withRel(translator.toLocale("FETCHES_ALL_CERTIFICATES_HATEOAS_LINK_MESSAGE")));
+        return collectionModel.add(linkTo(methodOn(GiftCertificateController.class)
+                .searchCertificates(query, limit)).withSelfRel());
+    }
+
+    /**
+     * The method that realises the 'GET /certificates/similar' query.
+     * Returns the {@link GiftCertificate}s with the names within the edit distance from the name.
+     *
+     * @param name     is the name of the {@link GiftCertificate}, which can be misspelled.
+     * @param distance is the maximum amount of the inserted, deleted and replaced characters.
+     * @return {@link CollectionModel<GiftCertificate>} from the closest name to the farthest one.
+     */
+    @GetMapping(value = "/similar")
+    @ResponseStatus(HttpStatus.OK)
+    public CollectionModel<EntityModel<GiftCertificate>> similarCertificates(
+            @RequestParam(value = "name", required = false) String name,
+            @RequestParam(value = "distance", defaultValue = DEFAULT_EDIT_DISTANCE) int distance) {
+        List<GiftCertificate> certificates = certificateService.findCertificatesBySimilarName(name, distance);
+        List<EntityModel<GiftCertificate>> modelFromCertificates = certificates.stream()
+                .map(certificate -> EntityModel.of(certificate,
+                        linkTo(methodOn(GiftCertificateController.class).certificate(certificate.getId(), null))
+                                .withRel(translator
+                                        .toLocale("FETCHES_AND_REMOVES_CERTIFICATE_HATEOAS_LINK_MESSAGE"))))
+                .collect(Collectors.toList());
+        return CollectionModel.of(modelFromCertificates, linkTo(methodOn(GiftCertificateController.class)
+                .similarCertificates(name, distance)).withSelfRel());
+    }
+
     /**
      * The method that realises the 'GET /certificates/{certificateId}' query.
      *
      * @param certificateId is the ID of the {@link GiftCertificate} to find.
-     * @return {@link GiftCertificate} with the certificateId if such an id exists in the system.
+     * @param webRequest    is the {@link WebRequest} with the 'If-None-Match' and 'If-Modified-Since' headers.
+     * @return {@link GiftCertificate} with the certificateId if such an id exists in the system
+     * or nothing with the status '304 Not Modified' if the client has the current {@link GiftCertificate}.
      */
     @GetMapping(value = "/{certificateId}")
-    @ResponseStatus(HttpStatus.OK)
-    public EntityModel<GiftCertificate> certificate(@PathVariable("certificateId") long certificateId) {
+    public EntityModel<GiftCertificate> certificate(@PathVariable("certificateId") long certificateId,
+                                                    WebRequest webRequest) {
         GiftCertificate giftCertificate = certificateService.findCertificateById(certificateId);
+        if (webRequest.checkNotModified(CertificateETags.createStrongETag(giftCertificate),
+                CertificateETags.toLastModified(giftCertificate.getLastUpdateDate()))) {
+            return null;
+        }
         EntityModel<GiftCertificate> certificateEntityModel = EntityModel.of(giftCertificate,
-                linkTo(methodOn(GiftCertificateController.class).certificate(certificateId))
+                linkTo(methodOn(GiftCertificateController.class).certificate(certificateId, null))
                 .withRel(translator.toLocale("REMOVES_CERTIFICATE_HATEOAS_LINK_MESSAGE")));
         certificateEntityModel.add(linkTo(methodOn(GiftCertificateController.class)
                 .addNewCertificate(new GiftCertificate()))
                 .withRel(translator.toLocale("CREATES_NEW_CERTIFICATE_HATEOAS_LINK_MESSAGE")));
         certificateEntityModel.add(linkTo(methodOn(GiftCertificateController.class)
-                .certificate(certificateId)).withSelfRel());
+                .certificate(certificateId, null)).withSelfRel());
         return certificateEntityModel;
     }
 
+    /**
+     * The method that realises the 'GET /certificates/{certificateId}/related' query.
+     * Returns the {@link GiftCertificate}s, which are bought in the same orders with the certificate most often.
+     *
+     * @param certificateId is the ID of the {@link GiftCertificate}.
+     * @param limit         is the maximum amount of the certificates to return.
+     * @return {@link CollectionModel<RelatedCertificate>} from the biggest amount of the orders to the smallest.
+     */
+    @GetMapping(value = "/{certificateId}/related")
+    @ResponseStatus(HttpStatus.OK)
+    public CollectionModel<RelatedCertificate> relatedCertificates(
+            @PathVariable("certificateId") long certificateId,
+            @RequestParam(value = "limit", defaultValue = DEFAULT_RELATED_CERTIFICATES_LIMIT) int limit) {
+        List<RelatedCertificate> relatedCertificates = recommendationService.relatedCertificates(certificateId, limit);
+        CollectionModel<RelatedCertificate> collectionModel = CollectionModel.of(relatedCertificates,
+                linkTo(methodOn(GiftCertificateController.class).certificate(certificateId, null))
+                        .withRel(translator.toLocale("FETCHES_AND_REMOVES_CERTIFICATE_HATEOAS_LINK_MESSAGE")));
+        return collectionModel.add(linkTo(methodOn(GiftCertificateController.class)
+                .relatedCertificates(certificateId, limit)).withSelfRel());
+    }
+
     /**
      * The method that realises the 'DELETE /certificates/{certificateId}' query.
      *
@@ -138,7 +252,8 @@ public class GiftCertificateController {
                 = EntityModel.of(giftCertificate, linkTo(methodOn(GiftCertificateController.class)
                 .updateGiftCertificate(giftCertificate.getId(), giftCertificate))
                 .withRel(translator.toLocale("UPDATES_NEW_CERTIFICATE_HATEOAS_LINK_MESSAGE")));
-        certificateEntityModel.add(linkTo(methodOn(GiftCertificateController.class).certificate(giftCertificate.getId()))
+        certificateEntityModel.add(linkTo(methodOn(GiftCertificateController.class)
+                .certificate(giftCertificate.getId(), null))
                 .withRel("Fetches and removes a certificate: GET, DELETE"));
         return certificateEntityModel.add(linkTo(methodOn(GiftCertificateController.class)
                 .addNewCertificate(new GiftCertificate())).withSelfRel());
@@ -161,9 +276,41 @@ public class GiftCertificateController {
                 = EntityModel.of(certificate, linkTo(methodOn(GiftCertificateController.class)
                 .addNewCertificate(new GiftCertificate()))
                 .withRel(translator.toLocale("CREATES_NEW_CERTIFICATE_HATEOAS_LINK_MESSAGE")));
-        certificateEntityModel.add(linkTo(methodOn(GiftCertificateController.class).certificate(giftCertificate.getId()))
+        certificateEntityModel.add(linkTo(methodOn(GiftCertificateController.class)
+                .certificate(giftCertificate.getId(), null))
                 .withRel(translator.toLocale("FETCHES_AND_REMOVES_CERTIFICATE_HATEOAS_LINK_MESSAGE")));
         return certificateEntityModel.add(linkTo(methodOn(GiftCertificateController.class)
                 .updateGiftCertificate(certificate.getId(), certificate)).withSelfRel());
     }
+
+    /**
+     * The method that realises the 'POST /certificates/import' query and imports the {@link GiftCertificate}s
+     * from the body in the newline delimited JSON, one {@link GiftCertificate} per line.
+     * The body is read as a stream, so its size is not limited by the memory.
+     *
+     * @param inputStream is the body of the request.
+     * @return the {@link CertificateImportResult} with the amount of the imported and rejected records.
+     */
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @ResponseStatus(HttpStatus.OK)
+    public EntityModel<CertificateImportResult> importCertificates(InputStream inputStream) {
+        CertificateImportResult result = certificateImportService.importCertificates(inputStream);
+        return EntityModel.of(result, linkTo(methodOn(GiftCertificateController.class)
+                        .certificates(ColumnNames.DEFAULT_PARAMS, null))
+                        .withRel(translator.toLocale("FETCHES_ALL_CERTIFICATES_HATEOAS_LINK_MESSAGE")),
+                linkTo(methodOn(GiftCertificateController.class).importCertificates(null)).withSelfRel());
+    }
+
+    /**
+     * The method that realises the 'GET /certificates/export' query and writes all the {@link GiftCertificate}s
+     * in the newline delimited JSON straight in the body of the response.
+     *
+     * @param response is the {@link HttpServletResponse} to write in.
+     * @throws IOException if the response is not writable.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public void exportCertificates(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        exportService.exportCertificates(response.getOutputStream());
+    }
 }
@@ -2,10 +2,13 @@ package com.epam.esm.controller;
 
 import com.epam.esm.configuration.Translator;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dao.impl.jdbc.PageCursor;
+import com.epam.esm.dto.OrderBatchResult;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.model.impl.GiftCertificate;
 import com.epam.esm.model.impl.Order;
 import com.epam.esm.model.impl.User;
+import com.epam.esm.service.ExportService;
 import com.epam.esm.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
@@ -13,6 +16,9 @@ import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,16 +35,19 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/orders")
 public class OrderController {
     private final OrderService orderService;
+    private final ExportService exportService;
     private final Translator translator;
 
     /**
      * Constructs the {@link OrderController}.
      *
-     * @param orderService is the service to inject.
+     * @param orderService  is the service to inject.
+     * @param exportService is the export service to inject.
      */
     @Autowired
-    public OrderController(OrderService orderService, Translator translator) {
+    public OrderController(OrderService orderService, ExportService exportService, Translator translator) {
         this.orderService = orderService;
+        this.exportService = exportService;
         this.translator = translator;
     }
 
@@ -68,6 +77,8 @@ public class OrderController {
      *                    -  offset=0/MAX_VALUE is the long to pass records from database.
      *                    To fetch records from 6 record 'offset' should be set to 5.
      *                    - limit = 0/MAX_VALUE is the long to set how many records should be fetched.
+     *                    - after=cursor/before=cursor is the opaque cursor from the 'next' or 'previous' link,
+     *                    the page is fetched after or before the entity of the cursor without skipping the records.
      * @return {@link List<User>} - all {@link User}s in the system.
      */
     @GetMapping
@@ -75,11 +86,12 @@ public class OrderController {
     public CollectionModel<EntityModel<Order>> fetchAllOrders(@RequestParam Map<String, String> parameters) {
         parameters = ColumnNames.validateParameters(parameters, ColumnNames.DEFAULT_AMOUNT_ENTITIES_ON_THE_PAGE);
         List<Order> orders = orderService.findAllOrders(parameters);
-        int pageNumber = Integer.parseInt(parameters.get(ColumnNames.PAGE_NUMBER_PARAM_NAME));
         int amountEntitiesOnThePage
                 = Integer.parseInt(parameters.get(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME));
-        Map<String, String> paramsNext = ColumnNames.createNextParameters(orders, pageNumber, amountEntitiesOnThePage);
-        Map<String,String> paramsPrev = ColumnNames.createPrevParameters(orders, pageNumber, amountEntitiesOnThePage);
+        Map<String, String> paramsNext = ColumnNames.createNextParameters(orders, parameters, amountEntitiesOnThePage,
+                order -> PageCursor.encode(order.getId()));
+        Map<String,String> paramsPrev = ColumnNames.createPrevParameters(orders, parameters, amountEntitiesOnThePage,
+                order -> PageCursor.encode(order.getId()));
 
         List<EntityModel<Order>> moderFromOrders = orders.stream().map(order -> EntityModel.of(order,
                         linkTo(methodOn(OrderController.class).fetchOrderById(order.getId())).
@@ -88,7 +100,7 @@ public class OrderController {
         return CollectionModel.of(moderFromOrders,
                 linkTo(methodOn(UserController.class).fetchAllUsers(new HashMap<String, String>()))
                         .withRel(translator.toLocale("FETCHES_ALL_USERS_HATEOAS_LINK_MESSAGE")),
-                linkTo(methodOn(GiftCertificateController.class).certificates(ColumnNames.DEFAULT_PARAMS))
+                linkTo(methodOn(GiftCertificateController.class).certificates(ColumnNames.DEFAULT_PARAMS, null))
                         .withRel(translator.toLocale("FETCHES_ALL_CERTIFICATES_HATEOAS_LINK_MESSAGE")),
                 linkTo(methodOn(CertificateTagController.class).tags(ColumnNames.DEFAULT_PARAMS))
                         .withRel(translator.toLocale("FETCHES_ALL_TAGS_HATEOAS_LINK_MESSAGE")),
@@ -116,4 +128,33 @@ public class OrderController {
         return orderEntityModel.add(linkTo(methodOn(OrderController.class).addNewOrder(new Order()))
                 .withSelfRel());
     }
+
+    /**
+     * The method that realises the 'POST /orders/batch' query.
+     *
+     * @param orders are the {@link Order}s to create.
+     * @return the {@link OrderBatchResult} of every {@link Order} in the order of the {@param orders}.
+     */
+    @PostMapping(value = "/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public CollectionModel<OrderBatchResult> addNewOrders(@RequestBody List<Order> orders) {
+        List<OrderBatchResult> results = orderService.createOrders(orders);
+        return CollectionModel.of(results,
+                linkTo(methodOn(OrderController.class).fetchAllOrders(ColumnNames.DEFAULT_PARAMS))
+                        .withRel(translator.toLocale("FETCHES_ALL_ORDERS_HATEOAS_LINK_MESSAGE")),
+                linkTo(methodOn(OrderController.class).addNewOrders(new ArrayList<>())).withSelfRel());
+    }
+
+    /**
+     * The method that realises the 'GET /orders/export' query and writes all the {@link Order}s
+     * in the newline delimited JSON straight in the body of the response.
+     *
+     * @param response is the {@link HttpServletResponse} to write in.
+     * @throws IOException if the response is not writable.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public void exportOrders(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        exportService.exportOrders(response.getOutputStream());
+    }
 }
@@ -2,17 +2,33 @@ package com.epam.esm.controller;
 
 import com.epam.esm.configuration.Translator;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dto.LeaderboardEntry;
+import com.epam.esm.dto.Reach;
+import com.epam.esm.dto.Trending;
+import com.epam.esm.dto.TrendingSnapshot;
+import com.epam.esm.model.impl.GiftCertificate;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.model.impl.User;
+import com.epam.esm.service.LeaderboardService;
+import com.epam.esm.service.ReachService;
 import com.epam.esm.service.TagService;
+import com.epam.esm.service.TrendingService;
+import com.epam.esm.service.WindowStatisticService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
@@ -22,12 +38,24 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RestController
 @RequestMapping("/statistics")
 public class StatisticController {
+    public static final String DEFAULT_LEADERBOARD_LIMIT = "10";
+
     private final TagService tagService;
+    private final LeaderboardService leaderboardService;
+    private final WindowStatisticService windowStatisticService;
+    private final TrendingService trendingService;
+    private final ReachService reachService;
     private final Translator translator;
 
     @Autowired
-    public StatisticController(TagService tagService, Translator translator) {
+    public StatisticController(TagService tagService, LeaderboardService leaderboardService,
+                               WindowStatisticService windowStatisticService, TrendingService trendingService,
+                               ReachService reachService, Translator translator) {
         this.tagService = tagService;
+        this.leaderboardService = leaderboardService;
+        this.windowStatisticService = windowStatisticService;
+        this.trendingService = trendingService;
+        this.reachService = reachService;
         this.translator = translator;
     }
 
@@ -53,4 +81,177 @@ public class StatisticController {
         return orderEntityModel.add(linkTo(methodOn(StatisticController.class)
                 .mostPopularTagOfTheBestUser()).withSelfRel());
     }
+
+    /**
+     * The method that realises the 'GET /statistics/topSpenders' query.
+     * Returns the {@link User}s with the biggest sum of order price.
+     *
+     * @param limit is the maximum amount of the users to return.
+     * @return {@link CollectionModel<LeaderboardEntry>}.
+     */
+    @GetMapping(value = "/topSpenders")
+    @ResponseStatus(HttpStatus.OK)
+    public CollectionModel<LeaderboardEntry> topSpenders(
+            @RequestParam(value = "limit", defaultValue = DEFAULT_LEADERBOARD_LIMIT) int limit) {
+        List<LeaderboardEntry> entries = leaderboardService.topSpenders(limit);
+        return CollectionModel.of(entries, linkTo(methodOn(StatisticController.class)
+                .topSpenders(limit)).withSelfRel());
+    }
+
+    /**
+     * The method that realises the 'GET /statistics/topTags' query.
+     * Returns the {@link CertificateTag}s, which are ordered most often.
+     *
+     * @param limit is the maximum amount of the tags to return.
+     * @return {@link CollectionModel<LeaderboardEntry>}.
+     */
+    @GetMapping(value = "/topTags")
+    @ResponseStatus(HttpStatus.OK)
+    public CollectionModel<LeaderboardEntry> topTags(
+            @RequestParam(value = "limit", defaultValue = DEFAULT_LEADERBOARD_LIMIT) int limit) {
+        List<LeaderboardEntry> entries = leaderboardService.topTags(limit);
+        return CollectionModel.of(entries, linkTo(methodOn(StatisticController.class)
+                .topTags(limit)).withSelfRel());
+    }
+
+    /**
+     * The method that realises the 'GET /statistics/users/{userId}/topTags' query.
+     * Returns the {@link CertificateTag}s, which are ordered most often by the {@link User}.
+     *
+     * @param userId is the id of the {@link User}.
+     * @param limit  is the maximum amount of the tags to return.
+     * @return {@link CollectionModel<LeaderboardEntry>}.
+     */
+    @GetMapping(value = "/users/{userId}/topTags")
+    @ResponseStatus(HttpStatus.OK)
+    public CollectionModel<LeaderboardEntry> topTagsOfUser(
+            @PathVariable("userId") long userId,
+            @RequestParam(value = "limit", defaultValue = DEFAULT_LEADERBOARD_LIMIT) int limit) {
+        List<LeaderboardEntry> entries = leaderboardService.topTagsOfUser(userId, limit);
+        CollectionModel<LeaderboardEntry> collectionModel = CollectionModel.of(entries);
+        collectionModel.add(linkTo(methodOn(UserController.class).getUserById(userId))
+                .withRel(translator.toLocale("FETCHES_USER_HATEOAS_LINK_MESSAGE")));
+        return collectionModel.add(linkTo(methodOn(StatisticController.class)
+                .topTagsOfUser(userId, limit)).withSelfRel());
+    }
+
+    /**
+     * The method that realises the 'GET /statistics/window/mostPopularTag' query.
+     * Returns the {@link CertificateTag}, which is ordered most often in the last hour, day or 30 days.
+     *
+     * @param window is the window: '1h', '1d' or '30d'.
+     * @return {@link EntityModel<LeaderboardEntry>}.
+     */
+    @GetMapping(value = "/window/mostPopularTag")
+    @ResponseStatus(HttpStatus.OK)
+    public EntityModel<LeaderboardEntry> mostPopularTagInWindow(@RequestParam("window") String window) {
+        LeaderboardEntry entry = windowStatisticService.mostPopularTag(window);
+        return EntityModel.of(entry, linkTo(methodOn(CertificateTagController.class).tag(entry.getId()))
+                        .withRel(translator.toLocale("FETCHES_TAG_HATEOAS_LINK_MESSAGE")),
+                linkTo(methodOn(StatisticController.class).mostPopularTagInWindow(window)).withSelfRel());
+    }
+
+    /**
+     * The method that realises the 'GET /statistics/window/bestUser' query.
+     * Returns the {@link User} with the biggest sum of order price in the last hour, day or 30 days.
+     *
+     * @param window is the window: '1h', '1d' or '30d'.
+     * @return {@link EntityModel<LeaderboardEntry>}.
+     */
+    @GetMapping(value = "/window/bestUser")
+    @ResponseStatus(HttpStatus.OK)
+    public EntityModel<LeaderboardEntry> bestUserInWindow(@RequestParam("window") String window) {
+        LeaderboardEntry entry = windowStatisticService.bestUser(window);
+        return EntityModel.of(entry, linkTo(methodOn(UserController.class).getUserById(entry.getId()))
+                        .withRel(translator.toLocale("FETCHES_USER_HATEOAS_LINK_MESSAGE")),
+                linkTo(methodOn(StatisticController.class).bestUserInWindow(window)).withSelfRel());
+    }
+
+    /**
+     * The method that realises the 'GET /statistics/window/bestSellingCertificates' query.
+     * Returns the certificates, which are ordered most often in the last hour, day or 30 days.
+     *
+     * @param window is the window: '1h', '1d' or '30d'.
+     * @param limit  is the maximum amount of the certificates to return.
+     * @return {@link CollectionModel<LeaderboardEntry>}.
+     */
+    @GetMapping(value = "/window/bestSellingCertificates")
+    @ResponseStatus(HttpStatus.OK)
+    public CollectionModel<LeaderboardEntry> bestSellingCertificatesInWindow(
+            @RequestParam("window") String window,
+            @RequestParam(value = "limit", defaultValue = DEFAULT_LEADERBOARD_LIMIT) int limit) {
+        List<LeaderboardEntry> entries = windowStatisticService.bestSellingCertificates(window, limit);
+        return CollectionModel.of(entries, linkTo(methodOn(StatisticController.class)
+                .bestSellingCertificatesInWindow(window, limit)).withSelfRel());
+    }
+
+    /**
+     * The method that realises the 'GET /statistics/trending' query.
+     * Returns the {@link GiftCertificate}s, which are ordered most often in the last 10 to 20 minutes
+     * on this node, with the maximum error of their amounts of the orders.
+     *
+     * @param limit is the maximum amount of the certificates to return.
+     * @return {@link EntityModel<Trending>}.
+     */
+    @GetMapping(value = "/trending")
+    @ResponseStatus(HttpStatus.OK)
+    public EntityModel<Trending> trending(
+            @RequestParam(value = "limit", defaultValue = DEFAULT_LEADERBOARD_LIMIT) int limit) {
+        Trending trending = trendingService.trending(limit);
+        return EntityModel.of(trending, linkTo(methodOn(StatisticController.class).trendingSnapshot())
+                        .withRel(translator.toLocale("FETCHES_TRENDING_SNAPSHOT_HATEOAS_LINK_MESSAGE")),
+                linkTo(methodOn(StatisticController.class).trending(limit)).withSelfRel());
+    }
+
+    /**
+     * The method that realises the 'GET /statistics/trending/snapshot' query.
+     * Returns the sketch of the trending {@link GiftCertificate}s of this node to merge it on another node.
+     *
+     * @return {@link TrendingSnapshot}.
+     */
+    @GetMapping(value = "/trending/snapshot")
+    @ResponseStatus(HttpStatus.OK)
+    public TrendingSnapshot trendingSnapshot() {
+        return trendingService.snapshot();
+    }
+
+    /**
+     * The method that realises the 'POST /statistics/trending/merge' query.
+     * Returns the {@link GiftCertificate}s, which are ordered most often on this node and the nodes,
+     * which the snapshots are taken from.
+     *
+     * @param snapshots are the snapshots of the other nodes.
+     * @param limit     is the maximum amount of the certificates to return.
+     * @return {@link EntityModel<Trending>}.
+     */
+    @PostMapping(value = "/trending/merge")
+    @ResponseStatus(HttpStatus.OK)
+    public EntityModel<Trending> mergeTrending(
+            @RequestBody List<TrendingSnapshot> snapshots,
+            @RequestParam(value = "limit", defaultValue = DEFAULT_LEADERBOARD_LIMIT) int limit) {
+        Trending trending = trendingService.merge(snapshots, limit);
+        return EntityModel.of(trending, linkTo(methodOn(StatisticController.class).trendingSnapshot())
+                .withRel(translator.toLocale("FETCHES_TRENDING_SNAPSHOT_HATEOAS_LINK_MESSAGE")));
+    }
+
+    /**
+     * The method that realises the 'GET /statistics/reach' query.
+     * Returns the estimated amount of the distinct {@link User}s, who bought at least one of the
+     * {@link GiftCertificate}s or one of the certificates with at least one of the {@link CertificateTag}s.
+     * The estimate is approximate: its relative standard error is about 1.6%, the real amount is between
+     * the returned bounds in about 95% of the cases.
+     *
+     * @param certificateIds are the ids of the {@link GiftCertificate}s.
+     * @param tagIds         are the ids of the {@link CertificateTag}s.
+     * @return {@link EntityModel<Reach>}.
+     */
+    @GetMapping(value = "/reach")
+    @ResponseStatus(HttpStatus.OK)
+    public EntityModel<Reach> reach(
+            @RequestParam(value = "certificateId", required = false) List<Long> certificateIds,
+            @RequestParam(value = "tagId", required = false) List<Long> tagIds) {
+        Reach reach = reachService.reach(certificateIds, tagIds);
+        return EntityModel.of(reach, linkTo(methodOn(StatisticController.class)
+                .reach(certificateIds, tagIds)).withSelfRel());
+    }
 }
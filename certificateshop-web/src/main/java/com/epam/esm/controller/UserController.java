@@ -2,6 +2,7 @@ package com.epam.esm.controller;
 
 import com.epam.esm.configuration.Translator;
 import com.epam.esm.dao.impl.jdbc.ColumnNames;
+import com.epam.esm.dao.impl.jdbc.PageCursor;
 import com.epam.esm.dto.OrderDto;
 import com.epam.esm.model.impl.CertificateTag;
 import com.epam.esm.model.impl.Order;
@@ -72,7 +73,7 @@ public class UserController {
                         .withRel(translator.toLocale("FETCHES_ALL_USERS_HATEOAS_LINK_MESSAGE")),
                 linkTo(methodOn(OrderController.class).fetchAllOrders(ColumnNames.DEFAULT_PARAMS))
                         .withRel(translator.toLocale("FETCHES_ALL_ORDERS_HATEOAS_LINK_MESSAGE")),
-                linkTo(methodOn(GiftCertificateController.class).certificates(ColumnNames.DEFAULT_PARAMS))
+                linkTo(methodOn(GiftCertificateController.class).certificates(ColumnNames.DEFAULT_PARAMS, null))
                         .withRel(translator.toLocale("FETCHES_ALL_CERTIFICATES_HATEOAS_LINK_MESSAGE")),
                 linkTo(methodOn(CertificateTagController.class).tags(ColumnNames.DEFAULT_PARAMS))
                         .withRel(translator.toLocale("FETCHES_ALL_TAGS_HATEOAS_LINK_MESSAGE")));
@@ -116,6 +117,8 @@ public class UserController {
      *                    -  offset=0/MAX_VALUE is the long to pass records from database.
      *                    To fetch records from 6 record 'offset' should be set to 5.
      *                    - limit = 0/MAX_VALUE is the long to set how many records should be fetched.
+     *                    - after=cursor/before=cursor is the opaque cursor from the 'next' or 'previous' link,
+     *                    the page is fetched after or before the entity of the cursor without skipping the records.
      * @return {@link List<User>} - all {@link User}s in the system.
      */
     @GetMapping
@@ -123,17 +126,18 @@ public class UserController {
     public CollectionModel<EntityModel<User>> fetchAllUsers(@RequestParam Map<String, String> parameters) {
         parameters = ColumnNames.validateParameters(parameters, ColumnNames.DEFAULT_AMOUNT_ENTITIES_ON_THE_PAGE);
         List<User> users = userService.findAllUsers(parameters);
-        int pageNumber = Integer.parseInt(parameters.get(ColumnNames.PAGE_NUMBER_PARAM_NAME));
         int amountEntitiesOnThePage
                 = Integer.parseInt(parameters.get(ColumnNames.AMOUNT_OF_ENTITIES_ON_THE_PAGE_PARAM_NAME));
-        Map<String, String> paramsNext = ColumnNames.createNextParameters(users, pageNumber, amountEntitiesOnThePage);
-        Map<String, String> paramsPrev = ColumnNames.createPrevParameters(users, pageNumber, amountEntitiesOnThePage);
+        Map<String, String> paramsNext = ColumnNames.createNextParameters(users, parameters, amountEntitiesOnThePage,
+                user -> PageCursor.encode(user.getId()));
+        Map<String, String> paramsPrev = ColumnNames.createPrevParameters(users, parameters, amountEntitiesOnThePage,
+                user -> PageCursor.encode(user.getId()));
         List<EntityModel<User>> modelFromOrders = users.stream().map(user -> EntityModel.of(user,
                         linkTo(methodOn(UserController.class).getUserById(user.getId()))
                                 .withRel(translator.toLocale("FETCHES_THE_USER_HATEOAS_LINK_MESSAGE"))))
                 .collect(Collectors.toList());
         return CollectionModel.of(modelFromOrders,
-                linkTo(methodOn(GiftCertificateController.class).certificates(ColumnNames.DEFAULT_PARAMS))
+                linkTo(methodOn(GiftCertificateController.class).certificates(ColumnNames.DEFAULT_PARAMS, null))
                         .withRel(translator.toLocale("FETCHES_ALL_CERTIFICATES_HATEOAS_LINK_MESSAGE")),
                 linkTo(methodOn(CertificateTagController.class).tags(ColumnNames.DEFAULT_PARAMS))
                         .withRel(translator.toLocale("FETCHES_ALL_TAGS_HATEOAS_LINK_MESSAGE")),